@@ -45,15 +45,58 @@ export const api = {
     // If it defaults 404, I will fix backend.
 
     analyzeIncident: async (id: string): Promise<AnalysisResponse> => {
+        // Answers 202 with a queued job; the analysis is the job's result
         const res = await fetch(`${INCIDENTS_ENDPOINT}/${id}/analyze`, { method: 'POST' });
-        // Use mock response if backend 404s (since I didn't implement /analyze in new controller, only /ai/summary)
-        // detailed plan says "Implement POST /api/incidents/{id}/analyze (if needed)".
-        // I implemented /ai/summary.
-        // I'll leave this as is for now, it might fail if /analyze is missing.
-        // Wait, the existing card uses this. I should ensure it doesn't break.
-        // But my focus is "Draft Incident Summary" button in the NEW "AI Agent Actions" section.
         if (!res.ok) throw new Error('Failed to analyze incident');
-        return res.json();
+        const job = await res.json();
+        return api.waitForJob<AnalysisResponse>(job.id);
+    },
+
+    // Follows a queued job's event stream and resolves with its stored result.
+    // Only a finished job settles the promise: a dropped stream is reconnected by
+    // EventSource, and polling takes over if the browser stops reconnecting.
+    waitForJob: <T>(jobId: string): Promise<T> => {
+        return new Promise<T>((resolve, reject) => {
+            const events = new EventSource(`${API_BASE_URL}/jobs/${jobId}/events`);
+            let settled = false;
+            let pollTimer: ReturnType<typeof setInterval> | undefined;
+            const settle = (done: () => void) => {
+                if (settled) return;
+                settled = true;
+                events.close();
+                if (pollTimer) clearInterval(pollTimer);
+                done();
+            };
+            const checkJob = async () => {
+                if (settled) return;
+                try {
+                    const res = await fetch(`${API_BASE_URL}/jobs/${jobId}`);
+                    if (res.status === 404) {
+                        settle(() => reject(new Error('Job not found')));
+                        return;
+                    }
+                    if (!res.ok) return; // Checked again on the next event or poll
+                    const job = await res.json();
+                    if (job.status === 'SUCCEEDED') {
+                        settle(() => resolve(job.result as T));
+                    } else if (job.status === 'FAILED') {
+                        settle(() => reject(new Error(job.error || 'Job failed')));
+                    }
+                } catch {
+                    // Network error; checked again on the next event or poll
+                }
+            };
+            events.addEventListener('completed', checkJob);
+            events.addEventListener('failed', checkJob);
+            // Fires on every drop, including the server closing the stream after the
+            // job finished, and proxy timeouts while it is still running
+            events.onerror = () => {
+                if (events.readyState === EventSource.CLOSED && !pollTimer) {
+                    pollTimer = setInterval(checkJob, 2000);
+                }
+                checkJob();
+            };
+        });
     },
 
     draftIncidentSummary: async (id: string): Promise<{ summary: string, impact: string, status: string }> => {
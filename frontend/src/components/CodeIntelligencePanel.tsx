@@ -1,6 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { Card, CardHeader, CardContent, CardTitle } from '../components/ui/Card';
 import { GitCommit, AlertTriangle, ExternalLink } from 'lucide-react';
+import { api } from '../api/client';
 
 interface CodeIntelligenceProps {
     incidentId: string;
@@ -22,8 +23,22 @@ export const CodeIntelligencePanel: React.FC<CodeIntelligenceProps> = ({ inciden
 
     useEffect(() => {
         // In a real app, use the API client
-        fetch(`http://localhost:8080/api/incidents/${incidentId}/code-intelligence`)
-            .then(res => res.json())
+        const url = `http://localhost:8080/api/incidents/${incidentId}/code-intelligence`;
+        // 202 carries a correlation job; the stored result is fetched again once it is done
+        const settle = async (res: Response) => {
+            if (res.status === 202) {
+                const job = await res.json();
+                await api.waitForJob(job.id);
+                return fetch(url).then(r => r.json());
+            }
+            return res.json();
+        };
+        fetch(url)
+            .then(settle)
+            .then(data => Array.isArray(data) && data.length === 0
+                // Nothing stored yet: ask for a correlation run
+                ? fetch(url, { method: 'POST' }).then(settle)
+                : data)
             .then(data => {
                 if (Array.isArray(data)) {
                     setCorrelations(data);
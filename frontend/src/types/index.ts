@@ -1,7 +1,9 @@
 export type Severity = 'SEV1' | 'SEV2' | 'SEV3' | 'SEV4';
 export type IncidentStatus = 'OPEN' | 'INVESTIGATING' | 'MITIGATED' | 'RESOLVED' | 'CLOSED' | 'PENDING_CONFIRMATION';
 export type IssueType = 'DATABASE' | 'API' | 'UI' | 'INFRASTRUCTURE' | 'DEPLOYMENT' | 'OTHER';
-export type TimelineEventType = 'INCIDENT_CREATED' | 'SIMILAR_INCIDENTS_FOUND' | 'AI_ANALYSIS' | 'INCIDENT_RESOLVED';
+export type TimelineEventType = 'INCIDENT_CREATED' | 'SIMILAR_INCIDENTS_FOUND' | 'AI_ANALYSIS' | 'INCIDENT_RESOLVED'
+    | 'INCIDENT_REOPENED' | 'STATUS_CHANGED' | 'ESCALATED' | 'DEPLOYMENT_CORRELATED'
+    | 'RECURRENCE_DETECTED' | 'EVIDENCE_ADDED';
 
 export interface IncidentRequest {
     title: string;
@@ -4,4 +4,11 @@ import java.util.List;
 
 public interface EmbeddingClient {
     List<Double> getEmbedding(String text);
+
+    /**
+     * Embeds text in the given lane. Clients without lanes ignore the priority.
+     */
+    default List<Double> getEmbedding(String text, EmbeddingPriority priority) {
+        return getEmbedding(text);
+    }
 }
@@ -0,0 +1,11 @@
+package com.loom.incident.ai;
+
+/**
+ * Scheduling lane for an embedding request.
+ */
+public enum EmbeddingPriority {
+    /** A user is waiting on the result, e.g. query embedding for search. */
+    INTERACTIVE,
+    /** Backfills and indexing that can be throttled. */
+    BULK
+}
@@ -1,7 +1,11 @@
 package com.loom.incident.api;
 
 import com.loom.incident.api.dto.AnalysisResponse;
+import com.loom.incident.api.dto.IncidentJobView;
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobType;
 import com.loom.incident.service.AIAnalysisService;
+import com.loom.incident.service.IncidentJobQueue;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,25 +18,31 @@ import org.springframework.web.bind.annotation.RestController;
 public class IncidentAnalysisController {
 
     private final AIAnalysisService aiAnalysisService;
-    private final com.loom.incident.service.IncidentService incidentService;
+    private final com.loom.incident.service.IncidentResolver incidentResolver;
+    private final IncidentJobQueue jobQueue;
 
     public IncidentAnalysisController(AIAnalysisService aiAnalysisService,
-            com.loom.incident.service.IncidentService incidentService) {
+            com.loom.incident.service.IncidentResolver incidentResolver,
+            IncidentJobQueue jobQueue) {
         this.aiAnalysisService = aiAnalysisService;
-        this.incidentService = incidentService;
+        this.incidentResolver = incidentResolver;
+        this.jobQueue = jobQueue;
     }
 
+    /**
+     * Queues the LLM analysis and answers 202 with the job. The
+     * {@link AnalysisResponse} becomes the job's result; follow it at
+     * {@code /api/jobs/{jobId}/events}.
+     */
     @PostMapping("/{id}/analyze")
-    public ResponseEntity<AnalysisResponse> analyzeIncident(@PathVariable String id) {
+    public ResponseEntity<IncidentJobView> analyzeIncident(@PathVariable String id) {
         // Resolve ID (e.g. INCSEN-123) to UUID if needed, or verify existence
-        var incident = incidentService.getIncidentById(id);
-        AnalysisResponse response = aiAnalysisService.analyzeIncident(incident.getId());
-        return ResponseEntity.ok(response);
+        IncidentJob job = jobQueue.enqueue(IncidentJobType.AI_ANALYSIS, incidentResolver.resolveId(id));
+        return IncidentJobController.accepted(job);
     }
 
     @PostMapping("/{id}/trends")
     public ResponseEntity<com.loom.incident.api.dto.TrendAnalysisResponse> analyzeTrends(@PathVariable String id) {
-        var incident = incidentService.getIncidentById(id);
-        return ResponseEntity.ok(aiAnalysisService.analyzeTrends(incident.getId()));
+        return ResponseEntity.ok(aiAnalysisService.analyzeTrends(incidentResolver.resolveId(id)));
     }
 }
@@ -2,14 +2,19 @@ package com.loom.incident.api;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobStatus;
+import com.loom.incident.domain.IncidentJobType;
+import com.loom.incident.service.IncidentJobQueue;
 import com.loom.sentinel.code.IncidentCodeCorrelation;
 import com.loom.sentinel.code.IncidentCodeCorrelationRepository;
-import com.loom.sentinel.code.CodeIncidentCorrelationService;
 import com.loom.integration.git.Commit;
 import com.loom.integration.git.CommitRepository;
 
@@ -17,34 +22,66 @@ import com.loom.integration.git.CommitRepository;
 @RequestMapping("/api/incidents")
 public class IncidentCodeIntelligenceController {
 
+    private static final Duration CORRELATION_FRESHNESS = Duration.ofHours(1);
+
     private final com.loom.incident.service.IncidentService incidentService;
     private final IncidentCodeCorrelationRepository correlationRepository;
-    private final CodeIncidentCorrelationService correlationService;
     private final CommitRepository commitRepository;
+    private final IncidentJobQueue jobQueue;
 
     public IncidentCodeIntelligenceController(com.loom.incident.service.IncidentService incidentService,
             IncidentCodeCorrelationRepository correlationRepository,
-            CodeIncidentCorrelationService correlationService,
-            CommitRepository commitRepository) {
+            CommitRepository commitRepository,
+            IncidentJobQueue jobQueue) {
         this.incidentService = incidentService;
         this.correlationRepository = correlationRepository;
-        this.correlationService = correlationService;
         this.commitRepository = commitRepository;
+        this.jobQueue = jobQueue;
     }
 
+    /**
+     * Stored correlations. Read-only: while a correlation job is queued or
+     * running this answers 202 with the job, otherwise 200 with whatever is
+     * stored, possibly nothing; {@code POST} starts a run.
+     */
     @GetMapping("/{id}/code-intelligence")
-    public ResponseEntity<List<CodeIntelligenceDTO>> getCodeIntelligence(@PathVariable String id) {
+    public ResponseEntity<?> getCodeIntelligence(@PathVariable String id) {
         Incident incident = incidentService.getIncidentById(id);
         List<IncidentCodeCorrelation> correlations = correlationRepository.findByIncident(incident);
+        if (correlations.isEmpty()) {
+            Optional<IncidentJob> latest = jobQueue.findLatest(incident.getId(), IncidentJobType.CODE_CORRELATION);
+            if (latest.isPresent() && (latest.get().getStatus() == IncidentJobStatus.QUEUED
+                    || latest.get().getStatus() == IncidentJobStatus.RUNNING)) {
+                return IncidentJobController.accepted(latest.get());
+            }
+        }
+        return ResponseEntity.ok(toDtos(correlations));
+    }
 
-        // If no correlations found, try to run correlation on demand (optional, for
-        // demo)
+    /**
+     * Correlates the incident with recent commits in the background and
+     * answers 202 with the job; fetch again once it completes. A run that came
+     * up empty within the last hour is not repeated, and the (empty) result is
+     * returned as is.
+     */
+    @PostMapping("/{id}/code-intelligence")
+    public ResponseEntity<?> correlate(@PathVariable String id) {
+        Incident incident = incidentService.getIncidentById(id);
+        List<IncidentCodeCorrelation> correlations = correlationRepository.findByIncident(incident);
         if (correlations.isEmpty()) {
-            correlationService.correlateIncident(incident);
-            correlations = correlationRepository.findByIncident(incident);
+            Optional<IncidentJob> latest = jobQueue.findLatest(incident.getId(), IncidentJobType.CODE_CORRELATION);
+            boolean recentlyCorrelated = latest.isPresent()
+                    && latest.get().getStatus() == IncidentJobStatus.SUCCEEDED
+                    && latest.get().getFinishedAt().isAfter(Instant.now().minus(CORRELATION_FRESHNESS));
+            if (recentlyCorrelated) {
+                return ResponseEntity.ok(toDtos(correlations));
+            }
         }
+        return IncidentJobController.accepted(jobQueue.enqueue(IncidentJobType.CODE_CORRELATION, incident.getId()));
+    }
 
-        List<CodeIntelligenceDTO> dtos = correlations.stream().map(c -> {
+    private List<CodeIntelligenceDTO> toDtos(List<IncidentCodeCorrelation> correlations) {
+        return correlations.stream().map(c -> {
             CodeIntelligenceDTO dto = new CodeIntelligenceDTO();
             dto.commitSha = c.getCommitSha();
             dto.confidenceScore = c.getConfidenceScore();
@@ -60,8 +97,6 @@ public class IncidentCodeIntelligenceController {
             });
             return dto;
         }).collect(Collectors.toList());
-
-        return ResponseEntity.ok(dtos);
     }
 
     public static class CodeIntelligenceDTO {
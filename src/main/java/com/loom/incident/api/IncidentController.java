@@ -19,19 +19,63 @@ public class IncidentController {
     private final com.loom.incident.service.IncidentSearchService incidentSearchService;
     private final com.loom.incident.service.BaselineDeviationService baselineDeviationService;
     private final com.loom.incident.service.BaselineExplanationService baselineExplanationService;
+    private final com.loom.incident.service.IncidentIndexOutbox incidentIndexOutbox;
+    private final com.loom.incident.service.IncidentDeduplicationService incidentDeduplicationService;
+    private final com.loom.incident.service.IncidentStatsService incidentStatsService;
+    private final com.loom.incident.service.IncidentListService incidentListService;
+    private final com.loom.incident.service.IncidentResolver incidentResolver;
 
     public IncidentController(IncidentService incidentService,
             com.loom.incident.service.IncidentSearchService incidentSearchService,
             com.loom.incident.service.BaselineDeviationService baselineDeviationService,
-            com.loom.incident.service.BaselineExplanationService baselineExplanationService) {
+            com.loom.incident.service.BaselineExplanationService baselineExplanationService,
+            com.loom.incident.service.IncidentIndexOutbox incidentIndexOutbox,
+            com.loom.incident.service.IncidentDeduplicationService incidentDeduplicationService,
+            com.loom.incident.service.IncidentStatsService incidentStatsService,
+            com.loom.incident.service.IncidentListService incidentListService,
+            com.loom.incident.service.IncidentResolver incidentResolver) {
         this.incidentService = incidentService;
         this.incidentSearchService = incidentSearchService;
         this.baselineDeviationService = baselineDeviationService;
         this.baselineExplanationService = baselineExplanationService;
+        this.incidentIndexOutbox = incidentIndexOutbox;
+        this.incidentDeduplicationService = incidentDeduplicationService;
+        this.incidentStatsService = incidentStatsService;
+        this.incidentListService = incidentListService;
+        this.incidentResolver = incidentResolver;
     }
 
+    /**
+     * Goes through the same fingerprint check as batch intake: a request
+     * matching an open incident is grouped into it, and that incident is
+     * returned with 200 instead of 201.
+     */
     @PostMapping
     public ResponseEntity<Incident> createIncident(@Valid @RequestBody IncidentRequest request) {
+        var result = incidentDeduplicationService.intake(List.of(
+                new com.loom.incident.service.IncidentDeduplicationService.Alert(toIncident(request),
+                        request.getSignalType())));
+        Incident incident = incidentService.getIncidentById(result.publicIds().get(0));
+        return new ResponseEntity<>(incident, result.created() > 0 ? HttpStatus.CREATED : HttpStatus.OK);
+    }
+
+    /**
+     * Bulk intake for monitoring integrations. Alerts matching an open
+     * incident's fingerprint are grouped into it. Returns one public ID per
+     * alert in request order; enrichment and indexing follow asynchronously.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<com.loom.incident.api.dto.BatchIncidentResponse> createIncidents(
+            @Valid @RequestBody com.loom.incident.api.dto.BatchIncidentRequest request) {
+        var result = incidentDeduplicationService.intake(request.getIncidents().stream()
+                .map(r -> new com.loom.incident.service.IncidentDeduplicationService.Alert(toIncident(r),
+                        r.getSignalType()))
+                .toList());
+        return new ResponseEntity<>(new com.loom.incident.api.dto.BatchIncidentResponse(result.created(),
+                result.deduplicated(), result.publicIds()), HttpStatus.CREATED);
+    }
+
+    private Incident toIncident(IncidentRequest request) {
         Incident incident = new Incident();
         incident.setTitle(request.getTitle());
         incident.setDescription(request.getDescription());
@@ -39,9 +83,7 @@ public class IncidentController {
         incident.setStatus(request.getStatus());
         incident.setService(request.getService());
         incident.setIssueType(request.getIssueType());
-
-        Incident createdIncident = incidentService.createIncident(incident);
-        return new ResponseEntity<>(createdIncident, HttpStatus.CREATED);
+        return incident;
     }
 
     @GetMapping
@@ -49,6 +91,19 @@ public class IncidentController {
         return ResponseEntity.ok(incidentService.getAllIncidents());
     }
 
+    /**
+     * Paged incident list. {@code fields} is a comma-separated subset of the
+     * incident's JSON fields; {@code cursor} is the {@code nextCursor} of the
+     * previous page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<com.loom.incident.api.dto.IncidentPage> listIncidents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) List<String> fields) {
+        return ResponseEntity.ok(incidentListService.list(cursor, limit, fields));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Incident> getIncident(@PathVariable String id) {
         System.out.println("Fetching incident with ID: " + id);
@@ -68,9 +123,27 @@ public class IncidentController {
                 .ok(incidentSearchService.searchIncidents(q, severity, status, issueType, fromDate, toDate));
     }
 
+    /**
+     * Paged search with facet counts. Pass the returned {@code nextCursor} as
+     * {@code cursor} for the next page; filters must stay the same.
+     */
+    @GetMapping("/search/page")
+    public ResponseEntity<com.loom.incident.api.dto.IncidentSearchPage> searchIncidentsPage(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Severity severity,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) com.loom.incident.domain.IssueType issueType,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(incidentSearchService.searchPage(q, severity, status, issueType, fromDate, toDate,
+                size, cursor));
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<com.loom.incident.api.dto.IncidentStatsResponse> getStats() {
-        return ResponseEntity.ok(incidentService.getStats());
+        return ResponseEntity.ok(incidentStatsService.getStats());
     }
 
     @PostMapping("/sync")
@@ -79,6 +152,25 @@ public class IncidentController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/resolver-stats")
+    public ResponseEntity<java.util.Map<String, Object>> getResolverStats() {
+        return ResponseEntity.ok(incidentResolver.stats());
+    }
+
+    @GetMapping("/index-outbox")
+    public ResponseEntity<java.util.Map<String, Object>> getIndexOutboxStatus() {
+        return ResponseEntity.ok(incidentIndexOutbox.snapshot());
+    }
+
+    /**
+     * Re-delivers index intents created since the given instant, e.g. after
+     * restoring the index from a snapshot.
+     */
+    @PostMapping("/index-outbox/replay")
+    public ResponseEntity<java.util.Map<String, Object>> replayIndexOutbox(@RequestParam java.time.Instant since) {
+        return ResponseEntity.ok(java.util.Map.of("requeued", incidentIndexOutbox.replaySince(since)));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<Incident> updateStatus(@PathVariable String id,
             @RequestParam com.loom.incident.domain.IncidentStatus status) {
@@ -89,8 +181,7 @@ public class IncidentController {
     public ResponseEntity<com.loom.incident.service.BaselineExplanationService.BaselineAnalysisResponse> getBaselineAnalysis(
             @PathVariable String id) {
         // Resolve ID to UUID for internal service compatibility
-        Incident incident = incidentService.getIncidentById(id);
-        var deviation = baselineDeviationService.analyzeDeviation(incident.getId());
+        var deviation = baselineDeviationService.analyzeDeviation(incidentResolver.resolveId(id));
         var explanation = baselineExplanationService.explainDeviation(deviation);
         return ResponseEntity.ok(explanation);
     }
@@ -99,7 +190,6 @@ public class IncidentController {
     public ResponseEntity<List<com.loom.incident.api.dto.SimilarIncidentResponse>> getSimilarIncidents(
             @PathVariable String id) {
         // Resolve ID to UUID for internal service compatibility
-        Incident incident = incidentService.getIncidentById(id);
-        return ResponseEntity.ok(incidentSearchService.findSimilarIncidents(incident.getId()));
+        return ResponseEntity.ok(incidentSearchService.findSimilarIncidents(incidentResolver.resolveId(id)));
     }
 }
@@ -0,0 +1,70 @@
+package com.loom.incident.api;
+
+import com.loom.incident.api.dto.IncidentJobView;
+import com.loom.incident.domain.IncidentJobStatus;
+import com.loom.incident.service.IncidentJobEvents;
+import com.loom.incident.service.IncidentJobQueue;
+import com.loom.incident.service.IncidentJobWorker;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Status, results and progress streams of queued jobs. Endpoints that queue
+ * work answer 202 with the job and a Location header pointing here.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class IncidentJobController {
+
+    private final IncidentJobQueue jobQueue;
+    private final IncidentJobEvents jobEvents;
+    private final IncidentJobWorker jobWorker;
+
+    public IncidentJobController(IncidentJobQueue jobQueue, IncidentJobEvents jobEvents,
+            IncidentJobWorker jobWorker) {
+        this.jobQueue = jobQueue;
+        this.jobEvents = jobEvents;
+        this.jobWorker = jobWorker;
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<IncidentJobView> getJob(@PathVariable UUID jobId) {
+        return jobQueue.find(jobId)
+                .map(job -> ResponseEntity.ok(new IncidentJobView(job, true)))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found: " + jobId));
+    }
+
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable UUID jobId) {
+        return jobEvents.subscribe(jobId);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<IncidentJobStatus, Long> counts = jobQueue.countByStatus();
+        Map<String, Object> stats = new HashMap<>();
+        counts.forEach((status, count) -> stats.put(status.name().toLowerCase(), count));
+        stats.put("runningOnThisInstance", jobWorker.runningJobs());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * The 202 response for an endpoint that queued {@code job}.
+     */
+    static ResponseEntity<IncidentJobView> accepted(com.loom.incident.domain.IncidentJob job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(java.net.URI.create("/api/jobs/" + job.getId()))
+                .body(new IncidentJobView(job, false));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.UUID;
@@ -15,18 +16,35 @@ import java.util.UUID;
 public class IncidentTimelineController {
 
     private final IncidentTimelineService incidentTimelineService;
-    private final com.loom.incident.service.IncidentService incidentService;
+    private final com.loom.incident.service.IncidentResolver incidentResolver;
+    private final com.loom.incident.service.IncidentActivityLog activityLog;
 
     public IncidentTimelineController(IncidentTimelineService incidentTimelineService,
-            com.loom.incident.service.IncidentService incidentService) {
+            com.loom.incident.service.IncidentResolver incidentResolver,
+            com.loom.incident.service.IncidentActivityLog activityLog) {
         this.incidentTimelineService = incidentTimelineService;
-        this.incidentService = incidentService;
+        this.incidentResolver = incidentResolver;
+        this.activityLog = activityLog;
     }
 
     @GetMapping("/{id}/timeline")
     public ResponseEntity<IncidentTimelineResponse> getIncidentTimeline(@PathVariable String id) {
-        com.loom.incident.domain.Incident incident = incidentService.getIncidentById(id);
-        IncidentTimelineResponse response = incidentTimelineService.buildTimeline(incident.getId());
+        IncidentTimelineResponse response = incidentTimelineService.buildTimeline(incidentResolver.resolveId(id));
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Status, assignee, time to assign and time to resolve, projected from the
+     * incident's activity log.
+     */
+    @GetMapping("/{id}/activity/state")
+    public ResponseEntity<com.loom.incident.service.IncidentActivityState> getActivityState(@PathVariable String id) {
+        return ResponseEntity.ok(activityLog.currentState(incidentResolver.resolveId(id)));
+    }
+
+    @GetMapping("/activity/mttr")
+    public ResponseEntity<com.loom.incident.service.IncidentActivityLog.MeanTimeToResolve> getMeanTimeToResolve(
+            @RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(activityLog.meanTimeToResolve(java.time.Duration.ofDays(days)));
+    }
 }
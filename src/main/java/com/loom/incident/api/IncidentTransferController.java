@@ -0,0 +1,51 @@
+package com.loom.incident.api;
+
+import com.loom.incident.service.IncidentTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * NDJSON export and import for migrating or restoring environments.
+ */
+@RestController
+@RequestMapping("/api/incidents")
+public class IncidentTransferController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final IncidentTransferService incidentTransferService;
+
+    public IncidentTransferController(IncidentTransferService incidentTransferService) {
+        this.incidentTransferService = incidentTransferService;
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportIncidents(
+            @RequestParam(defaultValue = "false") boolean vectors) {
+        StreamingResponseBody body = out -> incidentTransferService.exportIncidents(out, vectors);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"incidents.ndjson\"")
+                .body(body);
+    }
+
+    /**
+     * Reads the request body as a stream of incident lines; the file is
+     * never buffered in full.
+     */
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ResponseEntity<IncidentTransferService.ImportResult> importIncidents(HttpServletRequest request)
+            throws IOException {
+        return ResponseEntity.ok(incidentTransferService.importIncidents(request.getInputStream()));
+    }
+}
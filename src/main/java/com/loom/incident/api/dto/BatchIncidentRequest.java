@@ -0,0 +1,22 @@
+package com.loom.incident.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchIncidentRequest {
+    @NotEmpty(message = "At least one incident is required")
+    @Size(max = 1000, message = "At most 1000 incidents per batch")
+    @Valid
+    private List<IncidentRequest> incidents;
+
+    public List<IncidentRequest> getIncidents() {
+        return incidents;
+    }
+
+    public void setIncidents(List<IncidentRequest> incidents) {
+        this.incidents = incidents;
+    }
+}
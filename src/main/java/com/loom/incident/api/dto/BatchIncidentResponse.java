@@ -0,0 +1,27 @@
+package com.loom.incident.api.dto;
+
+import java.util.List;
+
+public class BatchIncidentResponse {
+    private int created;
+    private int deduplicated;
+    private List<String> ids;
+
+    public BatchIncidentResponse(int created, int deduplicated, List<String> ids) {
+        this.created = created;
+        this.deduplicated = deduplicated;
+        this.ids = ids;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getDeduplicated() {
+        return deduplicated;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+}
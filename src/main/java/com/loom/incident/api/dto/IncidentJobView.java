@@ -0,0 +1,83 @@
+package com.loom.incident.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobStatus;
+import com.loom.incident.domain.IncidentJobType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class IncidentJobView {
+    private UUID id;
+    private IncidentJobType type;
+    private UUID incidentId;
+    private IncidentJobStatus status;
+    private int progress;
+    private String message;
+    private int attempts;
+    private String error;
+    private Instant createdAt;
+    private Instant finishedAt;
+    // Stored JSON, written through as-is
+    private String result;
+
+    public IncidentJobView(IncidentJob job, boolean includeResult) {
+        this.id = job.getId();
+        this.type = job.getType();
+        this.incidentId = job.getIncidentId();
+        this.status = job.getStatus();
+        this.progress = job.getProgress();
+        this.message = job.getProgressMessage();
+        this.attempts = job.getAttempts();
+        this.error = job.getError();
+        this.createdAt = job.getCreatedAt();
+        this.finishedAt = job.getFinishedAt();
+        this.result = includeResult ? job.getResult() : null;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public IncidentJobType getType() {
+        return type;
+    }
+
+    public UUID getIncidentId() {
+        return incidentId;
+    }
+
+    public IncidentJobStatus getStatus() {
+        return status;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    @JsonRawValue
+    public String getResult() {
+        return result;
+    }
+}
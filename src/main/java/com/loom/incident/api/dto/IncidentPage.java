@@ -0,0 +1,23 @@
+package com.loom.incident.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class IncidentPage {
+    private List<Map<String, Object>> items;
+    // Opaque; pass back as ?cursor= to get the next page. Null on the last page.
+    private String nextCursor;
+
+    public IncidentPage(List<Map<String, Object>> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Map<String, Object>> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
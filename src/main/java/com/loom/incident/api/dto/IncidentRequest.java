@@ -24,6 +24,9 @@ public class IncidentRequest {
 
     private IssueType issueType;
 
+    // Optional alert rule or signal name; part of the deduplication fingerprint
+    private String signalType;
+
     // Getters and Setters
     public String getTitle() {
         return title;
@@ -72,4 +75,12 @@ public class IncidentRequest {
     public void setIssueType(IssueType issueType) {
         this.issueType = issueType;
     }
+
+    public String getSignalType() {
+        return signalType;
+    }
+
+    public void setSignalType(String signalType) {
+        this.signalType = signalType;
+    }
 }
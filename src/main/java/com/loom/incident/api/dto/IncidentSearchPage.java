@@ -0,0 +1,38 @@
+package com.loom.incident.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class IncidentSearchPage {
+    private List<Map<String, Object>> items;
+    // field -> value -> count; first page only
+    private Map<String, Map<String, Long>> facets;
+    // First page only
+    private Long total;
+    // Opaque; pass back as ?cursor= to get the next page. Null on the last page.
+    private String nextCursor;
+
+    public IncidentSearchPage(List<Map<String, Object>> items, Map<String, Map<String, Long>> facets, Long total,
+            String nextCursor) {
+        this.items = items;
+        this.facets = facets;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Map<String, Object>> getItems() {
+        return items;
+    }
+
+    public Map<String, Map<String, Long>> getFacets() {
+        return facets;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -1,16 +1,40 @@
 package com.loom.incident.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    /**
+     * Runs every {@code @Scheduled} method. Without it they would all share
+     * one thread, and the outbox relay, job worker, spike windows, rollups
+     * and flushes would wait on whichever of them is slowest. Jobs that call
+     * out to Ollama or to clients hand that work to the executors below.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${loom.scheduling.pool-size:8}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("Scheduled-");
+        scheduler.setErrorHandler(t -> logger.error("Scheduled task failed", t));
+        scheduler.initialize();
+        return scheduler;
+    }
+
     @Bean(name = "incidentTaskExecutor")
     public Executor incidentTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -21,4 +45,69 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Runs queued jobs (AI analysis, code correlation). The worker never
+     * claims more than {@code loom.jobs.concurrency} jobs, so the queue only
+     * absorbs hand-over races.
+     */
+    @Bean(name = "incidentJobExecutor")
+    public Executor incidentJobExecutor(@Value("${loom.jobs.concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("IncidentJob-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * One long-running drain loop per thread for the log intake buffer.
+     */
+    @Bean(name = "logIntakeExecutor")
+    public Executor logIntakeExecutor(@Value("${loom.logs.intake.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("LogIntake-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Embeds new log templates off the scheduler thread. A run submits at
+     * most {@code max-per-run} templates and waits for them to finish before
+     * the next, so the queue never holds more than that.
+     */
+    @Bean(name = "logEmbeddingExecutor")
+    public Executor logEmbeddingExecutor(@Value("${loom.logs.templates.embedding.concurrency:2}") int concurrency,
+            @Value("${loom.logs.templates.embedding.max-per-run:200}") int maxPerRun) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(maxPerRun);
+        executor.setThreadNamePrefix("LogEmbedding-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Sends buffered entries to live log tails. Each tail has at most one
+     * send queued, so the queue never holds more than the tail limit.
+     */
+    @Bean(name = "logTailExecutor")
+    public Executor logTailExecutor(@Value("${loom.logs.tail.senders:4}") int senders,
+            @Value("${loom.logs.tail.max-subscribers:200}") int maxSubscribers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senders);
+        executor.setMaxPoolSize(senders);
+        executor.setQueueCapacity(maxSubscribers);
+        executor.setThreadNamePrefix("LogTail-");
+        executor.initialize();
+        return executor;
+    }
 }
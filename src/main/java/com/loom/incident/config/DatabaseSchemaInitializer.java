@@ -0,0 +1,63 @@
+package com.loom.incident.config;
+
+import com.loom.incident.domain.IncidentJobType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Schema that {@code ddl-auto: update} cannot express or does not migrate:
+ * partial unique indexes, and enum check constraints that gained values
+ * since their table was created. Runs before the data loaders; every
+ * statement is idempotent.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseSchemaInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSchemaInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // At most one open incident per alert fingerprint, across instances
+        execute("CREATE UNIQUE INDEX IF NOT EXISTS uq_incidents_open_fingerprint ON incidents (fingerprint) "
+                + "WHERE fingerprint IS NOT NULL AND status IN ('OPEN', 'INVESTIGATING')");
+        // At most one queued or running job per incident and type; duplicates queued
+        // before the index existed are failed, keeping the oldest
+        execute("UPDATE incident_jobs j SET status = 'FAILED', error = 'Duplicate of an earlier job', "
+                + "finished_at = now(), lease_until = NULL WHERE status IN ('QUEUED', 'RUNNING') AND EXISTS ("
+                + "SELECT 1 FROM incident_jobs o WHERE o.incident_id = j.incident_id AND o.type = j.type "
+                + "AND o.status IN ('QUEUED', 'RUNNING') AND (o.created_at, o.id) < (j.created_at, j.id))");
+        execute("CREATE UNIQUE INDEX IF NOT EXISTS uq_incident_jobs_active ON incident_jobs (incident_id, type) "
+                + "WHERE status IN ('QUEUED', 'RUNNING')");
+        // Replaced by idx_incident_activity_incident_time once the log was ordered by time
+        execute("DROP INDEX IF EXISTS idx_incident_activity_incident");
+        execute("ALTER TABLE incident_jobs DROP CONSTRAINT IF EXISTS incident_jobs_type_check");
+        execute("ALTER TABLE incident_jobs ADD CONSTRAINT incident_jobs_type_check CHECK (type IN ("
+                + Arrays.stream(IncidentJobType.values()).map(t -> "'" + t.name() + "'")
+                        .collect(Collectors.joining(", "))
+                + "))");
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (Exception e) {
+            logger.error("Schema statement failed: {}", sql, e);
+        }
+    }
+}
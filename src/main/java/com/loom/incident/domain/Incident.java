@@ -9,7 +9,11 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.loom.integration.cicd.Deployment;
 
 @Entity
-@Table(name = "incidents")
+@Table(name = "incidents", indexes = {
+        @Index(name = "idx_incidents_fingerprint", columnList = "fingerprint"),
+        // Keyset pagination order for the incident list
+        @Index(name = "idx_incidents_created_id", columnList = "created_at, id")
+})
 public class Incident {
 
     @Id
@@ -65,11 +69,15 @@ public class Incident {
     @Column(name = "assignee_avatar")
     private String assigneeAvatar;
 
+    // Batch-loaded so serializing many incidents issues one query per 100 rather
+    // than one per incident
     @OneToMany(mappedBy = "incident", cascade = CascadeType.ALL, orphanRemoval = true)
+    @org.hibernate.annotations.BatchSize(size = 100)
     @JsonManagedReference
     private List<Evidence> evidence = new ArrayList<>();
 
     @ManyToMany(cascade = { CascadeType.PERSIST, CascadeType.MERGE })
+    @org.hibernate.annotations.BatchSize(size = 100)
     @JoinTable(name = "incident_deployments", joinColumns = @JoinColumn(name = "incident_id"), inverseJoinColumns = @JoinColumn(name = "deployment_id"))
     private List<Deployment> correlatedDeployments = new ArrayList<>();
 
@@ -286,4 +294,40 @@ public class Incident {
     public void setFirstSeen(Instant firstSeen) {
         this.firstSeen = firstSeen;
     }
+
+    // Alert deduplication: hash of service, normalized title and signal type.
+    // Repeats of an open incident bump occurrenceCount instead of creating rows.
+    @Column(name = "fingerprint", length = 64)
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private String fingerprint;
+
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount = 1;
+
+    @Column(name = "last_occurrence_at")
+    private Instant lastOccurrenceAt;
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public Integer getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(Integer occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public Instant getLastOccurrenceAt() {
+        return lastOccurrenceAt;
+    }
+
+    public void setLastOccurrenceAt(Instant lastOccurrenceAt) {
+        this.lastOccurrenceAt = lastOccurrenceAt;
+    }
 }
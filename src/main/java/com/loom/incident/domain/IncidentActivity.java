@@ -0,0 +1,85 @@
+package com.loom.incident.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One entry of an incident's append-only activity log. Rows are never
+ * updated; timeline, current state and MTTR are projections over them, see
+ * {@link com.loom.incident.service.IncidentActivityLog}.
+ */
+@Entity
+@org.hibernate.annotations.Immutable
+@Table(name = "incident_activity", indexes = {
+        @Index(name = "idx_incident_activity_incident_time", columnList = "incident_id, occurred_at, id"),
+        @Index(name = "idx_incident_activity_type", columnList = "type, occurred_at")
+})
+public class IncidentActivity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_activity_seq_gen")
+    @SequenceGenerator(name = "incident_activity_seq_gen", sequenceName = "incident_activity_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "incident_id", nullable = false, updatable = false)
+    private UUID incidentId;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, updatable = false, length = 40)
+    private TimelineEventType type;
+
+    // Previous and new value for changes, e.g. status or assignee
+    @Column(name = "from_value", updatable = false)
+    private String fromValue;
+
+    @Column(name = "to_value", updatable = false)
+    private String toValue;
+
+    @Column(name = "description", length = 1000, updatable = false)
+    private String description;
+
+    public IncidentActivity() {
+    }
+
+    public IncidentActivity(UUID incidentId, TimelineEventType type, String fromValue, String toValue,
+            String description) {
+        this.incidentId = incidentId;
+        this.occurredAt = Instant.now();
+        this.type = type;
+        this.fromValue = fromValue;
+        this.toValue = toValue;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getIncidentId() {
+        return incidentId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public TimelineEventType getType() {
+        return type;
+    }
+
+    public String getFromValue() {
+        return fromValue;
+    }
+
+    public String getToValue() {
+        return toValue;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,152 @@
+package com.loom.incident.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Folded state of an incident's activity log up to the entry
+ * {@code (lastOccurredAt, lastActivityId)}. Rebuilding the state only
+ * replays the entries after it.
+ */
+@Entity
+@Table(name = "incident_activity_snapshot")
+public class IncidentActivitySnapshot {
+
+    @Id
+    @Column(name = "incident_id")
+    private UUID incidentId;
+
+    @Column(name = "last_activity_id", nullable = false)
+    private long lastActivityId;
+
+    // Null on snapshots written before the log was ordered by time
+    @Column(name = "last_occurred_at")
+    private Instant lastOccurredAt;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    @Enumerated(EnumType.STRING)
+    private IncidentStatus status;
+
+    @Column(name = "assignee_name")
+    private String assigneeName;
+
+    @Column(name = "opened_at")
+    private Instant openedAt;
+
+    @Column(name = "first_assigned_at")
+    private Instant firstAssignedAt;
+
+    @Column(name = "resolved_at")
+    private Instant resolvedAt;
+
+    @Column(name = "escalations", nullable = false)
+    private int escalations;
+
+    @Column(name = "reopens", nullable = false)
+    private int reopens;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public IncidentActivitySnapshot() {
+    }
+
+    public IncidentActivitySnapshot(UUID incidentId) {
+        this.incidentId = incidentId;
+    }
+
+    public UUID getIncidentId() {
+        return incidentId;
+    }
+
+    public long getLastActivityId() {
+        return lastActivityId;
+    }
+
+    public void setLastActivityId(long lastActivityId) {
+        this.lastActivityId = lastActivityId;
+    }
+
+    public Instant getLastOccurredAt() {
+        return lastOccurredAt;
+    }
+
+    public void setLastOccurredAt(Instant lastOccurredAt) {
+        this.lastOccurredAt = lastOccurredAt;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public IncidentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IncidentStatus status) {
+        this.status = status;
+    }
+
+    public String getAssigneeName() {
+        return assigneeName;
+    }
+
+    public void setAssigneeName(String assigneeName) {
+        this.assigneeName = assigneeName;
+    }
+
+    public Instant getOpenedAt() {
+        return openedAt;
+    }
+
+    public void setOpenedAt(Instant openedAt) {
+        this.openedAt = openedAt;
+    }
+
+    public Instant getFirstAssignedAt() {
+        return firstAssignedAt;
+    }
+
+    public void setFirstAssignedAt(Instant firstAssignedAt) {
+        this.firstAssignedAt = firstAssignedAt;
+    }
+
+    public Instant getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(Instant resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+
+    public int getEscalations() {
+        return escalations;
+    }
+
+    public void setEscalations(int escalations) {
+        this.escalations = escalations;
+    }
+
+    public int getReopens() {
+        return reopens;
+    }
+
+    public void setReopens(int reopens) {
+        this.reopens = reopens;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,83 @@
+package com.loom.incident.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The embedding of an incident's text, stored once per content revision.
+ * {@code contentHash} identifies the text that produced {@code vector}, so a
+ * new embedding is only needed when the hash changes. {@code indexedHash} is
+ * the revision whose vector was last written to {@code incident_index}; the
+ * two differ when a vector was refreshed outside the indexer.
+ */
+@Entity
+@Table(name = "incident_embeddings")
+public class IncidentEmbedding {
+
+    @Id
+    @Column(name = "incident_id")
+    private UUID incidentId;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "indexed_hash", length = 64)
+    private String indexedHash;
+
+    @Column(name = "vector", nullable = false)
+    private float[] vector;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public IncidentEmbedding() {
+    }
+
+    public IncidentEmbedding(UUID incidentId, String contentHash, float[] vector) {
+        this.incidentId = incidentId;
+        this.contentHash = contentHash;
+        this.vector = vector;
+        this.updatedAt = Instant.now();
+    }
+
+    public UUID getIncidentId() {
+        return incidentId;
+    }
+
+    public void setIncidentId(UUID incidentId) {
+        this.incidentId = incidentId;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getIndexedHash() {
+        return indexedHash;
+    }
+
+    public void setIndexedHash(String indexedHash) {
+        this.indexedHash = indexedHash;
+    }
+
+    public float[] getVector() {
+        return vector;
+    }
+
+    public void setVector(float[] vector) {
+        this.vector = vector;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,95 @@
+package com.loom.incident.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outbox row recording that an incident's index document must be brought up
+ * to date. Written in the same transaction as the incident change and drained
+ * by {@link com.loom.incident.service.IncidentIndexOutbox}.
+ */
+@Entity
+@Table(name = "incident_index_outbox", indexes = {
+        @Index(name = "idx_index_outbox_pending", columnList = "processed_at, next_attempt_at")
+})
+public class IncidentIndexIntent {
+
+    // Sequence with a pooled allocation rather than IDENTITY, so Hibernate can
+    // batch the inserts of a bulk intake
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "index_outbox_seq_gen")
+    @SequenceGenerator(name = "index_outbox_seq_gen", sequenceName = "incident_index_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "incident_id", nullable = false)
+    private UUID incidentId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public IncidentIndexIntent() {
+    }
+
+    public IncidentIndexIntent(UUID incidentId) {
+        this.incidentId = incidentId;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getIncidentId() {
+        return incidentId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(Instant processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
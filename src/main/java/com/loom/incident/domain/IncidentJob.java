@@ -0,0 +1,189 @@
+package com.loom.incident.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A unit of background work, queued in Postgres so it survives restarts.
+ * Drained by {@link com.loom.incident.service.IncidentJobWorker}.
+ *
+ * A RUNNING job holds a lease; if its worker dies, the job becomes claimable
+ * again once {@code leaseUntil} has passed.
+ */
+@Entity
+@Table(name = "incident_jobs", indexes = {
+        @Index(name = "idx_incident_jobs_runnable", columnList = "status, run_after"),
+        @Index(name = "idx_incident_jobs_incident", columnList = "incident_id, type")
+})
+public class IncidentJob {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 40)
+    private IncidentJobType type;
+
+    @Column(name = "incident_id", nullable = false)
+    private UUID incidentId;
+
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IncidentJobStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "progress", nullable = false)
+    private int progress;
+
+    @Column(name = "progress_message", length = 500)
+    private String progressMessage;
+
+    // JSON of the handler's return value
+    @Column(name = "result", columnDefinition = "TEXT")
+    private String result;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "run_after", nullable = false)
+    private Instant runAfter;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    public IncidentJob() {
+    }
+
+    public IncidentJob(IncidentJobType type, UUID incidentId) {
+        this.id = UUID.randomUUID();
+        this.type = type;
+        this.incidentId = incidentId;
+        this.priority = type.getPriority();
+        this.maxAttempts = type.getMaxAttempts();
+        this.status = IncidentJobStatus.QUEUED;
+        this.createdAt = Instant.now();
+        this.runAfter = this.createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public IncidentJobType getType() {
+        return type;
+    }
+
+    public UUID getIncidentId() {
+        return incidentId;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public IncidentJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IncidentJobStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+
+    public String getProgressMessage() {
+        return progressMessage;
+    }
+
+    public void setProgressMessage(String progressMessage) {
+        this.progressMessage = progressMessage;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getRunAfter() {
+        return runAfter;
+    }
+
+    public void setRunAfter(Instant runAfter) {
+        this.runAfter = runAfter;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+}
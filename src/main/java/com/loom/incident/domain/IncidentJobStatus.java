@@ -0,0 +1,12 @@
+package com.loom.incident.domain;
+
+public enum IncidentJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,29 @@
+package com.loom.incident.domain;
+
+/**
+ * Kinds of background work on an incident. Higher priorities are claimed
+ * first; interactive requests outrank work triggered as a side effect.
+ */
+public enum IncidentJobType {
+    AI_ANALYSIS(10, 3),
+    CODE_CORRELATION(5, 3),
+    // Only queued when the enrichment executor is saturated
+    ENRICHMENT(3, 3),
+    DEEP_ANALYSIS(1, 2);
+
+    private final int priority;
+    private final int maxAttempts;
+
+    IncidentJobType(int priority, int maxAttempts) {
+        this.priority = priority;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
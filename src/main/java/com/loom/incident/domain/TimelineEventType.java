@@ -4,5 +4,11 @@ public enum TimelineEventType {
     INCIDENT_CREATED,
     SIMILAR_INCIDENTS_FOUND,
     AI_ANALYSIS,
-    INCIDENT_RESOLVED
+    INCIDENT_RESOLVED,
+    INCIDENT_REOPENED,
+    STATUS_CHANGED,
+    ESCALATED,
+    DEPLOYMENT_CORRELATED,
+    RECURRENCE_DETECTED,
+    EVIDENCE_ADDED
 }
@@ -0,0 +1,12 @@
+package com.loom.incident.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published once the asynchronous enrichment of an incident has finished.
+ * {@code stages} lists the enrichments that produced a value, e.g.
+ * {@code DEPLOYMENT_INSIGHT} or {@code RECURRENCE}.
+ */
+public record IncidentEnrichedEvent(UUID incidentId, List<String> stages) {
+}
@@ -0,0 +1,10 @@
+package com.loom.incident.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a job reports progress or finishes; listeners should run
+ * after commit so they read the new state.
+ */
+public record IncidentJobUpdatedEvent(UUID jobId) {
+}
@@ -0,0 +1,9 @@
+package com.loom.incident.event;
+
+import com.loom.incident.domain.IncidentStatus;
+
+import java.util.UUID;
+
+public record IncidentStatusChangedEvent(UUID incidentId, String publicId, String fingerprint,
+        IncidentStatus previousStatus, IncidentStatus status) {
+}
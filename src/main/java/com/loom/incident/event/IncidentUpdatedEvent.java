@@ -0,0 +1,10 @@
+package com.loom.incident.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an incident row changes in a way not covered by a more
+ * specific event, e.g. assignment or a full update.
+ */
+public record IncidentUpdatedEvent(UUID incidentId) {
+}
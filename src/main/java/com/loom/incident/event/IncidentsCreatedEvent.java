@@ -0,0 +1,11 @@
+package com.loom.incident.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published inside the creating transaction; listeners that need the rows
+ * should run after commit.
+ */
+public record IncidentsCreatedEvent(List<UUID> incidentIds) {
+}
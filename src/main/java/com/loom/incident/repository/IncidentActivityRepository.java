@@ -0,0 +1,42 @@
+package com.loom.incident.repository;
+
+import com.loom.incident.domain.IncidentActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface IncidentActivityRepository extends JpaRepository<IncidentActivity, Long> {
+
+    // Range scans on idx_incident_activity_incident_time (incident_id, occurred_at, id)
+    List<IncidentActivity> findByIncidentIdOrderByOccurredAtAscIdAsc(UUID incidentId);
+
+    /**
+     * Entries after the position {@code (occurredAt, id)}, in log order.
+     */
+    @Query("SELECT a FROM IncidentActivity a WHERE a.incidentId = :incidentId AND (a.occurredAt > :occurredAt "
+            + "OR (a.occurredAt = :occurredAt AND a.id > :id)) ORDER BY a.occurredAt, a.id")
+    List<IncidentActivity> findAfter(@Param("incidentId") UUID incidentId, @Param("occurredAt") Instant occurredAt,
+            @Param("id") long id);
+
+    /**
+     * Mean seconds from creation to the latest resolution, over incidents
+     * resolved since {@code since} and not reopened afterwards.
+     *
+     * @return {avg seconds, incident count}
+     */
+    @Query(value = "SELECT AVG(EXTRACT(EPOCH FROM (r.resolved_at - c.created_at))), COUNT(*) FROM "
+            + "(SELECT incident_id, MAX(occurred_at) AS resolved_at FROM incident_activity "
+            + " WHERE type = 'INCIDENT_RESOLVED' GROUP BY incident_id) r "
+            + "JOIN (SELECT incident_id, MIN(occurred_at) AS created_at FROM incident_activity "
+            + " WHERE type = 'INCIDENT_CREATED' GROUP BY incident_id) c ON c.incident_id = r.incident_id "
+            + "WHERE r.resolved_at >= :since AND NOT EXISTS (SELECT 1 FROM incident_activity o "
+            + " WHERE o.incident_id = r.incident_id AND o.type = 'INCIDENT_REOPENED' "
+            + " AND o.occurred_at > r.resolved_at)", nativeQuery = true)
+    List<Object[]> meanTimeToResolve(@Param("since") Instant since);
+}
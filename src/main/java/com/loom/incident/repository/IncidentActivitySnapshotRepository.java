@@ -0,0 +1,11 @@
+package com.loom.incident.repository;
+
+import com.loom.incident.domain.IncidentActivitySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface IncidentActivitySnapshotRepository extends JpaRepository<IncidentActivitySnapshot, UUID> {
+}
@@ -0,0 +1,18 @@
+package com.loom.incident.repository;
+
+import com.loom.incident.domain.IncidentEmbedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface IncidentEmbeddingRepository extends JpaRepository<IncidentEmbedding, UUID> {
+
+    @Modifying
+    @Query("UPDATE IncidentEmbedding e SET e.indexedHash = :hash WHERE e.incidentId = :incidentId")
+    int markIndexed(@Param("incidentId") UUID incidentId, @Param("hash") String hash);
+}
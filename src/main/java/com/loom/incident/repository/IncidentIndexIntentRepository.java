@@ -0,0 +1,35 @@
+package com.loom.incident.repository;
+
+import com.loom.incident.domain.IncidentIndexIntent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IncidentIndexIntentRepository extends JpaRepository<IncidentIndexIntent, Long> {
+
+    // SKIP LOCKED lets several relay instances drain the outbox without
+    // handing the same intent to two of them
+    @Query(value = "SELECT * FROM incident_index_outbox WHERE processed_at IS NULL AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<IncidentIndexIntent> lockPendingBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    long countByProcessedAtIsNull();
+
+    Optional<IncidentIndexIntent> findFirstByProcessedAtIsNullOrderByIdAsc();
+
+    @Modifying
+    @Query("UPDATE IncidentIndexIntent i SET i.processedAt = null, i.attempts = 0, i.lastError = null, "
+            + "i.nextAttemptAt = :now WHERE i.createdAt >= :since")
+    int requeueCreatedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM IncidentIndexIntent i WHERE i.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,63 @@
+package com.loom.incident.repository;
+
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobStatus;
+import com.loom.incident.domain.IncidentJobType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IncidentJobRepository extends JpaRepository<IncidentJob, UUID> {
+
+    // Queued jobs that are due, plus running jobs whose worker lost its lease.
+    // SKIP LOCKED lets several workers claim without handing a job out twice.
+    @Query(value = "SELECT * FROM incident_jobs WHERE (status = 'QUEUED' AND run_after <= :now) "
+            + "OR (status = 'RUNNING' AND lease_until < :now) "
+            + "ORDER BY priority DESC, created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<IncidentJob> lockRunnable(@Param("now") Instant now, @Param("limit") int limit);
+
+    // uq_incident_jobs_active allows one queued or running job per incident and type;
+    // returns 0 when another one already holds that slot
+    @Modifying
+    @Query(value = "INSERT INTO incident_jobs (id, type, incident_id, priority, status, attempts, max_attempts, "
+            + "progress, created_at, run_after) VALUES (:id, :type, :incidentId, :priority, 'QUEUED', 0, "
+            + ":maxAttempts, 0, :createdAt, :createdAt) "
+            + "ON CONFLICT (incident_id, type) WHERE status IN ('QUEUED', 'RUNNING') DO NOTHING", nativeQuery = true)
+    int insertIfNoneActive(@Param("id") UUID id, @Param("type") String type, @Param("incidentId") UUID incidentId,
+            @Param("priority") int priority, @Param("maxAttempts") int maxAttempts,
+            @Param("createdAt") Instant createdAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM IncidentJob j WHERE j.id = :id")
+    Optional<IncidentJob> findByIdForUpdate(@Param("id") UUID id);
+
+    Optional<IncidentJob> findFirstByIncidentIdAndTypeAndStatusInOrderByCreatedAtDesc(UUID incidentId,
+            IncidentJobType type, Collection<IncidentJobStatus> statuses);
+
+    Optional<IncidentJob> findFirstByIncidentIdAndTypeOrderByCreatedAtDesc(UUID incidentId, IncidentJobType type);
+
+    @Modifying
+    @Query("UPDATE IncidentJob j SET j.progress = :progress, j.progressMessage = :message, "
+            + "j.leaseUntil = :leaseUntil WHERE j.id = :id AND j.attempts = :attempt "
+            + "AND j.status = com.loom.incident.domain.IncidentJobStatus.RUNNING")
+    int updateProgress(@Param("id") UUID id, @Param("attempt") int attempt, @Param("progress") int progress,
+            @Param("message") String message, @Param("leaseUntil") Instant leaseUntil);
+
+    @Query("SELECT j.status, COUNT(j) FROM IncidentJob j GROUP BY j.status")
+    List<Object[]> countByStatus();
+
+    @Modifying
+    @Query("DELETE FROM IncidentJob j WHERE j.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -10,10 +10,73 @@ import java.util.UUID;
 public interface IncidentRepository extends JpaRepository<Incident, UUID> {
     java.util.Optional<Incident> findByPublicId(String publicId);
 
+    @org.springframework.data.jpa.repository.Query("SELECT i.id FROM Incident i WHERE i.publicId = :publicId")
+    java.util.Optional<UUID> findIdByPublicId(@org.springframework.data.repository.query.Param("publicId") String publicId);
+
+    // Fetch plans for the detail view: evidence in the same query, deployments
+    // via batch fetch (two bags cannot be joined at once)
+    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = "evidence")
+    java.util.Optional<Incident> findDetailByPublicId(String publicId);
+
+    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = "evidence")
+    java.util.Optional<Incident> findDetailById(UUID id);
+
     // We'll use a native query to get the next sequence value safely from Postgres
     @org.springframework.data.jpa.repository.Query(value = "SELECT nextval('incident_id_seq')", nativeQuery = true)
     Long getNextSequenceValue();
 
+    @org.springframework.data.jpa.repository.Query(value = "SELECT nextval('incident_id_seq') FROM generate_series(1, :count)", nativeQuery = true)
+    java.util.List<Long> allocateSequenceValues(@org.springframework.data.repository.query.Param("count") int count);
+
+    // Moves the sequence past imported public IDs; never moves it backwards
+    @org.springframework.data.jpa.repository.Query(value = "SELECT setval('incident_id_seq', GREATEST(:value, (SELECT last_value FROM incident_id_seq)))", nativeQuery = true)
+    Long advanceSequenceTo(@org.springframework.data.repository.query.Param("value") long value);
+
+    @org.springframework.data.jpa.repository.Query("SELECT i.publicId FROM Incident i WHERE i.publicId IN :publicIds")
+    java.util.List<String> findExistingPublicIds(
+            @org.springframework.data.repository.query.Param("publicIds") java.util.Collection<String> publicIds);
+
+    @org.springframework.data.jpa.repository.Query("SELECT i.id FROM Incident i")
+    java.util.List<UUID> findAllIds();
+
+    // Targeted updates for enrichment, so they never overwrite a concurrent
+    // status or assignee change with a stale copy of the row
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Incident i SET i.deploymentInsight = :insight WHERE i.id = :id")
+    int updateDeploymentInsight(@org.springframework.data.repository.query.Param("id") UUID id,
+            @org.springframework.data.repository.query.Param("insight") String insight);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Incident i SET i.recurring = :recurring, "
+            + "i.recurringCount = :recurringCount, i.firstSeen = :firstSeen WHERE i.id = :id")
+    int updateRecurrence(@org.springframework.data.repository.query.Param("id") UUID id,
+            @org.springframework.data.repository.query.Param("recurring") Boolean recurring,
+            @org.springframework.data.repository.query.Param("recurringCount") Integer recurringCount,
+            @org.springframework.data.repository.query.Param("firstSeen") java.time.Instant firstSeen);
+
+    // fingerprint, id, publicId of every open incident that has a fingerprint
+    @org.springframework.data.jpa.repository.Query("SELECT i.fingerprint, i.id, i.publicId FROM Incident i "
+            + "WHERE i.fingerprint IS NOT NULL AND i.status IN :statuses")
+    java.util.List<Object[]> findFingerprintsByStatusIn(
+            @org.springframework.data.repository.query.Param("statuses") java.util.Collection<com.loom.incident.domain.IncidentStatus> statuses);
+
+    boolean existsByFingerprintAndStatusInAndIdNot(String fingerprint,
+            java.util.Collection<com.loom.incident.domain.IncidentStatus> statuses, UUID id);
+
+    // Only matches while the incident is still open, so a stale in-memory
+    // fingerprint entry updates nothing
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Incident i SET "
+            + "i.occurrenceCount = COALESCE(i.occurrenceCount, 1) + :count, i.lastOccurrenceAt = :at "
+            + "WHERE i.id = :id AND i.status IN :statuses")
+    int incrementOccurrences(@org.springframework.data.repository.query.Param("id") UUID id,
+            @org.springframework.data.repository.query.Param("count") int count,
+            @org.springframework.data.repository.query.Param("at") java.time.Instant at,
+            @org.springframework.data.repository.query.Param("statuses") java.util.Collection<com.loom.incident.domain.IncidentStatus> statuses);
+
     java.util.List<Incident> findByServiceAndCreatedAtAfter(String service, java.time.Instant createdAt);
 
     java.util.List<Incident> findByAssigneeName(String assigneeName);
@@ -0,0 +1,53 @@
+package com.loom.incident.repository;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aggregate queries for dashboards. Everything is grouped in Postgres; rows
+ * are {@code [key..., count]}.
+ */
+@org.springframework.stereotype.Repository
+public interface IncidentStatsRepository extends Repository<Incident, UUID> {
+
+    @Query("SELECT i.severity, COUNT(i) FROM Incident i GROUP BY i.severity")
+    List<Object[]> countBySeverity();
+
+    @Query("SELECT i.status, COUNT(i) FROM Incident i GROUP BY i.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT i.service, COUNT(i) FROM Incident i GROUP BY i.service")
+    List<Object[]> countByService();
+
+    // UTC day, matching the ISO-8601 timestamps the API returns
+    @Query(value = "SELECT to_char(created_at AT TIME ZONE 'UTC', 'YYYY-MM-DD') AS day, COUNT(*) "
+            + "FROM incidents GROUP BY day", nativeQuery = true)
+    List<Object[]> countByDay();
+
+    @Query(value = "SELECT CAST(AVG(EXTRACT(EPOCH FROM (resolved_at - created_at))) AS double precision) FROM incidents "
+            + "WHERE resolved_at >= created_at + INTERVAL '1 second'", nativeQuery = true)
+    Double averageResolutionSeconds();
+
+    @Query("SELECT i.assigneeName, COUNT(i) FROM Incident i WHERE i.assigneeName IS NOT NULL "
+            + "AND i.status NOT IN :closedStatuses GROUP BY i.assigneeName ORDER BY COUNT(i) DESC")
+    List<Object[]> countActiveByAssignee(@Param("closedStatuses") Collection<IncidentStatus> closedStatuses,
+            Pageable pageable);
+
+    // assigneeName, publicId, title, severity, service of every assigned incident not in the given status
+    @Query("SELECT i.assigneeName, i.publicId, i.title, i.severity, i.service FROM Incident i "
+            + "WHERE i.assigneeName IS NOT NULL AND i.assigneeName <> '' AND i.status <> :status")
+    List<Object[]> findAssignedSummariesByStatusNot(@Param("status") IncidentStatus status);
+
+    @Query("SELECT i.assigneeName, i.service, COUNT(i) FROM Incident i "
+            + "WHERE i.assigneeName IS NOT NULL AND i.assigneeName <> '' AND i.status = :status "
+            + "GROUP BY i.assigneeName, i.service")
+    List<Object[]> countAssignedByServiceAndStatus(@Param("status") IncidentStatus status);
+}
@@ -0,0 +1,43 @@
+package com.loom.incident.service;
+
+import com.loom.incident.api.dto.AnalysisResponse;
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobType;
+import com.loom.incident.domain.TimelineEventType;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class AIAnalysisJobHandler implements IncidentJobHandler {
+
+    private final AIAnalysisService aiAnalysisService;
+    private final IncidentActivityLog activityLog;
+
+    public AIAnalysisJobHandler(AIAnalysisService aiAnalysisService, IncidentActivityLog activityLog) {
+        this.aiAnalysisService = aiAnalysisService;
+        this.activityLog = activityLog;
+    }
+
+    @Override
+    public IncidentJobType type() {
+        return IncidentJobType.AI_ANALYSIS;
+    }
+
+    @Override
+    public Object run(IncidentJob job, Progress progress) {
+        progress.report(10, "Retrieving similar incidents and generating analysis");
+        AnalysisResponse response = aiAnalysisService.analyzeIncident(job.getIncidentId());
+
+        // Only a completed analysis job goes on the timeline; other callers just read the result
+        List<UUID> similar = response.getBasedOnIncidentIds();
+        if (similar != null && !similar.isEmpty()) {
+            activityLog.append(job.getIncidentId(), TimelineEventType.SIMILAR_INCIDENTS_FOUND,
+                    similar.size() + " similar historical incidents identified");
+        }
+        activityLog.append(job.getIncidentId(), TimelineEventType.AI_ANALYSIS,
+                "AI-based root cause and resolution generated");
+        return response;
+    }
+}
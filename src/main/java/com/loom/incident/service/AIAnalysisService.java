@@ -3,8 +3,6 @@ package com.loom.incident.service;
 import com.loom.incident.ai.AiClient;
 import com.loom.incident.api.dto.AnalysisResponse;
 import com.loom.incident.api.dto.SimilarIncidentResponse;
-import com.loom.incident.domain.Incident;
-import com.loom.incident.repository.IncidentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -20,22 +18,21 @@ public class AIAnalysisService {
 
     private static final Logger logger = LoggerFactory.getLogger(AIAnalysisService.class);
 
-    private final IncidentRepository incidentRepository;
+    private final IncidentResolver incidentResolver;
     private final IncidentSearchService incidentSearchService;
     private final AiClient aiClient;
 
-    public AIAnalysisService(IncidentRepository incidentRepository,
+    public AIAnalysisService(IncidentResolver incidentResolver,
             IncidentSearchService incidentSearchService,
             AiClient aiClient) {
-        this.incidentRepository = incidentRepository;
+        this.incidentResolver = incidentResolver;
         this.incidentSearchService = incidentSearchService;
         this.aiClient = aiClient;
     }
 
     public AnalysisResponse analyzeIncident(UUID incidentId) {
         // 1. Fetch current incident
-        Incident incident = incidentRepository.findById(incidentId)
-                .orElseThrow(() -> new IllegalArgumentException("Incident not found with id: " + incidentId));
+        IncidentSnapshot incident = incidentResolver.snapshot(incidentId);
 
         // 2. Fetch similar resolved incidents (Context for RAG)
         List<SimilarIncidentResponse> similarIncidents = incidentSearchService.findSimilarIncidents(incidentId);
@@ -71,14 +68,14 @@ public class AIAnalysisService {
                 relatedIds);
     }
 
-    private String buildPrompt(Incident current, List<SimilarIncidentResponse> similar) {
+    private String buildPrompt(IncidentSnapshot current, List<SimilarIncidentResponse> similar) {
         StringBuilder sb = new StringBuilder();
         sb.append(
                 "You are an expert SRE assistant. Analyze the following active incident and provide a root cause and resolution, using the context of similar past resolved incidents.\n\n");
 
         sb.append("=== CURRENT INCIDENT ===\n");
-        sb.append("Title: ").append(current.getTitle()).append("\n");
-        sb.append("Description: ").append(current.getDescription()).append("\n");
+        sb.append("Title: ").append(current.title()).append("\n");
+        sb.append("Description: ").append(current.description()).append("\n");
         sb.append("\n");
 
         sb.append("=== SIMILAR PAST INCIDENTS ===\n");
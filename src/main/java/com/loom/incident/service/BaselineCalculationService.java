@@ -21,28 +21,14 @@ public class BaselineCalculationService {
 
     private final IncidentRepository incidentRepository;
     private final BaselineProfileRepository baselineProfileRepository;
-    private final IncidentIndexService incidentIndexService; // For embeddings if needed, though they are in Elastic
-
-    // In a real system, we'd fetch embeddings from Elastic or Vector DB.
-    // For MVP, we'll assume we might need to fetch them or compute centroids if
-    // stored.
-    // However, Incident entity doesn't store embedding vector directly in Postgres
-    // (usually).
-    // The requirement says "Compute embedding centroid from incident embeddings".
-    // We will need to interact with IncidentSearchService or similar to get
-    // embeddings.
-    // For this MVP step 4 says "Compute embedding centroid from incident
-    // embeddings".
-    // Let's assume we can get them or we mock it for now if access is hard.
-    // Wait, the prompt says "Search: Elasticsearch (already indexed incidents with
-    // embeddings)".
+    private final IncidentVectorService incidentVectorService; // Stored per-revision incident embeddings
 
     public BaselineCalculationService(IncidentRepository incidentRepository,
             BaselineProfileRepository baselineProfileRepository,
-            IncidentIndexService incidentIndexService) {
+            IncidentVectorService incidentVectorService) {
         this.incidentRepository = incidentRepository;
         this.baselineProfileRepository = baselineProfileRepository;
-        this.incidentIndexService = incidentIndexService;
+        this.incidentVectorService = incidentVectorService;
     }
 
     /**
@@ -115,14 +101,15 @@ public class BaselineCalculationService {
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
 
-        // Compute Centroid (Placeholder: average of embeddings)
-        // In real app, we query Elastic for vectors.
-        // For MVP without easy vector access in Java from Elastic helper here, we will
-        // init with 0s or random
-        // to show the plumbing.
-        // TODO: Integrate real vector fetching if possible.
-        float[] centroid = new float[384]; // 384 dim is common
-        Arrays.fill(centroid, 0.0f);
+        // Compute Centroid: average of the stored incident embeddings. Incidents that
+        // have not been embedded yet are skipped rather than embedded here, and a
+        // group with no stored vectors keeps its previous profile until they exist.
+        List<float[]> vectors = incidentVectorService.findStoredVectors(
+                incidents.stream().map(Incident::getId).collect(Collectors.toList()));
+        float[] centroid = computeCentroid(vectors);
+        if (centroid.length == 0) {
+            return;
+        }
 
         // Upsert Profile
         BaselineProfile profile = baselineProfileRepository.findByServiceNameAndSeverity(service, severity)
@@ -140,6 +127,28 @@ public class BaselineCalculationService {
         baselineProfileRepository.save(profile);
     }
 
+    private float[] computeCentroid(List<float[]> vectors) {
+        if (vectors.isEmpty()) {
+            return new float[0];
+        }
+        int dims = vectors.get(0).length;
+        float[] centroid = new float[dims];
+        int count = 0;
+        for (float[] v : vectors) {
+            if (v.length != dims) {
+                continue; // Vector from a different embedding model
+            }
+            for (int i = 0; i < dims; i++) {
+                centroid[i] += v[i];
+            }
+            count++;
+        }
+        for (int i = 0; i < dims; i++) {
+            centroid[i] /= count;
+        }
+        return centroid;
+    }
+
     private double calculatePercentile(List<Long> values, double percentile) {
         if (values.isEmpty())
             return 0.0;
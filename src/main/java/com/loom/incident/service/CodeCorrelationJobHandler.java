@@ -0,0 +1,51 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobType;
+import com.loom.incident.repository.IncidentRepository;
+import com.loom.sentinel.code.CodeIncidentCorrelationService;
+import com.loom.sentinel.code.IncidentCodeCorrelationRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Correlates an incident with recent commits. The result is the list of
+ * correlated commit SHAs; the correlations themselves are stored by
+ * {@link CodeIncidentCorrelationService}.
+ */
+@Component
+public class CodeCorrelationJobHandler implements IncidentJobHandler {
+
+    private final IncidentRepository incidentRepository;
+    private final CodeIncidentCorrelationService correlationService;
+    private final IncidentCodeCorrelationRepository correlationRepository;
+
+    public CodeCorrelationJobHandler(IncidentRepository incidentRepository,
+            CodeIncidentCorrelationService correlationService,
+            IncidentCodeCorrelationRepository correlationRepository) {
+        this.incidentRepository = incidentRepository;
+        this.correlationService = correlationService;
+        this.correlationRepository = correlationRepository;
+    }
+
+    @Override
+    public IncidentJobType type() {
+        return IncidentJobType.CODE_CORRELATION;
+    }
+
+    @Override
+    public List<String> run(IncidentJob job, Progress progress) {
+        Incident incident = incidentRepository.findById(job.getIncidentId()).orElse(null);
+        if (incident == null) {
+            // Deleted since the job was queued; nothing to retry
+            return List.of();
+        }
+        progress.report(10, "Searching commits similar to the incident");
+        correlationService.correlateIncident(incident);
+        return correlationRepository.findByIncident(incident).stream()
+                .map(c -> c.getCommitSha())
+                .toList();
+    }
+}
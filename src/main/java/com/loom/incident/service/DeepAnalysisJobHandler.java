@@ -0,0 +1,41 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobType;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Deep analysis queued by an escalation: the AI analysis followed by code
+ * correlation, so the on-call engineer finds both ready on the incident.
+ */
+@Component
+public class DeepAnalysisJobHandler implements IncidentJobHandler {
+
+    private final AIAnalysisJobHandler aiAnalysisJobHandler;
+    private final CodeCorrelationJobHandler codeCorrelationJobHandler;
+
+    public DeepAnalysisJobHandler(AIAnalysisJobHandler aiAnalysisJobHandler,
+            CodeCorrelationJobHandler codeCorrelationJobHandler) {
+        this.aiAnalysisJobHandler = aiAnalysisJobHandler;
+        this.codeCorrelationJobHandler = codeCorrelationJobHandler;
+    }
+
+    @Override
+    public IncidentJobType type() {
+        return IncidentJobType.DEEP_ANALYSIS;
+    }
+
+    @Override
+    public Object run(IncidentJob job, Progress progress) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        // Each step reports within its share of the overall progress
+        result.put("analysis", aiAnalysisJobHandler.run(job,
+                (percent, message) -> progress.report(percent * 6 / 10, message)));
+        result.put("correlatedCommits", codeCorrelationJobHandler.run(job,
+                (percent, message) -> progress.report(60 + percent * 4 / 10, message)));
+        return result;
+    }
+}
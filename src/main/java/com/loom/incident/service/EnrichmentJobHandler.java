@@ -0,0 +1,31 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enriches an incident whose after-commit enrichment could not be handed to
+ * the executor. Enrichment rewrites the same columns each time, so a retry
+ * is harmless.
+ */
+@Component
+public class EnrichmentJobHandler implements IncidentJobHandler {
+
+    private final IncidentEnrichmentService enrichmentService;
+
+    public EnrichmentJobHandler(IncidentEnrichmentService enrichmentService) {
+        this.enrichmentService = enrichmentService;
+    }
+
+    @Override
+    public IncidentJobType type() {
+        return IncidentJobType.ENRICHMENT;
+    }
+
+    @Override
+    public Object run(IncidentJob job, Progress progress) {
+        enrichmentService.enrich(job.getIncidentId());
+        return null;
+    }
+}
@@ -1,24 +1,37 @@
 package com.loom.incident.service;
 
 import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentJobType;
 import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.domain.TimelineEventType;
+import com.loom.incident.event.IncidentUpdatedEvent;
 import com.loom.incident.repository.IncidentRepository;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Random;
-import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 @Service
 public class EscalationService {
 
     private final IncidentRepository incidentRepository;
+    private final IncidentIndexOutbox incidentIndexOutbox;
+    private final IncidentResolver incidentResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IncidentActivityLog activityLog;
+    private final IncidentJobQueue jobQueue;
     private final Random random = new Random();
 
-    public EscalationService(IncidentRepository incidentRepository) {
+    public EscalationService(IncidentRepository incidentRepository, IncidentIndexOutbox incidentIndexOutbox,
+            IncidentResolver incidentResolver, ApplicationEventPublisher eventPublisher,
+            IncidentActivityLog activityLog, IncidentJobQueue jobQueue) {
         this.incidentRepository = incidentRepository;
+        this.incidentIndexOutbox = incidentIndexOutbox;
+        this.incidentResolver = incidentResolver;
+        this.eventPublisher = eventPublisher;
+        this.activityLog = activityLog;
+        this.jobQueue = jobQueue;
     }
 
     public static class EscalationResponse {
@@ -41,14 +54,22 @@ public class EscalationService {
         String eta = "~2 min";
 
         // 2. Update Incident
+        String previousAssignee = incident.getAssigneeName();
+        IncidentStatus previousStatus = incident.getStatus();
         incident.setAssigneeName(assignee);
         incident.setAssigneeAvatar(avatar);
         incident.setStatus(IncidentStatus.INVESTIGATING); // Maps to "Under Investigation (AI + Human)" contextually
-        incidentRepository.save(incident);
+        incident = incidentRepository.save(incident);
+        // Assignee and status only - the relay applies it as a partial index update
+        incidentIndexOutbox.enqueue(incident);
+        eventPublisher.publishEvent(new IncidentUpdatedEvent(incident.getId()));
+        activityLog.append(incident.getId(), TimelineEventType.ESCALATED, previousAssignee, assignee,
+                "Escalated to on-call SRE " + assignee);
+        activityLog.recordStatusChange(incident.getId(), previousStatus, IncidentStatus.INVESTIGATING);
 
-        // 3. Trigger Async AI Deep Analysis
-        String deepAnalysisId = UUID.randomUUID().toString();
-        triggerAsyncDeepAnalysis(incident, deepAnalysisId);
+        // 3. Queue the AI deep analysis in the same transaction, so it runs even if
+        // this instance restarts before a worker picks it up
+        String deepAnalysisId = jobQueue.enqueue(IncidentJobType.DEEP_ANALYSIS, incident.getId()).getId().toString();
 
         // 4. Return Response
         EscalationResponse response = new EscalationResponse();
@@ -62,29 +83,7 @@ public class EscalationService {
     }
 
     private Incident findIncident(String incidentIdStr) {
-        try {
-            return incidentRepository.findById(UUID.fromString(incidentIdStr))
-                    .orElseThrow(() -> new RuntimeException("Incident not found"));
-        } catch (IllegalArgumentException e) {
-            return incidentRepository.findByPublicId(incidentIdStr)
-                    .orElseThrow(() -> new RuntimeException("Incident not found"));
-        }
-    }
-
-    @Async
-    public CompletableFuture<Void> triggerAsyncDeepAnalysis(Incident incident, String analysisId) {
-        // In a real system, this would trigger a Temporal workflow or Kafka event.
-        // For MVP, we simulate a delay then "completing" the analysis context.
-        return CompletableFuture.runAsync(() -> {
-            try {
-                // Simulate "Expanding logs" and "Correlating metrics"
-                Thread.sleep(2000);
-                // System.out.println("AI Deep Analysis " + analysisId + " started for " +
-                // incident.getTitle());
-                // Logic to generate detailed report would go here
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        });
+        return incidentRepository.findById(incidentResolver.resolveId(incidentIdStr))
+                .orElseThrow(() -> new RuntimeException("Incident not found"));
     }
 }
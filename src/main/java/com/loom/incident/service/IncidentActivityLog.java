@@ -0,0 +1,135 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentActivity;
+import com.loom.incident.domain.IncidentActivitySnapshot;
+import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.domain.TimelineEventType;
+import com.loom.incident.repository.IncidentActivityRepository;
+import com.loom.incident.repository.IncidentActivitySnapshotRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Append-only activity log of incidents.
+ *
+ * Status changes, assignments, escalations, analyses, correlations and
+ * evidence are recorded as small immutable rows in the caller's
+ * transaction instead of being reconstructed from the incident row. The
+ * timeline is a single range scan on (incident_id, occurred_at, id); current
+ * state is a fold over the log that starts from a stored snapshot, which is
+ * refreshed once {@link #SNAPSHOT_INTERVAL} entries have accumulated after it.
+ *
+ * Ids come from a pooled sequence and timestamps are taken before commit,
+ * so an entry can become visible behind entries already read. Snapshots
+ * therefore only cover entries older than {@link #SETTLE_MARGIN}; anything
+ * newer is replayed on every read.
+ */
+@Service
+public class IncidentActivityLog {
+
+    static final int SNAPSHOT_INTERVAL = 50;
+    // Longer than any transaction that appends to the log
+    static final Duration SETTLE_MARGIN = Duration.ofMinutes(5);
+    private static final Set<IncidentStatus> CLOSED_STATUSES = Set.of(IncidentStatus.RESOLVED, IncidentStatus.CLOSED);
+
+    private final IncidentActivityRepository activityRepository;
+    private final IncidentActivitySnapshotRepository snapshotRepository;
+
+    public IncidentActivityLog(IncidentActivityRepository activityRepository,
+            IncidentActivitySnapshotRepository snapshotRepository) {
+        this.activityRepository = activityRepository;
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    public record MeanTimeToResolve(double seconds, long incidents) {
+    }
+
+    @Transactional
+    public void append(UUID incidentId, TimelineEventType type, String description) {
+        append(incidentId, type, null, null, description);
+    }
+
+    @Transactional
+    public void append(UUID incidentId, TimelineEventType type, String fromValue, String toValue,
+            String description) {
+        activityRepository.save(new IncidentActivity(incidentId, type, fromValue, toValue, description));
+    }
+
+    @Transactional
+    public void recordCreated(List<Incident> incidents) {
+        activityRepository.saveAll(incidents.stream()
+                .map(i -> new IncidentActivity(i.getId(), TimelineEventType.INCIDENT_CREATED, null,
+                        i.getStatus() != null ? i.getStatus().name() : null, "Incident was created"))
+                .toList());
+    }
+
+    @Transactional
+    public void recordStatusChange(UUID incidentId, IncidentStatus from, IncidentStatus to) {
+        if (from == to) {
+            return;
+        }
+        TimelineEventType type = statusChangeType(from, to);
+        String description = switch (type) {
+            case INCIDENT_RESOLVED -> "Incident marked as " + to.name().toLowerCase();
+            case INCIDENT_REOPENED -> "Incident reopened as " + to;
+            default -> "Status changed from " + from + " to " + to;
+        };
+        append(incidentId, type, from != null ? from.name() : null, to.name(), description);
+    }
+
+    static TimelineEventType statusChangeType(IncidentStatus from, IncidentStatus to) {
+        boolean wasClosed = from != null && CLOSED_STATUSES.contains(from);
+        boolean isClosed = CLOSED_STATUSES.contains(to);
+        if (isClosed && !wasClosed) {
+            return TimelineEventType.INCIDENT_RESOLVED;
+        }
+        if (wasClosed && !isClosed) {
+            return TimelineEventType.INCIDENT_REOPENED;
+        }
+        return TimelineEventType.STATUS_CHANGED;
+    }
+
+    @Transactional(readOnly = true)
+    public List<IncidentActivity> timeline(UUID incidentId) {
+        return activityRepository.findByIncidentIdOrderByOccurredAtAscIdAsc(incidentId);
+    }
+
+    @Transactional
+    public IncidentActivityState currentState(UUID incidentId) {
+        IncidentActivitySnapshot snapshot = snapshotRepository.findById(incidentId).orElse(null);
+        // Snapshots without a time watermark were written in id order and are rebuilt
+        boolean resume = snapshot != null && snapshot.getLastOccurredAt() != null;
+        IncidentActivityState state = resume ? IncidentActivityState.from(snapshot) : new IncidentActivityState();
+        List<IncidentActivity> tail = resume
+                ? activityRepository.findAfter(incidentId, state.getLastOccurredAt(), state.getLastActivityId())
+                : activityRepository.findByIncidentIdOrderByOccurredAtAscIdAsc(incidentId);
+
+        Instant settled = Instant.now().minus(SETTLE_MARGIN);
+        int folded = 0;
+        while (folded < tail.size() && tail.get(folded).getOccurredAt().isBefore(settled)) {
+            state.apply(tail.get(folded++));
+        }
+        if (folded >= SNAPSHOT_INTERVAL) {
+            IncidentActivitySnapshot updated = snapshot != null ? snapshot : new IncidentActivitySnapshot(incidentId);
+            state.writeTo(updated);
+            snapshotRepository.save(updated);
+        }
+        tail.subList(folded, tail.size()).forEach(state::apply);
+        return state;
+    }
+
+    @Transactional(readOnly = true)
+    public MeanTimeToResolve meanTimeToResolve(Duration window) {
+        List<Object[]> rows = activityRepository.meanTimeToResolve(Instant.now().minus(window));
+        Object[] row = rows.isEmpty() ? new Object[2] : rows.get(0);
+        return new MeanTimeToResolve(row[0] != null ? ((Number) row[0]).doubleValue() : 0,
+                row[1] != null ? ((Number) row[1]).longValue() : 0);
+    }
+}
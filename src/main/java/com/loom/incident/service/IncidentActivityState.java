@@ -0,0 +1,147 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.IncidentActivity;
+import com.loom.incident.domain.IncidentActivitySnapshot;
+import com.loom.incident.domain.IncidentStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Current state of an incident, folded from its activity log. Starts either
+ * empty or from an {@link IncidentActivitySnapshot} and applies the entries
+ * after it in order.
+ */
+public class IncidentActivityState {
+
+    private long lastActivityId;
+    private Instant lastOccurredAt;
+    private long eventCount;
+    private IncidentStatus status;
+    private String assigneeName;
+    private Instant openedAt;
+    private Instant firstAssignedAt;
+    private Instant resolvedAt;
+    private int escalations;
+    private int reopens;
+
+    public static IncidentActivityState from(IncidentActivitySnapshot snapshot) {
+        IncidentActivityState state = new IncidentActivityState();
+        state.lastActivityId = snapshot.getLastActivityId();
+        state.lastOccurredAt = snapshot.getLastOccurredAt();
+        state.eventCount = snapshot.getEventCount();
+        state.status = snapshot.getStatus();
+        state.assigneeName = snapshot.getAssigneeName();
+        state.openedAt = snapshot.getOpenedAt();
+        state.firstAssignedAt = snapshot.getFirstAssignedAt();
+        state.resolvedAt = snapshot.getResolvedAt();
+        state.escalations = snapshot.getEscalations();
+        state.reopens = snapshot.getReopens();
+        return state;
+    }
+
+    public void apply(IncidentActivity activity) {
+        switch (activity.getType()) {
+            case INCIDENT_CREATED -> {
+                if (openedAt == null) {
+                    openedAt = activity.getOccurredAt();
+                }
+                status = parseStatus(activity.getToValue(), IncidentStatus.OPEN);
+            }
+            case STATUS_CHANGED -> status = parseStatus(activity.getToValue(), status);
+            case INCIDENT_RESOLVED -> {
+                status = parseStatus(activity.getToValue(), IncidentStatus.RESOLVED);
+                resolvedAt = activity.getOccurredAt();
+            }
+            case INCIDENT_REOPENED -> {
+                status = parseStatus(activity.getToValue(), IncidentStatus.OPEN);
+                resolvedAt = null;
+                reopens++;
+            }
+            case ESCALATED -> {
+                assigneeName = activity.getToValue();
+                if (firstAssignedAt == null) {
+                    firstAssignedAt = activity.getOccurredAt();
+                }
+                escalations++;
+            }
+            default -> {
+                // Informational entries (analysis, evidence, correlations) do not change state
+            }
+        }
+        if (activity.getId() != null) {
+            lastActivityId = activity.getId();
+        }
+        lastOccurredAt = activity.getOccurredAt();
+        eventCount++;
+    }
+
+    private static IncidentStatus parseStatus(String value, IncidentStatus fallback) {
+        return value != null ? IncidentStatus.valueOf(value) : fallback;
+    }
+
+    public void writeTo(IncidentActivitySnapshot snapshot) {
+        snapshot.setLastActivityId(lastActivityId);
+        snapshot.setLastOccurredAt(lastOccurredAt);
+        snapshot.setEventCount(eventCount);
+        snapshot.setStatus(status);
+        snapshot.setAssigneeName(assigneeName);
+        snapshot.setOpenedAt(openedAt);
+        snapshot.setFirstAssignedAt(firstAssignedAt);
+        snapshot.setResolvedAt(resolvedAt);
+        snapshot.setEscalations(escalations);
+        snapshot.setReopens(reopens);
+        snapshot.setUpdatedAt(Instant.now());
+    }
+
+    /**
+     * Creation to current resolution; null while the incident is unresolved.
+     */
+    public Duration getTimeToResolve() {
+        return openedAt != null && resolvedAt != null ? Duration.between(openedAt, resolvedAt) : null;
+    }
+
+    public Duration getTimeToAssign() {
+        return openedAt != null && firstAssignedAt != null ? Duration.between(openedAt, firstAssignedAt) : null;
+    }
+
+    public long getLastActivityId() {
+        return lastActivityId;
+    }
+
+    public Instant getLastOccurredAt() {
+        return lastOccurredAt;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public IncidentStatus getStatus() {
+        return status;
+    }
+
+    public String getAssigneeName() {
+        return assigneeName;
+    }
+
+    public Instant getOpenedAt() {
+        return openedAt;
+    }
+
+    public Instant getFirstAssignedAt() {
+        return firstAssignedAt;
+    }
+
+    public Instant getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public int getEscalations() {
+        return escalations;
+    }
+
+    public int getReopens() {
+        return reopens;
+    }
+}
@@ -0,0 +1,230 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.event.IncidentStatusChangedEvent;
+import com.loom.incident.repository.IncidentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Groups repeated alerts into one open incident.
+ *
+ * Each alert is fingerprinted from its service, normalized title and signal
+ * type. Open incidents are tracked in memory by fingerprint, so the duplicate
+ * check costs the same no matter how many historical incidents exist. A
+ * duplicate only increments the existing incident's occurrence count; no row,
+ * embedding or index document is created for it.
+ *
+ * The in-memory map is per instance; a partial unique index on the
+ * fingerprints of open incidents ({@code uq_incidents_open_fingerprint})
+ * stops two instances from opening the same one, and the loser of that race
+ * groups its alert into the winner's incident.
+ */
+@Service
+public class IncidentDeduplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentDeduplicationService.class);
+
+    static final Set<IncidentStatus> OPEN_STATUSES = Set.of(IncidentStatus.OPEN, IncidentStatus.INVESTIGATING);
+
+    private static final Pattern UUID_PATTERN = Pattern
+            .compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final Pattern HEX_PATTERN = Pattern.compile("\\b(?=[0-9a-f]*\\d)[0-9a-f]{7,}\\b");
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final IncidentRepository incidentRepository;
+    private final IncidentService incidentService;
+
+    private final Map<String, OpenIncident> openFingerprints = new ConcurrentHashMap<>();
+    // Serializes check-then-create so two identical alerts cannot both create
+    private final ReentrantLock intakeLock = new ReentrantLock();
+
+    public IncidentDeduplicationService(IncidentRepository incidentRepository, IncidentService incidentService) {
+        this.incidentRepository = incidentRepository;
+        this.incidentService = incidentService;
+    }
+
+    @jakarta.annotation.PostConstruct
+    public void loadOpenFingerprints() {
+        openFingerprints.clear();
+        for (Object[] row : incidentRepository.findFingerprintsByStatusIn(OPEN_STATUSES)) {
+            openFingerprints.put((String) row[0], new OpenIncident((UUID) row[1], (String) row[2]));
+        }
+        logger.info("Loaded {} open incident fingerprints", openFingerprints.size());
+    }
+
+    public record OpenIncident(UUID id, String publicId) {
+    }
+
+    /**
+     * @param signalType the alert rule or signal that fired; may be null
+     */
+    public record Alert(Incident incident, String signalType) {
+    }
+
+    /**
+     * @param publicIds one public ID per submitted alert, in order; duplicates
+     *                  get the ID of the incident they were grouped into
+     */
+    public record IntakeResult(List<String> publicIds, int created, int deduplicated) {
+    }
+
+    public IntakeResult intake(List<Alert> alerts) {
+        intakeLock.lock();
+        try {
+            Instant now = Instant.now();
+            Map<String, Incident> toCreate = new LinkedHashMap<>();
+            Map<String, Integer> repeats = new LinkedHashMap<>();
+            List<String> fingerprints = new ArrayList<>(alerts.size());
+
+            for (Alert a : alerts) {
+                Incident alert = a.incident();
+                String fingerprint = fingerprint(alert.getService(), alert.getTitle(), a.signalType());
+                fingerprints.add(fingerprint);
+                Incident pending = toCreate.get(fingerprint);
+                if (pending != null) {
+                    // Repeated within the batch
+                    pending.setOccurrenceCount(pending.getOccurrenceCount() + 1);
+                    pending.setLastOccurrenceAt(now);
+                } else if (openFingerprints.containsKey(fingerprint)) {
+                    repeats.merge(fingerprint, 1, Integer::sum);
+                } else {
+                    alert.setFingerprint(fingerprint);
+                    alert.setOccurrenceCount(1);
+                    alert.setLastOccurrenceAt(now);
+                    toCreate.put(fingerprint, alert);
+                }
+            }
+
+            int deduplicated = alerts.size() - toCreate.size();
+            for (Map.Entry<String, Integer> repeat : repeats.entrySet()) {
+                OpenIncident open = openFingerprints.get(repeat.getKey());
+                int updated = incidentRepository.incrementOccurrences(open.id(), repeat.getValue(), now,
+                        OPEN_STATUSES);
+                if (updated == 0) {
+                    // Resolved since we last saw it: this alert opens a new incident
+                    openFingerprints.remove(repeat.getKey());
+                    Incident first = alerts.get(fingerprints.indexOf(repeat.getKey())).incident();
+                    first.setFingerprint(repeat.getKey());
+                    first.setOccurrenceCount(repeat.getValue());
+                    first.setLastOccurrenceAt(now);
+                    toCreate.put(repeat.getKey(), first);
+                    deduplicated -= 1;
+                }
+            }
+
+            int created = toCreate.isEmpty() ? 0 : create(toCreate, now);
+            deduplicated += toCreate.size() - created;
+
+            List<String> publicIds = new ArrayList<>(fingerprints.size());
+            for (String fingerprint : fingerprints) {
+                OpenIncident open = openFingerprints.get(fingerprint);
+                publicIds.add(open != null ? open.publicId() : null);
+            }
+            if (deduplicated > 0) {
+                logger.debug("Grouped {} duplicate alerts into open incidents", deduplicated);
+            }
+            return new IntakeResult(publicIds, created, deduplicated);
+        } finally {
+            intakeLock.unlock();
+        }
+    }
+
+    /**
+     * Creates the incidents and starts tracking them. If another instance
+     * opened one of the fingerprints first, the unique index rejects the
+     * batch; the fingerprints are then reloaded and those alerts grouped.
+     *
+     * @return number of incidents created
+     */
+    private int create(Map<String, Incident> toCreate, Instant now) {
+        List<Incident> created;
+        try {
+            created = incidentService.createIncidents(new ArrayList<>(toCreate.values()));
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Open incident fingerprint taken concurrently, regrouping {} alerts", toCreate.size());
+            loadOpenFingerprints();
+            List<Incident> remaining = new ArrayList<>();
+            for (Map.Entry<String, Incident> entry : toCreate.entrySet()) {
+                OpenIncident open = openFingerprints.get(entry.getKey());
+                if (open == null || incidentRepository.incrementOccurrences(open.id(),
+                        entry.getValue().getOccurrenceCount(), now, OPEN_STATUSES) == 0) {
+                    remaining.add(entry.getValue());
+                }
+            }
+            created = remaining.isEmpty() ? List.of() : incidentService.createIncidents(remaining);
+        }
+        for (Incident incident : created) {
+            openFingerprints.put(incident.getFingerprint(),
+                    new OpenIncident(incident.getId(), incident.getPublicId()));
+        }
+        return created.size();
+    }
+
+    // After commit, so a rolled-back status change never evicts or reopens a fingerprint
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChanged(IncidentStatusChangedEvent event) {
+        if (event.fingerprint() == null) {
+            return;
+        }
+        if (OPEN_STATUSES.contains(event.status())) {
+            openFingerprints.put(event.fingerprint(), new OpenIncident(event.incidentId(), event.publicId()));
+        } else {
+            openFingerprints.remove(event.fingerprint(), new OpenIncident(event.incidentId(), event.publicId()));
+        }
+    }
+
+    public int openFingerprintCount() {
+        return openFingerprints.size();
+    }
+
+    public static String fingerprint(String service, String title, String signalType) {
+        String material = String.join("|",
+                service != null ? service.trim().toLowerCase(Locale.ROOT) : "",
+                normalizeTitle(title),
+                signalType != null ? signalType.trim().toUpperCase(Locale.ROOT) : "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(material.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Lower-cases the title and masks the parts that vary between repeats of
+     * the same alert: UUIDs, hashes and numbers.
+     */
+    static String normalizeTitle(String title) {
+        if (title == null) {
+            return "";
+        }
+        String normalized = title.toLowerCase(Locale.ROOT);
+        normalized = UUID_PATTERN.matcher(normalized).replaceAll("<id>");
+        normalized = HEX_PATTERN.matcher(normalized).replaceAll("<hex>");
+        normalized = NUMBER_PATTERN.matcher(normalized).replaceAll("<n>");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,184 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentJobType;
+import com.loom.incident.domain.TimelineEventType;
+import com.loom.incident.event.IncidentEnrichedEvent;
+import com.loom.incident.event.IncidentsCreatedEvent;
+import com.loom.incident.repository.IncidentRepository;
+import com.loom.integration.cicd.Deployment;
+import com.loom.integration.cicd.DeploymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Fills in the derived fields of new incidents after they are committed:
+ * the CI/CD deployment insight and recurrence (count and first seen).
+ *
+ * Both need remote calls (deployment lookup, embedding, kNN search), so
+ * intake only persists the incident and this pipeline catches up
+ * asynchronously. Each stage writes its own columns, and an
+ * {@link IncidentEnrichedEvent} is published when the incident is done.
+ */
+@Service
+public class IncidentEnrichmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentEnrichmentService.class);
+    static final double RECURRENCE_THRESHOLD = 0.85;
+    private static final int CHUNK_SIZE = 25;
+
+    private final IncidentRepository incidentRepository;
+    private final DeploymentService deploymentService;
+    private final IncidentIndexService incidentIndexService;
+    private final IncidentVectorService incidentVectorService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor incidentTaskExecutor;
+    private final IncidentActivityLog activityLog;
+    private final IncidentJobQueue jobQueue;
+
+    public IncidentEnrichmentService(IncidentRepository incidentRepository, DeploymentService deploymentService,
+            IncidentIndexService incidentIndexService, IncidentVectorService incidentVectorService,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("incidentTaskExecutor") Executor incidentTaskExecutor,
+            IncidentActivityLog activityLog, IncidentJobQueue jobQueue) {
+        this.incidentRepository = incidentRepository;
+        this.deploymentService = deploymentService;
+        this.incidentIndexService = incidentIndexService;
+        this.incidentVectorService = incidentVectorService;
+        this.eventPublisher = eventPublisher;
+        this.incidentTaskExecutor = incidentTaskExecutor;
+        this.activityLog = activityLog;
+        this.jobQueue = jobQueue;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onIncidentsCreated(IncidentsCreatedEvent event) {
+        // Batches are split into chunks so several executor threads share them;
+        // the bulk embedding lane bounds how many run against Ollama at once
+        List<UUID> ids = event.incidentIds();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = List.copyOf(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)));
+            try {
+                incidentTaskExecutor.execute(() -> enrichAll(chunk));
+            } catch (RejectedExecutionException e) {
+                // Executor saturated, e.g. by a large batch intake; the job
+                // worker picks the chunk up instead of it being lost
+                logger.warn("Enrichment executor full, queueing {} incidents as jobs", chunk.size());
+                jobQueue.enqueueAll(IncidentJobType.ENRICHMENT, chunk);
+            }
+        }
+    }
+
+    private void enrichAll(List<UUID> incidentIds) {
+        for (UUID incidentId : incidentIds) {
+            try {
+                enrich(incidentId);
+            } catch (Exception e) {
+                logger.warn("Enrichment failed for incident {}: {}", incidentId, e.getMessage());
+            }
+        }
+    }
+
+    public void enrich(UUID incidentId) {
+        Incident incident = incidentRepository.findById(incidentId).orElse(null);
+        if (incident == null) {
+            return;
+        }
+        List<String> stages = new ArrayList<>();
+
+        // Stage 1: Correlate with CI/CD
+        String insight = deploymentInsight(incident);
+        if (insight != null) {
+            incidentRepository.updateDeploymentInsight(incidentId, insight);
+            activityLog.append(incidentId, TimelineEventType.DEPLOYMENT_CORRELATED, insight);
+            stages.add("DEPLOYMENT_INSIGHT");
+        }
+
+        // Stage 2: Recurring Incident Check (Pattern Awareness)
+        try {
+            if (applyRecurrence(incident)) {
+                incidentRepository.updateRecurrence(incidentId, true, incident.getRecurringCount(),
+                        incident.getFirstSeen());
+                activityLog.append(incidentId, TimelineEventType.RECURRENCE_DETECTED, null,
+                        String.valueOf(incident.getRecurringCount()),
+                        "Recurring issue: " + incident.getRecurringCount() + " similar incidents since "
+                                + incident.getFirstSeen());
+                stages.add("RECURRENCE");
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to check for recurring incidents: {}", e.getMessage());
+        }
+
+        eventPublisher.publishEvent(new IncidentEnrichedEvent(incidentId, stages));
+        logger.debug("Enriched incident {} with {}", incident.getPublicId(), stages);
+    }
+
+    private String deploymentInsight(Incident incident) {
+        if (incident.getService() == null || incident.getService().isEmpty()) {
+            return null;
+        }
+        // Defaulting to 'prod' for correlation for now
+        List<Deployment> recentDeployments = deploymentService.findRecentDeployments(incident.getService(), "prod");
+        if (recentDeployments.isEmpty()) {
+            return null;
+        }
+        Deployment latest = recentDeployments.get(0);
+        long minutesAgo = ChronoUnit.MINUTES.between(latest.getDeploymentTime(), incident.getCreatedAt());
+        return String.format("This incident occurred %d minutes after a deployment to %s by %s (commit %s).",
+                minutesAgo, incident.getService(), latest.getAuthor(),
+                latest.getCommitHash().substring(0, 7));
+    }
+
+    /**
+     * Sets recurring, recurringCount and firstSeen from the most similar past
+     * incidents. The incident itself may already be indexed, so it is
+     * excluded from the matches.
+     *
+     * @return true if the incident recurs
+     */
+    boolean applyRecurrence(Incident incident) {
+        // The vector is stored per content revision, so the outbox relay
+        // reuses it instead of embedding the incident again
+        float[] vector = incidentVectorService.vectorFor(incident,
+                com.loom.incident.ai.EmbeddingPriority.BULK);
+        List<IncidentIndexService.ResolvedIncidentDto> similar = incidentIndexService.findSimilarIncidents(vector, 11);
+
+        String ownId = incident.getId() != null ? incident.getId().toString() : null;
+        long similarCount = 0;
+        Instant oldest = incident.getCreatedAt() != null ? incident.getCreatedAt() : Instant.now();
+        for (IncidentIndexService.ResolvedIncidentDto s : similar) {
+            if (s.getScore() == null || s.getScore() <= RECURRENCE_THRESHOLD
+                    || (ownId != null && ownId.equals(s.getIncidentId()))) {
+                continue;
+            }
+            similarCount++;
+            if (s.getCreatedAt() != null) {
+                Instant created = Instant.parse(s.getCreatedAt());
+                if (created.isBefore(oldest)) {
+                    oldest = created;
+                }
+            }
+        }
+
+        if (similarCount == 0) {
+            return false;
+        }
+        incident.setRecurring(true);
+        incident.setRecurringCount((int) similarCount + 1); // +1 for current
+        incident.setFirstSeen(oldest);
+        return true;
+    }
+}
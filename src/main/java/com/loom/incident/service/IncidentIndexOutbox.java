@@ -0,0 +1,186 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentIndexIntent;
+import com.loom.incident.repository.IncidentIndexIntentRepository;
+import com.loom.incident.repository.IncidentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox between Postgres and {@code incident_index}.
+ *
+ * Incident writes call {@link #enqueue(Incident)} inside their transaction, so
+ * an index intent exists if and only if the change committed. The relay
+ * drains intents in batches, collapses several intents for one incident into
+ * a single index call, and retries failures with exponential backoff. Indexing
+ * always reads the current row, so delivering an intent twice is harmless.
+ */
+@Service
+public class IncidentIndexOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentIndexOutbox.class);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final IncidentIndexIntentRepository intentRepository;
+    private final IncidentRepository incidentRepository;
+    private final IncidentIndexService incidentIndexService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loom.index-outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${loom.index-outbox.retention:7d}")
+    private Duration retention;
+
+    // How long claimed intents stay hidden from other relays while indexing runs
+    @Value("${loom.index-outbox.claim-lease:5m}")
+    private Duration claimLease;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastDeliveryLagMs;
+    private volatile Instant lastRelayAt;
+
+    public IncidentIndexOutbox(IncidentIndexIntentRepository intentRepository,
+            IncidentRepository incidentRepository,
+            IncidentIndexService incidentIndexService,
+            PlatformTransactionManager transactionManager) {
+        this.intentRepository = intentRepository;
+        this.incidentRepository = incidentRepository;
+        this.incidentIndexService = incidentIndexService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records that the incident's index document is stale. Joins the caller's
+     * transaction.
+     */
+    @Transactional
+    public void enqueue(Incident incident) {
+        intentRepository.save(new IncidentIndexIntent(incident.getId()));
+    }
+
+    @Transactional
+    public int enqueueAll(List<UUID> incidentIds) {
+        List<IncidentIndexIntent> intents = incidentIds.stream().map(IncidentIndexIntent::new).toList();
+        intentRepository.saveAll(intents);
+        return intents.size();
+    }
+
+    /**
+     * Delivers one batch in three steps, so no row lock or connection is held
+     * while Ollama and Elasticsearch are called: a short transaction claims
+     * the intents by pushing their next attempt past {@code claimLease}, the
+     * indexing runs outside any transaction, and a second short transaction
+     * records the outcome. Intents of a relay that dies mid-batch become due
+     * again once the lease runs out.
+     */
+    @Scheduled(fixedDelayString = "${loom.index-outbox.poll-interval-ms:500}")
+    public void relay() {
+        Instant now = Instant.now();
+        lastRelayAt = now;
+        List<IncidentIndexIntent> batch = transactionTemplate.execute(status -> {
+            List<IncidentIndexIntent> claimed = intentRepository.lockPendingBatch(now, batchSize);
+            Instant leaseUntil = now.plus(claimLease);
+            claimed.forEach(intent -> intent.setNextAttemptAt(leaseUntil));
+            return intentRepository.saveAll(claimed);
+        });
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, List<IncidentIndexIntent>> byIncident = new LinkedHashMap<>();
+        for (IncidentIndexIntent intent : batch) {
+            byIncident.computeIfAbsent(intent.getIncidentId(), id -> new ArrayList<>()).add(intent);
+        }
+        Map<UUID, Incident> incidents = incidentRepository.findAllById(byIncident.keySet()).stream()
+                .collect(Collectors.toMap(Incident::getId, Function.identity()));
+
+        for (Map.Entry<UUID, List<IncidentIndexIntent>> entry : byIncident.entrySet()) {
+            List<IncidentIndexIntent> intents = entry.getValue();
+            try {
+                Incident incident = incidents.get(entry.getKey());
+                if (incident != null) {
+                    incidentIndexService.indexIncident(incident);
+                } else {
+                    incidentIndexService.deleteIncident(entry.getKey());
+                }
+                Instant done = Instant.now();
+                for (IncidentIndexIntent intent : intents) {
+                    intent.setProcessedAt(done);
+                    intent.setLastError(null);
+                }
+                delivered.addAndGet(intents.size());
+                lastDeliveryLagMs = Duration.between(intents.get(0).getCreatedAt(), done).toMillis();
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                logger.warn("Index relay failed for incident {}: {}", entry.getKey(), e.getMessage());
+                for (IncidentIndexIntent intent : intents) {
+                    scheduleRetry(intent, e, Instant.now());
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> intentRepository.saveAll(batch));
+    }
+
+    private void scheduleRetry(IncidentIndexIntent intent, Exception error, Instant now) {
+        int attempts = intent.getAttempts() + 1;
+        long backoffSeconds = Math.min(MAX_BACKOFF.getSeconds(), 1L << Math.min(attempts, 20));
+        intent.setAttempts(attempts);
+        intent.setNextAttemptAt(now.plusSeconds(backoffSeconds));
+        String message = String.valueOf(error.getMessage());
+        intent.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+    }
+
+    /**
+     * Re-delivers every intent created since {@code since}, e.g. after the index
+     * was restored from a snapshot taken at that time.
+     */
+    @Transactional
+    public int replaySince(Instant since) {
+        int requeued = intentRepository.requeueCreatedSince(since, Instant.now());
+        logger.info("Requeued {} index intents created since {}", requeued, since);
+        return requeued;
+    }
+
+    @Scheduled(cron = "0 15 * * * ?")
+    @Transactional
+    public void purgeProcessed() {
+        int removed = intentRepository.deleteProcessedBefore(Instant.now().minus(retention));
+        if (removed > 0) {
+            logger.info("Purged {} processed index intents", removed);
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", intentRepository.countByProcessedAtIsNull());
+        stats.put("oldestPendingAgeMs", intentRepository.findFirstByProcessedAtIsNullOrderByIdAsc()
+                .map(i -> Duration.between(i.getCreatedAt(), Instant.now()).toMillis())
+                .orElse(0L));
+        stats.put("delivered", delivered.get());
+        stats.put("failures", failures.get());
+        stats.put("lastDeliveryLagMs", lastDeliveryLagMs);
+        stats.put("lastRelayAt", lastRelayAt != null ? lastRelayAt.toString() : null);
+        return stats;
+    }
+}
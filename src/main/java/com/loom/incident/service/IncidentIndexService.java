@@ -1,7 +1,12 @@
 package com.loom.incident.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.UpdateRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import com.loom.incident.domain.Incident;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,77 +25,24 @@ public class IncidentIndexService {
 
     private final ElasticsearchClient elasticsearchClient;
     private final com.loom.incident.ai.EmbeddingClient embeddingClient;
+    private final IncidentVectorService incidentVectorService;
 
     public IncidentIndexService(ElasticsearchClient elasticsearchClient,
-            com.loom.incident.ai.EmbeddingClient embeddingClient) {
+            com.loom.incident.ai.EmbeddingClient embeddingClient,
+            IncidentVectorService incidentVectorService) {
         this.elasticsearchClient = elasticsearchClient;
         this.embeddingClient = embeddingClient;
+        this.incidentVectorService = incidentVectorService;
     }
 
+    /**
+     * Fire-and-forget indexing for bulk loaders. Request paths go through
+     * {@link IncidentIndexOutbox} instead, which retries failures.
+     */
     @Async("incidentTaskExecutor")
     public void indexIncidentAsync(Incident incident) {
         try {
-            logger.info("Starting async indexing for incident id: {}", incident.getId());
-
-            // Enrich embedding input: [Service] Title. Description. Root Cause. Status.
-            // Tags.
-            // "Resolution" is often implied by description or root cause if resolved.
-            // We include Severity and IssueType as "Tags".
-            String tags = String.format("%s, %s", incident.getIssueType(), incident.getSeverity());
-
-            String textContent = String.format("[%s] %s. %s. Root Cause: %s. Status: %s. Tags: %s.",
-                    incident.getService(),
-                    incident.getTitle(),
-                    incident.getDescription(),
-                    incident.getRootCause() != null ? incident.getRootCause() : "Unknown",
-                    incident.getStatus(),
-                    tags);
-
-            // Generate embedding using shared client (unified logic)
-            java.util.List<Double> embeddingList = embeddingClient.getEmbedding(textContent);
-
-            // Convert to float[] for ES
-            float[] embedding = new float[embeddingList.size()];
-            for (int i = 0; i < embeddingList.size(); i++) {
-                embedding[i] = embeddingList.get(i).floatValue();
-            }
-
-            Map<String, Object> document = new HashMap<>();
-            document.put("incident_id", incident.getId().toString());
-            document.put("title", incident.getTitle());
-            document.put("description", incident.getDescription());
-            document.put("severity", incident.getSeverity().name());
-            document.put("status", incident.getStatus().name());
-            document.put("service", incident.getService());
-            if (incident.getIssueType() != null) {
-                document.put("issueType", incident.getIssueType().name());
-            }
-            document.put("created_at", incident.getCreatedAt().toString());
-            // Safe check for null resolvedAt
-            if (incident.getResolvedAt() != null) {
-                document.put("resolved_at", incident.getResolvedAt().toString());
-            }
-            // Safe check for null rootCause
-            if (incident.getRootCause() != null) {
-                document.put("root_cause", incident.getRootCause());
-            }
-            // Assignee Fields
-            if (incident.getAssigneeName() != null) {
-                document.put("assignee_name", incident.getAssigneeName());
-            }
-            if (incident.getAssigneeAvatar() != null) {
-                document.put("assignee_avatar", incident.getAssigneeAvatar());
-            }
-            document.put("embedding", embedding);
-
-            IndexRequest<Map<String, Object>> request = IndexRequest.of(i -> i
-                    .index(INDEX_NAME)
-                    .id(incident.getId().toString())
-                    .document(document));
-
-            elasticsearchClient.index(request);
-            logger.info("Successfully indexed incident id: {}", incident.getId());
-
+            indexIncident(incident);
         } catch (IOException e) {
             // Log error but do not throw - we don't want to affect transaction or retry
             // immediately in this MVP
@@ -100,6 +52,141 @@ public class IncidentIndexService {
         }
     }
 
+    /**
+     * Brings the index document in line with the incident.
+     *
+     * If the incident's text is unchanged since it was last indexed, only
+     * the metadata fields are sent as a partial update; the embedding is
+     * neither recomputed nor rewritten. Text changes, and incidents not yet in
+     * the index, get a full document. Safe to repeat.
+     */
+    public void indexIncident(Incident incident) throws IOException {
+        String contentHash = IncidentVectorService.contentHash(incident);
+        if (incidentVectorService.isIndexedRevision(incident.getId(), contentHash)
+                && updateMetadata(incident)) {
+            logger.info("Partially updated index metadata for incident id: {}", incident.getId());
+            return;
+        }
+
+        logger.info("Starting indexing for incident id: {}", incident.getId());
+
+        // Vector is shared per content revision; only text changes trigger an embedding call
+        float[] embedding = incidentVectorService.vectorFor(incident,
+                com.loom.incident.ai.EmbeddingPriority.BULK);
+        if (embedding.length == 0) {
+            throw new IOException("No embedding available for incident " + incident.getId());
+        }
+
+        Map<String, Object> document = buildDocument(incident, false);
+        document.put("embedding", embedding);
+
+        IndexRequest<Map<String, Object>> request = IndexRequest.of(i -> i
+                .index(INDEX_NAME)
+                .id(incident.getId().toString())
+                .document(document));
+
+        elasticsearchClient.index(request);
+        incidentVectorService.markIndexed(Map.of(incident.getId(), contentHash));
+        logger.info("Successfully indexed incident id: {}", incident.getId());
+    }
+
+    /**
+     * Indexes full documents with precomputed vectors in one bulk request.
+     *
+     * @return IDs of the incidents Elasticsearch rejected
+     */
+    public java.util.List<java.util.UUID> bulkIndex(java.util.List<Incident> incidents,
+            Map<java.util.UUID, float[]> vectors) throws IOException {
+        if (incidents.isEmpty()) {
+            return java.util.Collections.emptyList();
+        }
+        BulkRequest.Builder bulk = new BulkRequest.Builder();
+        for (Incident incident : incidents) {
+            Map<String, Object> document = buildDocument(incident, false);
+            document.put("embedding", vectors.get(incident.getId()));
+            bulk.operations(op -> op.index(i -> i
+                    .index(INDEX_NAME)
+                    .id(incident.getId().toString())
+                    .document(document)));
+        }
+        BulkResponse response = elasticsearchClient.bulk(bulk.build());
+
+        java.util.List<java.util.UUID> failed = new java.util.ArrayList<>();
+        if (response.errors()) {
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() != null) {
+                    logger.warn("Bulk index failed for incident {}: {}", item.id(), item.error().reason());
+                    failed.add(java.util.UUID.fromString(item.id()));
+                }
+            }
+        }
+        Map<java.util.UUID, String> indexed = new HashMap<>();
+        for (Incident incident : incidents) {
+            if (!failed.contains(incident.getId())) {
+                indexed.put(incident.getId(), IncidentVectorService.contentHash(incident));
+            }
+        }
+        incidentVectorService.markIndexed(indexed);
+        return failed;
+    }
+
+    public void deleteIncident(java.util.UUID incidentId) throws IOException {
+        elasticsearchClient.delete(d -> d.index(INDEX_NAME).id(incidentId.toString()));
+    }
+
+    /**
+     * Sends the non-vector fields as a partial update. Elasticsearch skips the
+     * write entirely when none of them changed.
+     *
+     * @return false if the document is not in the index yet
+     */
+    private boolean updateMetadata(Incident incident) throws IOException {
+        Map<String, Object> partial = buildDocument(incident, true);
+        // No source is requested back, so the result document type is Void
+        UpdateRequest<Void, Map<String, Object>> request = UpdateRequest.of(u -> u
+                .index(INDEX_NAME)
+                .id(incident.getId().toString())
+                .doc(partial));
+        try {
+            elasticsearchClient.update(request, Void.class);
+            return true;
+        } catch (ElasticsearchException e) {
+            if (e.status() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param explicitNulls write cleared fields as null so a partial update
+     *                      removes values such as resolved_at on reopen
+     */
+    private Map<String, Object> buildDocument(Incident incident, boolean explicitNulls) {
+        Map<String, Object> document = new HashMap<>();
+        document.put("incident_id", incident.getId().toString());
+        document.put("title", incident.getTitle());
+        document.put("description", incident.getDescription());
+        document.put("severity", incident.getSeverity().name());
+        document.put("status", incident.getStatus().name());
+        document.put("service", incident.getService());
+        putOptional(document, "issueType",
+                incident.getIssueType() != null ? incident.getIssueType().name() : null, explicitNulls);
+        document.put("created_at", incident.getCreatedAt().toString());
+        putOptional(document, "resolved_at",
+                incident.getResolvedAt() != null ? incident.getResolvedAt().toString() : null, explicitNulls);
+        putOptional(document, "root_cause", incident.getRootCause(), explicitNulls);
+        putOptional(document, "assignee_name", incident.getAssigneeName(), explicitNulls);
+        putOptional(document, "assignee_avatar", incident.getAssigneeAvatar(), explicitNulls);
+        return document;
+    }
+
+    private static void putOptional(Map<String, Object> document, String field, Object value, boolean explicitNulls) {
+        if (value != null || explicitNulls) {
+            document.put(field, value);
+        }
+    }
+
     @jakarta.annotation.PostConstruct
     public void init() {
         createIndexIfNotExists();
@@ -167,10 +254,16 @@ public class IncidentIndexService {
     public java.util.List<ResolvedIncidentDto> findSimilarIncidents(String description, int topK) {
         try {
             java.util.List<Double> embeddingList = embeddingClient.getEmbedding(description);
-            java.util.List<Float> embedding = new java.util.ArrayList<>();
-            for (Double d : embeddingList) {
-                embedding.add(d.floatValue());
-            }
+            return findSimilarIncidents(IncidentVectorService.toFloatArray(embeddingList), topK);
+        } catch (Exception e) {
+            logger.error("Error finding similar incidents", e);
+            return java.util.Collections.emptyList();
+        }
+    }
+
+    public java.util.List<ResolvedIncidentDto> findSimilarIncidents(float[] vector, int topK) {
+        try {
+            java.util.List<Float> embedding = IncidentVectorService.toFloatList(vector);
 
             co.elastic.clients.elasticsearch.core.SearchRequest searchRequest = co.elastic.clients.elasticsearch.core.SearchRequest
                     .of(s -> s
@@ -0,0 +1,123 @@
+package com.loom.incident.service;
+
+import com.loom.incident.api.dto.IncidentJobView;
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.event.IncidentJobUpdatedEvent;
+import com.loom.incident.repository.IncidentJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Server-sent events for job progress and completion.
+ *
+ * Updates made by this instance's worker are pushed as they commit. Jobs may
+ * run on another instance, so subscribed jobs are also re-read periodically
+ * and their completion pushed from the stored state.
+ */
+@Service
+public class IncidentJobEvents {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentJobEvents.class);
+    private static final long EMITTER_TIMEOUT_MS = 10 * 60 * 1000L;
+
+    private final IncidentJobRepository jobRepository;
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public IncidentJobEvents(IncidentJobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    /**
+     * Sends the job's current state right away, then a {@code progress} event
+     * per update and a final {@code completed} or {@code failed} event.
+     */
+    public SseEmitter subscribe(UUID jobId) {
+        IncidentJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found: " + jobId));
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        if (!send(emitter, job)) {
+            return emitter;
+        }
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(jobId, k -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        Runnable remove = () -> unsubscribe(jobId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobUpdated(IncidentJobUpdatedEvent event) {
+        if (subscribers.containsKey(event.jobId())) {
+            jobRepository.findById(event.jobId()).ifPresent(this::publish);
+        }
+    }
+
+    @Scheduled(fixedDelay = 2000)
+    public void pollSubscribed() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (IncidentJob job : jobRepository.findAllById(subscribers.keySet())) {
+            if (job.getStatus().isFinished()) {
+                publish(job);
+            }
+        }
+    }
+
+    private void publish(IncidentJob job) {
+        List<SseEmitter> emitters = subscribers.get(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, job);
+        }
+    }
+
+    /**
+     * @return false if the stream is finished, either because the job is or
+     *         because the client went away
+     */
+    private boolean send(SseEmitter emitter, IncidentJob job) {
+        String name = switch (job.getStatus()) {
+            case SUCCEEDED -> "completed";
+            case FAILED -> "failed";
+            default -> "progress";
+        };
+        try {
+            emitter.send(SseEmitter.event().name(name).data(new IncidentJobView(job, false)));
+            if (job.getStatus().isFinished()) {
+                emitter.complete();
+                return false;
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Job event stream for {} closed: {}", job.getId(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(UUID jobId, SseEmitter emitter) {
+        subscribers.computeIfPresent(jobId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobType;
+
+/**
+ * Runs one {@link IncidentJobType}. Handlers may be retried after a failure
+ * or a lost lease, so they must be safe to run again.
+ */
+public interface IncidentJobHandler {
+
+    IncidentJobType type();
+
+    /**
+     * @return the job's result, stored as JSON
+     */
+    Object run(IncidentJob job, Progress progress) throws Exception;
+
+    @FunctionalInterface
+    interface Progress {
+        void report(int percent, String message);
+    }
+}
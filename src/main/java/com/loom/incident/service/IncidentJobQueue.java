@@ -0,0 +1,209 @@
+package com.loom.incident.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobStatus;
+import com.loom.incident.domain.IncidentJobType;
+import com.loom.incident.event.IncidentJobUpdatedEvent;
+import com.loom.incident.repository.IncidentJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Durable queue of {@link IncidentJob}s in Postgres.
+ *
+ * Enqueueing joins the caller's transaction, so a job exists if and only if
+ * the request that asked for it committed. Asking again for a type of work
+ * that is already queued or running on the incident returns the existing
+ * job; a partial unique index keeps concurrent requests from both queueing
+ * it. Failed attempts are retried with exponential backoff until the job
+ * type's attempt limit is reached.
+ *
+ * Each claim starts a new attempt, and only the worker holding the current
+ * attempt may report progress or an outcome. A worker whose lease expired
+ * and whose job was reclaimed has its late result dropped.
+ */
+@Service
+public class IncidentJobQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentJobQueue.class);
+    private static final Set<IncidentJobStatus> ACTIVE = Set.of(IncidentJobStatus.QUEUED, IncidentJobStatus.RUNNING);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final IncidentJobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    // How long a claimed job may go without reporting progress before
+    // another worker may take it over
+    @Value("${loom.jobs.lease:10m}")
+    private Duration lease;
+
+    @Value("${loom.jobs.retention:7d}")
+    private Duration retention;
+
+    public IncidentJobQueue(IncidentJobRepository jobRepository, ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper) {
+        this.jobRepository = jobRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public IncidentJob enqueue(IncidentJobType type, UUID incidentId) {
+        Optional<IncidentJob> active = jobRepository
+                .findFirstByIncidentIdAndTypeAndStatusInOrderByCreatedAtDesc(incidentId, type, ACTIVE);
+        if (active.isPresent()) {
+            return active.get();
+        }
+        IncidentJob job = new IncidentJob(type, incidentId);
+        if (jobRepository.insertIfNoneActive(job.getId(), type.name(), incidentId, job.getPriority(),
+                job.getMaxAttempts(), job.getCreatedAt()) == 0) {
+            // Queued concurrently; the insert waited for that transaction, so its job is visible now
+            return enqueue(type, incidentId);
+        }
+        logger.debug("Queued {} job {} for incident {}", type, job.getId(), incidentId);
+        return job;
+    }
+
+    /**
+     * Queues a job per incident in a transaction of its own, for callers
+     * running after their transaction committed.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueueAll(IncidentJobType type, List<UUID> incidentIds) {
+        incidentIds.forEach(incidentId -> enqueue(type, incidentId));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<IncidentJob> find(UUID jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<IncidentJob> findLatest(UUID incidentId, IncidentJobType type) {
+        return jobRepository.findFirstByIncidentIdAndTypeOrderByCreatedAtDesc(incidentId, type);
+    }
+
+    /**
+     * Marks up to {@code limit} runnable jobs as RUNNING under a fresh lease
+     * and returns them.
+     */
+    @Transactional
+    public List<IncidentJob> claim(int limit) {
+        Instant now = Instant.now();
+        List<IncidentJob> jobs = jobRepository.lockRunnable(now, limit);
+        for (IncidentJob job : jobs) {
+            if (job.getStatus() == IncidentJobStatus.RUNNING) {
+                logger.warn("Reclaiming {} job {} after its lease expired", job.getType(), job.getId());
+            }
+            job.setStatus(IncidentJobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setStartedAt(now);
+            job.setLeaseUntil(now.plus(lease));
+        }
+        return jobRepository.saveAll(jobs);
+    }
+
+    /**
+     * Records progress and extends the lease of the given attempt.
+     */
+    @Transactional
+    public void progress(UUID jobId, int attempt, int percent, String message) {
+        if (jobRepository.updateProgress(jobId, attempt, Math.max(0, Math.min(100, percent)), message,
+                Instant.now().plus(lease)) > 0) {
+            eventPublisher.publishEvent(new IncidentJobUpdatedEvent(jobId));
+        }
+    }
+
+    @Transactional
+    public void complete(UUID jobId, int attempt, Object result) {
+        IncidentJob job = leased(jobId, attempt);
+        if (job == null) {
+            return;
+        }
+        try {
+            job.setResult(result != null ? objectMapper.writeValueAsString(result) : null);
+        } catch (JsonProcessingException e) {
+            fail(job, e);
+            return;
+        }
+        job.setStatus(IncidentJobStatus.SUCCEEDED);
+        job.setProgress(100);
+        job.setError(null);
+        job.setFinishedAt(Instant.now());
+        job.setLeaseUntil(null);
+        eventPublisher.publishEvent(new IncidentJobUpdatedEvent(jobId));
+    }
+
+    @Transactional
+    public void fail(UUID jobId, int attempt, Exception error) {
+        IncidentJob job = leased(jobId, attempt);
+        if (job != null) {
+            fail(job, error);
+        }
+    }
+
+    /**
+     * The job, locked, if {@code attempt} still holds its lease.
+     */
+    private IncidentJob leased(UUID jobId, int attempt) {
+        IncidentJob job = jobRepository.findByIdForUpdate(jobId).orElse(null);
+        if (job == null || job.getStatus() != IncidentJobStatus.RUNNING || job.getAttempts() != attempt) {
+            logger.warn("Dropping outcome of job {} attempt {}: its lease was lost", jobId, attempt);
+            return null;
+        }
+        return job;
+    }
+
+    private void fail(IncidentJob job, Exception error) {
+        String message = String.valueOf(error.getMessage());
+        job.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        job.setLeaseUntil(null);
+        if (job.getAttempts() < job.getMaxAttempts()) {
+            long backoffSeconds = Math.min(MAX_BACKOFF.getSeconds(), 5L << Math.min(job.getAttempts(), 10));
+            job.setStatus(IncidentJobStatus.QUEUED);
+            job.setRunAfter(Instant.now().plusSeconds(backoffSeconds));
+            logger.warn("{} job {} failed (attempt {}/{}), retrying in {}s: {}", job.getType(), job.getId(),
+                    job.getAttempts(), job.getMaxAttempts(), backoffSeconds, message);
+        } else {
+            job.setStatus(IncidentJobStatus.FAILED);
+            job.setFinishedAt(Instant.now());
+            logger.error("{} job {} failed permanently: {}", job.getType(), job.getId(), message);
+        }
+        eventPublisher.publishEvent(new IncidentJobUpdatedEvent(job.getId()));
+    }
+
+    @Scheduled(cron = "0 45 * * * ?")
+    @Transactional
+    public void purgeFinished() {
+        int removed = jobRepository.deleteFinishedBefore(Instant.now().minus(retention));
+        if (removed > 0) {
+            logger.info("Purged {} finished jobs", removed);
+        }
+    }
+
+    public Map<IncidentJobStatus, Long> countByStatus() {
+        Map<IncidentJobStatus, Long> counts = new EnumMap<>(IncidentJobStatus.class);
+        for (Object[] row : jobRepository.countByStatus()) {
+            counts.put((IncidentJobStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,84 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Claims jobs from {@link IncidentJobQueue} and runs them on the job
+ * executor. Only as many jobs are claimed as there are free slots, so
+ * unclaimed work stays in Postgres where other instances can take it.
+ */
+@Service
+public class IncidentJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentJobWorker.class);
+
+    private final IncidentJobQueue jobQueue;
+    private final Executor jobExecutor;
+    private final Map<IncidentJobType, IncidentJobHandler> handlers = new EnumMap<>(IncidentJobType.class);
+    private final AtomicInteger running = new AtomicInteger();
+
+    @Value("${loom.jobs.concurrency:4}")
+    private int concurrency;
+
+    public IncidentJobWorker(IncidentJobQueue jobQueue, @Qualifier("incidentJobExecutor") Executor jobExecutor,
+            List<IncidentJobHandler> handlers) {
+        this.jobQueue = jobQueue;
+        this.jobExecutor = jobExecutor;
+        for (IncidentJobHandler handler : handlers) {
+            this.handlers.put(handler.type(), handler);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${loom.jobs.poll-interval-ms:500}")
+    public void poll() {
+        int free = concurrency - running.get();
+        if (free <= 0) {
+            return;
+        }
+        for (IncidentJob job : jobQueue.claim(free)) {
+            running.incrementAndGet();
+            try {
+                jobExecutor.execute(() -> run(job));
+            } catch (RuntimeException e) {
+                // Rejected: the lease runs out and the job is claimed again
+                running.decrementAndGet();
+                logger.warn("Could not start {} job {}: {}", job.getType(), job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void run(IncidentJob job) {
+        try {
+            IncidentJobHandler handler = handlers.get(job.getType());
+            if (handler == null) {
+                throw new IllegalStateException("No handler for job type " + job.getType());
+            }
+            // The attempt number identifies this worker's lease on the job
+            int attempt = job.getAttempts();
+            Object result = handler.run(job,
+                    (percent, message) -> jobQueue.progress(job.getId(), attempt, percent, message));
+            jobQueue.complete(job.getId(), attempt, result);
+        } catch (Exception e) {
+            jobQueue.fail(job.getId(), job.getAttempts(), e);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    public int runningJobs() {
+        return running.get();
+    }
+}
@@ -0,0 +1,162 @@
+package com.loom.incident.service;
+
+import com.loom.incident.api.dto.IncidentPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Incident list with keyset pagination and sparse fields.
+ *
+ * Pages are ordered by (createdAt, id) descending and continue from the last
+ * row of the previous page, so every page costs the same index range scan no
+ * matter how deep it is. Only the columns behind the requested fields are
+ * selected; no entities or lazy collections are loaded.
+ */
+@Service
+public class IncidentListService {
+
+    public static final int MAX_LIMIT = 200;
+
+    // API field -> entity attributes it is built from
+    private static final Map<String, List<String>> FIELDS = new LinkedHashMap<>();
+    static {
+        FIELDS.put("id", List.of("publicId"));
+        FIELDS.put("uuid", List.of("id"));
+        FIELDS.put("title", List.of("title"));
+        FIELDS.put("description", List.of("description"));
+        FIELDS.put("severity", List.of("severity"));
+        FIELDS.put("status", List.of("status"));
+        FIELDS.put("service", List.of("service"));
+        FIELDS.put("issueType", List.of("issueType"));
+        FIELDS.put("createdAt", List.of("createdAt"));
+        FIELDS.put("resolvedAt", List.of("resolvedAt"));
+        FIELDS.put("rootCause", List.of("rootCause"));
+        FIELDS.put("assignee", List.of("assigneeName", "assigneeAvatar"));
+        FIELDS.put("recurring", List.of("recurring"));
+        FIELDS.put("recurringCount", List.of("recurringCount"));
+        FIELDS.put("occurrenceCount", List.of("occurrenceCount"));
+        FIELDS.put("deploymentInsight", List.of("deploymentInsight"));
+    }
+
+    public static final List<String> DEFAULT_FIELDS = List.of("id", "uuid", "title", "severity", "status", "service",
+            "issueType", "createdAt", "resolvedAt", "assignee");
+
+    private final EntityManager entityManager;
+
+    public IncidentListService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public IncidentPage list(String cursor, int limit, Collection<String> requestedFields) {
+        int pageSize = Math.max(1, Math.min(MAX_LIMIT, limit));
+        List<String> fields = requestedFields == null || requestedFields.isEmpty()
+                ? DEFAULT_FIELDS
+                : List.copyOf(new LinkedHashSet<>(requestedFields));
+        for (String field : fields) {
+            if (!FIELDS.containsKey(field)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + field + "'. Allowed: " + FIELDS.keySet());
+            }
+        }
+
+        // createdAt and id are always selected: they form the cursor
+        Set<String> attributes = new LinkedHashSet<>(List.of("createdAt", "id"));
+        fields.forEach(f -> attributes.addAll(FIELDS.get(f)));
+        List<String> columns = new ArrayList<>(attributes);
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        jpql.append(String.join(", ", columns.stream().map(c -> "i." + c).toList()));
+        jpql.append(" FROM Incident i");
+        Cursor after = cursor != null && !cursor.isBlank() ? Cursor.decode(cursor) : null;
+        if (after != null) {
+            jpql.append(" WHERE i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)");
+        }
+        jpql.append(" ORDER BY i.createdAt DESC, i.id DESC");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (after != null) {
+            query.setParameter("createdAt", after.createdAt());
+            query.setParameter("id", after.id());
+        }
+        // One extra row tells us whether there is a next page
+        query.setMaxResults(pageSize + 1);
+        List<Object[]> rows = query.getResultList();
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Map<String, Object>> items = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (Object[] row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            Map<String, Object> values = new HashMap<>();
+            for (int c = 0; c < columns.size(); c++) {
+                values.put(columns.get(c), row[c]);
+            }
+            items.add(toItem(fields, values));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Object[] last = rows.get(pageSize - 1);
+            nextCursor = new Cursor((Instant) last[0], (UUID) last[1]).encode();
+        }
+        return new IncidentPage(items, nextCursor);
+    }
+
+    private static Map<String, Object> toItem(List<String> fields, Map<String, Object> values) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        for (String field : fields) {
+            if ("assignee".equals(field)) {
+                // Same shape as Incident#getAssignee
+                Object name = values.get("assigneeName");
+                if (name == null) {
+                    item.put(field, null);
+                } else {
+                    Map<String, Object> assignee = new HashMap<>();
+                    assignee.put("name", name);
+                    if (values.get("assigneeAvatar") != null) {
+                        assignee.put("avatarUrl", values.get("assigneeAvatar"));
+                    }
+                    item.put(field, assignee);
+                }
+            } else {
+                item.put(field, values.get(FIELDS.get(field).get(0)));
+            }
+        }
+        return item;
+    }
+
+    record Cursor(Instant createdAt, UUID id) {
+
+        String encode() {
+            String raw = createdAt.toString() + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(Instant.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+    }
+}
@@ -24,27 +24,23 @@ public class IncidentPatternService {
 
     private final ElasticsearchClient elasticsearchClient;
     private final IncidentService incidentService;
-    private final com.loom.incident.ai.EmbeddingClient embeddingClient;
+    private final IncidentVectorService incidentVectorService;
 
     public IncidentPatternService(ElasticsearchClient elasticsearchClient, IncidentService incidentService,
-            com.loom.incident.ai.EmbeddingClient embeddingClient) {
+            IncidentVectorService incidentVectorService) {
         this.elasticsearchClient = elasticsearchClient;
         this.incidentService = incidentService;
-        this.embeddingClient = embeddingClient;
+        this.incidentVectorService = incidentVectorService;
     }
 
     public IncidentPatternResponse detectPattern(UUID incidentId) {
         try {
             Incident currentIncident = incidentService.getIncidentById(incidentId.toString());
 
-            // Get embedding - ideally cached or stored, but generating for now ensures
-            // freshness if not yet indexed
-            String textContent = currentIncident.getTitle() + " " + currentIncident.getDescription();
-            java.util.List<Double> embeddingList = embeddingClient.getEmbedding(textContent);
-            float[] embedding = new float[embeddingList.size()];
-            for (int i = 0; i < embeddingList.size(); i++) {
-                embedding[i] = embeddingList.get(i).floatValue();
-            }
+            // Stored vector for the current content revision; only embeds if the text
+            // changed since it was last embedded
+            float[] embedding = incidentVectorService.vectorFor(currentIncident,
+                    com.loom.incident.ai.EmbeddingPriority.INTERACTIVE);
 
             // Time range: last 30 days
             String timeRange = "now-30d";
@@ -0,0 +1,122 @@
+package com.loom.incident.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.loom.incident.event.IncidentEnrichedEvent;
+import com.loom.incident.event.IncidentStatusChangedEvent;
+import com.loom.incident.event.IncidentUpdatedEvent;
+import com.loom.incident.repository.IncidentRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared lookup of incidents by UUID or public ID (e.g. INCSEN-1234).
+ *
+ * Public ID to UUID mappings never change, so they are cached until evicted
+ * by size. Snapshots are cached per UUID and dropped after commit of any
+ * incident write event. Every panel of the incident page resolves through
+ * here, so a page view hits the database once per incident instead of once
+ * per panel.
+ */
+@Service
+public class IncidentResolver {
+
+    private final IncidentRepository incidentRepository;
+
+    private final Cache<String, UUID> ids = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .recordStats()
+            .build();
+
+    private final Cache<UUID, IncidentSnapshot> snapshots = Caffeine.newBuilder()
+            .maximumSize(5_000)
+            // Safety net for writes that bypass the service layer
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .recordStats()
+            .build();
+
+    public IncidentResolver(IncidentRepository incidentRepository) {
+        this.incidentRepository = incidentRepository;
+    }
+
+    /**
+     * @throws ResponseStatusException 404 if no incident has this UUID or public ID
+     */
+    public UUID resolveId(String idOrPublicId) {
+        UUID id = ids.get(idOrPublicId, this::lookupId);
+        if (id == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Incident not found: " + idOrPublicId);
+        }
+        return id;
+    }
+
+    private UUID lookupId(String idOrPublicId) {
+        try {
+            UUID uuid = UUID.fromString(idOrPublicId);
+            return incidentRepository.existsById(uuid) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            // Not a UUID: public ID
+            return incidentRepository.findIdByPublicId(idOrPublicId).orElse(null);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public IncidentSnapshot snapshot(String idOrPublicId) {
+        return snapshot(resolveId(idOrPublicId));
+    }
+
+    @Transactional(readOnly = true)
+    public IncidentSnapshot snapshot(UUID id) {
+        IncidentSnapshot snapshot = snapshots.get(id,
+                key -> incidentRepository.findById(key).map(IncidentSnapshot::of).orElse(null));
+        if (snapshot == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Incident not found: " + id);
+        }
+        return snapshot;
+    }
+
+    public void invalidate(UUID id) {
+        snapshots.invalidate(id);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(IncidentStatusChangedEvent event) {
+        invalidate(event.incidentId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUpdated(IncidentUpdatedEvent event) {
+        invalidate(event.incidentId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnriched(IncidentEnrichedEvent event) {
+        invalidate(event.incidentId());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("ids", describe(ids.stats(), ids.estimatedSize()));
+        stats.put("snapshots", describe(snapshots.stats(), snapshots.estimatedSize()));
+        return stats;
+    }
+
+    private static Map<String, Object> describe(CacheStats stats, long size) {
+        return Map.of(
+                "size", size,
+                "hitRate", stats.hitRate(),
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "evictions", stats.evictionCount());
+    }
+}
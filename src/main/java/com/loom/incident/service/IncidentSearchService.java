@@ -1,12 +1,15 @@
 package com.loom.incident.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.json.JsonData;
 import com.loom.incident.config.ElasticsearchIndexConstants;
 
+import com.loom.incident.api.dto.IncidentSearchPage;
 import com.loom.incident.api.dto.IncidentStatsResponse;
 import com.loom.incident.api.dto.SimilarIncidentResponse;
 import com.loom.incident.domain.Incident;
@@ -15,11 +18,15 @@ import com.loom.incident.domain.IssueType;
 import com.loom.incident.domain.Severity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +39,14 @@ public class IncidentSearchService {
 
     private final ElasticsearchClient elasticsearchClient;
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int FACET_SIZE = 20;
+    private static final String PIT_KEEP_ALIVE = "2m";
+    private static final List<String> FACET_FIELDS = List.of("severity", "status", "service", "issueType");
+    // Fields a result list renders; description, root cause and the embedding stay in the index
+    private static final List<String> LIST_FIELDS = List.of("incident_id", "title", "severity", "status",
+            "service", "issueType", "created_at", "resolved_at", "assignee_name", "assignee_avatar");
+
     public IncidentSearchService(ElasticsearchClient elasticsearchClient) {
         this.elasticsearchClient = elasticsearchClient;
     }
@@ -154,55 +169,11 @@ public class IncidentSearchService {
         try {
             SearchResponse<Map> response = elasticsearchClient.search(s -> s
                     .index(ElasticsearchIndexConstants.INCIDENT_INDEX)
-                    .query(q -> {
-                        BoolQuery.Builder bool = new BoolQuery.Builder();
-
-                        // 1. Keyword Search (if provided)
-                        if (queryText != null && !queryText.isBlank()) {
-                            bool.must(m -> m
-                                    .multiMatch(mm -> mm
-                                            .fields("title^3", "description^2", "service", "root_cause")
-                                            .query(queryText)
-                                            .fuzziness("AUTO")));
-                        } else {
-                            bool.must(m -> m.matchAll(ma -> ma));
-                        }
-
-                        // 2. Filters - Use fields directly as they are mapped as keywords
-                        if (severity != null) {
-                            bool.filter(f -> f.term(t -> t.field("severity").value(severity.name())));
-                        }
-
-                        // Status Filter Logic
-                        if (status == null) {
-                            // Default to OPEN if unset
-                            bool.filter(f -> f.term(t -> t.field("status").value(IncidentStatus.OPEN.name())));
-                        } else if (!"ALL".equalsIgnoreCase(status)) {
-                            // Filter by specific status if provided and NOT "ALL"
-                            bool.filter(f -> f.term(t -> t.field("status").value(status)));
-                        }
-                        // If "ALL", apply no status filter (show all)
-
-                        if (issueType != null) {
-                            bool.filter(f -> f.term(t -> t.field("issueType").value(issueType.name())));
-                        }
-                        if (fromDate != null || toDate != null) {
-                            bool.filter(f -> f.range(r -> {
-                                r.field("created_at");
-                                if (fromDate != null) {
-                                    r.gte(JsonData.of(fromDate));
-                                }
-                                if (toDate != null) {
-                                    r.lte(JsonData.of(toDate));
-                                }
-                                return r;
-                            }));
-                        }
-
-                        return q.bool(bool.build());
-                    })
+                    .query(buildSearchQuery(queryText, severity, status, issueType, fromDate, toDate))
                     .sort(so -> so.field(
                             f -> f.field("created_at").order(co.elastic.clients.elasticsearch._types.SortOrder.Desc)))
+                    // Never ship the 768-dim vectors back to the client
+                    .source(src -> src.filter(f -> f.excludes("embedding")))
                     .size(1000),
                     Map.class);
 
@@ -220,6 +191,194 @@ public class IncidentSearchService {
         return results;
     }
 
+    /**
+     * One page of search results over a point-in-time.
+     *
+     * The first call opens a PIT and also returns the total and facet counts
+     * (severity, status, service, issue type) from the same request. Later
+     * pages pass the returned cursor, which carries the PIT ID and the last
+     * hit's sort values, so every page costs the same however deep it is and
+     * sees the same snapshot of the index. Only list fields are returned.
+     */
+    public IncidentSearchPage searchPage(String queryText, Severity severity, String status,
+            IssueType issueType, String fromDate, String toDate, int size, String cursor) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SearchCursor after = cursor != null && !cursor.isBlank() ? SearchCursor.decode(cursor) : null;
+        boolean firstPage = after == null;
+
+        String openedPitId = null;
+        try {
+            if (firstPage) {
+                openedPitId = elasticsearchClient.openPointInTime(o -> o
+                        .index(ElasticsearchIndexConstants.INCIDENT_INDEX)
+                        .keepAlive(k -> k.time(PIT_KEEP_ALIVE))).id();
+            }
+            String pitId = firstPage ? openedPitId : after.pitId();
+
+            SearchResponse<Map> response = elasticsearchClient.search(s -> {
+                s.pit(p -> p.id(pitId).keepAlive(k -> k.time(PIT_KEEP_ALIVE)))
+                        .query(buildSearchQuery(queryText, severity, status, issueType, fromDate, toDate))
+                        // _shard_doc is the PIT tiebreaker, so ties on created_at never repeat or skip hits
+                        .sort(so -> so.field(f -> f.field("created_at")
+                                .order(co.elastic.clients.elasticsearch._types.SortOrder.Desc)))
+                        .sort(so -> so.field(f -> f.field("_shard_doc")
+                                .order(co.elastic.clients.elasticsearch._types.SortOrder.Asc)))
+                        .source(src -> src.filter(f -> f.includes(LIST_FIELDS)))
+                        .size(pageSize);
+                if (firstPage) {
+                    s.trackTotalHits(t -> t.enabled(true));
+                    for (String facet : FACET_FIELDS) {
+                        s.aggregations(facet, a -> a.terms(t -> t.field(facet).size(FACET_SIZE)));
+                    }
+                } else {
+                    s.trackTotalHits(t -> t.enabled(false))
+                            .searchAfter(after.searchAfter().stream().map(FieldValue::of).toList());
+                }
+                return s;
+            }, Map.class);
+
+            List<Map<String, Object>> items = new ArrayList<>();
+            List<FieldValue> lastSort = null;
+            for (Hit<Map> hit : response.hits().hits()) {
+                if (hit.source() != null) {
+                    items.add(hit.source());
+                }
+                lastSort = hit.sort();
+            }
+
+            // The PIT ID may change between requests; always continue with the latest one
+            String currentPitId = response.pitId() != null ? response.pitId() : pitId;
+            String nextCursor = null;
+            if (response.hits().hits().size() == pageSize && lastSort != null) {
+                nextCursor = new SearchCursor(currentPitId,
+                        lastSort.stream().map(FieldValue::longValue).toList()).encode();
+            } else {
+                closePointInTime(currentPitId);
+            }
+
+            Long total = firstPage && response.hits().total() != null ? response.hits().total().value() : null;
+            Map<String, Map<String, Long>> facets = firstPage ? readFacets(response) : null;
+            return new IncidentSearchPage(items, facets, total, nextCursor);
+
+        } catch (co.elastic.clients.elasticsearch._types.ElasticsearchException e) {
+            if (!firstPage && e.status() == 404) {
+                throw new ResponseStatusException(HttpStatus.GONE, "Search cursor expired, start a new search");
+            }
+            logger.error("Error searching incidents", e);
+        } catch (Exception e) {
+            logger.error("Error searching incidents", e);
+        }
+        // No cursor is handed out, so nothing would ever continue with or close the new PIT
+        if (openedPitId != null) {
+            closePointInTime(openedPitId);
+        }
+        return new IncidentSearchPage(new ArrayList<>(), firstPage ? new HashMap<>() : null, firstPage ? 0L : null,
+                null);
+    }
+
+    private void closePointInTime(String pitId) {
+        try {
+            elasticsearchClient.closePointInTime(c -> c.id(pitId));
+        } catch (Exception e) {
+            // Expires on its own after the keep-alive
+            logger.debug("Failed to close point-in-time: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Map<String, Long>> readFacets(SearchResponse<Map> response) {
+        Map<String, Map<String, Long>> facets = new HashMap<>();
+        for (String facet : FACET_FIELDS) {
+            Map<String, Long> counts = new java.util.LinkedHashMap<>();
+            if (response.aggregations() != null && response.aggregations().get(facet) != null) {
+                response.aggregations().get(facet).sterms().buckets().array()
+                        .forEach(b -> counts.put(b.key().stringValue(), b.docCount()));
+            }
+            facets.put(facet, counts);
+        }
+        return facets;
+    }
+
+    private Query buildSearchQuery(String queryText, Severity severity, String status,
+            IssueType issueType, String fromDate, String toDate) {
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+
+        // 1. Keyword Search (if provided)
+        if (queryText != null && !queryText.isBlank()) {
+            bool.must(m -> m
+                    .multiMatch(mm -> mm
+                            .fields("title^3", "description^2", "service", "root_cause")
+                            .query(queryText)
+                            .fuzziness("AUTO")));
+        } else {
+            bool.must(m -> m.matchAll(ma -> ma));
+        }
+
+        // 2. Filters - Use fields directly as they are mapped as keywords
+        if (severity != null) {
+            bool.filter(f -> f.term(t -> t.field("severity").value(severity.name())));
+        }
+
+        // Status Filter Logic
+        if (status == null) {
+            // Default to OPEN if unset
+            bool.filter(f -> f.term(t -> t.field("status").value(IncidentStatus.OPEN.name())));
+        } else if (!"ALL".equalsIgnoreCase(status)) {
+            // Filter by specific status if provided and NOT "ALL"
+            bool.filter(f -> f.term(t -> t.field("status").value(status)));
+        }
+        // If "ALL", apply no status filter (show all)
+
+        if (issueType != null) {
+            bool.filter(f -> f.term(t -> t.field("issueType").value(issueType.name())));
+        }
+        if (fromDate != null || toDate != null) {
+            bool.filter(f -> f.range(r -> {
+                r.field("created_at");
+                if (fromDate != null) {
+                    r.gte(JsonData.of(fromDate));
+                }
+                if (toDate != null) {
+                    r.lte(JsonData.of(toDate));
+                }
+                return r;
+            }));
+        }
+
+        return Query.of(q -> q.bool(bool.build()));
+    }
+
+    /**
+     * PIT ID plus the sort values of the last hit, base64url encoded.
+     */
+    record SearchCursor(String pitId, List<Long> searchAfter) {
+
+        String encode() {
+            StringBuilder raw = new StringBuilder(pitId);
+            for (Long value : searchAfter) {
+                raw.append('|').append(value);
+            }
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SearchCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|");
+                List<Long> values = new ArrayList<>();
+                for (int i = 1; i < parts.length; i++) {
+                    values.add(Long.parseLong(parts[i]));
+                }
+                if (parts[0].isEmpty() || values.isEmpty()) {
+                    throw new IllegalArgumentException("Incomplete cursor");
+                }
+                return new SearchCursor(parts[0], values);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+    }
+
     public IncidentStatsResponse getIncidentStats() {
         try {
             // Use fields directly since they are mapped as keywords
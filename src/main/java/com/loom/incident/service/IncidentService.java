@@ -1,10 +1,11 @@
 package com.loom.incident.service;
 
 import com.loom.incident.domain.Incident;
+import com.loom.incident.event.IncidentsCreatedEvent;
 import com.loom.incident.repository.IncidentRepository;
-import com.loom.integration.cicd.DeploymentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,14 +19,21 @@ public class IncidentService {
     private static final Logger logger = LoggerFactory.getLogger(IncidentService.class);
 
     private final IncidentRepository incidentRepository;
-    private final IncidentIndexService incidentIndexService;
-    private final DeploymentService deploymentService;
-
-    public IncidentService(IncidentRepository incidentRepository, IncidentIndexService incidentIndexService,
-            DeploymentService deploymentService) {
+    private final IncidentIndexOutbox incidentIndexOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PublicIdAllocator publicIdAllocator;
+    private final IncidentResolver incidentResolver;
+    private final IncidentActivityLog activityLog;
+
+    public IncidentService(IncidentRepository incidentRepository, IncidentIndexOutbox incidentIndexOutbox,
+            ApplicationEventPublisher eventPublisher, PublicIdAllocator publicIdAllocator,
+            IncidentResolver incidentResolver, IncidentActivityLog activityLog) {
         this.incidentRepository = incidentRepository;
-        this.incidentIndexService = incidentIndexService;
-        this.deploymentService = deploymentService;
+        this.incidentIndexOutbox = incidentIndexOutbox;
+        this.eventPublisher = eventPublisher;
+        this.publicIdAllocator = publicIdAllocator;
+        this.incidentResolver = incidentResolver;
+        this.activityLog = activityLog;
     }
 
     public List<Incident> getAllIncidents() {
@@ -33,98 +41,64 @@ public class IncidentService {
     }
 
     public Incident getIncidentById(String id) {
-        // 1. Try finding by Public ID (e.g., INCLO-1234)
-        java.util.Optional<Incident> byPublicId = incidentRepository.findByPublicId(id);
-        if (byPublicId.isPresent()) {
-            return byPublicId.get();
-        }
-
-        // 2. Fallback: Try finding by UUID (legacy support or direct UUID access)
-        try {
-            java.util.UUID uuid = java.util.UUID.fromString(id);
-            return incidentRepository.findById(uuid)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Incident not found: " + id));
-        } catch (IllegalArgumentException e) {
-            // Not a valid UUID and not found as Public ID
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Incident not found: " + id);
-        }
+        // Resolution is cached, so this is a single query whether the caller
+        // passes a public ID (e.g., INCLO-1234) or a UUID
+        java.util.UUID uuid = incidentResolver.resolveId(id);
+        return incidentRepository.findDetailById(uuid)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Incident not found: " + id));
     }
 
     /**
-     * Persists the incident and triggers async indexing.
-     * The transaction commits when this method returns, ensuring data is safe in DB
-     * before the async thread likely starts processing (though race conditions are
-     * possible,
-     * relying on DB commit usually happens fast enough or isolation levels handle
-     * it).
+     * Persists the incident together with an index intent and returns. Deployment
+     * insight and recurrence are filled in by {@link IncidentEnrichmentService}
+     * after the transaction commits, so intake latency does not depend on
+     * Ollama or Elasticsearch.
      */
     @Transactional
     public Incident createIncident(Incident incident) {
         // 0. Generate Public ID if missing
         if (incident.getPublicId() == null) {
-            // Use DB Sequence for guaranteed uniqueness and "INCSEN-####" format
-            // Sequence 'incident_id_seq' starts at 1000
-            Long nextSeq = incidentRepository.getNextSequenceValue();
+            // Pooled from the DB sequence for uniqueness and "INCSEN-####" format
+            long nextSeq = publicIdAllocator.next();
             incident.setSequenceId(nextSeq);
-            incident.setPublicId("INCSEN-" + nextSeq);
+            incident.setPublicId(PublicIdAllocator.publicId(nextSeq));
         }
 
-        // Core Logic: Correlate with CI/CD
-        if (incident.getService() != null && !incident.getService().isEmpty()) {
-            List<com.loom.integration.cicd.Deployment> recentDeployments = deploymentService.findRecentDeployments(
-                    incident.getService(), "prod"); // Defaulting to 'prod' for correlation for now
-
-            if (!recentDeployments.isEmpty()) {
-                com.loom.integration.cicd.Deployment latest = recentDeployments.get(0);
-                long minutesAgo = java.time.temporal.ChronoUnit.MINUTES.between(latest.getDeploymentTime(),
-                        java.time.Instant.now());
-                incident.setDeploymentInsight(
-                        String.format("This incident occurred %d minutes after a deployment to %s by %s (commit %s).",
-                                minutesAgo, incident.getService(), latest.getAuthor(),
-                                latest.getCommitHash().substring(0, 7)));
-            }
-        }
+        // 1. Save to PostgreSQL (Primary Source of Truth)
+        Incident savedIncident = incidentRepository.save(incident);
+        logger.info("Incident saved to DB with ID: {} ({})", savedIncident.getPublicId(), savedIncident.getId());
 
-        // Feature 3: Recurring Incident Check (Pattern Awareness)
-        try {
-            // Check past 30 days similarity
-            List<com.loom.incident.service.IncidentIndexService.ResolvedIncidentDto> similar = incidentIndexService
-                    .findSimilarIncidents(incident.getDescription(), 10);
+        // 2. Record the index intent and the first activity entry in the same transaction
+        incidentIndexOutbox.enqueue(savedIncident);
+        activityLog.recordCreated(List.of(savedIncident));
 
-            long similarCount = similar.stream()
-                    .filter(s -> s.getScore() != null && s.getScore() > 0.85) // High similarity threshold
-                    .count();
+        // 3. Enrichment runs after commit
+        eventPublisher.publishEvent(new IncidentsCreatedEvent(List.of(savedIncident.getId())));
 
-            if (similarCount > 0) {
-                incident.setRecurring(true);
-                incident.setRecurringCount((int) similarCount + 1); // +1 for current
+        return savedIncident;
+    }
 
-                // Find first seen (oldest similar)
-                java.time.Instant oldest = java.time.Instant.now();
-                for (com.loom.incident.service.IncidentIndexService.ResolvedIncidentDto s : similar) {
-                    if (s.getScore() != null && s.getScore() > 0.85 && s.getCreatedAt() != null) {
-                        java.time.Instant created = java.time.Instant.parse(s.getCreatedAt());
-                        if (created.isBefore(oldest)) {
-                            oldest = created;
-                        }
-                    }
-                }
-                incident.setFirstSeen(oldest);
-            }
-        } catch (Exception e) {
-            logger.warn("Failed to check for recurring incidents: {}", e.getMessage());
+    /**
+     * Bulk intake: one sequence round trip for all public IDs, batched inserts,
+     * and a single outbox write and enrichment event for the whole batch.
+     */
+    @Transactional
+    public List<Incident> createIncidents(List<Incident> incidents) {
+        List<Incident> needingIds = incidents.stream().filter(i -> i.getPublicId() == null).toList();
+        List<Long> sequenceValues = publicIdAllocator.allocate(needingIds.size());
+        for (int i = 0; i < needingIds.size(); i++) {
+            needingIds.get(i).setSequenceId(sequenceValues.get(i));
+            needingIds.get(i).setPublicId(PublicIdAllocator.publicId(sequenceValues.get(i)));
         }
 
-        // 1. Save to PostgreSQL (Primary Source of Truth)
-        Incident savedIncident = incidentRepository.save(incident);
-        logger.info("Incident saved to DB with ID: {} ({})", savedIncident.getPublicId(), savedIncident.getId());
-
-        // 2. Trigger Async Indexing
-        // This runs in a separate thread and does not block the response.
-        // If indexing fails, the DB transaction is NOT rolled back.
-        incidentIndexService.indexIncidentAsync(savedIncident);
+        List<Incident> saved = incidentRepository.saveAll(incidents);
+        List<java.util.UUID> ids = saved.stream().map(Incident::getId).toList();
+        logger.info("Batch of {} incidents saved to DB", saved.size());
 
-        return savedIncident;
+        incidentIndexOutbox.enqueueAll(ids);
+        activityLog.recordCreated(saved);
+        eventPublisher.publishEvent(new IncidentsCreatedEvent(ids));
+        return saved;
     }
 
     @Transactional
@@ -133,12 +107,24 @@ public class IncidentService {
         Incident savedIncident = incidentRepository.save(incident);
         logger.info("Incident updated in DB with ID: {}", savedIncident.getId());
 
-        // 2. Trigger Async Indexing
-        incidentIndexService.indexIncidentAsync(savedIncident);
+        // 2. Record the index intent in the same transaction
+        incidentIndexOutbox.enqueue(savedIncident);
+        eventPublisher.publishEvent(new com.loom.incident.event.IncidentUpdatedEvent(savedIncident.getId()));
 
         return savedIncident;
     }
 
+    @Transactional
+    public Incident addEvidence(String id, com.loom.incident.domain.Evidence evidence) {
+        Incident incident = getIncidentById(id);
+        evidence.setIncident(incident);
+        incident.getEvidence().add(evidence);
+        Incident saved = updateIncident(incident);
+        activityLog.append(saved.getId(), com.loom.incident.domain.TimelineEventType.EVIDENCE_ADDED, null,
+                evidence.getFilename(), "Evidence uploaded: " + evidence.getFilename());
+        return saved;
+    }
+
     @Transactional
     public Incident updateIncidentStatus(String id, com.loom.incident.domain.IncidentStatus newStatus) {
         Incident incident = getIncidentById(id);
@@ -153,101 +139,39 @@ public class IncidentService {
             }
         } else if (newStatus == com.loom.incident.domain.IncidentStatus.OPEN
                 || newStatus == com.loom.incident.domain.IncidentStatus.INVESTIGATING) {
+            // Only one incident per alert fingerprint may be open at a time
+            if (incident.getFingerprint() != null && incidentRepository.existsByFingerprintAndStatusInAndIdNot(
+                    incident.getFingerprint(), IncidentDeduplicationService.OPEN_STATUSES, incident.getId())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Another open incident already tracks this alert: " + id);
+            }
             // If reopening, clear resolvedAt
             incident.setResolvedAt(null);
         }
 
+        com.loom.incident.domain.IncidentStatus previousStatus = incident.getStatus();
         incident.setStatus(newStatus);
 
         Incident saved = incidentRepository.save(incident);
-        incidentIndexService.indexIncidentAsync(saved);
+        incidentIndexOutbox.enqueue(saved);
+        activityLog.recordStatusChange(saved.getId(), previousStatus, newStatus);
+        eventPublisher.publishEvent(new com.loom.incident.event.IncidentStatusChangedEvent(saved.getId(),
+                saved.getPublicId(), saved.getFingerprint(), previousStatus, newStatus));
 
         return saved;
     }
 
-    public com.loom.incident.api.dto.IncidentStatsResponse getStats() {
-        List<Incident> incidents = incidentRepository.findAll();
-
-        // 1. Existing Counts
-        java.util.Map<com.loom.incident.domain.Severity, Long> severityCounts = incidents.stream()
-                .collect(java.util.stream.Collectors.groupingBy(Incident::getSeverity,
-                        java.util.stream.Collectors.counting()));
-
-        java.util.Map<com.loom.incident.domain.IncidentStatus, Long> statusCounts = incidents.stream()
-                .collect(java.util.stream.Collectors.groupingBy(Incident::getStatus,
-                        java.util.stream.Collectors.counting()));
-
-        // 2. MTTR Calculation (in seconds)
-        double totalResolutionTime = 0;
-        long resolvedCount = 0;
-        for (Incident i : incidents) {
-            if (i.getResolvedAt() != null) {
-                long diff = java.time.Duration.between(i.getCreatedAt(), i.getResolvedAt()).getSeconds();
-                if (diff > 0) {
-                    totalResolutionTime += diff;
-                    resolvedCount++;
-                }
-            }
-        }
-        double avgMttr = resolvedCount > 0 ? totalResolutionTime / resolvedCount : 0;
-
-        // 3. Incidents by Day (Last 30 Days mainly, but let's do all for the chart)
-        // Group by YYYY-MM-DD
-        java.util.Map<String, Long> incidentsByDay = incidents.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        i -> i.getCreatedAt().toString().substring(0, 10), // Simple substring for date
-                        java.util.stream.Collectors.counting()));
-
-        // 4. Incidents by Service
-        java.util.Map<String, Long> incidentsByService = incidents.stream()
-                .collect(java.util.stream.Collectors.groupingBy(Incident::getService,
-                        java.util.stream.Collectors.counting()));
-
-        // 5. Engineer Load (Active Incidents per Engineer)
-        // Active = NOT (RESOLVED or CLOSED)
-        java.util.Map<String, Long> engineerCounts = incidents.stream()
-                .filter(i -> (i.getStatus() != com.loom.incident.domain.IncidentStatus.RESOLVED
-                        && i.getStatus() != com.loom.incident.domain.IncidentStatus.CLOSED))
-                .filter(i -> i.getAssigneeName() != null)
-                .collect(java.util.stream.Collectors.groupingBy(
-                        Incident::getAssigneeName,
-                        java.util.stream.Collectors.counting()));
-
-        List<com.loom.incident.api.dto.IncidentStatsResponse.EngineerLoadMetric> engineerStats = engineerCounts
-                .entrySet()
-                .stream()
-                .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue())) // Descending
-                .limit(5)
-                .map(e -> new com.loom.incident.api.dto.IncidentStatsResponse.EngineerLoadMetric(e.getKey(),
-                        e.getValue()))
-                .collect(java.util.stream.Collectors.toList());
-
-        // Dummy trends for MVP (requires historical comparison logic)
-        double mttrTrend = -5.0;
-        double freqTrend = 12.0;
-
-        return new com.loom.incident.api.dto.IncidentStatsResponse(
-                severityCounts,
-                statusCounts,
-                (long) incidents.size(),
-                avgMttr,
-                mttrTrend,
-                freqTrend,
-                incidentsByDay,
-                incidentsByService,
-                engineerStats);
-    }
-
+    /**
+     * Queues an index intent for every incident. The index is not dropped:
+     * unchanged documents become no-op partial updates, so this is a catch-up
+     * rather than a rebuild.
+     */
     public void syncIndex() {
         try {
             logger.info("Starting manual index synchronization...");
-            incidentIndexService.clearAllIncidents();
-            List<Incident> all = incidentRepository.findAll();
-            logger.info("Found {} incidents in DB to re-index.", all.size());
-            for (Incident i : all) {
-                incidentIndexService.indexIncidentAsync(i);
-            }
-            logger.info("Sync triggered for all incidents.");
+            List<java.util.UUID> ids = incidentRepository.findAllIds();
+            int queued = incidentIndexOutbox.enqueueAll(ids);
+            logger.info("Queued {} incidents for re-indexing.", queued);
         } catch (Exception e) {
             logger.error("Index synchronization failed", e);
             throw new RuntimeException("Sync failed", e);
@@ -0,0 +1,60 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.domain.IssueType;
+import com.loom.incident.domain.Severity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable copy of an incident's scalar fields, safe to cache and share
+ * between threads. Read-only panels use this instead of the entity.
+ */
+public record IncidentSnapshot(
+        UUID id,
+        String publicId,
+        String title,
+        String description,
+        Severity severity,
+        IncidentStatus status,
+        String service,
+        IssueType issueType,
+        Instant createdAt,
+        Instant resolvedAt,
+        String rootCause,
+        String assigneeName,
+        String deploymentInsight,
+        List<DeploymentRef> correlatedDeployments) {
+
+    public record DeploymentRef(UUID id, String commitHash) {
+    }
+
+    /**
+     * Must be called inside a transaction; reads the lazy deployment list.
+     */
+    public static IncidentSnapshot of(Incident incident) {
+        List<DeploymentRef> deployments = incident.getCorrelatedDeployments() == null
+                ? List.of()
+                : incident.getCorrelatedDeployments().stream()
+                        .map(d -> new DeploymentRef(d.getId(), d.getCommitHash()))
+                        .toList();
+        return new IncidentSnapshot(
+                incident.getId(),
+                incident.getPublicId(),
+                incident.getTitle(),
+                incident.getDescription(),
+                incident.getSeverity(),
+                incident.getStatus(),
+                incident.getService(),
+                incident.getIssueType(),
+                incident.getCreatedAt(),
+                incident.getResolvedAt(),
+                incident.getRootCause(),
+                incident.getAssigneeName(),
+                incident.getDeploymentInsight(),
+                deployments);
+    }
+}
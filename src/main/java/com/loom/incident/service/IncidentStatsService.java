@@ -0,0 +1,140 @@
+package com.loom.incident.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loom.incident.api.dto.IncidentStatsResponse;
+import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.domain.Severity;
+import com.loom.incident.event.IncidentStatusChangedEvent;
+import com.loom.incident.event.IncidentsCreatedEvent;
+import com.loom.incident.repository.IncidentStatsRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dashboard statistics computed with GROUP BY queries in Postgres.
+ *
+ * Results are cached and dropped whenever an incident is created or changes
+ * status, so repeated dashboard reads are served from memory. Writes that do
+ * not publish events (assignment, bulk loaders) show up after at most
+ * {@link #MAX_AGE}.
+ */
+@Service
+public class IncidentStatsService {
+
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+    private static final Set<IncidentStatus> CLOSED_STATUSES = Set.of(IncidentStatus.RESOLVED, IncidentStatus.CLOSED);
+
+    private final IncidentStatsRepository statsRepository;
+    private final Cache<String, Object> cache = Caffeine.newBuilder()
+            .expireAfterWrite(MAX_AGE)
+            .build();
+
+    public IncidentStatsService(IncidentStatsRepository statsRepository) {
+        this.statsRepository = statsRepository;
+    }
+
+    public record AssignedIncident(String assigneeName, String publicId, String title, Severity severity,
+            String service) {
+    }
+
+    /**
+     * @param active                 assigned incidents that are not RESOLVED
+     * @param resolvedServiceCounts  assignee -> service -> resolved incidents
+     */
+    public record TeamLoad(List<AssignedIncident> active, Map<String, Map<String, Long>> resolvedServiceCounts) {
+    }
+
+    public IncidentStatsResponse getStats() {
+        return (IncidentStatsResponse) cache.get("stats", k -> computeStats());
+    }
+
+    public TeamLoad getTeamLoad() {
+        return (TeamLoad) cache.get("teamLoad", k -> computeTeamLoad());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIncidentsCreated(IncidentsCreatedEvent event) {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(IncidentStatusChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    private IncidentStatsResponse computeStats() {
+        // 1. Existing Counts
+        Map<Severity, Long> severityCounts = new EnumMap<>(Severity.class);
+        for (Object[] row : statsRepository.countBySeverity()) {
+            severityCounts.put((Severity) row[0], (Long) row[1]);
+        }
+        Map<IncidentStatus, Long> statusCounts = new EnumMap<>(IncidentStatus.class);
+        long total = 0;
+        for (Object[] row : statsRepository.countByStatus()) {
+            statusCounts.put((IncidentStatus) row[0], (Long) row[1]);
+            total += (Long) row[1];
+        }
+
+        // 2. MTTR Calculation (in seconds)
+        Double avgMttr = statsRepository.averageResolutionSeconds();
+
+        // 3. Incidents by Day (UTC, YYYY-MM-DD)
+        Map<String, Long> incidentsByDay = toCountMap(statsRepository.countByDay());
+
+        // 4. Incidents by Service
+        Map<String, Long> incidentsByService = toCountMap(statsRepository.countByService());
+
+        // 5. Engineer Load (Active Incidents per Engineer, top 5)
+        List<IncidentStatsResponse.EngineerLoadMetric> engineerStats = new ArrayList<>();
+        for (Object[] row : statsRepository.countActiveByAssignee(CLOSED_STATUSES, PageRequest.of(0, 5))) {
+            engineerStats.add(new IncidentStatsResponse.EngineerLoadMetric((String) row[0], (Long) row[1]));
+        }
+
+        // Dummy trends for MVP (requires historical comparison logic)
+        double mttrTrend = -5.0;
+        double freqTrend = 12.0;
+
+        return new IncidentStatsResponse(
+                severityCounts,
+                statusCounts,
+                total,
+                avgMttr != null ? avgMttr : 0,
+                mttrTrend,
+                freqTrend,
+                incidentsByDay,
+                incidentsByService,
+                engineerStats);
+    }
+
+    private TeamLoad computeTeamLoad() {
+        List<AssignedIncident> active = new ArrayList<>();
+        for (Object[] row : statsRepository.findAssignedSummariesByStatusNot(IncidentStatus.RESOLVED)) {
+            active.add(new AssignedIncident((String) row[0], (String) row[1], (String) row[2], (Severity) row[3],
+                    (String) row[4]));
+        }
+        Map<String, Map<String, Long>> resolved = new HashMap<>();
+        for (Object[] row : statsRepository.countAssignedByServiceAndStatus(IncidentStatus.RESOLVED)) {
+            resolved.computeIfAbsent((String) row[0], k -> new HashMap<>()).put((String) row[1], (Long) row[2]);
+        }
+        return new TeamLoad(active, resolved);
+    }
+
+    private static Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,350 @@
+package com.loom.incident.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.loom.incident.ai.EmbeddingPriority;
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentEmbedding;
+import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.domain.IssueType;
+import com.loom.incident.domain.Severity;
+import com.loom.incident.repository.IncidentEmbeddingRepository;
+import com.loom.incident.repository.IncidentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * NDJSON export and import of incidents, one JSON object per line.
+ *
+ * Both directions stream in batches of {@link #BATCH_SIZE}: export reads
+ * keyset pages in short read-only transactions and writes each row as it
+ * goes, import parses rows one at a time and commits each batch on its own,
+ * so memory stays bounded however many rows are moved.
+ *
+ * Exported rows may carry their vector. Imported rows with a vector store it
+ * as the incident's embedding; the others are embedded in parallel on the
+ * bulk lane, with at most {@code embeddingParallelism} requests in flight.
+ * Each batch then goes to Elasticsearch in a single bulk request, and rows
+ * it rejects fall back to the index outbox.
+ */
+@Service
+public class IncidentTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentTransferService.class);
+    static final int BATCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final IncidentRepository incidentRepository;
+    private final IncidentEmbeddingRepository embeddingRepository;
+    private final IncidentVectorService incidentVectorService;
+    private final IncidentIndexService incidentIndexService;
+    private final IncidentIndexOutbox incidentIndexOutbox;
+    private final PublicIdAllocator publicIdAllocator;
+    private final IncidentDeduplicationService deduplicationService;
+    private final ObjectMapper objectMapper;
+    private final Executor incidentTaskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Value("${loom.incidents.import.embedding-parallelism:4}")
+    private int embeddingParallelism;
+
+    public IncidentTransferService(EntityManager entityManager, IncidentRepository incidentRepository,
+            IncidentEmbeddingRepository embeddingRepository, IncidentVectorService incidentVectorService,
+            IncidentIndexService incidentIndexService, IncidentIndexOutbox incidentIndexOutbox,
+            PublicIdAllocator publicIdAllocator, IncidentDeduplicationService deduplicationService,
+            ObjectMapper objectMapper, @Qualifier("incidentTaskExecutor") Executor incidentTaskExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.incidentRepository = incidentRepository;
+        this.embeddingRepository = embeddingRepository;
+        this.incidentVectorService = incidentVectorService;
+        this.incidentIndexService = incidentIndexService;
+        this.incidentIndexOutbox = incidentIndexOutbox;
+        this.publicIdAllocator = publicIdAllocator;
+        this.deduplicationService = deduplicationService;
+        this.objectMapper = objectMapper;
+        this.incidentTaskExecutor = incidentTaskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * One line of the NDJSON format. {@code id} is the public ID and
+     * {@code uuid} the internal one, as in the REST API; imports keep the
+     * public ID and assign a new UUID.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record IncidentRecord(UUID uuid, String id, String title, String description, Severity severity,
+            IncidentStatus status, String service, IssueType issueType, Instant createdAt, Instant resolvedAt,
+            String rootCause, String assigneeName, String assigneeAvatar, String fingerprint,
+            Integer occurrenceCount, Instant lastOccurrenceAt, String deploymentInsight, Boolean recurring,
+            Integer recurringCount, Instant firstSeen, float[] vector) {
+
+        static IncidentRecord of(Incident i, float[] vector) {
+            return new IncidentRecord(i.getId(), i.getPublicId(), i.getTitle(), i.getDescription(), i.getSeverity(),
+                    i.getStatus(), i.getService(), i.getIssueType(), i.getCreatedAt(), i.getResolvedAt(),
+                    i.getRootCause(), i.getAssigneeName(), i.getAssigneeAvatar(), i.getFingerprint(),
+                    i.getOccurrenceCount(), i.getLastOccurrenceAt(), i.getDeploymentInsight(), i.isRecurring(),
+                    i.getRecurringCount(), i.getFirstSeen(), vector);
+        }
+
+        boolean isValid() {
+            return title != null && !title.isBlank() && severity != null && status != null && service != null;
+        }
+
+        Incident toIncident() {
+            Incident i = new Incident();
+            i.setPublicId(id);
+            i.setSequenceId(PublicIdAllocator.sequenceOf(id));
+            i.setTitle(title);
+            i.setDescription(description);
+            i.setSeverity(severity);
+            i.setStatus(status);
+            i.setService(service);
+            i.setIssueType(issueType);
+            i.setCreatedAt(createdAt);
+            i.setResolvedAt(resolvedAt);
+            i.setRootCause(rootCause);
+            i.setAssigneeName(assigneeName);
+            i.setAssigneeAvatar(assigneeAvatar);
+            i.setFingerprint(fingerprint);
+            if (occurrenceCount != null) {
+                i.setOccurrenceCount(occurrenceCount);
+            }
+            i.setLastOccurrenceAt(lastOccurrenceAt);
+            i.setDeploymentInsight(deploymentInsight);
+            if (recurring != null) {
+                i.setRecurring(recurring);
+            }
+            if (recurringCount != null) {
+                i.setRecurringCount(recurringCount);
+            }
+            i.setFirstSeen(firstSeen);
+            return i;
+        }
+    }
+
+    /**
+     * @param rejected rows missing a title, severity, status or service
+     * @param skipped  rows whose public ID already exists
+     * @param embedded rows embedded during the import because they had no vector
+     * @param deferred rows left to the index outbox because embedding or
+     *                 bulk indexing failed
+     */
+    public record ImportResult(long imported, long skipped, long rejected, long embedded, long deferred) {
+    }
+
+    public void exportIncidents(OutputStream out, boolean includeVectors) throws IOException {
+        long exported = 0;
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            Instant afterCreatedAt = null;
+            UUID afterId = null;
+            List<IncidentRecord> page;
+            do {
+                Instant createdAt = afterCreatedAt;
+                UUID id = afterId;
+                page = readOnlyTransactionTemplate.execute(status -> loadPage(createdAt, id, includeVectors));
+                for (IncidentRecord record : page) {
+                    writer.write(record);
+                }
+                writer.flush();
+                exported += page.size();
+                if (!page.isEmpty()) {
+                    afterCreatedAt = page.get(page.size() - 1).createdAt();
+                    afterId = page.get(page.size() - 1).uuid();
+                }
+            } while (page.size() == BATCH_SIZE);
+            out.write('\n');
+        }
+        logger.info("Exported {} incidents (vectors: {})", exported, includeVectors);
+    }
+
+    private List<IncidentRecord> loadPage(Instant afterCreatedAt, UUID afterId, boolean includeVectors) {
+        String jpql = "SELECT i FROM Incident i"
+                + (afterId != null ? " WHERE i.createdAt > :createdAt OR (i.createdAt = :createdAt AND i.id > :id)"
+                        : "")
+                + " ORDER BY i.createdAt, i.id";
+        TypedQuery<Incident> query = entityManager.createQuery(jpql, Incident.class);
+        if (afterId != null) {
+            query.setParameter("createdAt", afterCreatedAt);
+            query.setParameter("id", afterId);
+        }
+        List<Incident> incidents = query.setMaxResults(BATCH_SIZE).getResultList();
+
+        Map<UUID, float[]> vectors = new LinkedHashMap<>();
+        if (includeVectors && !incidents.isEmpty()) {
+            Map<UUID, String> hashes = new LinkedHashMap<>();
+            incidents.forEach(i -> hashes.put(i.getId(), IncidentVectorService.contentHash(i)));
+            // Only vectors of the current text revision are exported
+            for (IncidentEmbedding e : embeddingRepository.findAllById(hashes.keySet())) {
+                if (e.getContentHash().equals(hashes.get(e.getIncidentId()))) {
+                    vectors.put(e.getIncidentId(), e.getVector());
+                }
+            }
+        }
+        List<IncidentRecord> records = new ArrayList<>(incidents.size());
+        for (Incident incident : incidents) {
+            records.add(IncidentRecord.of(incident, vectors.get(incident.getId())));
+        }
+        entityManager.clear();
+        return records;
+    }
+
+    public ImportResult importIncidents(InputStream in) throws IOException {
+        long[] totals = new long[5];
+        try (MappingIterator<IncidentRecord> rows = objectMapper.readerFor(IncidentRecord.class).readValues(in)) {
+            List<IncidentRecord> batch = new ArrayList<>(BATCH_SIZE);
+            while (rows.hasNextValue()) {
+                IncidentRecord record = rows.nextValue();
+                if (!record.isValid()) {
+                    totals[2]++;
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() == BATCH_SIZE) {
+                    importBatch(batch, totals);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, totals);
+            }
+        }
+
+        if (totals[0] > 0) {
+            deduplicationService.loadOpenFingerprints();
+        }
+        ImportResult result = new ImportResult(totals[0], totals[1], totals[2], totals[3], totals[4]);
+        logger.info("Incident import finished: {}", result);
+        return result;
+    }
+
+    private void importBatch(List<IncidentRecord> batch, long[] totals) {
+        // 1. Rows and supplied vectors, committed together
+        Map<UUID, float[]> vectors = new ConcurrentHashMap<>();
+        List<Incident> saved = transactionTemplate.execute(status -> {
+            Set<String> publicIds = new HashSet<>();
+            batch.forEach(r -> {
+                if (r.id() != null) {
+                    publicIds.add(r.id());
+                }
+            });
+            Set<String> existing = publicIds.isEmpty() ? Set.of()
+                    : new HashSet<>(incidentRepository.findExistingPublicIds(publicIds));
+
+            List<Incident> incidents = new ArrayList<>();
+            List<float[]> supplied = new ArrayList<>();
+            long maxSequence = 0;
+            for (IncidentRecord record : batch) {
+                // Also skips a public ID repeated within the file
+                if (record.id() != null && !existing.add(record.id())) {
+                    totals[1]++;
+                    continue;
+                }
+                Incident incident = record.toIncident();
+                if (incident.getSequenceId() != null) {
+                    maxSequence = Math.max(maxSequence, incident.getSequenceId());
+                }
+                incidents.add(incident);
+                supplied.add(record.vector());
+            }
+            if (maxSequence > 0) {
+                // Before the rows exist, so concurrent creates never draw an imported public ID.
+                // setval is not transactional and holds even if this batch rolls back.
+                incidentRepository.advanceSequenceTo(maxSequence);
+                publicIdAllocator.discardPool();
+            }
+            List<Incident> needingIds = incidents.stream().filter(i -> i.getPublicId() == null).toList();
+            List<Long> sequenceValues = publicIdAllocator.allocate(needingIds.size());
+            for (int i = 0; i < needingIds.size(); i++) {
+                needingIds.get(i).setSequenceId(sequenceValues.get(i));
+                needingIds.get(i).setPublicId(PublicIdAllocator.publicId(sequenceValues.get(i)));
+            }
+
+            List<Incident> persisted = incidentRepository.saveAll(incidents);
+            List<IncidentEmbedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < persisted.size(); i++) {
+                float[] vector = supplied.get(i);
+                if (vector != null && vector.length > 0) {
+                    Incident incident = persisted.get(i);
+                    embeddings.add(new IncidentEmbedding(incident.getId(),
+                            IncidentVectorService.contentHash(incident), vector));
+                    vectors.put(incident.getId(), vector);
+                }
+            }
+            embeddingRepository.saveAll(embeddings);
+            entityManager.flush();
+            entityManager.clear();
+            return persisted;
+        });
+        totals[0] += saved.size();
+
+        // 2. Embed the rest in parallel; the semaphore bounds requests in flight
+        Semaphore permits = new Semaphore(Math.max(1, embeddingParallelism));
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (Incident incident : saved) {
+            if (vectors.containsKey(incident.getId())) {
+                continue;
+            }
+            permits.acquireUninterruptibly();
+            pending.add(CompletableFuture.runAsync(() -> {
+                float[] vector = incidentVectorService.vectorFor(incident, EmbeddingPriority.BULK);
+                if (vector.length > 0) {
+                    vectors.put(incident.getId(), vector);
+                }
+            }, incidentTaskExecutor).whenComplete((v, e) -> {
+                permits.release();
+                if (e != null) {
+                    logger.warn("Embedding failed for imported incident {}: {}", incident.getPublicId(),
+                            e.getMessage());
+                }
+            }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        totals[3] += pending.size();
+
+        // 3. One bulk request for the batch; anything not indexed goes through the outbox
+        List<Incident> indexable = saved.stream().filter(i -> vectors.containsKey(i.getId())).toList();
+        List<UUID> deferred = new ArrayList<>(saved.stream()
+                .filter(i -> !vectors.containsKey(i.getId()))
+                .map(Incident::getId)
+                .toList());
+        try {
+            deferred.addAll(incidentIndexService.bulkIndex(indexable, vectors));
+        } catch (Exception e) {
+            logger.warn("Bulk index of {} imported incidents failed: {}", indexable.size(), e.getMessage());
+            deferred.addAll(indexable.stream().map(Incident::getId).toList());
+        }
+        if (!deferred.isEmpty()) {
+            incidentIndexOutbox.enqueueAll(deferred);
+            totals[4] += deferred.size();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.loom.incident.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loom.incident.ai.EmbeddingClient;
+import com.loom.incident.ai.EmbeddingPriority;
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentEmbedding;
+import com.loom.incident.repository.IncidentEmbeddingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single source of incident embeddings.
+ *
+ * Vectors are keyed by a hash of the incident's text fields and persisted per
+ * incident, so indexing, pattern detection, code correlation and baselines
+ * share one embedding per content revision. Ollama is only called when the
+ * text changes.
+ */
+@Service
+public class IncidentVectorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentVectorService.class);
+
+    private final IncidentEmbeddingRepository embeddingRepository;
+    private final EmbeddingClient embeddingClient;
+
+    // Content hash -> vector. Covers incidents that are not persisted yet and
+    // the window before a new revision's row commits.
+    private final Cache<String, float[]> recentVectors = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    public IncidentVectorService(IncidentEmbeddingRepository embeddingRepository, EmbeddingClient embeddingClient) {
+        this.embeddingRepository = embeddingRepository;
+        this.embeddingClient = embeddingClient;
+    }
+
+    /**
+     * The text an incident is embedded from. Only fields that describe the
+     * problem are included; status, assignee and timestamps are not, so triage
+     * updates never change the vector.
+     */
+    public static String embeddingText(Incident incident) {
+        return String.format("[%s] %s. %s. Root Cause: %s.",
+                incident.getService(),
+                incident.getTitle(),
+                incident.getDescription() != null ? incident.getDescription() : "",
+                incident.getRootCause() != null ? incident.getRootCause() : "Unknown");
+    }
+
+    public static String contentHash(Incident incident) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(embeddingText(incident).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns the vector for the incident's current text, embedding it only if
+     * no vector exists for this content revision.
+     */
+    public float[] vectorFor(Incident incident, EmbeddingPriority priority) {
+        String hash = contentHash(incident);
+        UUID incidentId = incident.getId();
+
+        Optional<IncidentEmbedding> stored = incidentId != null ? embeddingRepository.findById(incidentId)
+                : Optional.empty();
+        if (stored.isPresent() && hash.equals(stored.get().getContentHash())) {
+            return stored.get().getVector();
+        }
+
+        float[] vector = recentVectors.getIfPresent(hash);
+        if (vector == null) {
+            logger.debug("Embedding new content revision {} for incident {}", hash, incidentId);
+            vector = toFloatArray(embeddingClient.getEmbedding(embeddingText(incident), priority));
+            if (vector.length == 0) {
+                return vector;
+            }
+            recentVectors.put(hash, vector);
+        }
+
+        if (incidentId != null) {
+            store(stored.orElseGet(() -> new IncidentEmbedding(incidentId, hash, null)), hash, vector);
+        }
+        return vector;
+    }
+
+    /**
+     * Returns the stored vector without ever calling the embedding model.
+     */
+    public Optional<float[]> findStoredVector(UUID incidentId) {
+        return embeddingRepository.findById(incidentId).map(IncidentEmbedding::getVector);
+    }
+
+    /**
+     * True if {@code incident_index} already holds the vector of the given
+     * content revision, i.e. the incident's text has not changed since it was
+     * last indexed. Deliberately not the stored embedding's revision, which
+     * interactive callers refresh before the indexer runs.
+     */
+    public boolean isIndexedRevision(UUID incidentId, String contentHash) {
+        if (incidentId == null) {
+            return false;
+        }
+        return embeddingRepository.findById(incidentId)
+                .map(e -> contentHash.equals(e.getIndexedHash()))
+                .orElse(false);
+    }
+
+    /**
+     * Records which content revision's vector was written to the index.
+     */
+    @Transactional
+    public void markIndexed(Map<UUID, String> contentHashes) {
+        contentHashes.forEach(embeddingRepository::markIndexed);
+    }
+
+    public List<float[]> findStoredVectors(Collection<UUID> incidentIds) {
+        List<float[]> vectors = new ArrayList<>();
+        for (IncidentEmbedding e : embeddingRepository.findAllById(incidentIds)) {
+            vectors.add(e.getVector());
+        }
+        return vectors;
+    }
+
+    // Updates the existing row in place so its indexed revision is kept
+    private void store(IncidentEmbedding embedding, String hash, float[] vector) {
+        try {
+            embeddingRepository.save(revise(embedding, hash, vector));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent first embed of the same incident inserted the row; update that one
+            embeddingRepository.findById(embedding.getIncidentId())
+                    .ifPresent(existing -> embeddingRepository.save(revise(existing, hash, vector)));
+        }
+    }
+
+    private static IncidentEmbedding revise(IncidentEmbedding embedding, String hash, float[] vector) {
+        embedding.setContentHash(hash);
+        embedding.setVector(vector);
+        embedding.setUpdatedAt(Instant.now());
+        return embedding;
+    }
+
+    public static float[] toFloatArray(List<Double> values) {
+        if (values == null) {
+            return new float[0];
+        }
+        float[] result = new float[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            result[i] = values.get(i).floatValue();
+        }
+        return result;
+    }
+
+    public static List<Float> toFloatList(float[] values) {
+        List<Float> result = new ArrayList<>(values.length);
+        for (float v : values) {
+            result.add(v);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package com.loom.incident.service;
+
+import com.loom.incident.repository.IncidentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Hands out "INCSEN-####" sequence numbers from blocks fetched from
+ * {@code incident_id_seq}, so intake does not hit the database once per
+ * incident. Numbers left in a block when the instance stops are skipped, so
+ * public IDs are unique but may have gaps.
+ */
+@Service
+public class PublicIdAllocator {
+
+    private static final String PREFIX = "INCSEN-";
+
+    private final IncidentRepository incidentRepository;
+    private final int blockSize;
+    private final Deque<Long> pool = new ArrayDeque<>();
+
+    public PublicIdAllocator(IncidentRepository incidentRepository,
+            @Value("${loom.incidents.id-block-size:50}") int blockSize) {
+        this.incidentRepository = incidentRepository;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public synchronized long next() {
+        if (pool.isEmpty()) {
+            pool.addAll(incidentRepository.allocateSequenceValues(blockSize));
+        }
+        return pool.removeFirst();
+    }
+
+    /**
+     * Returns {@code count} sequence numbers using at most one database round
+     * trip.
+     */
+    public synchronized List<Long> allocate(int count) {
+        List<Long> values = new ArrayList<>(count);
+        while (values.size() < count && !pool.isEmpty()) {
+            values.add(pool.removeFirst());
+        }
+        int missing = count - values.size();
+        if (missing > 0) {
+            // Top the pool up in the same query
+            List<Long> fetched = incidentRepository.allocateSequenceValues(missing + blockSize);
+            values.addAll(fetched.subList(0, missing));
+            pool.addAll(fetched.subList(missing, fetched.size()));
+        }
+        return values;
+    }
+
+    /**
+     * Drops the reserved block, e.g. after an import advanced the sequence
+     * past numbers it contains.
+     */
+    public synchronized void discardPool() {
+        pool.clear();
+    }
+
+    public static String publicId(long sequenceValue) {
+        return PREFIX + sequenceValue;
+    }
+
+    /**
+     * The sequence number of an "INCSEN-####" public ID, or null for IDs in
+     * any other format.
+     */
+    public static Long sequenceOf(String publicId) {
+        if (publicId == null || !publicId.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(publicId.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
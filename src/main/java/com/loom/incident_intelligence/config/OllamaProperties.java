@@ -3,6 +3,10 @@ package com.loom.incident_intelligence.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "ollama")
 public class OllamaProperties {
@@ -13,6 +17,12 @@ public class OllamaProperties {
     private int topK = 5;
     private double temperature = 0.2;
     private int numCtx = 4096;
+    private int maxConcurrentEmbeddings = 8;
+    private int interactiveReservedEmbeddings = 2;
+    private Duration interactiveLatencyTarget = Duration.ofMillis(500);
+    private int ejectAfterFailures = 3;
+    private Duration ejectionDuration = Duration.ofSeconds(30);
+    private List<Backend> backends = new ArrayList<>();
 
     public String getBaseUrl() {
         return baseUrl;
@@ -69,4 +79,108 @@ public class OllamaProperties {
     public void setNumCtx(int numCtx) {
         this.numCtx = numCtx;
     }
+
+    public int getMaxConcurrentEmbeddings() {
+        return maxConcurrentEmbeddings;
+    }
+
+    public void setMaxConcurrentEmbeddings(int maxConcurrentEmbeddings) {
+        this.maxConcurrentEmbeddings = maxConcurrentEmbeddings;
+    }
+
+    public int getInteractiveReservedEmbeddings() {
+        return interactiveReservedEmbeddings;
+    }
+
+    public void setInteractiveReservedEmbeddings(int interactiveReservedEmbeddings) {
+        this.interactiveReservedEmbeddings = interactiveReservedEmbeddings;
+    }
+
+    public Duration getInteractiveLatencyTarget() {
+        return interactiveLatencyTarget;
+    }
+
+    public void setInteractiveLatencyTarget(Duration interactiveLatencyTarget) {
+        this.interactiveLatencyTarget = interactiveLatencyTarget;
+    }
+
+    public int getEjectAfterFailures() {
+        return ejectAfterFailures;
+    }
+
+    public void setEjectAfterFailures(int ejectAfterFailures) {
+        this.ejectAfterFailures = ejectAfterFailures;
+    }
+
+    public Duration getEjectionDuration() {
+        return ejectionDuration;
+    }
+
+    public void setEjectionDuration(Duration ejectionDuration) {
+        this.ejectionDuration = ejectionDuration;
+    }
+
+    public List<Backend> getBackends() {
+        return backends;
+    }
+
+    public void setBackends(List<Backend> backends) {
+        this.backends = backends;
+    }
+
+    /**
+     * Returns the configured backends, or a single backend built from
+     * {@code base-url} when no {@code backends} list is configured.
+     */
+    public List<Backend> resolveBackends() {
+        if (backends != null && !backends.isEmpty()) {
+            return backends;
+        }
+        Backend single = new Backend();
+        single.setUrl(baseUrl);
+        return List.of(single);
+    }
+
+    /**
+     * One Ollama host. Limits left unset fall back to the top-level defaults; an
+     * empty model list means the backend serves every model.
+     */
+    public static class Backend {
+        private String url;
+        private Integer maxConcurrentGenerations;
+        private Integer maxConcurrentEmbeddings;
+        private List<String> models = new ArrayList<>();
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public Integer getMaxConcurrentGenerations() {
+            return maxConcurrentGenerations;
+        }
+
+        public void setMaxConcurrentGenerations(Integer maxConcurrentGenerations) {
+            this.maxConcurrentGenerations = maxConcurrentGenerations;
+        }
+
+        public Integer getMaxConcurrentEmbeddings() {
+            return maxConcurrentEmbeddings;
+        }
+
+        public void setMaxConcurrentEmbeddings(Integer maxConcurrentEmbeddings) {
+            this.maxConcurrentEmbeddings = maxConcurrentEmbeddings;
+        }
+
+        public List<String> getModels() {
+            return models;
+        }
+
+        public void setModels(List<String> models) {
+            this.models = models;
+        }
+    }
 }
@@ -1,9 +1,8 @@
 package com.loom.incident_intelligence.controller;
 
-import com.loom.incident.domain.Incident;
-import com.loom.incident.domain.IncidentStatus;
 import com.loom.incident.domain.Severity;
-import com.loom.incident.repository.IncidentRepository;
+import com.loom.incident.service.IncidentStatsService;
+import com.loom.incident.service.IncidentStatsService.AssignedIncident;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,34 +14,29 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v1/pulse")
 public class TeamPulseController {
 
-    private final IncidentRepository incidentRepository;
+    private final IncidentStatsService incidentStatsService;
 
-    public TeamPulseController(IncidentRepository incidentRepository) {
-        this.incidentRepository = incidentRepository;
+    public TeamPulseController(IncidentStatsService incidentStatsService) {
+        this.incidentStatsService = incidentStatsService;
     }
 
     @GetMapping("/team-load")
     public List<EngineerPulse> getTeamLoad() {
-        // Fetch all incidents (in a real app, filters by date/status would improve
-        // perf)
-        List<Incident> allIncidents = incidentRepository.findAll();
+        // Active assigned incidents and resolved-per-service counts, grouped in the DB
+        IncidentStatsService.TeamLoad teamLoad = incidentStatsService.getTeamLoad();
 
         // Group by Assignee
-        Map<String, List<Incident>> incidentsByAssignee = allIncidents.stream()
-                .filter(i -> i.getAssigneeName() != null && !i.getAssigneeName().isEmpty())
-                .collect(Collectors.groupingBy(Incident::getAssigneeName));
+        Map<String, List<AssignedIncident>> activeByAssignee = teamLoad.active().stream()
+                .collect(Collectors.groupingBy(AssignedIncident::assigneeName));
+        Set<String> assignees = new TreeSet<>(activeByAssignee.keySet());
+        assignees.addAll(teamLoad.resolvedServiceCounts().keySet());
 
         List<EngineerPulse> result = new ArrayList<>();
         int idCounter = 1;
 
-        for (Map.Entry<String, List<Incident>> entry : incidentsByAssignee.entrySet()) {
-            String assigneeName = entry.getKey();
-            List<Incident> incidents = entry.getValue();
-
+        for (String assigneeName : assignees) {
             // 1. Calculate Active Load
-            List<Incident> activeIncidents = incidents.stream()
-                    .filter(i -> i.getStatus() != IncidentStatus.RESOLVED)
-                    .collect(Collectors.toList());
+            List<AssignedIncident> activeIncidents = activeByAssignee.getOrDefault(assigneeName, List.of());
 
             double loadScore = calculateLoadScore(activeIncidents);
 
@@ -52,17 +46,16 @@ public class TeamPulseController {
             // 3. Determine Role (Naive heuristic based on history, or just 'Engineer')
             String role = "Software Engineer";
             if (activeIncidents.stream()
-                    .anyMatch(i -> i.getService().contains("db") || i.getService().contains("data"))) {
+                    .anyMatch(i -> i.service().contains("db") || i.service().contains("data"))) {
                 role = "Database Engineer";
             } else if (activeIncidents.stream()
-                    .anyMatch(i -> i.getService().contains("net") || i.getService().contains("infra"))) {
+                    .anyMatch(i -> i.service().contains("net") || i.service().contains("infra"))) {
                 role = "SRE / Infrastructure";
             }
 
             // 4. Calculate Mastered Services (Services with most RESOLVED incidents)
-            List<String> masteredServices = incidents.stream()
-                    .filter(i -> i.getStatus() == IncidentStatus.RESOLVED)
-                    .collect(Collectors.groupingBy(Incident::getService, Collectors.counting()))
+            List<String> masteredServices = teamLoad.resolvedServiceCounts()
+                    .getOrDefault(assigneeName, Map.of())
                     .entrySet().stream()
                     .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()))
                     .limit(3)
@@ -72,16 +65,16 @@ public class TeamPulseController {
             // 5. Recent Active Incident Details
             List<IncidentSummary> activeSummaries = activeIncidents.stream()
                     .map(i -> new IncidentSummary(
-                            i.getPublicId(),
-                            i.getTitle(),
-                            i.getSeverity().name(),
-                            i.getService()))
+                            i.publicId(),
+                            i.title(),
+                            i.severity().name(),
+                            i.service()))
                     .collect(Collectors.toList());
 
             // 6. Stats
-            long sev1Count = activeIncidents.stream().filter(i -> i.getSeverity() == Severity.SEV1).count();
-            long sev2Count = activeIncidents.stream().filter(i -> i.getSeverity() == Severity.SEV2).count();
-            long sev3Count = activeIncidents.stream().filter(i -> i.getSeverity() == Severity.SEV3).count();
+            long sev1Count = activeIncidents.stream().filter(i -> i.severity() == Severity.SEV1).count();
+            long sev2Count = activeIncidents.stream().filter(i -> i.severity() == Severity.SEV2).count();
+            long sev3Count = activeIncidents.stream().filter(i -> i.severity() == Severity.SEV3).count();
 
             // Build Response Object
             EngineerPulse pulse = new EngineerPulse();
@@ -111,10 +104,10 @@ public class TeamPulseController {
                 .collect(Collectors.toList());
     }
 
-    private double calculateLoadScore(List<Incident> active) {
+    private double calculateLoadScore(List<AssignedIncident> active) {
         double score = 0;
-        for (Incident i : active) {
-            switch (i.getSeverity()) {
+        for (AssignedIncident i : active) {
+            switch (i.severity()) {
                 case SEV1:
                     score += 5;
                     break;
@@ -132,7 +125,7 @@ public class TeamPulseController {
         return score;
     }
 
-    private String determineStatus(double loadScore, List<Incident> active) {
+    private String determineStatus(double loadScore, List<AssignedIncident> active) {
         if (loadScore >= 8)
             return "Overloaded";
         if (loadScore >= 4)
@@ -0,0 +1,126 @@
+package com.loom.incident_intelligence.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for bulk embedding work.
+ *
+ * Interactive requests are never gated here. Bulk requests may hold at most
+ * {@code maxBulk} slots, which leaves the rest of the embedding pool reserved
+ * for interactive traffic. The bulk limit shrinks by half whenever the
+ * smoothed interactive latency exceeds the target and grows back by one slot
+ * per fast interactive request, or to the maximum once interactive traffic
+ * has been idle for a while.
+ *
+ * Latencies are normalized to a prompt of {@value #REFERENCE_TOKENS} tokens
+ * before smoothing, so a long prompt taking proportionally longer to embed
+ * is not mistaken for a backend under pressure.
+ */
+public class EmbeddingLanes {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingLanes.class);
+    private static final double EWMA_ALPHA = 0.2;
+    private static final long IDLE_RESET_MILLIS = 10_000;
+    static final int REFERENCE_TOKENS = 128;
+    // Rough average for English text with the usual BPE tokenizers
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final int maxBulk;
+    private final double targetLatencyMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition bulkReleased = lock.newCondition();
+
+    // Guarded by lock
+    private int bulkLimit;
+    private int bulkInFlight;
+    private double interactiveLatencyEwmaMs;
+    private long lastInteractiveAt;
+
+    public EmbeddingLanes(int maxBulk, Duration interactiveLatencyTarget) {
+        this.maxBulk = Math.max(1, maxBulk);
+        this.targetLatencyMs = interactiveLatencyTarget.toMillis();
+        this.bulkLimit = this.maxBulk;
+    }
+
+    public void acquireBulk() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                if (bulkLimit < maxBulk && System.currentTimeMillis() - lastInteractiveAt > IDLE_RESET_MILLIS) {
+                    bulkLimit = maxBulk;
+                }
+                if (bulkInFlight < bulkLimit) {
+                    bulkInFlight++;
+                    return;
+                }
+                bulkReleased.await(250, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void releaseBulk() {
+        lock.lock();
+        try {
+            bulkInFlight--;
+            bulkReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param tokens approximate prompt size, see {@link #estimateTokens}
+     */
+    public void recordInteractiveLatency(long millis, int tokens) {
+        // Queueing and per-request overhead dominate short prompts, so only
+        // prompts longer than the reference are scaled down
+        double normalized = tokens > REFERENCE_TOKENS ? (double) millis * REFERENCE_TOKENS / tokens : millis;
+        lock.lock();
+        try {
+            lastInteractiveAt = System.currentTimeMillis();
+            interactiveLatencyEwmaMs = interactiveLatencyEwmaMs == 0
+                    ? normalized
+                    : EWMA_ALPHA * normalized + (1 - EWMA_ALPHA) * interactiveLatencyEwmaMs;
+
+            if (interactiveLatencyEwmaMs > targetLatencyMs) {
+                int reduced = Math.max(1, bulkLimit / 2);
+                if (reduced != bulkLimit) {
+                    log.debug("Interactive embedding latency {} ms above target; bulk limit {} -> {}",
+                            (long) interactiveLatencyEwmaMs, bulkLimit, reduced);
+                    bulkLimit = reduced;
+                }
+            } else if (bulkLimit < maxBulk) {
+                bulkLimit++;
+                bulkReleased.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static int estimateTokens(String text) {
+        return text == null ? 1 : Math.max(1, text.length() / CHARS_PER_TOKEN);
+    }
+
+    public Map<String, Object> snapshot() {
+        lock.lock();
+        try {
+            return Map.of(
+                    "bulkLimit", bulkLimit,
+                    "maxBulk", maxBulk,
+                    "bulkInFlight", bulkInFlight,
+                    "interactiveLatencyEwmaMs", interactiveLatencyEwmaMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.loom.incident_intelligence.service;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loom.incident.ai.EmbeddingPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -30,4 +31,11 @@ public class EmbeddingService {
             return ollamaClient.getEmbeddingInternal(key);
         });
     }
+
+    public float[] embed(String text, EmbeddingPriority priority) {
+        return cache.get(text, key -> {
+            log.debug("Cache miss for {} embedding. Calling Ollama...", priority);
+            return ollamaClient.getEmbeddingInternal(key, priority);
+        });
+    }
 }
@@ -0,0 +1,207 @@
+package com.loom.incident_intelligence.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Routes Ollama requests across several backends.
+ *
+ * Each request goes to the backend with the fewest outstanding requests
+ * relative to its concurrency limit. A backend that fails
+ * {@code ejectAfterFailures} times in a row is ejected for
+ * {@code ejectionDuration}. If every backend for a model is ejected, the pool
+ * still routes to them rather than failing outright.
+ */
+public class OllamaBackendPool {
+
+    private static final Logger log = LoggerFactory.getLogger(OllamaBackendPool.class);
+
+    private final String name;
+    private final List<Backend> backends;
+    private final int ejectAfterFailures;
+    private final long ejectionMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition capacityReleased = lock.newCondition();
+
+    public OllamaBackendPool(String name, List<Backend> backends, int ejectAfterFailures, Duration ejectionDuration) {
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("Ollama pool '" + name + "' has no backends");
+        }
+        this.name = name;
+        this.backends = List.copyOf(backends);
+        this.ejectAfterFailures = Math.max(1, ejectAfterFailures);
+        this.ejectionMillis = ejectionDuration.toMillis();
+    }
+
+    /**
+     * Blocks until a backend serving {@code model} has free capacity.
+     */
+    public Lease acquire(String model) throws InterruptedException {
+        lock.lock();
+        try {
+            if (backends.stream().noneMatch(b -> b.serves(model))) {
+                throw new IllegalStateException("No Ollama backend in pool '" + name + "' serves model " + model);
+            }
+            while (true) {
+                Backend chosen = select(model, System.currentTimeMillis());
+                if (chosen != null) {
+                    chosen.outstanding++;
+                    return new Lease(chosen);
+                }
+                // Timed wait so that ejections expiring are noticed without a release
+                capacityReleased.await(250, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Backend select(String model, long now) {
+        Backend best = null;
+        Backend fallback = null;
+        boolean anyHealthy = false;
+        for (Backend b : backends) {
+            if (!b.serves(model)) {
+                continue;
+            }
+            boolean healthy = b.ejectedUntil <= now;
+            anyHealthy |= healthy;
+            if (b.outstanding >= b.maxConcurrent) {
+                continue;
+            }
+            if (healthy) {
+                if (best == null || b.load() < best.load()) {
+                    best = b;
+                }
+            } else if (fallback == null || b.load() < fallback.load()) {
+                fallback = b;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        return anyHealthy ? null : fallback;
+    }
+
+    private void release(Backend backend, boolean failed) {
+        lock.lock();
+        try {
+            backend.outstanding--;
+            if (failed) {
+                backend.consecutiveFailures++;
+                if (backend.consecutiveFailures >= ejectAfterFailures) {
+                    backend.ejectedUntil = System.currentTimeMillis() + ejectionMillis;
+                    backend.consecutiveFailures = 0;
+                    log.warn("Ejecting Ollama backend {} from pool '{}' for {} ms", backend.url, name, ejectionMillis);
+                }
+            } else {
+                backend.consecutiveFailures = 0;
+            }
+            capacityReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Total concurrency limit across the backends serving {@code model}.
+     */
+    public int capacity(String model) {
+        return backends.stream().filter(b -> b.serves(model)).mapToInt(b -> b.maxConcurrent).sum();
+    }
+
+    public List<Map<String, Object>> snapshot() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            List<Map<String, Object>> result = new ArrayList<>();
+            for (Backend b : backends) {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("url", b.url);
+                entry.put("outstanding", b.outstanding);
+                entry.put("maxConcurrent", b.maxConcurrent);
+                entry.put("ejected", b.ejectedUntil > now);
+                result.add(entry);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static class Backend {
+        private final String url;
+        private final int maxConcurrent;
+        private final Set<String> models;
+
+        // Guarded by the pool lock
+        private int outstanding;
+        private int consecutiveFailures;
+        private long ejectedUntil;
+
+        /**
+         * @param models models served by this backend; empty means all models
+         */
+        public Backend(String url, int maxConcurrent, Set<String> models) {
+            this.url = url;
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+            this.models = Set.copyOf(models);
+        }
+
+        boolean serves(String model) {
+            return models.isEmpty() || models.contains(model);
+        }
+
+        double load() {
+            return (double) outstanding / maxConcurrent;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+    }
+
+    /**
+     * A claim on one backend slot. Call {@link #markFailure()} before closing
+     * if the request failed, so the backend counts towards ejection.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Backend backend;
+        private boolean failed;
+        private boolean closed;
+
+        private Lease(Backend backend) {
+            this.backend = backend;
+        }
+
+        public String getBaseUrl() {
+            return backend.url;
+        }
+
+        public void markFailure() {
+            this.failed = true;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(backend, failed);
+            }
+        }
+    }
+}
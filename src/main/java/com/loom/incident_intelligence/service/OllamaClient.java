@@ -17,11 +17,14 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Semaphore;
+import java.util.Set;
 
 import com.loom.incident.ai.EmbeddingClient;
+import com.loom.incident.ai.EmbeddingPriority;
 
 @Service
 @org.springframework.context.annotation.Primary
@@ -32,31 +35,60 @@ public class OllamaClient implements EmbeddingClient {
     private final CloseableHttpClient httpClient;
     private final OllamaProperties ollamaProperties;
     private final ObjectMapper objectMapper;
-    private final Semaphore semaphore;
+    // Chat and embedding traffic get separate pools so long generations never
+    // hold the slots that embeddings need
+    private final OllamaBackendPool chatPool;
+    private final OllamaBackendPool embeddingPool;
+    private final EmbeddingLanes embeddingLanes;
 
     public OllamaClient(CloseableHttpClient httpClient, OllamaProperties ollamaProperties, ObjectMapper objectMapper) {
         this.httpClient = httpClient;
         this.ollamaProperties = ollamaProperties;
         this.objectMapper = objectMapper;
-        this.semaphore = new Semaphore(ollamaProperties.getMaxConcurrentGenerations());
+        this.chatPool = buildPool("chat", ollamaProperties, true);
+        this.embeddingPool = buildPool("embedding", ollamaProperties, false);
+        int embeddingCapacity = embeddingPool.capacity(ollamaProperties.getEmbedModel());
+        this.embeddingLanes = new EmbeddingLanes(
+                embeddingCapacity - ollamaProperties.getInteractiveReservedEmbeddings(),
+                ollamaProperties.getInteractiveLatencyTarget());
+    }
+
+    private static OllamaBackendPool buildPool(String name, OllamaProperties props, boolean generation) {
+        List<OllamaBackendPool.Backend> backends = new ArrayList<>();
+        for (OllamaProperties.Backend b : props.resolveBackends()) {
+            Integer limit = generation ? b.getMaxConcurrentGenerations() : b.getMaxConcurrentEmbeddings();
+            if (limit == null) {
+                limit = generation ? props.getMaxConcurrentGenerations() : props.getMaxConcurrentEmbeddings();
+            }
+            Set<String> models = b.getModels() != null ? new HashSet<>(b.getModels()) : Set.of();
+            backends.add(new OllamaBackendPool.Backend(b.getUrl(), limit, models));
+        }
+        return new OllamaBackendPool(name, backends, props.getEjectAfterFailures(), props.getEjectionDuration());
+    }
+
+    public Map<String, Object> getBackendStatus() {
+        return Map.of(
+                chatPool.getName(), chatPool.snapshot(),
+                embeddingPool.getName(), embeddingPool.snapshot(),
+                "embeddingLanes", embeddingLanes.snapshot());
     }
 
     public String chat(List<Message> messages, boolean stream, Duration timeout) {
-        try {
-            semaphore.acquire();
+        try (OllamaBackendPool.Lease lease = chatPool.acquire(ollamaProperties.getLlmModel())) {
             try {
-                return executeChat(messages, stream, timeout);
-            } finally {
-                semaphore.release();
+                return executeChat(lease.getBaseUrl(), messages, stream, timeout);
+            } catch (RuntimeException e) {
+                lease.markFailure();
+                throw e;
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted while waiting for Ollama semaphore", e);
+            throw new RuntimeException("Interrupted while waiting for an Ollama backend", e);
         }
     }
 
-    private String executeChat(List<Message> messages, boolean stream, Duration timeout) {
-        String url = ollamaProperties.getBaseUrl() + "/api/chat";
+    private String executeChat(String baseUrl, List<Message> messages, boolean stream, Duration timeout) {
+        String url = baseUrl + "/api/chat";
         HttpPost post = new HttpPost(url);
 
         // Per-request timeout
@@ -97,10 +129,20 @@ public class OllamaClient implements EmbeddingClient {
 
     public Flux<String> streamChat(List<Message> messages) {
         return Flux.create(sink -> {
+            final OllamaBackendPool.Lease lease;
             try {
-                semaphore.acquire();
+                lease = chatPool.acquire(ollamaProperties.getLlmModel());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sink.error(e);
+                return;
+            } catch (Exception e) {
+                sink.error(e);
+                return;
+            }
 
-                String url = ollamaProperties.getBaseUrl() + "/api/chat";
+            try {
+                String url = lease.getBaseUrl() + "/api/chat";
                 HttpPost post = new HttpPost(url);
 
                 // Set extended timeout for streaming
@@ -123,6 +165,7 @@ public class OllamaClient implements EmbeddingClient {
 
                 httpClient.execute(post, response -> {
                     if (response.getCode() != 200) {
+                        lease.markFailure();
                         sink.error(new RuntimeException("Ollama stream failed: " + response.getCode()));
                         return null;
                     }
@@ -142,21 +185,28 @@ public class OllamaClient implements EmbeddingClient {
                             }
                         }
                     } catch (Exception e) {
+                        lease.markFailure();
                         sink.error(e);
                     }
                     return null;
                 });
             } catch (Exception e) {
+                lease.markFailure();
                 sink.error(e);
             } finally {
-                semaphore.release();
+                lease.close();
             }
         });
     }
 
     @Override
     public List<Double> getEmbedding(String text) {
-        float[] embedding = getEmbeddingInternal(text);
+        return getEmbedding(text, EmbeddingPriority.INTERACTIVE);
+    }
+
+    @Override
+    public List<Double> getEmbedding(String text, EmbeddingPriority priority) {
+        float[] embedding = getEmbeddingInternal(text, priority);
         List<Double> result = new java.util.ArrayList<>(embedding.length);
         for (float f : embedding) {
             result.add((double) f);
@@ -165,7 +215,51 @@ public class OllamaClient implements EmbeddingClient {
     }
 
     public float[] getEmbeddingInternal(String text) {
-        String url = ollamaProperties.getBaseUrl() + "/api/embeddings";
+        return getEmbeddingInternal(text, EmbeddingPriority.INTERACTIVE);
+    }
+
+    public float[] getEmbeddingInternal(String text, EmbeddingPriority priority) {
+        if (priority == EmbeddingPriority.BULK) {
+            try {
+                embeddingLanes.acquireBulk();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a bulk embedding slot", e);
+            }
+            try {
+                return embedOnPool(text);
+            } finally {
+                embeddingLanes.releaseBulk();
+            }
+        }
+
+        // Interactive latency includes time spent queueing for a backend, which is
+        // what bulk traffic inflates; it is normalized by prompt size in the lanes
+        long start = System.nanoTime();
+        try {
+            return embedOnPool(text);
+        } finally {
+            embeddingLanes.recordInteractiveLatency((System.nanoTime() - start) / 1_000_000,
+                    EmbeddingLanes.estimateTokens(text));
+        }
+    }
+
+    private float[] embedOnPool(String text) {
+        try (OllamaBackendPool.Lease lease = embeddingPool.acquire(ollamaProperties.getEmbedModel())) {
+            try {
+                return executeEmbedding(lease.getBaseUrl(), text);
+            } catch (RuntimeException e) {
+                lease.markFailure();
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an Ollama backend", e);
+        }
+    }
+
+    private float[] executeEmbedding(String baseUrl, String text) {
+        String url = baseUrl + "/api/embeddings";
         HttpPost post = new HttpPost(url);
 
         // Default timeout for embeddings (can be shorter/longer)
@@ -2,6 +2,7 @@ package com.loom.incident_intelligence.util;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loom.incident.ai.EmbeddingPriority;
 import com.loom.incident_intelligence.model.ChunkMetadata;
 import com.loom.incident_intelligence.service.EmbeddingService;
 import com.loom.incident_intelligence.service.RetrievalService;
@@ -90,7 +91,7 @@ public class IngestionRunner implements CommandLineRunner {
     }
 
     private void saveChunk(RawIncident raw, String text) {
-        float[] embedding = embeddingService.embed(text);
+        float[] embedding = embeddingService.embed(text, EmbeddingPriority.BULK);
         ChunkMetadata meta = ChunkMetadata.builder()
                 .id(UUID.randomUUID().toString())
                 .source(raw.getSource())
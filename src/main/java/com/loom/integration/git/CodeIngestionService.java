@@ -7,6 +7,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import com.loom.incident.ai.EmbeddingClient;
+import com.loom.incident.ai.EmbeddingPriority;
 import com.loom.integration.git.search.CommitSearchRepository;
 import com.loom.integration.git.search.CommitDocument;
 
@@ -82,7 +83,7 @@ public class CodeIngestionService {
             // Generate embedding combining message and file paths
             String textToEmbed = (c.getMessage() != null ? c.getMessage() : "") + " "
                     + String.join(" ", c.getFilesChanged());
-            List<Double> embedding = embeddingClient.getEmbedding(textToEmbed);
+            List<Double> embedding = embeddingClient.getEmbedding(textToEmbed, EmbeddingPriority.BULK);
             doc.setEmbedding(embedding);
 
             commitSearchRepository.save(doc);
@@ -4,34 +4,39 @@ import com.loom.incident.domain.Incident;
 import com.loom.incident.domain.IncidentStatus;
 import com.loom.incident.domain.IssueType;
 import com.loom.incident.domain.Severity;
-import com.loom.incident.repository.IncidentRepository;
-import com.loom.incident.service.IncidentService;
+import com.loom.incident.service.IncidentDeduplicationService;
+import com.loom.sentinel.log.model.LogSpike;
 import com.loom.sentinel.pulse.PulseResponse;
 import com.loom.sentinel.pulse.PulseService;
 import com.loom.sentinel.pulse.SystemicSignal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
 public class SentinelAlertService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SentinelAlertService.class);
+
     private final PulseService pulseService;
-    private final IncidentService incidentService;
-    private final IncidentRepository incidentRepository;
+    private final IncidentDeduplicationService deduplicationService;
+
+    @Value("${loom.logs.spikes.alert-strength:0.75}")
+    private double spikeAlertStrength;
 
-    public SentinelAlertService(PulseService pulseService, IncidentService incidentService,
-            IncidentRepository incidentRepository) {
+    public SentinelAlertService(PulseService pulseService, IncidentDeduplicationService deduplicationService) {
         this.pulseService = pulseService;
-        this.incidentService = incidentService;
-        this.incidentRepository = incidentRepository;
+        this.deduplicationService = deduplicationService;
     }
 
-    // Run every hour to check for new systemic risks
+    // Run every hour to check for new systemic risks. Not transactional: intake
+    // commits each incident batch itself, so it can regroup after a fingerprint collision
     @Scheduled(fixedRate = 3600000)
-    @Transactional
     public void monitorSentinelSignals() {
         System.out.println("[Sentinel] Running periodic signal check...");
 
@@ -49,33 +54,63 @@ public class SentinelAlertService {
         }
     }
 
+    /**
+     * Raises an incident for strong log spikes as soon as the detector closes
+     * the window. Repeats within an open incident only bump its count.
+     */
+    @EventListener
+    public void onLogSpike(LogSpike spike) {
+        if (spike.strength() < spikeAlertStrength) {
+            return;
+        }
+        String subject = spike.kind() == LogSpike.Kind.ERROR_RATE ? "Error rate spike"
+                : (spike.kind() == LogSpike.Kind.NEW_TEMPLATE ? "New error pattern: " : "Error pattern spike: ")
+                        + (spike.template() != null ? spike.template() : spike.templateId());
+
+        Incident incident = new Incident();
+        incident.setTitle("[Sentinel] " + subject);
+        incident.setDescription("Sentinel detected a log spike.\n\n" +
+                "Service: " + spike.service() + "\n" +
+                "Kind: " + spike.kind() + "\n" +
+                "Count in window: " + spike.count() + "\n" +
+                "Baseline: " + String.format("%.1f", spike.baseline()) + "\n" +
+                "Deviation: " + String.format("%.1f", spike.score()) + " sigma");
+        incident.setSeverity(spike.strength() >= 1.0 ? Severity.SEV2 : Severity.SEV3);
+        incident.setStatus(IncidentStatus.OPEN);
+        incident.setService(spike.service());
+        incident.setIssueType(IssueType.PROCESS_FAILURE);
+
+        IncidentDeduplicationService.IntakeResult result = deduplicationService.intake(
+                List.of(new IncidentDeduplicationService.Alert(incident, "LOG_SPIKE:" + spike.kind())));
+        if (result.created() > 0) {
+            logger.info("Created auto-incident for log spike in {}", spike.service());
+        }
+    }
+
     private void createIncidentIfNew(SystemicSignal signal) {
         String incidentTitle = "[Sentinel] High Risk Detected: " + signal.getTitle();
 
-        // Check for duplicates (simple check by title for open incidents)
-        boolean exists = incidentRepository.findAll().stream()
-                .anyMatch(i -> i.getTitle().equals(incidentTitle) &&
-                        (i.getStatus() == IncidentStatus.OPEN || i.getStatus() == IncidentStatus.INVESTIGATING));
-
-        if (!exists) {
-            System.out.println("[Sentinel] Creating auto-incident for signal: " + signal.getId());
+        Incident incident = new Incident();
+        incident.setTitle(incidentTitle);
+        incident.setDescription("Sentinel has detected a systemic issue.\n\n" +
+                "Signal ID: " + signal.getId() + "\n" +
+                "Reason: " + signal.getDescription() + "\n" +
+                "Type: " + signal.getType() + "\n" +
+                "Confidence: " + signal.getConfidence());
 
-            Incident incident = new Incident();
-            incident.setTitle(incidentTitle);
-            incident.setDescription("Sentinel has detected a systemic issue.\n\n" +
-                    "Signal ID: " + signal.getId() + "\n" +
-                    "Reason: " + signal.getDescription() + "\n" +
-                    "Type: " + signal.getType() + "\n" +
-                    "Confidence: " + signal.getConfidence());
+        incident.setSeverity(Severity.SEV2); // Default to SEV2 for systemic risks
+        incident.setStatus(IncidentStatus.OPEN);
+        incident.setService("Loom Sentinel"); // Attributed to the sentinel system itself
+        incident.setIssueType(IssueType.PROCESS_FAILURE); // Default issue type
 
-            incident.setSeverity(Severity.SEV2); // Default to SEV2 for systemic risks
-            incident.setStatus(IncidentStatus.OPEN);
-            incident.setService("Loom Sentinel"); // Attributed to the sentinel system itself
-            incident.setIssueType(IssueType.PROCESS_FAILURE); // Default issue type
+        // Duplicate check by fingerprint against open incidents; repeats only bump the count
+        IncidentDeduplicationService.IntakeResult result = deduplicationService.intake(
+                List.of(new IncidentDeduplicationService.Alert(incident, signal.getType())));
 
-            incidentService.createIncident(incident);
+        if (result.created() > 0) {
+            logger.info("Created auto-incident for signal {}", signal.getId());
         } else {
-            System.out.println("[Sentinel] Active incident already exists for signal: " + signal.getId());
+            logger.info("Active incident already exists for signal {}", signal.getId());
         }
     }
 }
@@ -4,12 +4,15 @@ import com.loom.incident.ai.EmbeddingClient;
 import com.loom.incident.ai.OpenAiChatClient;
 import com.loom.incident.domain.Incident;
 import com.loom.incident.service.IncidentSearchService;
+import com.loom.sentinel.log.model.LogSearchHit;
+import com.loom.sentinel.log.service.LogTemplateVectorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -21,10 +24,13 @@ import java.util.stream.Collectors;
 public class AskSentinelService {
 
     private static final Logger logger = LoggerFactory.getLogger(AskSentinelService.class);
+    private static final double MIN_SCORE = 0.75;
+    private static final Duration LOG_LOOKBACK = Duration.ofHours(24);
 
     private final EmbeddingClient embeddingClient;
     private final IncidentSearchService incidentSearchService;
     private final OpenAiChatClient chatClient;
+    private final LogTemplateVectorService logTemplateVectorService;
     private final ExecutorService executor = Executors.newCachedThreadPool();
 
     // 5. Memory
@@ -32,10 +38,12 @@ public class AskSentinelService {
 
     public AskSentinelService(EmbeddingClient embeddingClient,
             IncidentSearchService incidentSearchService,
-            OpenAiChatClient chatClient) {
+            OpenAiChatClient chatClient,
+            LogTemplateVectorService logTemplateVectorService) {
         this.embeddingClient = embeddingClient;
         this.incidentSearchService = incidentSearchService;
         this.chatClient = chatClient;
+        this.logTemplateVectorService = logTemplateVectorService;
     }
 
     public void processQuery(String userQuery, SseEmitter emitter) {
@@ -73,30 +81,44 @@ public class AskSentinelService {
                 List<IncidentSearchService.ScoredIncident> scoredIncidents = incidentSearchService
                         .findByVector(queryVector, 5);
 
+                // Log templates are searched rather than lines, so this stays cheap at any log volume
+                List<LogSearchHit> logHits = logTemplateVectorService.search(queryVector, null, LOG_LOOKBACK, 5)
+                        .stream()
+                        .filter(hit -> hit.score() > MIN_SCORE)
+                        .collect(Collectors.toList());
+
                 // NODE C: Quality Gate
                 double maxScore = scoredIncidents.stream().mapToDouble(IncidentSearchService.ScoredIncident::score)
                         .max().orElse(0.0);
-                boolean isHighQuality = maxScore > 0.75;
+                boolean incidentsMatch = maxScore > MIN_SCORE;
+                // Matching log patterns ground an answer on their own, without weak incident matches
+                boolean isHighQuality = incidentsMatch || !logHits.isEmpty();
                 boolean hasResults = !scoredIncidents.isEmpty();
 
                 // BRANCHING LOGIC
                 String systemPrompt;
                 String finalQuery = userQuery;
-                List<Incident> contextIncidents = scoredIncidents.stream()
+                List<Incident> contextIncidents = incidentsMatch ? scoredIncidents.stream()
                         .map(IncidentSearchService.ScoredIncident::incident)
-                        .collect(Collectors.toList());
+                        .collect(Collectors.toList()) : List.of();
 
                 if (isHighQuality) {
                     // BRANCH 1: Strict Grounding
                     emitStatus(emitter, "Deep Analysis (High Confidence)...");
                     String context = buildContext(contextIncidents);
+                    if (!logHits.isEmpty()) {
+                        context = context + "\n\n### LOG PATTERNS (last 24h)\n" + buildLogContext(logHits);
+                    }
                     systemPrompt = buildStrictSystemPrompt(context);
 
                     // Update Memory
                     String incidentSummary = contextIncidents.stream().map(Incident::getPublicId)
                             .collect(Collectors.joining(","));
+                    String logSummary = logHits.stream().map(LogSearchHit::templateId)
+                            .collect(Collectors.joining(","));
                     conversationContext.put(sessionId,
-                            "User asked: " + userQuery + ". Found incidents: " + incidentSummary);
+                            "User asked: " + userQuery + ". Found incidents: " + incidentSummary
+                                    + ". Found log patterns: " + logSummary);
                 } else {
                     // BRANCH 2: Weak/Inferred (Fallback)
                     emitStatus(emitter, "Inferring patterns (Limited Data)...");
@@ -188,13 +210,23 @@ public class AskSentinelService {
                 .collect(Collectors.joining("\n\n"));
     }
 
+    private String buildLogContext(List<LogSearchHit> hits) {
+        return hits.stream()
+                .map(hit -> String.format("[LOG:%s] %s\nOccurrences: %d, last at %s\nLatest: %s",
+                        hit.templateId(), hit.template(), hit.recentCount(), hit.lastSeen(),
+                        hit.occurrences().isEmpty() ? ""
+                                : String.format("[%s] [%s] %s", hit.occurrences().get(0).service(),
+                                        hit.occurrences().get(0).level(), hit.occurrences().get(0).message())))
+                .collect(Collectors.joining("\n\n"));
+    }
+
     private String buildStrictSystemPrompt(String context) {
         return """
                 You are Sentinal, an SRE assistant.
 
                 ### STRICT INSTRUCTIONS
-                1. Answer ONLY using these incidents.
-                2. Cite Incident IDs (e.g., INCSEN-123).
+                1. Answer ONLY using these incidents and log patterns.
+                2. Cite Incident IDs (e.g., INCSEN-123) and log pattern IDs (e.g., LOG:3f2a9c1d).
                 3. Structure: "Root Cause", "Evidence", "Action".
 
                 ### CONTEXT
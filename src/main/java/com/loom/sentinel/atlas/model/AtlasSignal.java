@@ -33,7 +33,9 @@ public class AtlasSignal {
         CODE_CHURN_SPIKE,
         TEAM_ASSIGNMENT_LOAD,
         LATENCY_DEVIATION,
-        ERROR_RATE_DEVIATION
+        ERROR_RATE_DEVIATION,
+        LOG_PATTERN_SPIKE,
+        DEPLOYMENT_REGRESSION
     }
 
     public String getId() {
@@ -7,11 +7,17 @@ import com.loom.integration.cicd.Deployment;
 import com.loom.integration.cicd.DeploymentRepository;
 import com.loom.sentinel.atlas.model.AtlasSignal;
 import com.loom.sentinel.atlas.model.AtlasSignal.SignalType;
+import com.loom.sentinel.log.model.LogSpike;
+import com.loom.sentinel.log.model.VersionComparison;
+import com.loom.sentinel.log.service.LogSpikeDetector;
+import com.loom.sentinel.log.service.VersionComparisonService;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -21,10 +27,15 @@ public class SignalDetector {
 
     private final IncidentRepository incidentRepository;
     private final DeploymentRepository deploymentRepository;
+    private final LogSpikeDetector logSpikeDetector;
+    private final VersionComparisonService versionComparisonService;
 
-    public SignalDetector(IncidentRepository incidentRepository, DeploymentRepository deploymentRepository) {
+    public SignalDetector(IncidentRepository incidentRepository, DeploymentRepository deploymentRepository,
+            LogSpikeDetector logSpikeDetector, VersionComparisonService versionComparisonService) {
         this.incidentRepository = incidentRepository;
         this.deploymentRepository = deploymentRepository;
+        this.logSpikeDetector = logSpikeDetector;
+        this.versionComparisonService = versionComparisonService;
     }
 
     public List<AtlasSignal> detectSignals(String projectId) {
@@ -78,6 +89,55 @@ public class SignalDetector {
             }
         }
 
+        // 3. Log Spikes (streamed from intake, no log query needed)
+        for (LogSpike spike : logSpikeDetector.recentSpikes(projectId, Duration.ofHours(24))) {
+            Map<String, String> metadata = new HashMap<>();
+            metadata.put("kind", spike.kind().name());
+            metadata.put("count", String.valueOf(spike.count()));
+            metadata.put("baseline", String.format("%.1f", spike.baseline()));
+            if (spike.templateId() != null) {
+                metadata.put("templateId", spike.templateId());
+            }
+            if (spike.template() != null) {
+                metadata.put("template", spike.template());
+            }
+            signals.add(new AtlasSignal(
+                    UUID.randomUUID().toString(),
+                    spike.kind() == LogSpike.Kind.ERROR_RATE ? SignalType.ERROR_RATE_DEVIATION
+                            : SignalType.LOG_PATTERN_SPIKE,
+                    projectId,
+                    spike.detectedAt(),
+                    spike.strength(),
+                    metadata));
+        }
+
+        // 4. Latest release against the previous one (from log rollups)
+        VersionComparison comparison = versionComparisonService.compareLatest(projectId);
+        if (comparison != null && comparison.regression()
+                && comparison.candidate().lastSeen() != null
+                && comparison.candidate().lastSeen().isAfter(twentyFourHoursAgo)) {
+            double strength = comparison.significance();
+            for (VersionComparison.NewTemplate template : comparison.newTemplates()) {
+                if (template.errors() > 0) {
+                    strength = Math.max(strength, template.significance());
+                }
+            }
+            Map<String, String> metadata = new HashMap<>();
+            metadata.put("baseline", comparison.baseline().version());
+            metadata.put("version", comparison.candidate().version());
+            metadata.put("errorRateDelta", String.format("%.4f", comparison.errorRateDelta()));
+            metadata.put("significance", String.format("%.3f", comparison.significance()));
+            metadata.put("newTemplates", String.valueOf(comparison.newTemplates().size()));
+            metadata.put("newFingerprints", String.valueOf(comparison.newFingerprints().size()));
+            signals.add(new AtlasSignal(
+                    UUID.randomUUID().toString(),
+                    SignalType.DEPLOYMENT_REGRESSION,
+                    projectId,
+                    comparison.candidate().lastSeen(),
+                    strength,
+                    metadata));
+        }
+
         return signals;
     }
 }
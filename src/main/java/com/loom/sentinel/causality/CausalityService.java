@@ -2,7 +2,8 @@ package com.loom.sentinel.causality;
 
 import com.loom.incident.domain.Incident;
 import com.loom.incident.repository.IncidentRepository;
-import com.loom.integration.cicd.Deployment;
+import com.loom.incident.service.IncidentResolver;
+import com.loom.incident.service.IncidentSnapshot;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
@@ -14,51 +15,39 @@ public class CausalityService {
         private final IncidentRepository incidentRepository;
         private final com.loom.incident.service.AIAnalysisService aiAnalysisService;
         private final com.loom.incident.service.IncidentSearchService incidentSearchService;
+        private final IncidentResolver incidentResolver;
 
         public CausalityService(IncidentRepository incidentRepository,
                         com.loom.incident.service.AIAnalysisService aiAnalysisService,
-                        com.loom.incident.service.IncidentSearchService incidentSearchService) {
+                        com.loom.incident.service.IncidentSearchService incidentSearchService,
+                        IncidentResolver incidentResolver) {
                 this.incidentRepository = incidentRepository;
+                this.incidentResolver = incidentResolver;
                 this.aiAnalysisService = aiAnalysisService;
                 this.incidentSearchService = incidentSearchService;
         }
 
         @Transactional(readOnly = true)
         public CausalityGraph buildGraph(String incidentIdStr) {
-                Incident incident = null;
-
-                // Try UUID
-                try {
-                        UUID id = UUID.fromString(incidentIdStr);
-                        incident = incidentRepository.findById(id).orElse(null);
-                } catch (IllegalArgumentException e) {
-                        // Not a UUID, ignore
-                }
-
-                // Try Public ID if not found
-                if (incident == null) {
-                        incident = incidentRepository.findByPublicId(incidentIdStr)
-                                        .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                                                        org.springframework.http.HttpStatus.NOT_FOUND,
-                                                        "Incident not found: " + incidentIdStr));
-                }
+                // Shared, cached resolution by UUID or public ID
+                IncidentSnapshot incident = incidentResolver.snapshot(incidentIdStr);
 
                 CausalityGraph graph = new CausalityGraph();
 
                 // 1. Add Incident Node (Center)
                 CausalityGraph.Node incidentNode = new CausalityGraph.Node(
-                                incident.getId().toString(),
+                                incident.id().toString(),
                                 "INCIDENT",
-                                incident.getTitle(),
+                                incident.title(),
                                 "CRITICAL");
                 graph.addNode(incidentNode);
 
                 // 2. Add Service Node
-                if (incident.getService() != null) {
+                if (incident.service() != null) {
                         CausalityGraph.Node serviceNode = new CausalityGraph.Node(
-                                        "svc-" + incident.getService(),
+                                        "svc-" + incident.service(),
                                         "SERVICE",
-                                        incident.getService(),
+                                        incident.service(),
                                         "WARNING");
                         graph.addNode(serviceNode);
                         graph.addEdge(new CausalityGraph.Edge(
@@ -66,12 +55,12 @@ public class CausalityService {
                 }
 
                 // 3. Add Correlated Deployments
-                if (incident.getCorrelatedDeployments() != null) {
-                        for (Deployment dep : incident.getCorrelatedDeployments()) {
+                if (incident.correlatedDeployments() != null) {
+                        for (IncidentSnapshot.DeploymentRef dep : incident.correlatedDeployments()) {
                                 CausalityGraph.Node depNode = new CausalityGraph.Node(
-                                                "dep-" + dep.getId(),
+                                                "dep-" + dep.id(),
                                                 "DEPLOYMENT",
-                                                "Deploy " + dep.getCommitHash().substring(0, 7),
+                                                "Deploy " + dep.commitHash().substring(0, 7),
                                                 "SUCCESS");
                                 graph.addNode(depNode);
                                 graph.addEdge(new CausalityGraph.Edge(
@@ -82,7 +71,7 @@ public class CausalityService {
                 // 4. AI Hypothesis Node (Dynamic)
                 try {
                         com.loom.incident.api.dto.AnalysisResponse analysis = aiAnalysisService
-                                        .analyzeIncident(incident.getId());
+                                        .analyzeIncident(incident.id());
                         if (analysis.getHypotheses() != null && !analysis.getHypotheses().isEmpty()) {
                                 var topHypothesis = analysis.getHypotheses().get(0);
                                 String hypId = "hyp-" + UUID.randomUUID().toString().substring(0, 8);
@@ -104,7 +93,7 @@ public class CausalityService {
 
                 // 5. Similar Incidents (Dynamic Context)
                 try {
-                        var similar = incidentSearchService.findSimilarIncidents(incident.getId());
+                        var similar = incidentSearchService.findSimilarIncidents(incident.id());
                         for (var sim : similar) {
                                 if (sim.getSimilarityScore() > 0.6) { // Filter distinct enough
                                         CausalityGraph.Node simNode = new CausalityGraph.Node(
@@ -123,15 +112,15 @@ public class CausalityService {
                 }
 
                 // 6. Project Node (Inferred from Service for MVP)
-                if (incident.getService() != null) {
+                if (incident.service() != null) {
                         CausalityGraph.Node projectNode = new CausalityGraph.Node(
-                                        "proj-" + incident.getService(),
+                                        "proj-" + incident.service(),
                                         "PROJECT",
-                                        "Project " + incident.getService(),
+                                        "Project " + incident.service(),
                                         "NORMAL");
                         graph.addNode(projectNode);
                         graph.addEdge(new CausalityGraph.Edge(
-                                        "svc-" + incident.getService(), projectNode.id, "BELONGS_TO", 1.0));
+                                        "svc-" + incident.service(), projectNode.id, "BELONGS_TO", 1.0));
                 }
 
                 return graph;
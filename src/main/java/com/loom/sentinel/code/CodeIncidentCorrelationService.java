@@ -6,23 +6,24 @@ import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.StringQuery;
 import org.springframework.data.elasticsearch.core.query.Query;
 
-import java.util.List;
+import java.util.Arrays;
 
 import com.loom.incident.domain.Incident;
-import com.loom.incident.ai.EmbeddingClient;
+import com.loom.incident.ai.EmbeddingPriority;
+import com.loom.incident.service.IncidentVectorService;
 import com.loom.integration.git.search.CommitDocument;
 
 @Service
 public class CodeIncidentCorrelationService {
 
-  private final EmbeddingClient embeddingClient;
+  private final IncidentVectorService incidentVectorService;
   private final ElasticsearchOperations elasticsearchOperations;
   private final IncidentCodeCorrelationRepository correlationRepository;
 
-  public CodeIncidentCorrelationService(EmbeddingClient embeddingClient,
+  public CodeIncidentCorrelationService(IncidentVectorService incidentVectorService,
       ElasticsearchOperations elasticsearchOperations,
       IncidentCodeCorrelationRepository correlationRepository) {
-    this.embeddingClient = embeddingClient;
+    this.incidentVectorService = incidentVectorService;
     this.elasticsearchOperations = elasticsearchOperations;
     this.correlationRepository = correlationRepository;
   }
@@ -31,18 +32,16 @@ public class CodeIncidentCorrelationService {
     if (incident == null)
       return;
 
-    // 1. Generate embedding for incident
-    String textToEmbed = incident.getTitle() + " "
-        + (incident.getDescription() != null ? incident.getDescription() : "");
-    List<Double> embedding = embeddingClient.getEmbedding(textToEmbed);
+    // 1. Stored embedding for the incident's current text
+    float[] embedding = incidentVectorService.vectorFor(incident, EmbeddingPriority.INTERACTIVE);
 
-    if (embedding == null || embedding.isEmpty()) {
+    if (embedding.length == 0) {
       return;
     }
 
     // 2. Search for similar commits using StringQuery (JSON)
     // We construct the script_score query manually.
-    String vectorString = embedding.toString(); // e.g. [0.1, 0.2]
+    String vectorString = Arrays.toString(embedding); // e.g. [0.1, 0.2]
 
     String queryJson = String.format("""
         {
@@ -67,14 +66,16 @@ public class CodeIncidentCorrelationService {
 
     SearchHits<CommitDocument> hits = elasticsearchOperations.search(query, CommitDocument.class);
 
-    // 3. Save Correlations
+    // 3. Save Correlations; commits already linked are skipped so reruns are safe
+    java.util.Set<String> existing = new java.util.HashSet<>();
+    correlationRepository.findByIncident(incident).forEach(c -> existing.add(c.getCommitSha()));
     hits.stream().forEach(hit -> {
       CommitDocument doc = hit.getContent();
       double score = hit.getScore(); // Raw score
 
       double confidence = (score - 1.0);
 
-      if (confidence > 0.7) {
+      if (confidence > 0.7 && existing.add(doc.getSha())) {
         // Check if already correlated or unique constraint
         IncidentCodeCorrelation correlation = new IncidentCodeCorrelation();
         correlation.setIncident(incident);
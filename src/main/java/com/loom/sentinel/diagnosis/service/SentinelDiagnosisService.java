@@ -1,7 +1,7 @@
 package com.loom.sentinel.diagnosis.service;
 
-import com.loom.incident.domain.Incident;
-import com.loom.incident.service.IncidentService;
+import com.loom.incident.service.IncidentResolver;
+import com.loom.incident.service.IncidentSnapshot;
 import com.loom.sentinel.diagnosis.model.DiagnosisEvent;
 import com.loom.sentinel.log.model.LogAnalysisResult;
 import com.loom.sentinel.log.model.LogAnalysisResult;
@@ -21,15 +21,15 @@ public class SentinelDiagnosisService {
 
     private static final Logger logger = LoggerFactory.getLogger(SentinelDiagnosisService.class);
     private final LogIntelligenceService logIntelligenceService;
-    private final IncidentService incidentService;
+    private final IncidentResolver incidentResolver;
     private final com.loom.incident_intelligence.service.OllamaClient ollamaClient;
     private final ExecutorService executor = Executors.newCachedThreadPool();
 
     public SentinelDiagnosisService(LogIntelligenceService logIntelligenceService,
-            IncidentService incidentService,
+            IncidentResolver incidentResolver,
             com.loom.incident_intelligence.service.OllamaClient ollamaClient) {
         this.logIntelligenceService = logIntelligenceService;
-        this.incidentService = incidentService;
+        this.incidentResolver = incidentResolver;
         this.ollamaClient = ollamaClient;
     }
 
@@ -44,15 +44,15 @@ public class SentinelDiagnosisService {
 
                 // 2. Fetch Context
                 emit(emitter, "STEP", "Fetching incident context and time windows...");
-                Incident incident = incidentService.getIncidentById(incidentId);
+                IncidentSnapshot incident = incidentResolver.snapshot(incidentId);
                 if (incident == null) {
                     emit(emitter, "ERROR", "Incident not found.");
                     emitter.complete();
                     return;
                 }
 
-                String serviceName = incident.getService();
-                Instant incidentTime = incident.getCreatedAt();
+                String serviceName = incident.service();
+                Instant incidentTime = incident.createdAt();
                 Thread.sleep(1000); // Pacing
 
                 // 3. Analyze Logs (Pre-processing)
@@ -0,0 +1,50 @@
+package com.loom.sentinel.log.api;
+
+import com.loom.sentinel.log.service.LogIngestionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Streamed log intake. Accepted lines are indexed asynchronously.
+ */
+@RestController
+@RequestMapping("/api/logs")
+public class LogIntakeController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final LogIngestionService logIngestionService;
+
+    public LogIntakeController(LogIngestionService logIngestionService) {
+        this.logIngestionService = logIngestionService;
+    }
+
+    /**
+     * Answers 202 once every line is queued, or 429 with the number of lines
+     * consumed when the intake buffer is full.
+     */
+    @PostMapping(consumes = NDJSON)
+    public ResponseEntity<LogIngestionService.IntakeResult> ingest(HttpServletRequest request) throws IOException {
+        LogIngestionService.IntakeResult result = logIngestionService.ingestStream(request.getInputStream());
+        if (result.throttled()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(result);
+        }
+        return ResponseEntity.accepted().body(result);
+    }
+
+    @GetMapping("/intake/stats")
+    public Map<String, Object> stats() {
+        return logIngestionService.snapshot();
+    }
+}
@@ -0,0 +1,44 @@
+package com.loom.sentinel.log.api;
+
+import com.loom.sentinel.log.model.LogSearchHit;
+import com.loom.sentinel.log.service.LogTemplateVectorService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Semantic log search: templates closest to the question, then their recent
+ * lines.
+ */
+@RestController
+@RequestMapping("/api/logs/search")
+public class LogSearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final LogTemplateVectorService logTemplateVectorService;
+
+    public LogSearchController(LogTemplateVectorService logTemplateVectorService) {
+        this.logTemplateVectorService = logTemplateVectorService;
+    }
+
+    @GetMapping
+    public List<LogSearchHit> search(@RequestParam String q,
+            @RequestParam(required = false) String service,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query cannot be empty");
+        }
+        if (hours <= 0 || limit <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "hours and limit must be positive");
+        }
+        return logTemplateVectorService.search(q, service, Duration.ofHours(hours), Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,42 @@
+package com.loom.sentinel.log.api;
+
+import com.loom.sentinel.log.service.LogTailService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Live tail of newly ingested log entries, filtered on the server.
+ */
+@RestController
+@RequestMapping("/api/logs/tail")
+public class LogTailController {
+
+    private final LogTailService logTailService;
+
+    public LogTailController(LogTailService logTailService) {
+        this.logTailService = logTailService;
+    }
+
+    /**
+     * @param level one or more levels, e.g. {@code level=WARN,ERROR}
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tail(@RequestParam(required = false) String service,
+            @RequestParam(required = false) Set<String> level,
+            @RequestParam(required = false) String templateId,
+            @RequestParam(required = false) String traceId) {
+        return logTailService.subscribe(new LogTailService.Filter(service, level, templateId, traceId));
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return logTailService.snapshot();
+    }
+}
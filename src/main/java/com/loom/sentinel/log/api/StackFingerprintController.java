@@ -0,0 +1,45 @@
+package com.loom.sentinel.log.api;
+
+import com.loom.sentinel.log.model.StackFingerprint;
+import com.loom.sentinel.log.service.StackFingerprintService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Distinct failures seen in the logs, by stack trace fingerprint.
+ */
+@RestController
+@RequestMapping("/api/logs/fingerprints")
+public class StackFingerprintController {
+
+    private final StackFingerprintService stackFingerprintService;
+
+    public StackFingerprintController(StackFingerprintService stackFingerprintService) {
+        this.stackFingerprintService = stackFingerprintService;
+    }
+
+    /**
+     * Failures that first appeared in the given deployment version.
+     */
+    @GetMapping
+    public List<StackFingerprint> firstSeenIn(@RequestParam String version,
+            @RequestParam(required = false) String service) {
+        return stackFingerprintService.firstSeenIn(version, service);
+    }
+
+    @GetMapping("/{id}")
+    public StackFingerprint get(@PathVariable String id) {
+        StackFingerprint fingerprint = stackFingerprintService.find(id);
+        if (fingerprint == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Fingerprint not found: " + id);
+        }
+        return fingerprint;
+    }
+}
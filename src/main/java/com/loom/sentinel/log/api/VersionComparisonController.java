@@ -0,0 +1,52 @@
+package com.loom.sentinel.log.api;
+
+import com.loom.sentinel.log.model.VersionComparison;
+import com.loom.sentinel.log.service.VersionComparisonService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Deployment versions of a service and how they compare, from log rollups.
+ */
+@RestController
+@RequestMapping("/api/logs/versions")
+public class VersionComparisonController {
+
+    private final VersionComparisonService versionComparisonService;
+
+    public VersionComparisonController(VersionComparisonService versionComparisonService) {
+        this.versionComparisonService = versionComparisonService;
+    }
+
+    @GetMapping
+    public List<VersionComparison.VersionStats> versions(@RequestParam String service) {
+        return versionComparisonService.versions(service);
+    }
+
+    /**
+     * Compares {@code candidate} with {@code baseline}; without them, the
+     * service's latest version with the one before it.
+     */
+    @GetMapping("/compare")
+    public VersionComparison compare(@RequestParam String service,
+            @RequestParam(required = false) String baseline,
+            @RequestParam(required = false) String candidate) {
+        if ((baseline == null) != (candidate == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Give both baseline and candidate, or neither");
+        }
+        VersionComparison comparison = baseline == null
+                ? versionComparisonService.compareLatest(service)
+                : versionComparisonService.compare(service, baseline, candidate);
+        if (comparison == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "No rolled-up logs for both versions of " + service);
+        }
+        return comparison;
+    }
+}
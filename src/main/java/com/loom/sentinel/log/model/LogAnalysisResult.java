@@ -1,11 +1,16 @@
 package com.loom.sentinel.log.model;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 public class LogAnalysisResult {
     private List<LogPattern> patterns;
     private List<LogAnomaly> anomalies;
     private double overallRiskScore; // 0.0 to 1.0
+    private long totalLogs;
+    private Map<String, Long> levelCounts;
+    private List<RateBucket> timeline; // per minute
 
     // Getters and Setters
     public List<LogPattern> getPatterns() {
@@ -32,15 +37,41 @@ public class LogAnalysisResult {
         this.overallRiskScore = overallRiskScore;
     }
 
+    public long getTotalLogs() {
+        return totalLogs;
+    }
+
+    public void setTotalLogs(long totalLogs) {
+        this.totalLogs = totalLogs;
+    }
+
+    public Map<String, Long> getLevelCounts() {
+        return levelCounts;
+    }
+
+    public void setLevelCounts(Map<String, Long> levelCounts) {
+        this.levelCounts = levelCounts;
+    }
+
+    public List<RateBucket> getTimeline() {
+        return timeline;
+    }
+
+    public void setTimeline(List<RateBucket> timeline) {
+        this.timeline = timeline;
+    }
+
     public static class LogPattern {
+        private String templateId;
         private String signature; // e.g., "ConnectionTimeoutException: *"
         private int count;
         private String sampleMessage;
         private List<String> sampleLogIds;
         private boolean isError;
 
-        public LogPattern(String signature, int count, String sampleMessage, List<String> sampleLogIds,
-                boolean isError) {
+        public LogPattern(String templateId, String signature, int count, String sampleMessage,
+                List<String> sampleLogIds, boolean isError) {
+            this.templateId = templateId;
             this.signature = signature;
             this.count = count;
             this.sampleMessage = sampleMessage;
@@ -49,6 +80,14 @@ public class LogAnalysisResult {
         }
 
         // Getters and Setters
+        public String getTemplateId() {
+            return templateId;
+        }
+
+        public void setTemplateId(String templateId) {
+            this.templateId = templateId;
+        }
+
         public String getSignature() {
             return signature;
         }
@@ -126,4 +165,40 @@ public class LogAnalysisResult {
             this.confidence = confidence;
         }
     }
+
+    public static class RateBucket {
+        private Instant start;
+        private long count;
+        private long errorCount;
+
+        public RateBucket(Instant start, long count, long errorCount) {
+            this.start = start;
+            this.count = count;
+            this.errorCount = errorCount;
+        }
+
+        public Instant getStart() {
+            return start;
+        }
+
+        public void setStart(Instant start) {
+            this.start = start;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public void setErrorCount(long errorCount) {
+            this.errorCount = errorCount;
+        }
+    }
 }
@@ -6,11 +6,13 @@ import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 
 import java.time.Instant;
-import java.util.List;
 
-@Document(indexName = "sentinel_logs")
+// Alias over the daily indices managed by LogIndexManager
+@Document(indexName = LogEntry.INDEX, createIndex = false)
 public class LogEntry {
 
+    public static final String INDEX = "sentinel_logs";
+
     @Id
     private String id;
 
@@ -35,9 +37,13 @@ public class LogEntry {
     @Field(type = FieldType.Text)
     private String stackTrace;
 
-    // For Vector Search (mocked or real)
-    @Field(type = FieldType.Dense_Vector, dims = 384)
-    private List<Double> embedding;
+    // Assigned at ingestion by LogTemplateService
+    @Field(type = FieldType.Keyword)
+    private String templateId;
+
+    // Stack trace fingerprint, assigned at ingestion by StackFingerprintService
+    @Field(type = FieldType.Keyword)
+    private String fingerprint;
 
     public LogEntry() {
     }
@@ -118,11 +124,19 @@ public class LogEntry {
         this.stackTrace = stackTrace;
     }
 
-    public List<Double> getEmbedding() {
-        return embedding;
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
     }
 
-    public void setEmbedding(List<Double> embedding) {
-        this.embedding = embedding;
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
     }
 }
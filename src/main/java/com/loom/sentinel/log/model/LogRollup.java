@@ -0,0 +1,118 @@
+package com.loom.sentinel.log.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Log lines of one service, minute, template, level and deployment version.
+ * Written once per closed minute by
+ * {@link com.loom.sentinel.log.service.LogRollupService}; window analysis
+ * sums these rows instead of reading raw logs.
+ */
+@Entity
+@org.hibernate.annotations.Immutable
+@Table(name = "log_rollups", indexes = {
+        @Index(name = "idx_log_rollups_service_minute", columnList = "service, minute"),
+        @Index(name = "idx_log_rollups_minute", columnList = "minute"),
+        @Index(name = "idx_log_rollups_service_version", columnList = "service, deployment_version")
+})
+public class LogRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "log_rollups_seq_gen")
+    @SequenceGenerator(name = "log_rollups_seq_gen", sequenceName = "log_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private String service;
+
+    // Start of the minute, UTC
+    @Column(nullable = false, updatable = false)
+    private Instant minute;
+
+    @Column(name = "template_id", nullable = false, updatable = false, length = 64)
+    private String templateId;
+
+    @Column(nullable = false, updatable = false, length = 16)
+    private String level;
+
+    @Column(name = "deployment_version", updatable = false)
+    private String deploymentVersion;
+
+    @Column(nullable = false, updatable = false)
+    private long count;
+
+    @Column(name = "first_seen", updatable = false)
+    private Instant firstSeen;
+
+    @Column(name = "last_seen", updatable = false)
+    private Instant lastSeen;
+
+    // Comma-separated, newest first
+    @Column(name = "sample_ids", length = 500, updatable = false)
+    private String sampleIds;
+
+    @Column(name = "sample_message", length = 1000, updatable = false)
+    private String sampleMessage;
+
+    public LogRollup() {
+    }
+
+    public LogRollup(String service, Instant minute, String templateId, String level, String deploymentVersion,
+            long count, Instant firstSeen, Instant lastSeen, String sampleIds, String sampleMessage) {
+        this.service = service;
+        this.minute = minute;
+        this.templateId = templateId;
+        this.level = level;
+        this.deploymentVersion = deploymentVersion;
+        this.count = count;
+        this.firstSeen = firstSeen;
+        this.lastSeen = lastSeen;
+        this.sampleIds = sampleIds;
+        this.sampleMessage = sampleMessage;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public Instant getMinute() {
+        return minute;
+    }
+
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getDeploymentVersion() {
+        return deploymentVersion;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Instant getFirstSeen() {
+        return firstSeen;
+    }
+
+    public Instant getLastSeen() {
+        return lastSeen;
+    }
+
+    public String getSampleIds() {
+        return sampleIds;
+    }
+
+    public String getSampleMessage() {
+        return sampleMessage;
+    }
+}
@@ -0,0 +1,18 @@
+package com.loom.sentinel.log.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A log template matching a semantic search, with its latest occurrences.
+ *
+ * @param score       similarity of the template to the query, 0.0 to 1.0
+ * @param recentCount occurrences within the searched period
+ */
+public record LogSearchHit(String templateId, String template, double score, long recentCount, Instant lastSeen,
+        List<Occurrence> occurrences) {
+
+    public record Occurrence(String id, Instant timestamp, String service, String level, String message,
+            String traceId) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.loom.sentinel.log.model;
+
+import java.time.Instant;
+
+/**
+ * A log window that deviated from its service's baseline. Published as an
+ * application event by the spike detector.
+ *
+ * @param templateId null for {@link Kind#ERROR_RATE}
+ * @param baseline   expected count per window (EWMA)
+ * @param score      deviation in standard deviations, assuming Poisson counts
+ * @param strength   0.0 to 1.0; the detection threshold maps to 0.5
+ */
+public record LogSpike(String service, Kind kind, String templateId, String template, long count, double baseline,
+        double score, double strength, Instant detectedAt) {
+
+    public enum Kind {
+        /** A known WARN/ERROR template occurring far more often than usual */
+        TEMPLATE_SPIKE,
+        /** A WARN/ERROR template with no baseline occurring repeatedly */
+        NEW_TEMPLATE,
+        /** ERROR lines of the service as a whole */
+        ERROR_RATE
+    }
+}
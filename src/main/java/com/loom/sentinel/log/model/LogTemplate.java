@@ -0,0 +1,95 @@
+package com.loom.sentinel.log.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+import java.time.Instant;
+
+/**
+ * A message template found by the log template miner, e.g.
+ * {@code "Processing payment - <*>"}. {@link LogEntry#getTemplateId()} points
+ * here.
+ */
+@Document(indexName = "sentinel_log_templates")
+public class LogTemplate {
+
+    @Id
+    private String id;
+
+    @Field(type = FieldType.Text)
+    private String template;
+
+    @Field(type = FieldType.Integer)
+    private int tokenCount;
+
+    @Field(type = FieldType.Long)
+    private long count;
+
+    @Field(type = FieldType.Date)
+    private Instant firstSeen;
+
+    @Field(type = FieldType.Date)
+    private Instant lastSeen;
+
+    public LogTemplate() {
+    }
+
+    public LogTemplate(String id, String template, int tokenCount, long count, Instant firstSeen, Instant lastSeen) {
+        this.id = id;
+        this.template = template;
+        this.tokenCount = tokenCount;
+        this.count = count;
+        this.firstSeen = firstSeen;
+        this.lastSeen = lastSeen;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public void setTemplate(String template) {
+        this.template = template;
+    }
+
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    public void setTokenCount(int tokenCount) {
+        this.tokenCount = tokenCount;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Instant getFirstSeen() {
+        return firstSeen;
+    }
+
+    public void setFirstSeen(Instant firstSeen) {
+        this.firstSeen = firstSeen;
+    }
+
+    public Instant getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(Instant lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+}
@@ -0,0 +1,148 @@
+package com.loom.sentinel.log.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A distinct failure, identified by its root exception type and top
+ * application frames. {@link LogEntry#getFingerprint()} points here.
+ */
+@Document(indexName = "sentinel_stack_fingerprints")
+public class StackFingerprint {
+
+    @Id
+    private String id;
+
+    @Field(type = FieldType.Keyword)
+    private String exceptionType;
+
+    @Field(type = FieldType.Keyword)
+    private List<String> frames;
+
+    @Field(type = FieldType.Long)
+    private long count;
+
+    @Field(type = FieldType.Keyword)
+    private List<String> services;
+
+    // Service and version of the first occurrence
+    @Field(type = FieldType.Keyword)
+    private String firstSeenService;
+
+    @Field(type = FieldType.Keyword)
+    private String firstSeenVersion;
+
+    @Field(type = FieldType.Date)
+    private Instant firstSeen;
+
+    @Field(type = FieldType.Keyword)
+    private String lastSeenVersion;
+
+    @Field(type = FieldType.Date)
+    private Instant lastSeen;
+
+    @Field(type = FieldType.Keyword)
+    private String sampleLogId;
+
+    public StackFingerprint() {
+    }
+
+    public StackFingerprint(String id, String exceptionType, List<String> frames) {
+        this.id = id;
+        this.exceptionType = exceptionType;
+        this.frames = frames;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getExceptionType() {
+        return exceptionType;
+    }
+
+    public void setExceptionType(String exceptionType) {
+        this.exceptionType = exceptionType;
+    }
+
+    public List<String> getFrames() {
+        return frames;
+    }
+
+    public void setFrames(List<String> frames) {
+        this.frames = frames;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public List<String> getServices() {
+        return services;
+    }
+
+    public void setServices(List<String> services) {
+        this.services = services;
+    }
+
+    public String getFirstSeenService() {
+        return firstSeenService;
+    }
+
+    public void setFirstSeenService(String firstSeenService) {
+        this.firstSeenService = firstSeenService;
+    }
+
+    public String getFirstSeenVersion() {
+        return firstSeenVersion;
+    }
+
+    public void setFirstSeenVersion(String firstSeenVersion) {
+        this.firstSeenVersion = firstSeenVersion;
+    }
+
+    public Instant getFirstSeen() {
+        return firstSeen;
+    }
+
+    public void setFirstSeen(Instant firstSeen) {
+        this.firstSeen = firstSeen;
+    }
+
+    public String getLastSeenVersion() {
+        return lastSeenVersion;
+    }
+
+    public void setLastSeenVersion(String lastSeenVersion) {
+        this.lastSeenVersion = lastSeenVersion;
+    }
+
+    public Instant getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(Instant lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+
+    public String getSampleLogId() {
+        return sampleLogId;
+    }
+
+    public void setSampleLogId(String sampleLogId) {
+        this.sampleLogId = sampleLogId;
+    }
+}
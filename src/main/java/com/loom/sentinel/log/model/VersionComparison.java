@@ -0,0 +1,38 @@
+package com.loom.sentinel.log.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * How a service's candidate deployment version behaves compared with a
+ * baseline version, computed from log rollups.
+ *
+ * @param errorRateDelta candidate minus baseline share of ERROR lines
+ * @param zScore         two-proportion z statistic of the error rates
+ * @param significance   0.0 to 1.0; confidence that the candidate's error rate
+ *                       is higher, 0 when either version has too few lines
+ * @param regression     true when the error rate rose significantly or the
+ *                       candidate brought significant new error templates
+ */
+public record VersionComparison(String service, VersionStats baseline, VersionStats candidate,
+        double errorRateDelta, double zScore, double significance, boolean regression,
+        List<NewTemplate> newTemplates, List<NewFingerprint> newFingerprints) {
+
+    public record VersionStats(String version, long total, long errors, double errorRate, Instant firstSeen,
+            Instant lastSeen) {
+    }
+
+    /**
+     * A template logged by the candidate but never by the baseline.
+     *
+     * @param significance 1 minus the chance the baseline would have missed
+     *                     it at the candidate's rate
+     */
+    public record NewTemplate(String templateId, String template, long count, long errors,
+            double significance) {
+    }
+
+    /** A stack trace first seen in the candidate version. */
+    public record NewFingerprint(String fingerprint, String exceptionType, long count, Instant firstSeen) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.loom.sentinel.log.repository;
+
+import com.loom.sentinel.log.model.LogRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LogRollupRepository extends JpaRepository<LogRollup, Long> {
+
+    List<LogRollup> findByServiceAndMinuteGreaterThanEqualAndMinuteLessThan(String service, Instant from,
+            Instant to);
+
+    // [deploymentVersion, level, count, firstSeen, lastSeen]
+    @Query("SELECT r.deploymentVersion, r.level, SUM(r.count), MIN(r.firstSeen), MAX(r.lastSeen) FROM LogRollup r"
+            + " WHERE r.service = :service AND r.deploymentVersion IS NOT NULL"
+            + " GROUP BY r.deploymentVersion, r.level")
+    List<Object[]> summarizeVersions(@Param("service") String service);
+
+    // [templateId, deploymentVersion, level, count]
+    @Query("SELECT r.templateId, r.deploymentVersion, r.level, SUM(r.count) FROM LogRollup r"
+            + " WHERE r.service = :service AND r.deploymentVersion IN :versions"
+            + " GROUP BY r.templateId, r.deploymentVersion, r.level")
+    List<Object[]> countTemplatesByVersion(@Param("service") String service,
+            @Param("versions") Collection<String> versions);
+
+    @Query("SELECT MAX(r.minute) FROM LogRollup r")
+    Instant findLatestMinute();
+
+    @Query("SELECT MIN(r.minute) FROM LogRollup r")
+    Instant findEarliestMinute();
+
+    @Modifying
+    @Query("DELETE FROM LogRollup r WHERE r.minute >= :from AND r.minute < :to")
+    int deleteByMinuteRange(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query("DELETE FROM LogRollup r WHERE r.minute < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,9 @@
+package com.loom.sentinel.log.repository;
+
+import com.loom.sentinel.log.model.LogTemplate;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LogTemplateRepository extends ElasticsearchRepository<LogTemplate, String> {
+}
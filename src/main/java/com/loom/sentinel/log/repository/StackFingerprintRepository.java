@@ -0,0 +1,15 @@
+package com.loom.sentinel.log.repository;
+
+import com.loom.sentinel.log.model.StackFingerprint;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StackFingerprintRepository extends ElasticsearchRepository<StackFingerprint, String> {
+
+    List<StackFingerprint> findByFirstSeenVersion(String firstSeenVersion);
+
+    List<StackFingerprint> findByFirstSeenServiceAndFirstSeenVersion(String service, String firstSeenVersion);
+}
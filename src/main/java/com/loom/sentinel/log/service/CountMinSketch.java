@@ -0,0 +1,74 @@
+package com.loom.sentinel.log.service;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch: approximate per-key counts in fixed memory. Estimates
+ * never undercount; they overcount by at most {@code e/width} of the total
+ * with probability {@code 1 - e^-depth}.
+ *
+ * Counts are doubles so that a sketch can also hold an exponentially
+ * weighted average of other sketches ({@link #blend}). Sketches with the same
+ * width and depth hash keys identically. Not thread-safe.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final double[] counts;
+
+    public CountMinSketch(int width, int depth) {
+        this.width = width;
+        this.depth = depth;
+        this.counts = new double[width * depth];
+    }
+
+    public void add(String key, double amount) {
+        long hash = mix(key.hashCode());
+        for (int row = 0; row < depth; row++) {
+            counts[row * width + bucket(hash, row)] += amount;
+        }
+    }
+
+    public double estimate(String key) {
+        long hash = mix(key.hashCode());
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + bucket(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Sets every cell to {@code alpha * scale * other + (1 - alpha) * this}.
+     */
+    public void blend(CountMinSketch other, double alpha, double scale) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Sketch dimensions differ");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = alpha * scale * other.counts[i] + (1 - alpha) * counts[i];
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    private int bucket(long hash, int row) {
+        // Kirsch-Mitzenmacher: row hashes derived from two halves of one hash
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private static long mix(long h) {
+        // fmix64 from MurmurHash3
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,213 @@
+package com.loom.sentinel.log.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
+import co.elastic.clients.elasticsearch.indices.get_alias.IndexAliases;
+import co.elastic.clients.json.JsonData;
+import com.loom.sentinel.log.model.LogEntry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily log indices ({@code sentinel_logs-2024.05.17}) behind the
+ * {@code sentinel_logs} alias.
+ *
+ * Entries are written to the index of the day they happened, so a time window
+ * maps to a known, short list of indices and reads only touch those. The
+ * alias covers every day for lookups that are not time-bound, and its write
+ * index moves to the new day at midnight UTC. Days older than the retention
+ * period are dropped as whole indices.
+ */
+@Service
+public class LogIndexManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogIndexManager.class);
+    public static final String PREFIX = LogEntry.INDEX + "-";
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy.MM.dd").withZone(ZoneOffset.UTC);
+    // Longer windows read through the wildcard instead of listing every day
+    private static final int MAX_LISTED_DAYS = 31;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    @Value("${loom.logs.retention:14d}")
+    private Duration retention;
+
+    public LogIndexManager(ElasticsearchClient elasticsearchClient,
+            ElasticsearchOperations elasticsearchOperations) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            boolean legacy = elasticsearchClient.indices().exists(e -> e.index(LogEntry.INDEX)).value()
+                    && !elasticsearchClient.indices().existsAlias(e -> e.name(LogEntry.INDEX)).value();
+            if (legacy) {
+                // The alias cannot be created while an index holds its name
+                putTemplate(false);
+                migrateLegacyIndex();
+            }
+            putTemplate(true);
+            rollover();
+        } catch (Exception e) {
+            logger.error("Failed to initialize log indices", e);
+        }
+    }
+
+    public static String indexFor(Instant timestamp) {
+        return PREFIX + DAY.format(timestamp);
+    }
+
+    /**
+     * Indices that can hold entries between {@code start} and {@code end}.
+     * Days without an index are included; searches ignore them.
+     */
+    public static List<String> indicesFor(Instant start, Instant end) {
+        LocalDate first = LocalDate.ofInstant(start, ZoneOffset.UTC);
+        LocalDate last = LocalDate.ofInstant(end, ZoneOffset.UTC);
+        if (last.isBefore(first) || first.plusDays(MAX_LISTED_DAYS).isBefore(last)) {
+            return List.of(PREFIX + "*");
+        }
+        List<String> indices = new ArrayList<>();
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            indices.add(PREFIX + DAY.format(day.atStartOfDay(ZoneOffset.UTC)));
+        }
+        return indices;
+    }
+
+    /**
+     * Writes entries into their day's index. Indices that do not exist yet
+     * are created from the template on first write.
+     */
+    public void save(List<LogEntry> entries) {
+        Map<String, List<LogEntry>> byIndex = new LinkedHashMap<>();
+        for (LogEntry entry : entries) {
+            byIndex.computeIfAbsent(indexFor(entry.getTimestamp()), k -> new ArrayList<>()).add(entry);
+        }
+        byIndex.forEach((index, batch) -> elasticsearchOperations.save(batch, IndexCoordinates.of(index)));
+    }
+
+    /** Makes recent writes visible to searches. */
+    public void refresh() throws IOException {
+        elasticsearchClient.indices().refresh(r -> r.index(PREFIX + "*"));
+    }
+
+    /**
+     * Makes today's index the alias write index, creating it if needed.
+     */
+    @Scheduled(cron = "0 0 0 * * *", zone = "UTC")
+    public void rollover() {
+        String today = indexFor(Instant.now());
+        try {
+            if (!elasticsearchClient.indices().exists(e -> e.index(today)).value()) {
+                elasticsearchClient.indices().create(c -> c.index(today));
+            }
+            Map<String, IndexAliases> aliases = elasticsearchClient.indices()
+                    .getAlias(g -> g.name(LogEntry.INDEX)).result();
+            elasticsearchClient.indices().updateAliases(u -> {
+                u.actions(a -> a.add(add -> add.index(today).alias(LogEntry.INDEX).isWriteIndex(true)));
+                aliases.forEach((index, entry) -> {
+                    var alias = entry.aliases().get(LogEntry.INDEX);
+                    if (!index.equals(today) && alias != null && Boolean.TRUE.equals(alias.isWriteIndex())) {
+                        u.actions(a -> a.add(add -> add.index(index).alias(LogEntry.INDEX).isWriteIndex(false)));
+                    }
+                });
+                return u;
+            });
+            logger.info("Log write index is {}", today);
+        } catch (Exception e) {
+            logger.error("Failed to roll over log index to {}", today, e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 0 * * *", zone = "UTC")
+    public void applyRetention() {
+        LocalDate cutoff = LocalDate.ofInstant(Instant.now().minus(retention), ZoneOffset.UTC);
+        try {
+            for (String index : elasticsearchClient.indices().get(g -> g.index(PREFIX + "*")).result().keySet()) {
+                LocalDate day;
+                try {
+                    day = LocalDate.parse(index.substring(PREFIX.length()), DateTimeFormatter.ofPattern("yyyy.MM.dd"));
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                if (day.isBefore(cutoff)) {
+                    elasticsearchClient.indices().delete(d -> d.index(index));
+                    logger.info("Deleted log index {} (retention {})", index, retention);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to apply log retention", e);
+        }
+    }
+
+    private void putTemplate(boolean withAlias) throws IOException {
+        TypeMapping mappings = TypeMapping.of(m -> m
+                .properties("timestamp", p -> p.date(d -> d))
+                .properties("service", p -> p.keyword(k -> k))
+                .properties("level", p -> p.keyword(k -> k))
+                .properties("message", p -> p.text(t -> t))
+                .properties("deploymentVersion", p -> p.keyword(k -> k))
+                .properties("traceId", p -> p.keyword(k -> k))
+                .properties("stackTrace", p -> p.text(t -> t))
+                .properties("templateId", p -> p.keyword(k -> k))
+                .properties("fingerprint", p -> p.keyword(k -> k)));
+        elasticsearchClient.indices().putIndexTemplate(t -> t
+                .name(LogEntry.INDEX)
+                .indexPatterns(PREFIX + "*")
+                .template(tm -> {
+                    tm.mappings(mappings);
+                    if (withAlias) {
+                        tm.aliases(LogEntry.INDEX, a -> a);
+                    }
+                    return tm;
+                }));
+    }
+
+    /**
+     * Splits the single index used before partitioning into daily indices
+     * and replaces it with the alias.
+     */
+    private void migrateLegacyIndex() throws IOException {
+        logger.info("Migrating {} to daily indices...", LogEntry.INDEX);
+        var response = elasticsearchClient.reindex(r -> r
+                .source(s -> s.index(LogEntry.INDEX))
+                .dest(d -> d.index(PREFIX + "legacy"))
+                .script(s -> s.inline(i -> i
+                        .lang("painless")
+                        .source("if (ctx._source.timestamp instanceof String) {"
+                                + " ctx._index = params.prefix + ctx._source.timestamp.substring(0, 10).replace('-', '.');"
+                                + " }")
+                        .params("prefix", JsonData.of(PREFIX))))
+                .waitForCompletion(true)
+                .refresh(true));
+        if (!response.failures().isEmpty()) {
+            throw new IOException("Reindex of " + LogEntry.INDEX + " had " + response.failures().size()
+                    + " failures; keeping the original index");
+        }
+        elasticsearchClient.indices().delete(d -> d.index(LogEntry.INDEX));
+        elasticsearchClient.indices().updateAliases(u -> u
+                .actions(a -> a.add(add -> add.index(PREFIX + "*").alias(LogEntry.INDEX))));
+        logger.info("Migrated {} log entries to daily indices", response.total());
+    }
+}
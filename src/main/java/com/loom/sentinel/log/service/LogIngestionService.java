@@ -1,44 +1,288 @@
 package com.loom.sentinel.log.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.loom.sentinel.log.model.LogEntry;
-import com.loom.sentinel.log.repository.LogRepository;
-import org.springframework.scheduling.annotation.Async;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Log intake pipeline.
+ *
+ * Callers only put entries into a bounded buffer; a fixed set of workers
+ * drains it into {@code _bulk} requests of up to {@code batch-size} entries,
+ * flushing early after {@code flush-interval}. Template mining, stack trace
+ * fingerprinting and spike detection happen on the workers too, and written
+ * batches are handed to live tails. A failed write is retried with backoff,
+ * holding up that worker, and template counts, fingerprint stats and spike
+ * windows only take a batch once it is stored. When the buffer stays full
+ * for longer than {@code offer-timeout}, intake is refused rather than
+ * queued, so a burst costs the client a retry instead of costing the heap.
+ */
 @Service
 public class LogIngestionService {
 
-    private final LogRepository logRepository;
+    private static final Logger logger = LoggerFactory.getLogger(LogIngestionService.class);
+    private static final long INITIAL_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 10_000;
+
+    private final LogIndexManager logIndexManager;
     private final SampleLogGeneratorService sampleLogGeneratorService;
+    private final LogTemplateService logTemplateService;
+    private final LogSpikeDetector logSpikeDetector;
+    private final StackFingerprintService stackFingerprintService;
+    private final LogTailService logTailService;
+    private final Executor logIntakeExecutor;
+    private final ObjectReader entryReader;
+
+    private final BlockingQueue<LogEntry> buffer;
+    private final int workers;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final int writeAttempts;
+    private volatile boolean running;
 
-    public LogIngestionService(LogRepository logRepository, SampleLogGeneratorService sampleLogGeneratorService) {
-        this.logRepository = logRepository;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public LogIngestionService(LogIndexManager logIndexManager,
+            SampleLogGeneratorService sampleLogGeneratorService,
+            LogTemplateService logTemplateService,
+            LogSpikeDetector logSpikeDetector,
+            StackFingerprintService stackFingerprintService,
+            LogTailService logTailService,
+            ObjectMapper objectMapper,
+            @Qualifier("logIntakeExecutor") Executor logIntakeExecutor,
+            @Value("${loom.logs.intake.buffer-capacity:50000}") int bufferCapacity,
+            @Value("${loom.logs.intake.workers:4}") int workers,
+            @Value("${loom.logs.intake.batch-size:2000}") int batchSize,
+            @Value("${loom.logs.intake.flush-interval:1s}") Duration flushInterval,
+            @Value("${loom.logs.intake.offer-timeout:100ms}") Duration offerTimeout,
+            @Value("${loom.logs.intake.write-attempts:5}") int writeAttempts) {
+        this.logIndexManager = logIndexManager;
         this.sampleLogGeneratorService = sampleLogGeneratorService;
+        this.logTemplateService = logTemplateService;
+        this.logSpikeDetector = logSpikeDetector;
+        this.stackFingerprintService = stackFingerprintService;
+        this.logTailService = logTailService;
+        this.logIntakeExecutor = logIntakeExecutor;
+        this.entryReader = objectMapper.readerFor(LogEntry.class);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.writeAttempts = Math.max(1, writeAttempts);
+    }
+
+    /**
+     * @param accepted  entries queued for indexing
+     * @param malformed lines that were not a valid log entry
+     * @param throttled true if intake stopped because the buffer was full;
+     *                  the client should resend from line
+     *                  {@code accepted + malformed}
+     */
+    public record IntakeResult(long accepted, long malformed, boolean throttled) {
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            logIntakeExecutor.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Workers finish what is buffered, then exit
+        running = false;
     }
 
     public void ingest(LogEntry entry) {
+        if (!offer(entry)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Log intake buffer is full");
+        }
+    }
+
+    /**
+     * @return number of entries accepted; the rest were refused because the
+     *         buffer was full
+     */
+    public int ingestBatch(List<LogEntry> entries) {
+        int count = 0;
+        for (LogEntry entry : entries) {
+            if (!offer(entry)) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reads NDJSON one line at a time and queues each entry. Stops at the
+     * first entry the buffer cannot take.
+     */
+    public IntakeResult ingestStream(InputStream in) throws IOException {
+        long queued = 0;
+        long invalid = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            LogEntry entry;
+            try {
+                entry = entryReader.readValue(line);
+            } catch (IOException e) {
+                invalid++;
+                malformed.incrementAndGet();
+                continue;
+            }
+            if (!offer(entry)) {
+                return new IntakeResult(queued, invalid, true);
+            }
+            queued++;
+        }
+        return new IntakeResult(queued, invalid, false);
+    }
+
+    private boolean offer(LogEntry entry) {
         if (entry.getId() == null) {
             entry.setId(UUID.randomUUID().toString());
         }
         if (entry.getTimestamp() == null) {
             entry.setTimestamp(Instant.now());
         }
-        logRepository.save(entry);
+        try {
+            if (buffer.offer(entry, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throttled.incrementAndGet();
+        return false;
+    }
+
+    private void drain() {
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                LogEntry first = buffer.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    LogEntry next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Failed to process {} log entries: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<LogEntry> batch) throws InterruptedException {
+        // Template ids and fingerprints are stored with the entries, so they are set first
+        logTemplateService.assignAll(batch);
+        stackFingerprintService.fingerprintAll(batch);
+        if (!save(batch)) {
+            return;
+        }
+        indexed.addAndGet(batch.size());
+        logTemplateService.recordAll(batch);
+        stackFingerprintService.recordAll(batch);
+        logSpikeDetector.record(batch);
+        logTailService.publish(batch);
+    }
+
+    /**
+     * Writes the batch, retrying with exponential backoff. Entries carry
+     * their ids, so a retried bulk request overwrites rather than
+     * duplicates what an earlier attempt stored.
+     *
+     * @return false if every attempt failed and the batch was dropped
+     */
+    private boolean save(List<LogEntry> batch) throws InterruptedException {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        for (int attempt = 1;; attempt++) {
+            try {
+                logIndexManager.save(batch);
+                return true;
+            } catch (Exception e) {
+                if (attempt >= writeAttempts) {
+                    failed.addAndGet(batch.size());
+                    logger.error("Dropped {} log entries after {} failed writes: {}", batch.size(), attempt,
+                            e.getMessage());
+                    return false;
+                }
+                logger.warn("Failed to index {} log entries (attempt {}/{}), retrying in {}ms: {}", batch.size(),
+                        attempt, writeAttempts, backoffMs, e.getMessage());
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
     }
 
-    @Async
-    public void ingestBatch(List<LogEntry> entries) {
-        entries.forEach(e -> {
-            if (e.getId() == null)
-                e.setId(UUID.randomUUID().toString());
-            if (e.getTimestamp() == null)
-                e.setTimestamp(Instant.now());
-        });
-        logRepository.saveAll(entries);
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("buffered", buffer.size());
+        stats.put("capacity", buffer.size() + buffer.remainingCapacity());
+        stats.put("accepted", accepted.get());
+        stats.put("throttled", throttled.get());
+        stats.put("malformed", malformed.get());
+        stats.put("indexed", indexed.get());
+        stats.put("failed", failed.get());
+        return stats;
     }
 
     public void triggerSampleGeneration() {
@@ -1,53 +1,213 @@
 package com.loom.sentinel.log.service;
 
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.util.NamedValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.loom.sentinel.log.model.LogAnalysisResult;
 import com.loom.sentinel.log.model.LogAnalysisResult.LogAnomaly;
 import com.loom.sentinel.log.model.LogAnalysisResult.LogPattern;
-import com.loom.sentinel.log.model.LogEntry;
-import com.loom.sentinel.log.repository.LogRepository;
+import com.loom.sentinel.log.model.LogAnalysisResult.RateBucket;
+import com.loom.sentinel.log.model.LogRollup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * Log analysis for a service and time window.
+ *
+ * Minutes that are already rolled up are summed from {@code log_rollups}
+ * ({@link LogRollupService}); only the not yet rolled-up tail, and any part
+ * older than the rollup backfill has reached, is aggregated in
+ * Elasticsearch, searching just the daily indices that overlap it. Either
+ * way only counts reach the JVM, so cost follows the number of minutes and
+ * templates, not log lines. Results for windows that are entirely rolled up
+ * cannot change and are cached. Stored lines without a template are left to
+ * the rollup job to assign, so they count towards totals but not patterns
+ * until then.
+ */
 @Service
 public class LogIntelligenceService {
 
-    private final LogRepository logRepository;
+    private static final Logger logger = LoggerFactory.getLogger(LogIntelligenceService.class);
+    private static final int MAX_PATTERNS = 100;
+    private static final int SAMPLES_PER_PATTERN = 5;
 
-    public LogIntelligenceService(LogRepository logRepository) {
-        this.logRepository = logRepository;
+    private final ElasticsearchClient elasticsearchClient;
+    private final LogTemplateService logTemplateService;
+    private final LogRollupService logRollupService;
+    private final Cache<WindowKey, LogAnalysisResult> closedWindows = Caffeine.newBuilder()
+            .maximumSize(500)
+            .expireAfterWrite(Duration.ofMinutes(30))
+            .build();
+
+    public LogIntelligenceService(ElasticsearchClient elasticsearchClient, LogTemplateService logTemplateService,
+            LogRollupService logRollupService) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.logTemplateService = logTemplateService;
+        this.logRollupService = logRollupService;
+    }
+
+    private record WindowKey(String service, Instant start, Instant end) {
+    }
+
+    private static final class PatternCounts {
+        long count;
+        boolean error;
+        final List<String> sampleIds = new ArrayList<>();
+        String sampleMessage;
+    }
+
+    /** Counts of a window, from rollups, a raw aggregation, or both. */
+    private static final class WindowCounts {
+        long total;
+        final Map<String, PatternCounts> patterns = new HashMap<>();
+        final Map<String, Long> levels = new HashMap<>();
+        final TreeMap<Instant, long[]> minutes = new TreeMap<>(); // count, errors
+
+        PatternCounts pattern(String templateId) {
+            return patterns.computeIfAbsent(templateId, k -> new PatternCounts());
+        }
+
+        void addMinute(Instant minute, long count, long errors) {
+            long[] bucket = minutes.computeIfAbsent(minute, k -> new long[2]);
+            bucket[0] += count;
+            bucket[1] += errors;
+        }
+
+        static void addSamples(PatternCounts pattern, List<String> ids, String message) {
+            for (String id : ids) {
+                if (pattern.sampleIds.size() < SAMPLES_PER_PATTERN && !id.isEmpty()) {
+                    pattern.sampleIds.add(id);
+                }
+            }
+            if (pattern.sampleMessage == null) {
+                pattern.sampleMessage = message;
+            }
+        }
     }
 
     public LogAnalysisResult analyzeLogs(String service, Instant start, Instant end) {
-        List<LogEntry> logs = logRepository.findByServiceAndTimestampBetween(service, start, end);
-        LogAnalysisResult result = new LogAnalysisResult();
+        // rolledUpFrom is set before rolledUpTo, so it is non-null whenever rolledUpTo is
+        Instant rolledUpTo = logRollupService.rolledUpTo();
+        Instant rolledUpFrom = logRollupService.rolledUpFrom();
+        if (rolledUpTo != null && end.isBefore(rolledUpTo) && !start.isBefore(rolledUpFrom)) {
+            return closedWindows.get(new WindowKey(service, start, end),
+                    k -> toResult(countWindow(service, start, end, rolledUpFrom, rolledUpTo)));
+        }
+        return toResult(countWindow(service, start, end, rolledUpFrom, rolledUpTo));
+    }
+
+    private WindowCounts countWindow(String service, Instant start, Instant end, Instant rolledUpFrom,
+            Instant rolledUpTo) {
+        WindowCounts counts = new WindowCounts();
+        try {
+            Instant rawFrom = start;
+            if (rolledUpTo != null && rolledUpTo.isAfter(start) && rolledUpFrom.isBefore(end)) {
+                Instant rollupStart = start.truncatedTo(ChronoUnit.MINUTES);
+                if (start.isBefore(rolledUpFrom)) {
+                    // Not backfilled yet; timestamps are stored to the millisecond
+                    addRawAggregation(counts, service, start, rolledUpFrom.minusMillis(1));
+                    rollupStart = rolledUpFrom;
+                }
+                // Rollups are whole minutes, so the window widens to the minute it starts in
+                Instant rollupEnd = rolledUpTo.isBefore(end) ? rolledUpTo : end.truncatedTo(ChronoUnit.MINUTES)
+                        .plus(1, ChronoUnit.MINUTES);
+                addRollups(counts, logRollupService.find(service, rollupStart, rollupEnd));
+                rawFrom = rollupEnd;
+            }
+            if (rawFrom.isBefore(end)) {
+                addRawAggregation(counts, service, rawFrom, end);
+            }
+        } catch (IOException e) {
+            logger.error("Log analysis failed for service {}", service, e);
+        }
+        return counts;
+    }
+
+    private void addRollups(WindowCounts counts, List<LogRollup> rollups) {
+        for (LogRollup rollup : rollups) {
+            boolean error = "ERROR".equals(rollup.getLevel());
+            counts.total += rollup.getCount();
+            counts.levels.merge(rollup.getLevel(), rollup.getCount(), Long::sum);
+            counts.addMinute(rollup.getMinute(), rollup.getCount(), error ? rollup.getCount() : 0);
 
-        if (logs.isEmpty()) {
+            PatternCounts pattern = counts.pattern(rollup.getTemplateId());
+            pattern.count += rollup.getCount();
+            pattern.error |= error;
+            WindowCounts.addSamples(pattern,
+                    rollup.getSampleIds() != null ? List.of(rollup.getSampleIds().split(",")) : List.of(),
+                    rollup.getSampleMessage());
+        }
+    }
+
+    private void addRawAggregation(WindowCounts counts, String service, Instant start, Instant end)
+            throws IOException {
+        SearchResponse<Void> response = aggregate(service, start, end);
+        if (response.hits().total() == null || response.hits().total().value() == 0) {
+            return;
+        }
+        Map<String, Aggregate> aggregations = response.aggregations();
+        counts.total += response.hits().total().value();
+
+        for (StringTermsBucket bucket : aggregations.get("templates").sterms().buckets().array()) {
+            PatternCounts pattern = counts.pattern(bucket.key().stringValue());
+            pattern.count += bucket.docCount();
+            pattern.error |= bucket.aggregations().get("errors").filter().docCount() > 0;
+            List<String> sampleIds = new ArrayList<>();
+            String sampleMessage = null;
+            for (Hit<JsonData> hit : bucket.aggregations().get("samples").topHits().hits().hits()) {
+                sampleIds.add(hit.id());
+                if (sampleMessage == null && hit.source() != null) {
+                    sampleMessage = (String) hit.source().to(Map.class).get("message");
+                }
+            }
+            WindowCounts.addSamples(pattern, sampleIds, sampleMessage);
+        }
+        aggregations.get("levels").sterms().buckets().array()
+                .forEach(b -> counts.levels.merge(b.key().stringValue(), b.docCount(), Long::sum));
+        aggregations.get("timeline").dateHistogram().buckets().array()
+                .forEach(b -> counts.addMinute(Instant.ofEpochMilli(b.key()), b.docCount(),
+                        b.aggregations().get("errors").filter().docCount()));
+    }
+
+    private LogAnalysisResult toResult(WindowCounts counts) {
+        LogAnalysisResult result = new LogAnalysisResult();
+        if (counts.total == 0) {
             result.setOverallRiskScore(0.0);
             result.setPatterns(Collections.emptyList());
             result.setAnomalies(Collections.emptyList());
+            result.setLevelCounts(Collections.emptyMap());
+            result.setTimeline(Collections.emptyList());
             return result;
         }
 
-        // 1. Cluster Patterns
-        Map<String, List<LogEntry>> clusters = clusterLogs(logs);
+        // 1. Patterns, one per message template
         List<LogPattern> patterns = new ArrayList<>();
-
-        for (Map.Entry<String, List<LogEntry>> entry : clusters.entrySet()) {
-            String signature = entry.getKey();
-            List<LogEntry> clusterLogs = entry.getValue();
-            boolean isError = clusterLogs.stream().anyMatch(l -> "ERROR".equals(l.getLevel()));
-
+        counts.patterns.forEach((templateId, pattern) -> {
+            LogTemplateMiner.Template template = logTemplateService.find(templateId);
             patterns.add(new LogPattern(
-                    signature,
-                    clusterLogs.size(),
-                    clusterLogs.get(0).getMessage(),
-                    clusterLogs.stream().limit(5).map(LogEntry::getId).collect(Collectors.toList()),
-                    isError));
-        }
+                    templateId,
+                    template != null ? template.template() : templateId,
+                    (int) pattern.count,
+                    pattern.sampleMessage,
+                    pattern.sampleIds,
+                    pattern.error));
+        });
 
         // Sort patterns by count (desc) but prioritize errors
         patterns.sort((p1, p2) -> {
@@ -58,10 +218,18 @@ public class LogIntelligenceService {
             return Integer.compare(p2.getCount(), p1.getCount());
         });
 
-        result.setPatterns(patterns);
+        result.setPatterns(patterns.size() > MAX_PATTERNS ? new ArrayList<>(patterns.subList(0, MAX_PATTERNS))
+                : patterns);
+        result.setTotalLogs(counts.total);
+        result.setLevelCounts(counts.levels);
+
+        List<RateBucket> timeline = new ArrayList<>();
+        counts.minutes.forEach((minute, bucket) -> timeline.add(new RateBucket(minute, bucket[0], bucket[1])));
+        result.setTimeline(timeline);
 
         // 2. Detect Anomalies
-        List<LogAnomaly> anomalies = detectAnomalies(logs, patterns);
+        List<LogAnomaly> anomalies = detectAnomalies(counts.total, counts.levels.getOrDefault("ERROR", 0L),
+                result.getPatterns());
         result.setAnomalies(anomalies);
 
         // 3. Calculate Risk Score
@@ -74,48 +242,49 @@ public class LogIntelligenceService {
         return result;
     }
 
-    private Map<String, List<LogEntry>> clusterLogs(List<LogEntry> logs) {
-        Map<String, List<LogEntry>> clusters = new HashMap<>();
-
-        for (LogEntry log : logs) {
-            String signature = generateSignature(log);
-            clusters.computeIfAbsent(signature, k -> new ArrayList<>()).add(log);
-        }
-        return clusters;
+    private SearchResponse<Void> aggregate(String service, Instant start, Instant end) throws IOException {
+        Query errors = Query.of(q -> q.term(t -> t.field("level").value("ERROR")));
+        return elasticsearchClient.search(s -> s
+                .index(LogIndexManager.indicesFor(start, end))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .size(0)
+                .trackTotalHits(t -> t.enabled(true))
+                .query(windowQuery(service, start, end))
+                .aggregations("levels", a -> a.terms(t -> t.field("level").size(10)))
+                .aggregations("templates", a -> a
+                        .terms(t -> t
+                                .field("templateId")
+                                .size(MAX_PATTERNS)
+                                // Error templates first, so they survive the size cut
+                                .order(List.of(NamedValue.of("errors", SortOrder.Desc),
+                                        NamedValue.of("_count", SortOrder.Desc))))
+                        .aggregations("errors", sa -> sa.filter(errors))
+                        .aggregations("samples", sa -> sa.topHits(th -> th
+                                .size(SAMPLES_PER_PATTERN)
+                                .sort(so -> so.field(f -> f.field("timestamp").order(SortOrder.Desc)))
+                                .source(src -> src.filter(f -> f.includes("message"))))))
+                .aggregations("timeline", a -> a
+                        .dateHistogram(h -> h.field("timestamp").fixedInterval(i -> i.time("1m")))
+                        .aggregations("errors", sa -> sa.filter(errors))),
+                Void.class);
     }
 
-    private String generateSignature(LogEntry log) {
-        // Simple heuristic: remove UUIDs, timestamps, numbers to find static template
-        String msg = log.getMessage();
-
-        // Remove UUIDs
-        msg = msg.replaceAll("[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{12}", "{UUID}");
-
-        // Remove typical ID patterns (simple digit sequences > 3 chars)
-        msg = msg.replaceAll("\\b\\d{4,}\\b", "{ID}");
-
-        // If stack trace exists, use the exception class as signature
-        if (log.getStackTrace() != null && !log.getStackTrace().isEmpty()) {
-            String firstLine = log.getStackTrace().split("\n")[0];
-            // dynamic part removal
-            return firstLine.replaceAll(":[^\\n]*", ""); // Just the Exception Class
-        }
-
-        // Truncate if too long to aggregate
-        if (msg.length() > 50) {
-            msg = msg.substring(0, 50) + "...";
-        }
-
-        return log.getLevel() + ": " + msg;
+    private static Query windowQuery(String service, Instant start, Instant end) {
+        return Query.of(q -> q.bool(b -> b
+                .filter(f -> f.term(t -> t.field("service").value(service)))
+                .filter(f -> f.range(r -> r
+                        .field("timestamp")
+                        .gte(JsonData.of(start.toString()))
+                        .lte(JsonData.of(end.toString()))))));
     }
 
-    private List<LogAnomaly> detectAnomalies(List<LogEntry> logs, List<LogPattern> patterns) {
+    private List<LogAnomaly> detectAnomalies(long total, long errorCount, List<LogPattern> patterns) {
         List<LogAnomaly> anomalies = new ArrayList<>();
 
         // Rule 1: High Error Rate
-        long errorCount = logs.stream().filter(l -> "ERROR".equals(l.getLevel())).count();
         if (errorCount > 0) {
-            double errorRate = (double) errorCount / logs.size();
+            double errorRate = (double) errorCount / total;
             if (errorRate > 0.05) { // > 5% errors
                 anomalies.add(new LogAnomaly(
                         "ERROR_SPIKE",
@@ -0,0 +1,251 @@
+package com.loom.sentinel.log.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import com.loom.sentinel.log.model.LogRollup;
+import com.loom.sentinel.log.repository.LogRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-minute log rollups in {@code log_rollups}: one row per service, minute,
+ * template, level and deployment version, with first/last seen and a few
+ * sample ids.
+ *
+ * A scheduled job rolls up every minute once it is {@code lag} in the past,
+ * using a composite aggregation, so each raw log line is read by
+ * Elasticsearch once rather than on every analysis. Lines that arrive later
+ * than the lag for an already rolled-up minute are not counted.
+ *
+ * The first run starts {@code initial-lookback} back; after that each run
+ * also backfills a few chunks further into the past until the retention
+ * window is covered. Minutes in {@code [rolledUpFrom, rolledUpTo)} are rolled
+ * up, anything outside has to be read from the raw logs.
+ */
+@Service
+public class LogRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogRollupService.class);
+    private static final int PAGE_SIZE = 1000;
+    private static final int SAMPLES = 5;
+    private static final Duration CHUNK = Duration.ofHours(1);
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final LogRollupRepository rollupRepository;
+    private final LogTemplateService logTemplateService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${loom.logs.rollups.lag:2m}")
+    private Duration lag;
+
+    @Value("${loom.logs.rollups.initial-lookback:24h}")
+    private Duration initialLookback;
+
+    @Value("${loom.logs.rollups.backfill-chunks:6}")
+    private int backfillChunks;
+
+    @Value("${loom.logs.retention:14d}")
+    private Duration retention;
+
+    // Minutes in [rolledUpFrom, rolledUpTo) are rolled up; both null until the first run
+    private volatile Instant rolledUpFrom;
+    private volatile Instant rolledUpTo;
+
+    public LogRollupService(ElasticsearchClient elasticsearchClient, LogRollupRepository rollupRepository,
+            LogTemplateService logTemplateService, PlatformTransactionManager transactionManager) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.rollupRepository = rollupRepository;
+        this.logTemplateService = logTemplateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Instant rolledUpFrom() {
+        return rolledUpFrom;
+    }
+
+    public Instant rolledUpTo() {
+        return rolledUpTo;
+    }
+
+    public List<LogRollup> find(String service, Instant from, Instant to) {
+        return rollupRepository.findByServiceAndMinuteGreaterThanEqualAndMinuteLessThan(service, from, to);
+    }
+
+    @Scheduled(fixedDelayString = "${loom.logs.rollups.interval-ms:60000}")
+    public void rollUpClosedMinutes() {
+        Instant to = Instant.now().minus(lag).truncatedTo(ChronoUnit.MINUTES);
+        Instant from = rolledUpTo;
+        if (from == null) {
+            Instant latest = rollupRepository.findLatestMinute();
+            from = latest != null ? latest.plus(1, ChronoUnit.MINUTES) : to.minus(initialLookback);
+            // Rows only exist inside the covered range, so the earliest one bounds it from below
+            Instant earliest = rollupRepository.findEarliestMinute();
+            rolledUpFrom = earliest != null && earliest.isBefore(from) ? earliest : from;
+        }
+        try {
+            while (from.isBefore(to)) {
+                Instant chunkEnd = from.plus(CHUNK).isBefore(to) ? from.plus(CHUNK) : to;
+                rollUp(from, chunkEnd);
+                from = chunkEnd;
+                rolledUpTo = from;
+            }
+            rolledUpTo = from;
+        } catch (Exception e) {
+            logger.warn("Log rollup stopped at {}: {}", from, e.getMessage());
+            return;
+        }
+        backfill();
+    }
+
+    /**
+     * Rolls up to {@code backfill-chunks} chunks below {@link #rolledUpFrom},
+     * newest first, so an install that predates rollups or restarted on an
+     * empty table is covered back to the retention window over a few runs.
+     */
+    private void backfill() {
+        Instant floor = Instant.now().minus(retention).truncatedTo(ChronoUnit.MINUTES);
+        Instant end = rolledUpFrom;
+        try {
+            for (int i = 0; i < backfillChunks && end.isAfter(floor); i++) {
+                Instant start = end.minus(CHUNK).isAfter(floor) ? end.minus(CHUNK) : floor;
+                rollUp(start, end);
+                end = start;
+            }
+        } catch (Exception e) {
+            logger.warn("Log rollup backfill stopped at {}: {}", end, e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes the rollups of every minute in {@code [from, to)}, replacing
+     * existing rows. Used by the scheduled job and after loading logs with
+     * past timestamps.
+     */
+    public synchronized void rollUp(Instant from, Instant to) throws IOException {
+        Instant start = from.truncatedTo(ChronoUnit.MINUTES);
+        Instant end = to.truncatedTo(ChronoUnit.MINUTES).equals(to) ? to
+                : to.truncatedTo(ChronoUnit.MINUTES).plus(1, ChronoUnit.MINUTES);
+        List<String> indices = LogIndexManager.indicesFor(start, end);
+        Query range = Query.of(q -> q.range(r -> r
+                .field("timestamp")
+                .gte(JsonData.of(start.toString()))
+                .lt(JsonData.of(end.toString()))));
+        logTemplateService.assignMissing(range, indices);
+
+        List<LogRollup> rows = new ArrayList<>();
+        Map<String, FieldValue> after = null;
+        do {
+            Map<String, FieldValue> afterKey = after;
+            SearchResponse<Void> response = elasticsearchClient.search(s -> s
+                    .index(indices)
+                    .ignoreUnavailable(true)
+                    .allowNoIndices(true)
+                    .size(0)
+                    .query(q -> q.bool(b -> b
+                            .filter(range)
+                            .filter(f -> f.exists(e -> e.field("templateId")))))
+                    .aggregations("rollup", a -> a
+                            .composite(c -> {
+                                c.size(PAGE_SIZE).sources(List.of(
+                                        source("service", CompositeAggregationSource.of(cs -> cs
+                                                .terms(t -> t.field("service")))),
+                                        source("minute", CompositeAggregationSource.of(cs -> cs
+                                                .dateHistogram(h -> h.field("timestamp")
+                                                        .fixedInterval(i -> i.time("1m"))))),
+                                        source("template", CompositeAggregationSource.of(cs -> cs
+                                                .terms(t -> t.field("templateId")))),
+                                        source("level", CompositeAggregationSource.of(cs -> cs
+                                                .terms(t -> t.field("level").missingBucket(true)))),
+                                        source("version", CompositeAggregationSource.of(cs -> cs
+                                                .terms(t -> t.field("deploymentVersion").missingBucket(true))))));
+                                if (afterKey != null) {
+                                    c.after(afterKey);
+                                }
+                                return c;
+                            })
+                            .aggregations("first", sa -> sa.min(m -> m.field("timestamp")))
+                            .aggregations("last", sa -> sa.max(m -> m.field("timestamp")))
+                            .aggregations("samples", sa -> sa.topHits(th -> th
+                                    .size(SAMPLES)
+                                    .sort(so -> so.field(f -> f.field("timestamp").order(SortOrder.Desc)))
+                                    .source(src -> src.filter(f -> f.includes("message")))))),
+                    Void.class);
+
+            CompositeAggregate composite = response.aggregations().get("rollup").composite();
+            List<CompositeBucket> buckets = composite.buckets().array();
+            for (CompositeBucket bucket : buckets) {
+                rows.add(toRollup(bucket));
+            }
+            after = buckets.size() == PAGE_SIZE ? composite.afterKey() : null;
+        } while (after != null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepository.deleteByMinuteRange(start, end);
+            rollupRepository.saveAll(rows);
+        });
+        // A range reaching down from the covered one extends it
+        Instant coveredFrom = rolledUpFrom;
+        if (coveredFrom != null && start.isBefore(coveredFrom) && !end.isBefore(coveredFrom)) {
+            rolledUpFrom = start;
+        }
+        logger.debug("Rolled up {} to {} into {} rows", start, end, rows.size());
+    }
+
+    @Scheduled(cron = "0 45 0 * * *", zone = "UTC")
+    public void applyRetention() {
+        Integer removed = transactionTemplate.execute(
+                status -> rollupRepository.deleteOlderThan(Instant.now().minus(retention)));
+        logger.info("Purged {} log rollup rows", removed);
+    }
+
+    private static Map<String, CompositeAggregationSource> source(String name, CompositeAggregationSource source) {
+        return Map.of(name, source);
+    }
+
+    private static LogRollup toRollup(CompositeBucket bucket) {
+        Map<String, FieldValue> key = bucket.key();
+        List<String> sampleIds = new ArrayList<>();
+        String sampleMessage = null;
+        for (Hit<JsonData> hit : bucket.aggregations().get("samples").topHits().hits().hits()) {
+            sampleIds.add(hit.id());
+            if (sampleMessage == null && hit.source() != null) {
+                sampleMessage = (String) hit.source().to(Map.class).get("message");
+            }
+        }
+        if (sampleMessage != null && sampleMessage.length() > 1000) {
+            sampleMessage = sampleMessage.substring(0, 1000);
+        }
+        return new LogRollup(
+                key.get("service").stringValue(),
+                Instant.ofEpochMilli(key.get("minute").longValue()),
+                key.get("template").stringValue(),
+                key.get("level").isNull() ? "UNKNOWN" : key.get("level").stringValue(),
+                key.get("version").isNull() ? null : key.get("version").stringValue(),
+                bucket.docCount(),
+                Instant.ofEpochMilli((long) bucket.aggregations().get("first").min().value()),
+                Instant.ofEpochMilli((long) bucket.aggregations().get("last").max().value()),
+                String.join(",", sampleIds),
+                sampleMessage);
+    }
+}
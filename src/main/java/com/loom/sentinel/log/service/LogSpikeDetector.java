@@ -0,0 +1,226 @@
+package com.loom.sentinel.log.service;
+
+import com.loom.sentinel.log.model.LogEntry;
+import com.loom.sentinel.log.model.LogSpike;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Always-on spike detection over the log intake stream.
+ *
+ * Each service gets a fixed-size state: a count-min sketch of WARN/ERROR
+ * lines per template for the current window, a Space-Saving list of the
+ * window's most frequent templates, and an EWMA baseline sketch of past
+ * windows. When a window closes, heavy hitters and the service's error count
+ * are compared with their baseline, and deviations are published as
+ * {@link LogSpike} events. Memory does not grow with log volume or with the
+ * number of distinct templates.
+ *
+ * Counts are compared per nominal window of {@code window-ms}. A window that
+ * ran longer, because its close was delayed, is scaled down to that length
+ * first, so the extra time does not read as extra lines.
+ */
+@Service
+public class LogSpikeDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogSpikeDetector.class);
+    private static final int RECENT_SPIKES_PER_SERVICE = 50;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final LogTemplateService logTemplateService;
+    private final Settings settings;
+    private final int maxServices;
+
+    private final Map<String, ServiceState> services = new ConcurrentHashMap<>();
+    // Start of the window all services are currently counting
+    private volatile Instant windowStart = Instant.now();
+    private final Map<String, Deque<LogSpike>> recentSpikes = new ConcurrentHashMap<>();
+
+    public LogSpikeDetector(ApplicationEventPublisher eventPublisher, LogTemplateService logTemplateService,
+            @Value("${loom.logs.spikes.sketch-width:1024}") int sketchWidth,
+            @Value("${loom.logs.spikes.sketch-depth:4}") int sketchDepth,
+            @Value("${loom.logs.spikes.heavy-hitters:32}") int heavyHitters,
+            @Value("${loom.logs.spikes.alpha:0.2}") double alpha,
+            @Value("${loom.logs.spikes.warmup-windows:5}") int warmupWindows,
+            @Value("${loom.logs.spikes.z-threshold:4.0}") double zThreshold,
+            @Value("${loom.logs.spikes.min-count:10}") long minCount,
+            @Value("${loom.logs.spikes.max-services:500}") int maxServices,
+            @Value("${loom.logs.spikes.window-ms:30000}") long windowMs) {
+        this.eventPublisher = eventPublisher;
+        this.logTemplateService = logTemplateService;
+        this.settings = new Settings(sketchWidth, sketchDepth, heavyHitters, alpha, warmupWindows, zThreshold,
+                minCount, windowMs);
+        this.maxServices = maxServices;
+    }
+
+    record Settings(int sketchWidth, int sketchDepth, int heavyHitters, double alpha, int warmupWindows,
+            double zThreshold, long minCount, long windowMs) {
+    }
+
+    /** Called by the intake workers for every batch they write. */
+    public void record(List<LogEntry> entries) {
+        for (LogEntry entry : entries) {
+            if (entry.getService() == null) {
+                continue;
+            }
+            ServiceState state = services.get(entry.getService());
+            if (state == null) {
+                if (services.size() >= maxServices) {
+                    continue;
+                }
+                state = services.computeIfAbsent(entry.getService(),
+                        s -> new ServiceState(s, settings, windowStart));
+            }
+            state.record(entry.getLevel(), entry.getTemplateId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${loom.logs.spikes.window-ms:30000}")
+    public void closeWindows() {
+        Instant now = Instant.now();
+        windowStart = now;
+        for (ServiceState state : services.values()) {
+            for (LogSpike spike : state.close(now)) {
+                if (spike.templateId() != null) {
+                    LogTemplateMiner.Template template = logTemplateService.find(spike.templateId());
+                    if (template != null) {
+                        spike = new LogSpike(spike.service(), spike.kind(), spike.templateId(), template.template(),
+                                spike.count(), spike.baseline(), spike.score(), spike.strength(),
+                                spike.detectedAt());
+                    }
+                }
+                remember(spike);
+                logger.info("Log spike in {}: {} {} ({} vs baseline {}, z={})", spike.service(), spike.kind(),
+                        spike.template() != null ? spike.template() : "", spike.count(),
+                        String.format("%.1f", spike.baseline()), String.format("%.1f", spike.score()));
+                eventPublisher.publishEvent(spike);
+            }
+        }
+    }
+
+    /** Spikes of the service within {@code maxAge}, newest first. */
+    public List<LogSpike> recentSpikes(String service, Duration maxAge) {
+        Deque<LogSpike> spikes = recentSpikes.get(service);
+        if (spikes == null) {
+            return List.of();
+        }
+        Instant cutoff = Instant.now().minus(maxAge);
+        List<LogSpike> result = new ArrayList<>();
+        synchronized (spikes) {
+            for (LogSpike spike : spikes) {
+                if (spike.detectedAt().isAfter(cutoff)) {
+                    result.add(spike);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void remember(LogSpike spike) {
+        Deque<LogSpike> spikes = recentSpikes.computeIfAbsent(spike.service(), s -> new ArrayDeque<>());
+        synchronized (spikes) {
+            spikes.addFirst(spike);
+            while (spikes.size() > RECENT_SPIKES_PER_SERVICE) {
+                spikes.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Window and baseline of one service.
+     */
+    static final class ServiceState {
+
+        private final String service;
+        private final Settings settings;
+        private final CountMinSketch current;
+        private final CountMinSketch baseline;
+        private final SpaceSaving heavyHitters;
+        private long errors;
+        private double errorBaseline;
+        private int closedWindows;
+        private Instant windowStart;
+
+        ServiceState(String service, Settings settings, Instant windowStart) {
+            this.service = service;
+            this.settings = settings;
+            this.windowStart = windowStart;
+            this.current = new CountMinSketch(settings.sketchWidth(), settings.sketchDepth());
+            this.baseline = new CountMinSketch(settings.sketchWidth(), settings.sketchDepth());
+            this.heavyHitters = new SpaceSaving(settings.heavyHitters());
+        }
+
+        synchronized void record(String level, String templateId) {
+            boolean error = "ERROR".equals(level);
+            if (error) {
+                errors++;
+            }
+            if (templateId != null && (error || "WARN".equals(level))) {
+                current.add(templateId, 1);
+                heavyHitters.add(templateId, 1);
+            }
+        }
+
+        synchronized List<LogSpike> close(Instant now) {
+            // Counts per nominal window; a shorter window is taken as it is
+            long elapsedMs = Duration.between(windowStart, now).toMillis();
+            double scale = (double) settings.windowMs() / Math.max(settings.windowMs(), elapsedMs);
+            windowStart = now;
+
+            List<LogSpike> spikes = new ArrayList<>();
+            if (closedWindows >= settings.warmupWindows()) {
+                for (SpaceSaving.Counter counter : heavyHitters.top()) {
+                    // Both structures only overcount, so the smaller figure is closer
+                    long count = Math.min(counter.count(), (long) current.estimate(counter.key()));
+                    double expected = baseline.estimate(counter.key());
+                    LogSpike.Kind kind = expected < 1 ? LogSpike.Kind.NEW_TEMPLATE : LogSpike.Kind.TEMPLATE_SPIKE;
+                    LogSpike spike = evaluate(kind, counter.key(), Math.round(count * scale), expected, now);
+                    if (spike != null) {
+                        spikes.add(spike);
+                    }
+                }
+                LogSpike errorSpike = evaluate(LogSpike.Kind.ERROR_RATE, null, Math.round(errors * scale),
+                        errorBaseline, now);
+                if (errorSpike != null) {
+                    spikes.add(errorSpike);
+                }
+            }
+
+            // The first window seeds the baseline; later ones decay into it
+            double alpha = closedWindows == 0 ? 1.0 : settings.alpha();
+            baseline.blend(current, alpha, scale);
+            errorBaseline = alpha * errors * scale + (1 - alpha) * errorBaseline;
+            closedWindows++;
+            current.clear();
+            heavyHitters.clear();
+            errors = 0;
+            return spikes;
+        }
+
+        private LogSpike evaluate(LogSpike.Kind kind, String templateId, long count, double expected,
+                Instant now) {
+            if (count < settings.minCount()) {
+                return null;
+            }
+            double score = (count - expected) / Math.sqrt(expected + 1);
+            if (score < settings.zThreshold()) {
+                return null;
+            }
+            double strength = Math.min(1.0, score / (2 * settings.zThreshold()));
+            return new LogSpike(service, kind, templateId, null, count, expected, score, strength, now);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.loom.sentinel.log.service;
+
+import com.loom.sentinel.log.model.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live log tail over server-sent events.
+ *
+ * The intake workers hand every written batch to {@link #publish}, which
+ * matches entries against each subscriber's filter and queues them in that
+ * subscriber's bounded buffer; nothing is read back from Elasticsearch.
+ * Sending happens on the tail executor, so a slow client never holds up
+ * intake: when its buffer is full, further entries are dropped and counted,
+ * and the count is reported to it with the next batch.
+ */
+@Service
+public class LogTailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogTailService.class);
+    private static final String ANY_SERVICE = "*";
+
+    private final Executor logTailExecutor;
+    private final int bufferSize;
+    private final int maxBatch;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+
+    // Keyed by the service filter, or ANY_SERVICE, so an entry is only matched
+    // against tailers of its own service and unfiltered ones
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberCount = new AtomicLong();
+
+    public LogTailService(@Qualifier("logTailExecutor") Executor logTailExecutor,
+            @Value("${loom.logs.tail.buffer-size:1000}") int bufferSize,
+            @Value("${loom.logs.tail.max-batch:200}") int maxBatch,
+            @Value("${loom.logs.tail.max-subscribers:200}") int maxSubscribers,
+            @Value("${loom.logs.tail.timeout-ms:1800000}") long timeoutMs) {
+        this.logTailExecutor = logTailExecutor;
+        this.bufferSize = bufferSize;
+        this.maxBatch = maxBatch;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Entries a subscriber wants; null fields match anything.
+     */
+    public record Filter(String service, Set<String> levels, String templateId, String traceId) {
+
+        boolean matches(LogEntry entry) {
+            return (service == null || service.equals(entry.getService()))
+                    && (levels == null || levels.isEmpty() || levels.contains(entry.getLevel()))
+                    && (templateId == null || templateId.equals(entry.getTemplateId()))
+                    && (traceId == null || traceId.equals(entry.getTraceId()));
+        }
+    }
+
+    /**
+     * Opens a tail. Entries arrive as {@code logs} events carrying the batch
+     * and the subscriber's total {@code dropped} count.
+     */
+    public SseEmitter subscribe(Filter filter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many live tails open");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(filter, emitter, bufferSize);
+        String key = filter.service() != null ? filter.service() : ANY_SERVICE;
+        subscribers.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+        Runnable remove = () -> unsubscribe(key, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        try {
+            emitter.send(SseEmitter.event().name("subscribed").data(Map.of("id", subscriber.id)));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /** Called by the intake workers with every batch they write. */
+    public void publish(List<LogEntry> entries) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<Subscriber> any = subscribers.getOrDefault(ANY_SERVICE, List.of());
+        Set<Subscriber> touched = null;
+        for (LogEntry entry : entries) {
+            List<Subscriber> ofService = entry.getService() != null
+                    ? subscribers.getOrDefault(entry.getService(), List.of())
+                    : List.of();
+            if (ofService.isEmpty() && any.isEmpty()) {
+                continue;
+            }
+            for (List<Subscriber> group : List.of(ofService, any)) {
+                for (Subscriber subscriber : group) {
+                    if (subscriber.filter.matches(entry)) {
+                        subscriber.offer(entry);
+                        if (touched == null) {
+                            touched = new HashSet<>();
+                        }
+                        touched.add(subscriber);
+                    }
+                }
+            }
+        }
+        if (touched != null) {
+            touched.forEach(this::scheduleSend);
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies and notices closed ones. Sent
+     * on the tail executor like entries, so a slow client cannot hold up the
+     * scheduler; tails with a send under way are skipped.
+     */
+    @Scheduled(fixedDelayString = "${loom.logs.tail.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(group -> group.forEach(subscriber -> scheduleSend(subscriber, true)));
+    }
+
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> tails = new ArrayList<>();
+        subscribers.values().forEach(group -> group.forEach(subscriber -> {
+            Map<String, Object> tail = new HashMap<>();
+            tail.put("id", subscriber.id);
+            tail.put("filter", subscriber.filter);
+            tail.put("buffered", subscriber.buffer.size());
+            tail.put("sent", subscriber.sent.get());
+            tail.put("dropped", subscriber.dropped.get());
+            tails.add(tail);
+        }));
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("subscribers", tails.size());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("tails", tails);
+        return stats;
+    }
+
+    private void scheduleSend(Subscriber subscriber) {
+        scheduleSend(subscriber, false);
+    }
+
+    private void scheduleSend(Subscriber subscriber, boolean keepalive) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            logTailExecutor.execute(() -> drain(subscriber, keepalive));
+        } catch (RejectedExecutionException e) {
+            // Picked up again with the next published batch or heartbeat
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber, boolean keepalive) {
+        try {
+            if (keepalive) {
+                subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+            }
+            List<LogEntry> batch = new ArrayList<>(maxBatch);
+            while (subscriber.buffer.drainTo(batch, maxBatch) > 0) {
+                Map<String, Object> event = new HashMap<>();
+                event.put("entries", batch);
+                event.put("dropped", subscriber.dropped.get());
+                subscriber.emitter.send(SseEmitter.event().name("logs").data(event));
+                subscriber.sent.addAndGet(batch.size());
+                batch = new ArrayList<>(maxBatch);
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Log tail {} closed: {}", subscriber.id, e.getMessage());
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // Entries offered after the last drainTo but before the flag was cleared
+        if (!subscriber.buffer.isEmpty()) {
+            scheduleSend(subscriber);
+        }
+    }
+
+    private void unsubscribe(String key, Subscriber subscriber) {
+        subscribers.computeIfPresent(key, (k, group) -> {
+            if (group.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return group.isEmpty() ? null : group;
+        });
+    }
+
+    private static final class Subscriber {
+
+        final String id = UUID.randomUUID().toString();
+        final Filter filter;
+        final SseEmitter emitter;
+        final BlockingQueue<LogEntry> buffer;
+        final AtomicBoolean sending = new AtomicBoolean();
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+
+        Subscriber(Filter filter, SseEmitter emitter, int bufferSize) {
+            this.filter = filter;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(LogEntry entry) {
+            if (!buffer.offer(entry)) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+}
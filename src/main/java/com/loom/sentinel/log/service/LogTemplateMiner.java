@@ -0,0 +1,324 @@
+package com.loom.sentinel.log.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Online log template miner after Drain (He et al., ICWS 2017).
+ *
+ * Messages are split on whitespace and tokens containing digits are treated
+ * as parameters. A fixed-depth parse tree routes each message by token count
+ * and its first few tokens to a small list of clusters; the message joins the
+ * most similar cluster (share of template tokens it matches exactly) or
+ * starts a new one. Joining a cluster turns the positions that differ into
+ * {@link #WILDCARD}, so templates only ever get more general.
+ *
+ * A cluster keeps the id it was created with for its whole life, which makes
+ * the id safe to store on log entries. Thread-safe.
+ */
+public class LogTemplateMiner {
+
+    public static final String WILDCARD = "<*>";
+
+    /** A point-in-time copy of a cluster. */
+    public record Template(String id, String template, int tokenCount, long count, Instant firstSeen,
+            Instant lastSeen) {
+    }
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        final List<Cluster> clusters = new ArrayList<>();
+    }
+
+    private static final class Cluster {
+        final String id;
+        final String[] tokens;
+        long count;
+        Instant firstSeen;
+        Instant lastSeen;
+
+        Cluster(String id, String[] tokens) {
+            this.id = id;
+            this.tokens = tokens;
+        }
+
+        void record(Instant seenAt) {
+            count++;
+            if (seenAt != null) {
+                if (firstSeen == null || seenAt.isBefore(firstSeen)) {
+                    firstSeen = seenAt;
+                }
+                if (lastSeen == null || seenAt.isAfter(lastSeen)) {
+                    lastSeen = seenAt;
+                }
+            }
+        }
+
+        void absorb(Template persisted) {
+            count += persisted.count();
+            if (persisted.firstSeen() != null && (firstSeen == null || persisted.firstSeen().isBefore(firstSeen))) {
+                firstSeen = persisted.firstSeen();
+            }
+            if (persisted.lastSeen() != null && (lastSeen == null || persisted.lastSeen().isAfter(lastSeen))) {
+                lastSeen = persisted.lastSeen();
+            }
+        }
+
+        Template snapshot() {
+            return new Template(id, String.join(" ", tokens), tokens.length, count, firstSeen, lastSeen);
+        }
+    }
+
+    private final int prefixDepth;
+    private final double similarityThreshold;
+    private final int maxChildren;
+
+    private final Map<Integer, Node> byLength = new HashMap<>();
+    private final Map<String, Cluster> clusters = new HashMap<>();
+    private final Set<String> dirty = new LinkedHashSet<>();
+
+    /**
+     * @param depth               tree depth including the root and the
+     *                            token-count layer, so {@code depth - 2}
+     *                            leading tokens pick the leaf
+     * @param similarityThreshold minimum share of matching tokens for a
+     *                            message to join a cluster
+     * @param maxChildren         children per node before further distinct
+     *                            tokens share a wildcard branch
+     */
+    public LogTemplateMiner(int depth, double similarityThreshold, int maxChildren) {
+        if (depth < 3) {
+            throw new IllegalArgumentException("depth must be at least 3");
+        }
+        this.prefixDepth = depth - 2;
+        this.similarityThreshold = similarityThreshold;
+        this.maxChildren = maxChildren;
+    }
+
+    /**
+     * Assigns the message to a cluster, creating or generalizing the template
+     * as needed, and counts the occurrence.
+     */
+    public synchronized Template add(String message, Instant seenAt) {
+        Cluster cluster = mine(message);
+        cluster.record(seenAt);
+        dirty.add(cluster.id);
+        return cluster.snapshot();
+    }
+
+    /**
+     * Assigns the message to a cluster like {@link #add} without counting
+     * it; {@link #record} counts it later.
+     */
+    public synchronized Template assign(String message) {
+        return mine(message).snapshot();
+    }
+
+    /**
+     * Counts an occurrence of a template returned by {@link #assign}.
+     */
+    public synchronized void record(String id, Instant seenAt) {
+        Cluster cluster = clusters.get(id);
+        if (cluster != null) {
+            cluster.record(seenAt);
+            dirty.add(cluster.id);
+        }
+    }
+
+    private Cluster mine(String message) {
+        String[] tokens = tokenize(message);
+        Node leaf = leafFor(tokens, true);
+        Cluster cluster = bestMatch(leaf, tokens);
+        if (cluster == null) {
+            cluster = new Cluster(newId(tokens), tokens);
+            leaf.clusters.add(cluster);
+            clusters.put(cluster.id, cluster);
+        } else {
+            merge(cluster, tokens);
+        }
+        return cluster;
+    }
+
+    /**
+     * Finds the cluster the message would join without changing anything.
+     *
+     * @return null if the message would start a new template
+     */
+    public synchronized Template match(String message) {
+        String[] tokens = tokenize(message);
+        Node leaf = leafFor(tokens, false);
+        if (leaf == null) {
+            return null;
+        }
+        Cluster cluster = bestMatch(leaf, tokens);
+        return cluster != null ? cluster.snapshot() : null;
+    }
+
+    public synchronized Template get(String id) {
+        Cluster cluster = clusters.get(id);
+        return cluster != null ? cluster.snapshot() : null;
+    }
+
+    public synchronized int size() {
+        return clusters.size();
+    }
+
+    public synchronized List<Template> templates() {
+        List<Template> templates = new ArrayList<>(clusters.size());
+        for (Cluster cluster : clusters.values()) {
+            templates.add(cluster.snapshot());
+        }
+        return templates;
+    }
+
+    /**
+     * Puts a persisted template back into the tree under its original id.
+     * If the template was mined again before it was restored, the persisted
+     * counts are added to it and it is marked changed.
+     */
+    public synchronized void restore(Template template) {
+        Cluster existing = clusters.get(template.id());
+        if (existing != null) {
+            existing.absorb(template);
+            dirty.add(existing.id);
+            return;
+        }
+        String[] tokens = template.template().isEmpty() ? new String[0] : template.template().split(" ");
+        Cluster cluster = new Cluster(template.id(), tokens);
+        cluster.count = template.count();
+        cluster.firstSeen = template.firstSeen();
+        cluster.lastSeen = template.lastSeen();
+        leafFor(tokens, true).clusters.add(cluster);
+        clusters.put(cluster.id, cluster);
+    }
+
+    /**
+     * Returns the templates created or updated since the last call and
+     * clears the set.
+     */
+    public synchronized List<Template> drainDirty() {
+        List<Template> changed = new ArrayList<>(dirty.size());
+        for (String id : dirty) {
+            changed.add(clusters.get(id).snapshot());
+        }
+        dirty.clear();
+        return changed;
+    }
+
+    /** Marks templates as changed again, e.g. after a failed write. */
+    public synchronized void markDirty(List<Template> templates) {
+        for (Template template : templates) {
+            dirty.add(template.id());
+        }
+    }
+
+    static String[] tokenize(String message) {
+        if (message == null) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>();
+        int length = message.length();
+        int start = -1;
+        boolean digit = false;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? message.charAt(i) : ' ';
+            if (Character.isWhitespace(c)) {
+                if (start >= 0) {
+                    tokens.add(digit ? WILDCARD : message.substring(start, i));
+                    start = -1;
+                    digit = false;
+                }
+            } else {
+                if (start < 0) {
+                    start = i;
+                }
+                digit |= c >= '0' && c <= '9';
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private Node leafFor(String[] tokens, boolean create) {
+        Node node = create ? byLength.computeIfAbsent(tokens.length, k -> new Node()) : byLength.get(tokens.length);
+        for (int depth = 0; node != null && depth < Math.min(prefixDepth, tokens.length); depth++) {
+            String token = tokens[depth];
+            Node next = node.children.get(token);
+            if (next == null) {
+                if (create && node.children.size() < maxChildren - 1) {
+                    // One slot stays reserved for the wildcard branch
+                    next = new Node();
+                    node.children.put(token, next);
+                } else {
+                    next = create ? node.children.computeIfAbsent(WILDCARD, k -> new Node())
+                            : node.children.get(WILDCARD);
+                }
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    private Cluster bestMatch(Node leaf, String[] tokens) {
+        Cluster best = null;
+        double bestSimilarity = -1;
+        int bestWildcards = -1;
+        for (Cluster cluster : leaf.clusters) {
+            int same = 0;
+            int wildcards = 0;
+            for (int i = 0; i < tokens.length; i++) {
+                if (WILDCARD.equals(cluster.tokens[i])) {
+                    wildcards++;
+                } else if (cluster.tokens[i].equals(tokens[i])) {
+                    same++;
+                }
+            }
+            double similarity = tokens.length == 0 ? 1.0 : (double) same / tokens.length;
+            if (similarity > bestSimilarity || (similarity == bestSimilarity && wildcards > bestWildcards)) {
+                best = cluster;
+                bestSimilarity = similarity;
+                bestWildcards = wildcards;
+            }
+        }
+        return best != null && bestSimilarity >= similarityThreshold ? best : null;
+    }
+
+    private static void merge(Cluster cluster, String[] tokens) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (!cluster.tokens[i].equals(tokens[i])) {
+                cluster.tokens[i] = WILDCARD;
+            }
+        }
+    }
+
+    /**
+     * Derives the id from the first template so that instances mining the
+     * same message independently agree on it.
+     */
+    private String newId(String[] tokens) {
+        String base = hash(tokens.length + "|" + String.join(" ", tokens));
+        String id = base;
+        for (int n = 1; clusters.containsKey(id); n++) {
+            id = base + "-" + n;
+        }
+        return id;
+    }
+
+    private static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
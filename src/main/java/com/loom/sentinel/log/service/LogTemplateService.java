@@ -0,0 +1,194 @@
+package com.loom.sentinel.log.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.loom.sentinel.log.model.LogEntry;
+import com.loom.sentinel.log.model.LogTemplate;
+import com.loom.sentinel.log.repository.LogTemplateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns every ingested log entry to a message template and keeps the
+ * templates in {@code sentinel_log_templates}.
+ *
+ * Mining happens in memory on the ingestion path; new and updated templates
+ * are written back in batches. Templates are loaded on startup so ids stay
+ * the same across restarts. Until that load has succeeded nothing is
+ * written back, since a template mined again would overwrite the stored
+ * counts and first-seen time; the load is retried before each flush.
+ */
+@Service
+public class LogTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogTemplateService.class);
+    private static final int BACKFILL_PAGE_SIZE = 1000;
+    private static final int MAX_BACKFILL = 50_000;
+
+    private final LogTemplateRepository templateRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final LogTemplateMiner miner;
+    private volatile boolean loaded;
+
+    public LogTemplateService(LogTemplateRepository templateRepository,
+            ElasticsearchOperations elasticsearchOperations, ElasticsearchClient elasticsearchClient,
+            @Value("${loom.logs.templates.depth:4}") int depth,
+            @Value("${loom.logs.templates.similarity-threshold:0.4}") double similarityThreshold,
+            @Value("${loom.logs.templates.max-children:100}") int maxChildren) {
+        this.templateRepository = templateRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.miner = new LogTemplateMiner(depth, similarityThreshold, maxChildren);
+    }
+
+    @PostConstruct
+    public void load() {
+        // Scrolled, as there can be more templates than one search may return. Restored
+        // only once all are read, so a retry after a failed scroll counts none twice.
+        List<LogTemplateMiner.Template> stored = new ArrayList<>();
+        try (SearchHitsIterator<LogTemplate> templates = elasticsearchOperations.searchForStream(
+                org.springframework.data.elasticsearch.core.query.Query.findAll(), LogTemplate.class)) {
+            while (templates.hasNext()) {
+                LogTemplate template = templates.next().getContent();
+                stored.add(new LogTemplateMiner.Template(template.getId(), template.getTemplate(),
+                        template.getTokenCount(), template.getCount(), template.getFirstSeen(),
+                        template.getLastSeen()));
+            }
+            stored.forEach(miner::restore);
+            loaded = true;
+            logger.info("Loaded {} log templates", miner.size());
+        } catch (Exception e) {
+            logger.warn("Could not load log templates, retrying before the next flush: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the entry's template id, creating the template if the message is
+     * new.
+     */
+    public LogTemplateMiner.Template assign(LogEntry entry) {
+        LogTemplateMiner.Template template = miner.add(entry.getMessage(), entry.getTimestamp());
+        entry.setTemplateId(template.id());
+        return template;
+    }
+
+    /**
+     * Sets the template id of every entry without counting the entries, so
+     * that they can be stored first; see {@link #recordAll}.
+     */
+    public void assignAll(List<LogEntry> entries) {
+        for (LogEntry entry : entries) {
+            entry.setTemplateId(miner.assign(entry.getMessage()).id());
+        }
+    }
+
+    /**
+     * Counts entries stamped by {@link #assignAll} once they are stored.
+     */
+    public void recordAll(List<LogEntry> entries) {
+        for (LogEntry entry : entries) {
+            if (entry.getTemplateId() != null) {
+                miner.record(entry.getTemplateId(), entry.getTimestamp());
+            }
+        }
+    }
+
+    /**
+     * Stamps template ids on stored entries that have none, i.e. entries
+     * written before template mining or by paths that bypass intake. Each
+     * entry is done once; at most {@value #MAX_BACKFILL} per call.
+     *
+     * @return number of entries updated
+     */
+    public int assignMissing(Query filter, List<String> indices) throws IOException {
+        int assigned = 0;
+        while (assigned < MAX_BACKFILL) {
+            SearchResponse<Map> page = elasticsearchClient.search(s -> s
+                    .index(indices)
+                    .ignoreUnavailable(true)
+                    .allowNoIndices(true)
+                    .size(BACKFILL_PAGE_SIZE)
+                    .query(q -> q.bool(b -> b
+                            .filter(filter)
+                            .mustNot(m -> m.exists(e -> e.field("templateId")))))
+                    .source(src -> src.filter(f -> f.includes("message", "timestamp"))),
+                    Map.class);
+            List<Hit<Map>> hits = page.hits().hits();
+            if (hits.isEmpty()) {
+                break;
+            }
+            BulkRequest.Builder bulk = new BulkRequest.Builder().refresh(Refresh.WaitFor);
+            for (Hit<Map> hit : hits) {
+                LogEntry entry = new LogEntry();
+                entry.setMessage(hit.source() != null ? (String) hit.source().get("message") : null);
+                Object timestamp = hit.source() != null ? hit.source().get("timestamp") : null;
+                entry.setTimestamp(timestamp instanceof String ts ? Instant.parse(ts) : null);
+                String templateId = assign(entry).id();
+                bulk.operations(op -> op.update(u -> u
+                        .index(hit.index())
+                        .id(hit.id())
+                        .action(a -> a.doc(Map.of("templateId", templateId)))));
+            }
+            elasticsearchClient.bulk(bulk.build());
+            assigned += hits.size();
+        }
+        if (assigned > 0) {
+            logger.info("Assigned templates to {} stored log entries", assigned);
+        }
+        return assigned;
+    }
+
+    public LogTemplateMiner.Template find(String templateId) {
+        return miner.get(templateId);
+    }
+
+    public List<LogTemplateMiner.Template> all() {
+        return miner.templates();
+    }
+
+    @Scheduled(fixedDelayString = "${loom.logs.templates.flush-interval-ms:5000}")
+    public void flush() {
+        if (!loaded) {
+            load();
+            if (!loaded) {
+                return;
+            }
+        }
+        List<LogTemplateMiner.Template> changed = miner.drainDirty();
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            templateRepository.saveAll(changed.stream()
+                    .map(t -> new LogTemplate(t.id(), t.template(), t.tokenCount(), t.count(), t.firstSeen(),
+                            t.lastSeen()))
+                    .toList());
+        } catch (Exception e) {
+            miner.markDirty(changed);
+            logger.warn("Failed to persist {} log templates: {}", changed.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
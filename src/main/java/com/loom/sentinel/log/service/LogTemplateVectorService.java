@@ -0,0 +1,329 @@
+package com.loom.sentinel.log.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import com.loom.incident.ai.EmbeddingClient;
+import com.loom.incident.ai.EmbeddingPriority;
+import com.loom.sentinel.log.model.LogSearchHit;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Semantic search over logs through their templates.
+ *
+ * Log lines are never embedded. Each template is embedded once, shortly after
+ * the miner first sees it, into the small {@code sentinel_log_template_vectors}
+ * index; a template is embedded again only if its text changes while it is
+ * still generalizing. A search finds the closest templates by kNN and then
+ * fetches their recent occurrences from the log indices, so its cost follows
+ * the number of distinct templates rather than the number of lines.
+ */
+@Service
+public class LogTemplateVectorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogTemplateVectorService.class);
+    public static final String INDEX = "sentinel_log_template_vectors";
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final int OCCURRENCES_PER_TEMPLATE = 3;
+    // kNN runs over templates; some of them may have no lines in the searched period
+    private static final int CANDIDATE_FACTOR = 3;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final EmbeddingClient embeddingClient;
+    private final LogTemplateService logTemplateService;
+    private final Executor logEmbeddingExecutor;
+    private final int dims;
+    private final int maxPerRun;
+
+    // templateId -> template text the stored vector was computed from
+    private final Map<String, String> embedded = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    // Templates of the current run not embedded yet
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LogTemplateVectorService(ElasticsearchClient elasticsearchClient, EmbeddingClient embeddingClient,
+            LogTemplateService logTemplateService,
+            @Qualifier("logEmbeddingExecutor") Executor logEmbeddingExecutor,
+            @Value("${loom.logs.templates.embedding.dims:768}") int dims,
+            @Value("${loom.logs.templates.embedding.max-per-run:200}") int maxPerRun) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.embeddingClient = embeddingClient;
+        this.logTemplateService = logTemplateService;
+        this.logEmbeddingExecutor = logEmbeddingExecutor;
+        this.dims = dims;
+        this.maxPerRun = maxPerRun;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            if (!elasticsearchClient.indices().exists(e -> e.index(INDEX)).value()) {
+                elasticsearchClient.indices().create(c -> c
+                        .index(INDEX)
+                        .mappings(m -> m
+                                .properties("templateId", p -> p.keyword(k -> k))
+                                .properties("template", p -> p.text(t -> t))
+                                .properties("firstSeen", p -> p.date(d -> d))
+                                .properties("embedding", p -> p.denseVector(d -> d
+                                        .dims(dims)
+                                        .index(true)
+                                        .similarity("cosine")))));
+                logger.info("Created {} with {}-dim vectors", INDEX, dims);
+            } else {
+                loadEmbedded();
+            }
+            ready = true;
+        } catch (Exception e) {
+            logger.warn("Log template vectors unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Embeds templates that have no vector yet, or whose text changed since
+     * it was computed. Runs in the background so intake never waits on the
+     * embedding model: each run hands up to {@code max-per-run} templates to
+     * {@code logEmbeddingExecutor} and is skipped while the previous run's
+     * templates are still in flight.
+     */
+    @Scheduled(fixedDelayString = "${loom.logs.templates.embedding.interval-ms:10000}")
+    public void embedNewTemplates() {
+        if (!ready || inFlight.get() > 0) {
+            return;
+        }
+        List<LogTemplateMiner.Template> batch = new ArrayList<>();
+        for (LogTemplateMiner.Template template : logTemplateService.all()) {
+            if (batch.size() >= maxPerRun) {
+                break;
+            }
+            if (!template.template().equals(embedded.get(template.id()))) {
+                batch.add(template);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        inFlight.set(batch.size());
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicInteger done = new AtomicInteger();
+        for (LogTemplateMiner.Template template : batch) {
+            try {
+                logEmbeddingExecutor.execute(() -> {
+                    try {
+                        if (!stopped.get() && embed(template)) {
+                            done.incrementAndGet();
+                        } else {
+                            // Retried on the next run
+                            stopped.set(true);
+                        }
+                    } finally {
+                        finish(done);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                finish(done);
+            }
+        }
+    }
+
+    private void finish(AtomicInteger done) {
+        if (inFlight.decrementAndGet() == 0 && done.get() > 0) {
+            logger.info("Embedded {} log templates", done.get());
+        }
+    }
+
+    /**
+     * @return false if the template could not be embedded now, so the rest
+     *         of the run should not try either
+     */
+    private boolean embed(LogTemplateMiner.Template template) {
+        try {
+            List<Double> vector = embeddingClient.getEmbedding(template.template(), EmbeddingPriority.BULK);
+            if (vector == null || vector.isEmpty()) {
+                // Embedding backend unavailable
+                return false;
+            }
+            if (vector.size() != dims) {
+                logger.warn("Skipping template {}: embedding has {} dims, index expects {}", template.id(),
+                        vector.size(), dims);
+                embedded.put(template.id(), template.template());
+                return true;
+            }
+            Map<String, Object> document = new HashMap<>();
+            document.put("templateId", template.id());
+            document.put("template", template.template());
+            document.put("firstSeen", template.firstSeen() != null ? template.firstSeen().toString() : null);
+            document.put("embedding", vector);
+            elasticsearchClient.index(i -> i.index(INDEX).id(template.id()).document(document));
+            embedded.put(template.id(), template.template());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to embed log template {}: {}", template.id(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Templates closest to {@code query} that occurred within
+     * {@code lookback}, with their latest lines.
+     *
+     * @param service null for every service
+     */
+    public List<LogSearchHit> search(String query, String service, Duration lookback, int limit) {
+        return search(embeddingClient.getEmbedding(query, EmbeddingPriority.INTERACTIVE), service, lookback,
+                limit);
+    }
+
+    public List<LogSearchHit> search(List<Double> queryVector, String service, Duration lookback, int limit) {
+        if (!ready || queryVector == null || queryVector.size() != dims) {
+            return List.of();
+        }
+        try {
+            List<Float> vector = new ArrayList<>(queryVector.size());
+            for (Double value : queryVector) {
+                vector.add(value.floatValue());
+            }
+            int candidates = limit * CANDIDATE_FACTOR;
+            SearchResponse<Map> matches = elasticsearchClient.search(s -> s
+                    .index(INDEX)
+                    .knn(k -> k
+                            .field("embedding")
+                            .queryVector(vector)
+                            .k(candidates)
+                            .numCandidates(candidates * 10))
+                    .size(candidates)
+                    .source(src -> src.filter(f -> f.includes("template"))),
+                    Map.class);
+
+            Map<String, Double> scores = new LinkedHashMap<>();
+            Map<String, String> templates = new HashMap<>();
+            for (Hit<Map> hit : matches.hits().hits()) {
+                scores.put(hit.id(), hit.score() != null ? hit.score() : 0.0);
+                templates.put(hit.id(), hit.source() != null ? (String) hit.source().get("template") : null);
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+            Map<String, LogSearchHit> occurrences = recentOccurrences(scores.keySet(), service, lookback);
+
+            List<LogSearchHit> results = new ArrayList<>();
+            for (Map.Entry<String, Double> match : scores.entrySet()) {
+                LogSearchHit recent = occurrences.get(match.getKey());
+                if (recent == null) {
+                    continue;
+                }
+                results.add(new LogSearchHit(match.getKey(), templates.get(match.getKey()), match.getValue(),
+                        recent.recentCount(), recent.lastSeen(), recent.occurrences()));
+                if (results.size() == limit) {
+                    break;
+                }
+            }
+            return results;
+        } catch (IOException e) {
+            logger.error("Semantic log search failed", e);
+            return List.of();
+        }
+    }
+
+    private Map<String, LogSearchHit> recentOccurrences(Iterable<String> templateIds, String service,
+            Duration lookback) throws IOException {
+        Instant end = Instant.now();
+        Instant start = end.minus(lookback);
+        List<FieldValue> ids = new ArrayList<>();
+        templateIds.forEach(id -> ids.add(FieldValue.of(id)));
+
+        List<Query> filters = new ArrayList<>();
+        filters.add(Query.of(q -> q.terms(t -> t.field("templateId").terms(v -> v.value(ids)))));
+        filters.add(Query.of(q -> q.range(r -> r
+                .field("timestamp")
+                .gte(JsonData.of(start.toString()))
+                .lte(JsonData.of(end.toString())))));
+        if (service != null) {
+            filters.add(Query.of(q -> q.term(t -> t.field("service").value(service))));
+        }
+
+        SearchResponse<Void> response = elasticsearchClient.search(s -> s
+                .index(LogIndexManager.indicesFor(start, end))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .size(0)
+                .query(q -> q.bool(b -> b.filter(filters)))
+                .aggregations("templates", a -> a
+                        .terms(t -> t.field("templateId").size(ids.size()))
+                        .aggregations("latest", sa -> sa.topHits(th -> th
+                                .size(OCCURRENCES_PER_TEMPLATE)
+                                .sort(so -> so.field(f -> f.field("timestamp").order(SortOrder.Desc)))
+                                .source(src -> src.filter(f -> f.includes(
+                                        "timestamp", "service", "level", "message", "traceId")))))),
+                Void.class);
+
+        Map<String, LogSearchHit> result = new HashMap<>();
+        for (StringTermsBucket bucket : response.aggregations().get("templates").sterms().buckets().array()) {
+            List<LogSearchHit.Occurrence> latest = new ArrayList<>();
+            for (Hit<JsonData> hit : bucket.aggregations().get("latest").topHits().hits().hits()) {
+                Map<?, ?> source = hit.source() != null ? hit.source().to(Map.class) : Map.of();
+                Object timestamp = source.get("timestamp");
+                latest.add(new LogSearchHit.Occurrence(hit.id(),
+                        timestamp instanceof String ts ? Instant.parse(ts) : null,
+                        (String) source.get("service"), (String) source.get("level"),
+                        (String) source.get("message"), (String) source.get("traceId")));
+            }
+            String templateId = bucket.key().stringValue();
+            result.put(templateId, new LogSearchHit(templateId, null, 0, bucket.docCount(),
+                    latest.isEmpty() ? null : latest.get(0).timestamp(), latest));
+        }
+        return result;
+    }
+
+    private void loadEmbedded() throws IOException {
+        List<FieldValue> after = null;
+        while (true) {
+            List<FieldValue> searchAfter = after;
+            SearchResponse<Map> page = elasticsearchClient.search(s -> {
+                s.index(INDEX)
+                        .size(LOAD_PAGE_SIZE)
+                        .sort(so -> so.field(f -> f.field("templateId").order(SortOrder.Asc)))
+                        .source(src -> src.filter(f -> f.includes("template")));
+                if (searchAfter != null) {
+                    s.searchAfter(searchAfter);
+                }
+                return s;
+            }, Map.class);
+            List<Hit<Map>> hits = page.hits().hits();
+            for (Hit<Map> hit : hits) {
+                if (hit.source() != null) {
+                    embedded.put(hit.id(), (String) hit.source().get("template"));
+                }
+            }
+            if (hits.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            after = hits.get(hits.size() - 1).sort();
+        }
+        logger.info("Loaded {} log template vectors", embedded.size());
+    }
+}
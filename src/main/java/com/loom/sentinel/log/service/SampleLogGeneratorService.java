@@ -20,10 +20,20 @@ public class SampleLogGeneratorService {
 
     private static final Logger logger = LoggerFactory.getLogger(SampleLogGeneratorService.class);
     private final LogRepository logRepository;
+    private final LogTemplateService logTemplateService;
+    private final LogIndexManager logIndexManager;
+    private final LogRollupService logRollupService;
+    private final StackFingerprintService stackFingerprintService;
     private final Random random = new Random();
 
-    public SampleLogGeneratorService(LogRepository logRepository) {
+    public SampleLogGeneratorService(LogRepository logRepository, LogTemplateService logTemplateService,
+            LogIndexManager logIndexManager, LogRollupService logRollupService,
+            StackFingerprintService stackFingerprintService) {
         this.logRepository = logRepository;
+        this.logTemplateService = logTemplateService;
+        this.logIndexManager = logIndexManager;
+        this.logRollupService = logRollupService;
+        this.stackFingerprintService = stackFingerprintService;
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -73,13 +83,29 @@ public class SampleLogGeneratorService {
             current = current.plusMillis(1000 + random.nextInt(500));
 
             if (batch.size() > 1000) {
-                logRepository.saveAll(batch);
+                write(batch);
                 batch.clear();
             }
         }
         if (!batch.isEmpty()) {
-            logRepository.saveAll(batch);
+            write(batch);
         }
+
+        // History lands behind the rollup job's watermark, so roll it up here
+        try {
+            logIndexManager.refresh();
+            logRollupService.rollUp(startTime, endTime);
+        } catch (Exception e) {
+            logger.warn("Failed to roll up sample logs: {}", e.getMessage());
+        }
+    }
+
+    private void write(List<LogEntry> batch) {
+        logTemplateService.assignAll(batch);
+        stackFingerprintService.fingerprintAll(batch);
+        logIndexManager.save(batch);
+        logTemplateService.recordAll(batch);
+        stackFingerprintService.recordAll(batch);
     }
 
     private LogEntry createNormalLog(Instant timestamp, String service, String version) {
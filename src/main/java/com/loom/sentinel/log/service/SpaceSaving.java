@@ -0,0 +1,61 @@
+package com.loom.sentinel.log.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy hitters (Metwally et al., 2005): tracks the most frequent
+ * keys with a fixed number of counters. Any key occurring more than
+ * {@code total / capacity} times is guaranteed to be held. A key that takes
+ * over an evicted counter inherits its count, recorded as the error bound.
+ * Not thread-safe.
+ */
+public class SpaceSaving {
+
+    public record Counter(String key, long count, long error) {
+    }
+
+    private final int capacity;
+    private final Map<String, long[]> counters = new HashMap<>();
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void add(String key, long amount) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += amount;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[] { amount, 0 });
+            return;
+        }
+        String minKey = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < min) {
+                min = entry.getValue()[0];
+                minKey = entry.getKey();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new long[] { min + amount, min });
+    }
+
+    /** Counters by count, highest first. */
+    public List<Counter> top() {
+        List<Counter> top = new ArrayList<>(counters.size());
+        counters.forEach((key, c) -> top.add(new Counter(key, c[0], c[1])));
+        top.sort(Comparator.comparingLong(Counter::count).reversed());
+        return top;
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+}
@@ -0,0 +1,255 @@
+package com.loom.sentinel.log.service;
+
+import com.loom.sentinel.log.model.LogEntry;
+import com.loom.sentinel.log.model.StackFingerprint;
+import com.loom.sentinel.log.repository.StackFingerprintRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fingerprints the stack trace of every ingested log entry and keeps one
+ * {@link StackFingerprint} per distinct failure in
+ * {@code sentinel_stack_fingerprints}: how often it happened, in which
+ * services, and the deployment version it first and last appeared in.
+ *
+ * Counts are kept in memory on the ingestion path and written back in
+ * batches, like templates. Questions such as "which errors first appeared in
+ * v2.3.1" are answered from the fingerprint index instead of the raw logs.
+ * As with templates, nothing is written back until the stored fingerprints
+ * have been loaded, since a fingerprint seen again would otherwise overwrite
+ * its stored count and first occurrence; the load is retried before each
+ * flush.
+ */
+@Service
+public class StackFingerprintService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StackFingerprintService.class);
+
+    private final StackFingerprintRepository fingerprintRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final StackTraceFingerprinter fingerprinter;
+    private final int maxFingerprints;
+
+    private final Map<String, StackFingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    public StackFingerprintService(StackFingerprintRepository fingerprintRepository,
+            ElasticsearchOperations elasticsearchOperations,
+            @Value("${loom.logs.fingerprints.app-packages:}") List<String> appPackages,
+            @Value("${loom.logs.fingerprints.top-frames:5}") int topFrames,
+            @Value("${loom.logs.fingerprints.max-fingerprints:20000}") int maxFingerprints) {
+        this.fingerprintRepository = fingerprintRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.fingerprinter = new StackTraceFingerprinter(
+                appPackages.stream().map(String::trim).filter(p -> !p.isEmpty()).toList(), topFrames);
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        // Scrolled, as there can be more fingerprints than one search may return. Merged
+        // only once all are read, so a retry after a failed scroll counts none twice.
+        List<StackFingerprint> stored = new ArrayList<>();
+        try (SearchHitsIterator<StackFingerprint> hits = elasticsearchOperations.searchForStream(
+                Query.findAll(), StackFingerprint.class)) {
+            while (hits.hasNext()) {
+                stored.add(hits.next().getContent());
+            }
+        } catch (Exception e) {
+            logger.warn("Could not load stack fingerprints, retrying before the next flush: {}", e.getMessage());
+            return;
+        }
+        for (StackFingerprint fingerprint : stored) {
+            StackFingerprint seen = fingerprints.get(fingerprint.getId());
+            if (seen == null && fingerprints.size() < maxFingerprints) {
+                seen = fingerprints.putIfAbsent(fingerprint.getId(), fingerprint);
+            }
+            if (seen != null) {
+                // Recorded since startup, before the load got through
+                merge(seen, fingerprint);
+                dirty.add(seen.getId());
+            }
+        }
+        loaded = true;
+        logger.info("Loaded {} stack fingerprints", stored.size());
+    }
+
+    /**
+     * Sets the fingerprint of every entry that carries a stack trace,
+     * without counting it, so that the entries can be stored first; see
+     * {@link #recordAll}.
+     */
+    public void fingerprintAll(List<LogEntry> entries) {
+        for (LogEntry entry : entries) {
+            StackTraceFingerprinter.Fingerprint fingerprint = fingerprinter.fingerprint(entry.getStackTrace());
+            if (fingerprint != null) {
+                entry.setFingerprint(fingerprint.id());
+            }
+        }
+    }
+
+    /**
+     * Counts entries fingerprinted by {@link #fingerprintAll} once they are
+     * stored.
+     */
+    public void recordAll(List<LogEntry> entries) {
+        for (LogEntry entry : entries) {
+            if (entry.getFingerprint() == null) {
+                continue;
+            }
+            StackFingerprint stats = fingerprints.get(entry.getFingerprint());
+            if (stats == null) {
+                if (fingerprints.size() >= maxFingerprints) {
+                    continue;
+                }
+                // New failure: frames and exception type are only kept for the first entry
+                StackTraceFingerprinter.Fingerprint fingerprint = fingerprinter.fingerprint(entry.getStackTrace());
+                if (fingerprint == null || !fingerprint.id().equals(entry.getFingerprint())) {
+                    continue;
+                }
+                stats = fingerprints.computeIfAbsent(fingerprint.id(),
+                        id -> new StackFingerprint(id, fingerprint.exceptionType(), fingerprint.frames()));
+            }
+            update(stats, entry);
+            dirty.add(stats.getId());
+        }
+    }
+
+    public StackFingerprint find(String fingerprintId) {
+        return fingerprints.get(fingerprintId);
+    }
+
+    /**
+     * Fingerprints whose first occurrence was in {@code version}, optionally
+     * of one service, most frequent first.
+     */
+    public List<StackFingerprint> firstSeenIn(String version, String service) {
+        List<StackFingerprint> result = new ArrayList<>(service == null
+                ? fingerprintRepository.findByFirstSeenVersion(version)
+                : fingerprintRepository.findByFirstSeenServiceAndFirstSeenVersion(service, version));
+        result.sort(Comparator.comparingLong(StackFingerprint::getCount).reversed());
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${loom.logs.fingerprints.flush-interval-ms:5000}")
+    public void flush() {
+        if (!loaded) {
+            load();
+            if (!loaded) {
+                return;
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+        List<StackFingerprint> changed = new ArrayList<>();
+        for (String id : ids) {
+            StackFingerprint fingerprint = fingerprints.get(id);
+            if (fingerprint != null) {
+                synchronized (fingerprint) {
+                    changed.add(copy(fingerprint));
+                }
+            }
+        }
+        try {
+            fingerprintRepository.saveAll(changed);
+        } catch (Exception e) {
+            dirty.addAll(ids);
+            logger.warn("Failed to persist {} stack fingerprints: {}", changed.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static void update(StackFingerprint stats, LogEntry entry) {
+        synchronized (stats) {
+            stats.setCount(stats.getCount() + 1);
+            if (entry.getService() != null
+                    && (stats.getServices() == null || !stats.getServices().contains(entry.getService()))) {
+                Set<String> services = stats.getServices() == null ? new LinkedHashSet<>()
+                        : new LinkedHashSet<>(stats.getServices());
+                services.add(entry.getService());
+                stats.setServices(List.copyOf(services));
+            }
+            if (entry.getTimestamp() == null) {
+                return;
+            }
+            // Entries can arrive out of order, so first/last follow the timestamps
+            if (stats.getFirstSeen() == null || entry.getTimestamp().isBefore(stats.getFirstSeen())) {
+                stats.setFirstSeen(entry.getTimestamp());
+                stats.setFirstSeenService(entry.getService());
+                stats.setFirstSeenVersion(entry.getDeploymentVersion());
+            }
+            if (stats.getLastSeen() == null || !entry.getTimestamp().isBefore(stats.getLastSeen())) {
+                stats.setLastSeen(entry.getTimestamp());
+                stats.setLastSeenVersion(entry.getDeploymentVersion());
+                stats.setSampleLogId(entry.getId());
+            }
+        }
+    }
+
+    /** Adds what was stored before startup to stats recorded since. */
+    private static void merge(StackFingerprint stats, StackFingerprint stored) {
+        synchronized (stats) {
+            stats.setCount(stats.getCount() + stored.getCount());
+            Set<String> services = new LinkedHashSet<>();
+            if (stored.getServices() != null) {
+                services.addAll(stored.getServices());
+            }
+            if (stats.getServices() != null) {
+                services.addAll(stats.getServices());
+            }
+            stats.setServices(List.copyOf(services));
+            if (stored.getFirstSeen() != null
+                    && (stats.getFirstSeen() == null || stored.getFirstSeen().isBefore(stats.getFirstSeen()))) {
+                stats.setFirstSeen(stored.getFirstSeen());
+                stats.setFirstSeenService(stored.getFirstSeenService());
+                stats.setFirstSeenVersion(stored.getFirstSeenVersion());
+            }
+            if (stored.getLastSeen() != null
+                    && (stats.getLastSeen() == null || stored.getLastSeen().isAfter(stats.getLastSeen()))) {
+                stats.setLastSeen(stored.getLastSeen());
+                stats.setLastSeenVersion(stored.getLastSeenVersion());
+                stats.setSampleLogId(stored.getSampleLogId());
+            }
+        }
+    }
+
+    private static StackFingerprint copy(StackFingerprint source) {
+        StackFingerprint copy = new StackFingerprint(source.getId(), source.getExceptionType(), source.getFrames());
+        copy.setCount(source.getCount());
+        copy.setServices(source.getServices());
+        copy.setFirstSeenService(source.getFirstSeenService());
+        copy.setFirstSeenVersion(source.getFirstSeenVersion());
+        copy.setFirstSeen(source.getFirstSeen());
+        copy.setLastSeenVersion(source.getLastSeenVersion());
+        copy.setLastSeen(source.getLastSeen());
+        copy.setSampleLogId(source.getSampleLogId());
+        return copy;
+    }
+}
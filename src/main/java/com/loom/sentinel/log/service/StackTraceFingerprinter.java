@@ -0,0 +1,166 @@
+package com.loom.sentinel.log.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a Java stack trace to a stable fingerprint.
+ *
+ * The fingerprint covers the root cause's exception type and its top
+ * application frames. Frames are normalized first: line numbers, lambda and
+ * proxy suffixes and generated classes are removed, so the same failure
+ * fingerprints the same across builds and JVM runs. The exception message is
+ * ignored, as it usually carries ids and values.
+ */
+public class StackTraceFingerprinter {
+
+    public record Fingerprint(String id, String exceptionType, List<String> frames) {
+    }
+
+    private static final Pattern FRAME = Pattern.compile(
+            "^\\s*at\\s+(?:[\\w.-]*(?:@[\\w.-]+)?/)*([\\w.$<>/-]+)\\(.*\\)\\s*$");
+    private static final Pattern CAUSE = Pattern.compile("^\\s*Caused by:\\s*(.*)$");
+    private static final Pattern HEADER = Pattern.compile(
+            "^(?:Exception in thread \".*?\"\\s+)?([\\w.$]+)(?::.*|\\s.*)?$");
+
+    // $$SpringCGLIB$$0, $$EnhancerBySpringCGLIB$$1a2b3c, $HibernateProxy$AbCd, $Proxy123
+    private static final Pattern GENERATED_SUFFIX = Pattern.compile(
+            "\\$\\$\\w*CGLIB\\w*\\$\\$\\w*|\\$HibernateProxy\\$\\w+|\\$Proxy\\d+");
+    // lambda$process$0 -> lambda$process, access$000 -> access
+    private static final Pattern SYNTHETIC_INDEX = Pattern.compile("\\$\\d+(?=$|\\.)");
+    private static final String[] GENERATED_PREFIXES = {
+            "jdk.internal.reflect.", "sun.reflect.", "java.lang.invoke.", "jdk.proxy" };
+    private static final String[] GENERATED_CLASSES = {
+            "$$Lambda", "GeneratedMethodAccessor", "GeneratedConstructorAccessor",
+            "GeneratedSerializationConstructorAccessor" };
+    private static final String[] LIBRARY_PREFIXES = {
+            "java.", "javax.", "jakarta.", "jdk.", "sun.", "com.sun.", "kotlin.", "scala.",
+            "org.springframework.", "org.apache.", "org.hibernate.", "org.eclipse.", "io.netty.", "reactor.",
+            "com.zaxxer.", "com.fasterxml.", "org.postgresql.", "io.micrometer.", "feign.", "okhttp3.",
+            "org.junit.", "net.bytebuddy." };
+
+    private final List<String> appPackages;
+    private final int topFrames;
+
+    /**
+     * @param appPackages package prefixes of application code; when empty,
+     *                    any frame outside well-known libraries counts
+     * @param topFrames   number of application frames hashed
+     */
+    public StackTraceFingerprinter(List<String> appPackages, int topFrames) {
+        this.appPackages = appPackages;
+        this.topFrames = topFrames;
+    }
+
+    /**
+     * Returns {@code null} when the text does not look like a stack trace.
+     */
+    public Fingerprint fingerprint(String stackTrace) {
+        if (stackTrace == null || stackTrace.isBlank()) {
+            return null;
+        }
+        String exceptionType = null;
+        List<String> allFrames = new ArrayList<>();
+        List<String> rootFrames = new ArrayList<>();
+        for (String line : stackTrace.split("\\R")) {
+            Matcher frame = FRAME.matcher(line);
+            if (frame.matches()) {
+                String normalized = normalize(frame.group(1));
+                if (normalized != null) {
+                    allFrames.add(normalized);
+                    rootFrames.add(normalized);
+                }
+                continue;
+            }
+            Matcher cause = CAUSE.matcher(line);
+            if (cause.matches()) {
+                exceptionType = exceptionType(cause.group(1), exceptionType);
+                rootFrames.clear();
+            } else if (exceptionType == null) {
+                exceptionType = exceptionType(line.trim(), null);
+            }
+        }
+        if (exceptionType == null || allFrames.isEmpty()) {
+            return null;
+        }
+
+        // The root cause's own frames, or the outer ones when it has none of ours
+        List<String> frames = appFrames(rootFrames);
+        if (frames.isEmpty()) {
+            frames = appFrames(allFrames);
+        }
+        if (frames.isEmpty()) {
+            frames = allFrames.subList(0, Math.min(topFrames, allFrames.size()));
+        }
+        return new Fingerprint(hash(exceptionType, frames), exceptionType, List.copyOf(frames));
+    }
+
+    /**
+     * Strips generated suffixes from a frame's {@code class.method}; returns
+     * {@code null} for frames of generated classes.
+     */
+    static String normalize(String frame) {
+        for (String prefix : GENERATED_PREFIXES) {
+            if (frame.startsWith(prefix)) {
+                return null;
+            }
+        }
+        for (String generated : GENERATED_CLASSES) {
+            if (frame.contains(generated)) {
+                return null;
+            }
+        }
+        String normalized = GENERATED_SUFFIX.matcher(frame).replaceAll("");
+        return SYNTHETIC_INDEX.matcher(normalized).replaceAll("");
+    }
+
+    private List<String> appFrames(List<String> frames) {
+        List<String> result = new ArrayList<>();
+        for (String frame : frames) {
+            if (isApplication(frame)) {
+                result.add(frame);
+                if (result.size() == topFrames) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isApplication(String frame) {
+        if (!appPackages.isEmpty()) {
+            return appPackages.stream().anyMatch(frame::startsWith);
+        }
+        for (String prefix : LIBRARY_PREFIXES) {
+            if (frame.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String exceptionType(String header, String fallback) {
+        Matcher matcher = HEADER.matcher(header);
+        return matcher.matches() && matcher.group(1).contains(".") ? matcher.group(1) : fallback;
+    }
+
+    private static String hash(String exceptionType, List<String> frames) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(exceptionType.getBytes(StandardCharsets.UTF_8));
+            for (String frame : frames) {
+                digest.update((byte) '\n');
+                digest.update(frame.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.loom.sentinel.log.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loom.sentinel.log.model.StackFingerprint;
+import com.loom.sentinel.log.model.VersionComparison;
+import com.loom.sentinel.log.model.VersionComparison.NewFingerprint;
+import com.loom.sentinel.log.model.VersionComparison.NewTemplate;
+import com.loom.sentinel.log.model.VersionComparison.VersionStats;
+import com.loom.sentinel.log.repository.LogRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canary-style comparison of two deployment versions of a service.
+ *
+ * Everything is read from the per-minute log rollups, which already carry
+ * the deployment version, and from the stack fingerprint index, so a
+ * comparison is two grouped queries over the service's rollup rows rather
+ * than a scan of raw logs. The error rates are compared with a one-sided
+ * two-proportion z-test; a template counts as significantly new when the
+ * baseline, at the candidate's rate, would almost certainly have logged it.
+ */
+@Service
+public class VersionComparisonService {
+
+    private static final int MAX_NEW_TEMPLATES = 20;
+    private static final int MAX_NEW_FINGERPRINTS = 20;
+
+    private final LogRollupRepository rollupRepository;
+    private final LogTemplateService logTemplateService;
+    private final StackFingerprintService stackFingerprintService;
+    private final long minLines;
+    private final double significanceThreshold;
+    // Rollups change once a minute, so comparisons may be reused for as long
+    private final Cache<ComparisonKey, VersionComparison> comparisons;
+
+    public VersionComparisonService(LogRollupRepository rollupRepository, LogTemplateService logTemplateService,
+            StackFingerprintService stackFingerprintService,
+            @Value("${loom.logs.versions.min-lines:100}") long minLines,
+            @Value("${loom.logs.versions.significance:0.99}") double significanceThreshold,
+            @Value("${loom.logs.rollups.interval-ms:60000}") long rollupIntervalMs) {
+        this.rollupRepository = rollupRepository;
+        this.logTemplateService = logTemplateService;
+        this.stackFingerprintService = stackFingerprintService;
+        this.minLines = minLines;
+        this.significanceThreshold = significanceThreshold;
+        this.comparisons = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofMillis(rollupIntervalMs))
+                .build();
+    }
+
+    private record ComparisonKey(String service, String baseline, String candidate) {
+    }
+
+    /** Deployment versions of the service in rolled-up logs, oldest first. */
+    public List<VersionStats> versions(String service) {
+        Map<String, long[]> counts = new LinkedHashMap<>();
+        Map<String, Instant[]> seen = new HashMap<>();
+        for (Object[] row : rollupRepository.summarizeVersions(service)) {
+            String version = (String) row[0];
+            long count = ((Number) row[2]).longValue();
+            long[] totals = counts.computeIfAbsent(version, v -> new long[2]);
+            totals[0] += count;
+            if ("ERROR".equals(row[1])) {
+                totals[1] += count;
+            }
+            Instant[] range = seen.computeIfAbsent(version, v -> new Instant[2]);
+            range[0] = min(range[0], (Instant) row[3]);
+            range[1] = max(range[1], (Instant) row[4]);
+        }
+        List<VersionStats> versions = new ArrayList<>();
+        counts.forEach((version, totals) -> versions.add(new VersionStats(version, totals[0], totals[1],
+                totals[0] == 0 ? 0 : (double) totals[1] / totals[0], seen.get(version)[0], seen.get(version)[1])));
+        versions.sort(Comparator.comparing(VersionStats::firstSeen,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        return versions;
+    }
+
+    /**
+     * Compares the service's two most recent versions; {@code null} when it
+     * has fewer than two.
+     */
+    public VersionComparison compareLatest(String service) {
+        List<VersionStats> versions = versions(service);
+        if (versions.size() < 2) {
+            return null;
+        }
+        return compare(service, versions.get(versions.size() - 2).version(),
+                versions.get(versions.size() - 1).version());
+    }
+
+    /**
+     * @return {@code null} when either version has no rolled-up logs for the
+     *         service
+     */
+    public VersionComparison compare(String service, String baseline, String candidate) {
+        ComparisonKey key = new ComparisonKey(service, baseline, candidate);
+        VersionComparison cached = comparisons.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        VersionComparison comparison = computeComparison(service, baseline, candidate);
+        if (comparison != null) {
+            comparisons.put(key, comparison);
+        }
+        return comparison;
+    }
+
+    private VersionComparison computeComparison(String service, String baselineVersion, String candidateVersion) {
+        VersionStats baseline = null;
+        VersionStats candidate = null;
+        for (VersionStats stats : versions(service)) {
+            if (stats.version().equals(baselineVersion)) {
+                baseline = stats;
+            }
+            if (stats.version().equals(candidateVersion)) {
+                candidate = stats;
+            }
+        }
+        if (baseline == null || candidate == null) {
+            return null;
+        }
+
+        // templateId -> [baseline count, candidate count, candidate errors]
+        Map<String, long[]> templates = new HashMap<>();
+        for (Object[] row : rollupRepository.countTemplatesByVersion(service,
+                List.of(baselineVersion, candidateVersion))) {
+            long[] counts = templates.computeIfAbsent((String) row[0], t -> new long[3]);
+            long count = ((Number) row[3]).longValue();
+            if (baselineVersion.equals(row[1])) {
+                counts[0] += count;
+            } else {
+                counts[1] += count;
+                if ("ERROR".equals(row[2])) {
+                    counts[2] += count;
+                }
+            }
+        }
+
+        List<NewTemplate> newTemplates = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : templates.entrySet()) {
+            long[] counts = entry.getValue();
+            if (counts[0] == 0 && counts[1] > 0) {
+                LogTemplateMiner.Template template = logTemplateService.find(entry.getKey());
+                newTemplates.add(new NewTemplate(entry.getKey(), template != null ? template.template() : null,
+                        counts[1], counts[2], newTemplateSignificance(counts[1], baseline.total(),
+                                candidate.total())));
+            }
+        }
+        newTemplates.sort(Comparator.comparingLong(NewTemplate::errors)
+                .thenComparingLong(NewTemplate::count).reversed());
+
+        List<NewFingerprint> newFingerprints = new ArrayList<>();
+        for (StackFingerprint fingerprint : stackFingerprintService.firstSeenIn(candidateVersion, service)) {
+            newFingerprints.add(new NewFingerprint(fingerprint.getId(), fingerprint.getExceptionType(),
+                    fingerprint.getCount(), fingerprint.getFirstSeen()));
+        }
+
+        double z = errorRateZ(baseline, candidate);
+        boolean enoughData = baseline.total() >= minLines && candidate.total() >= minLines;
+        double significance = enoughData && z > 0 ? normalCdf(z) : 0;
+        boolean newErrors = enoughData && newTemplates.stream()
+                .anyMatch(t -> t.errors() > 0 && t.significance() >= significanceThreshold);
+        return new VersionComparison(service, baseline, candidate, candidate.errorRate() - baseline.errorRate(),
+                z, significance, significance >= significanceThreshold || newErrors,
+                newTemplates.subList(0, Math.min(MAX_NEW_TEMPLATES, newTemplates.size())),
+                newFingerprints.subList(0, Math.min(MAX_NEW_FINGERPRINTS, newFingerprints.size())));
+    }
+
+    /**
+     * Two-proportion z statistic of the candidate's error rate against the
+     * baseline's; positive when the candidate is worse.
+     */
+    static double errorRateZ(VersionStats baseline, VersionStats candidate) {
+        if (baseline.total() == 0 || candidate.total() == 0) {
+            return 0;
+        }
+        double pooled = (double) (baseline.errors() + candidate.errors()) / (baseline.total() + candidate.total());
+        double variance = pooled * (1 - pooled) * (1.0 / baseline.total() + 1.0 / candidate.total());
+        if (variance == 0) {
+            return 0;
+        }
+        return (candidate.errorRate() - baseline.errorRate()) / Math.sqrt(variance);
+    }
+
+    /**
+     * 1 minus the Poisson chance of the baseline logging a template zero
+     * times, had it occurred there at the candidate's rate.
+     */
+    static double newTemplateSignificance(long candidateCount, long baselineTotal, long candidateTotal) {
+        double expected = (double) candidateCount * baselineTotal / candidateTotal;
+        return 1 - Math.exp(-expected);
+    }
+
+    /** Standard normal CDF (Abramowitz and Stegun 7.1.26, error below 1.5e-7). */
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+                + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a == null || (b != null && b.isBefore(a)) ? b : a;
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+}
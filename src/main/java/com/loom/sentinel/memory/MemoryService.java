@@ -2,6 +2,8 @@ package com.loom.sentinel.memory;
 
 import com.loom.incident.domain.Incident;
 import com.loom.incident.repository.IncidentRepository;
+import com.loom.incident.service.IncidentResolver;
+import com.loom.incident.service.IncidentSnapshot;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
@@ -15,38 +17,26 @@ public class MemoryService {
     private final IncidentRepository incidentRepository;
     private final com.loom.incident.service.IncidentSearchService incidentSearchService;
     private final com.loom.incident.ai.AiClient aiClient;
+    private final IncidentResolver incidentResolver;
 
     public MemoryService(IncidentRepository incidentRepository,
             com.loom.incident.service.IncidentSearchService incidentSearchService,
-            com.loom.incident.ai.AiClient aiClient) {
+            com.loom.incident.ai.AiClient aiClient,
+            IncidentResolver incidentResolver) {
         this.incidentRepository = incidentRepository;
         this.incidentSearchService = incidentSearchService;
         this.aiClient = aiClient;
+        this.incidentResolver = incidentResolver;
     }
 
     @Transactional(readOnly = true)
     public HistoricalContext getHistoricalContext(String incidentIdStr) {
-        Incident current = null;
-
-        // Try UUID
-        try {
-            UUID id = UUID.fromString(incidentIdStr);
-            current = incidentRepository.findById(id).orElse(null);
-        } catch (IllegalArgumentException e) {
-            // Not a UUID, ignore
-        }
-
-        // Try Public ID if not found
-        if (current == null) {
-            current = incidentRepository.findByPublicId(incidentIdStr)
-                    .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
-                            org.springframework.http.HttpStatus.NOT_FOUND,
-                            "Incident not found: " + incidentIdStr));
-        }
+        // Shared, cached resolution by UUID or public ID
+        IncidentSnapshot current = incidentResolver.snapshot(incidentIdStr);
 
         // Real Vector Search
         List<com.loom.incident.api.dto.SimilarIncidentResponse> similarResponses = incidentSearchService
-                .findSimilarIncidents(current.getId());
+                .findSimilarIncidents(current.id());
 
         List<HistoricalContext.SimilarIncident> similarList = similarResponses.stream()
                 .limit(3)
@@ -61,7 +51,7 @@ public class MemoryService {
         String aiInsight;
         if (similarList.isEmpty()) {
             aiInsight = "No historical precedence found. This appears to be a unique incident pattern for "
-                    + current.getService();
+                    + current.service();
         } else {
             // Generate insight using AI
             try {
@@ -97,11 +87,11 @@ public class MemoryService {
         return getHistoricalContext(latest.getId().toString());
     }
 
-    private String buildInsightPrompt(Incident current,
+    private String buildInsightPrompt(IncidentSnapshot current,
             List<com.loom.incident.api.dto.SimilarIncidentResponse> similar) {
         StringBuilder sb = new StringBuilder();
         sb.append("Analyze the following active incident in context of similar past incidents.\n");
-        sb.append("Current Incident: ").append(current.getTitle()).append(" - ").append(current.getDescription())
+        sb.append("Current Incident: ").append(current.title()).append(" - ").append(current.description())
                 .append("\n\n");
         sb.append("Similar Past Incidents:\n");
         for (var s : similar) {
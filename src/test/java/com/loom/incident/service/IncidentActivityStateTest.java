@@ -0,0 +1,128 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.IncidentActivity;
+import com.loom.incident.domain.IncidentActivitySnapshot;
+import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.domain.TimelineEventType;
+import com.loom.incident.repository.IncidentActivityRepository;
+import com.loom.incident.repository.IncidentActivitySnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IncidentActivityStateTest {
+
+    private final UUID incidentId = UUID.randomUUID();
+
+    @Test
+    void testFold_TracksStatusAssigneeAndResolution() {
+        IncidentActivityState state = new IncidentActivityState();
+
+        state.apply(activity(TimelineEventType.INCIDENT_CREATED, null, "OPEN"));
+        state.apply(activity(TimelineEventType.ESCALATED, null, "Sarah K"));
+        state.apply(activity(TimelineEventType.STATUS_CHANGED, "OPEN", "INVESTIGATING"));
+        state.apply(activity(TimelineEventType.AI_ANALYSIS, null, null));
+        state.apply(activity(TimelineEventType.INCIDENT_RESOLVED, "INVESTIGATING", "RESOLVED"));
+
+        assertEquals(IncidentStatus.RESOLVED, state.getStatus());
+        assertEquals("Sarah K", state.getAssigneeName());
+        assertEquals(1, state.getEscalations());
+        assertEquals(5, state.getEventCount());
+        assertNotNull(state.getTimeToResolve());
+        assertNotNull(state.getTimeToAssign());
+    }
+
+    @Test
+    void testFold_ReopenClearsResolution() {
+        IncidentActivityState state = new IncidentActivityState();
+
+        state.apply(activity(TimelineEventType.INCIDENT_CREATED, null, "OPEN"));
+        state.apply(activity(TimelineEventType.INCIDENT_RESOLVED, "OPEN", "RESOLVED"));
+        state.apply(activity(TimelineEventType.INCIDENT_REOPENED, "RESOLVED", "OPEN"));
+
+        assertEquals(IncidentStatus.OPEN, state.getStatus());
+        assertNull(state.getResolvedAt());
+        assertNull(state.getTimeToResolve());
+        assertEquals(1, state.getReopens());
+    }
+
+    @Test
+    void testSnapshot_RoundTripsState() {
+        IncidentActivityState state = new IncidentActivityState();
+        state.apply(activity(TimelineEventType.INCIDENT_CREATED, null, "OPEN"));
+        state.apply(activity(TimelineEventType.ESCALATED, null, "Mike R"));
+
+        IncidentActivitySnapshot snapshot = new IncidentActivitySnapshot(incidentId);
+        state.writeTo(snapshot);
+        IncidentActivityState restored = IncidentActivityState.from(snapshot);
+        restored.apply(activity(TimelineEventType.STATUS_CHANGED, "OPEN", "MITIGATED"));
+
+        assertEquals(IncidentStatus.MITIGATED, restored.getStatus());
+        assertEquals("Mike R", restored.getAssigneeName());
+        assertEquals(state.getOpenedAt(), restored.getOpenedAt());
+        assertEquals(3, restored.getEventCount());
+    }
+
+    @Test
+    void testCurrentState_SnapshotStopsBeforeUnsettledEntries() {
+        IncidentActivityRepository activityRepository = Mockito.mock(IncidentActivityRepository.class);
+        IncidentActivitySnapshotRepository snapshotRepository = Mockito.mock(IncidentActivitySnapshotRepository.class);
+        Instant old = Instant.now().minus(IncidentActivityLog.SETTLE_MARGIN).minusSeconds(600);
+        List<IncidentActivity> log = new ArrayList<>();
+        log.add(activity(TimelineEventType.INCIDENT_CREATED, null, "OPEN", 1, old));
+        for (int i = 0; i < IncidentActivityLog.SNAPSHOT_INTERVAL; i++) {
+            log.add(activity(TimelineEventType.AI_ANALYSIS, null, null, 100 + i, old.plusSeconds(i + 1)));
+        }
+        // Committed last but drew a lower id from the pooled sequence
+        IncidentActivity recent = activity(TimelineEventType.STATUS_CHANGED, "OPEN", "INVESTIGATING", 2,
+                Instant.now());
+        log.add(recent);
+        when(snapshotRepository.findById(incidentId)).thenReturn(Optional.empty());
+        when(activityRepository.findByIncidentIdOrderByOccurredAtAscIdAsc(incidentId)).thenReturn(log);
+
+        IncidentActivityState state = new IncidentActivityLog(activityRepository, snapshotRepository)
+                .currentState(incidentId);
+
+        assertEquals(IncidentStatus.INVESTIGATING, state.getStatus());
+        assertEquals(log.size(), state.getEventCount());
+        ArgumentCaptor<IncidentActivitySnapshot> saved = ArgumentCaptor.forClass(IncidentActivitySnapshot.class);
+        verify(snapshotRepository).save(saved.capture());
+        assertEquals(IncidentStatus.OPEN, saved.getValue().getStatus());
+        assertEquals(log.size() - 1, saved.getValue().getEventCount());
+        assertTrue(saved.getValue().getLastOccurredAt().isBefore(recent.getOccurredAt()));
+    }
+
+    @Test
+    void testStatusChangeType() {
+        assertEquals(TimelineEventType.INCIDENT_RESOLVED,
+                IncidentActivityLog.statusChangeType(IncidentStatus.INVESTIGATING, IncidentStatus.RESOLVED));
+        assertEquals(TimelineEventType.STATUS_CHANGED,
+                IncidentActivityLog.statusChangeType(IncidentStatus.RESOLVED, IncidentStatus.CLOSED));
+        assertEquals(TimelineEventType.INCIDENT_REOPENED,
+                IncidentActivityLog.statusChangeType(IncidentStatus.CLOSED, IncidentStatus.INVESTIGATING));
+        assertEquals(TimelineEventType.STATUS_CHANGED,
+                IncidentActivityLog.statusChangeType(IncidentStatus.OPEN, IncidentStatus.INVESTIGATING));
+    }
+
+    private IncidentActivity activity(TimelineEventType type, String from, String to) {
+        return new IncidentActivity(incidentId, type, from, to, type.name());
+    }
+
+    private IncidentActivity activity(TimelineEventType type, String from, String to, long id, Instant occurredAt) {
+        IncidentActivity activity = activity(type, from, to);
+        ReflectionTestUtils.setField(activity, "id", id);
+        ReflectionTestUtils.setField(activity, "occurredAt", occurredAt);
+        return activity;
+    }
+}
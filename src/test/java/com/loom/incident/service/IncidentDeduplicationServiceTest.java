@@ -0,0 +1,105 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.repository.IncidentRepository;
+import com.loom.incident.service.IncidentDeduplicationService.Alert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IncidentDeduplicationServiceTest {
+
+    private IncidentRepository incidentRepository;
+    private IncidentService incidentService;
+    private IncidentDeduplicationService deduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        incidentRepository = Mockito.mock(IncidentRepository.class);
+        incidentService = Mockito.mock(IncidentService.class);
+        deduplicationService = new IncidentDeduplicationService(incidentRepository, incidentService);
+        when(incidentService.createIncidents(anyList())).thenAnswer(i -> {
+            List<Incident> batch = i.getArgument(0);
+            for (Incident incident : batch) {
+                incident.setId(UUID.randomUUID());
+                incident.setPublicId("INCSEN-" + incident.getTitle().length());
+            }
+            return batch;
+        });
+    }
+
+    @Test
+    void testFingerprintIgnoresVaryingParts() {
+        assertEquals(
+                IncidentDeduplicationService.fingerprint("payment-service", "Timeout after 3000ms on pod 7", "LATENCY"),
+                IncidentDeduplicationService.fingerprint("Payment-Service", "timeout after 5000ms on  pod 12", "latency"));
+        assertNotEquals(
+                IncidentDeduplicationService.fingerprint("payment-service", "Timeout", "LATENCY"),
+                IncidentDeduplicationService.fingerprint("auth-service", "Timeout", "LATENCY"));
+    }
+
+    @Test
+    void testIntake_GroupsRepeatsWithinBatchAndAgainstOpenIncidents() {
+        // First alert opens the incident; the repeat in the same batch is grouped
+        var first = deduplicationService.intake(List.of(
+                new Alert(alert("Disk full on node 1"), "DISK"),
+                new Alert(alert("Disk full on node 2"), "DISK")));
+
+        assertEquals(1, first.created());
+        assertEquals(1, first.deduplicated());
+        assertEquals(first.publicIds().get(0), first.publicIds().get(1));
+
+        // A later repeat only increments the open incident
+        when(incidentRepository.incrementOccurrences(any(), eq(1), any(), any())).thenReturn(1);
+        var second = deduplicationService.intake(List.of(new Alert(alert("Disk full on node 3"), "DISK")));
+
+        assertEquals(0, second.created());
+        assertEquals(first.publicIds().get(0), second.publicIds().get(0));
+        verify(incidentService, times(1)).createIncidents(anyList());
+    }
+
+    @Test
+    void testIntake_ReopensWhenGroupedIncidentWasResolved() {
+        deduplicationService.intake(List.of(new Alert(alert("Queue backlog"), "QUEUE")));
+
+        // The open incident was resolved elsewhere: the conditional update matches nothing
+        when(incidentRepository.incrementOccurrences(any(), anyInt(), any(), any())).thenReturn(0);
+        var result = deduplicationService.intake(List.of(new Alert(alert("Queue backlog"), "QUEUE")));
+
+        assertEquals(1, result.created());
+        verify(incidentService, times(2)).createIncidents(anyList());
+    }
+
+    @Test
+    void testIntake_GroupsIntoIncidentOpenedConcurrentlyByAnotherInstance() {
+        String fingerprint = IncidentDeduplicationService.fingerprint("storage", "Disk full", "DISK");
+        UUID otherId = UUID.randomUUID();
+        when(incidentService.createIncidents(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uq_incidents_open_fingerprint"));
+        when(incidentRepository.findFingerprintsByStatusIn(any()))
+                .thenReturn(List.<Object[]>of(new Object[] { fingerprint, otherId, "INCSEN-77" }));
+        when(incidentRepository.incrementOccurrences(eq(otherId), eq(1), any(), any())).thenReturn(1);
+
+        var result = deduplicationService.intake(List.of(new Alert(alert("Disk full"), "DISK")));
+
+        assertEquals(0, result.created());
+        assertEquals(1, result.deduplicated());
+        assertEquals(List.of("INCSEN-77"), result.publicIds());
+        verify(incidentService, times(1)).createIncidents(anyList());
+    }
+
+    private static Incident alert(String title) {
+        Incident incident = new Incident();
+        incident.setService("storage");
+        incident.setTitle(title);
+        return incident;
+    }
+}
@@ -0,0 +1,120 @@
+package com.loom.incident.service;
+
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentJobType;
+import com.loom.incident.event.IncidentsCreatedEvent;
+import com.loom.incident.repository.IncidentRepository;
+import com.loom.incident.service.IncidentIndexService.ResolvedIncidentDto;
+import com.loom.integration.cicd.DeploymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IncidentEnrichmentServiceTest {
+
+    private IncidentRepository incidentRepository;
+    private IncidentIndexService incidentIndexService;
+    private IncidentVectorService incidentVectorService;
+    private DeploymentService deploymentService;
+    private IncidentJobQueue jobQueue;
+    private IncidentEnrichmentService enrichmentService;
+
+    @BeforeEach
+    void setUp() {
+        incidentRepository = Mockito.mock(IncidentRepository.class);
+        incidentIndexService = Mockito.mock(IncidentIndexService.class);
+        incidentVectorService = Mockito.mock(IncidentVectorService.class);
+        deploymentService = Mockito.mock(DeploymentService.class);
+        jobQueue = Mockito.mock(IncidentJobQueue.class);
+        when(deploymentService.findRecentDeployments(anyString(), anyString())).thenReturn(Collections.emptyList());
+        enrichmentService = new IncidentEnrichmentService(incidentRepository, deploymentService,
+                incidentIndexService, incidentVectorService, Mockito.mock(ApplicationEventPublisher.class), Runnable::run,
+                Mockito.mock(IncidentActivityLog.class), jobQueue);
+        when(incidentVectorService.vectorFor(any(Incident.class), any())).thenReturn(new float[] { 0.1f, 0.2f });
+    }
+
+    @Test
+    void testEnrich_DetectsRecurring() {
+        // Arrange
+        Incident incident = newIncident("payment-service", "Payment timeout error");
+        when(incidentRepository.findById(incident.getId())).thenReturn(Optional.of(incident));
+
+        ResolvedIncidentDto self = similar(incident.getId().toString(), 1.0, incident.getCreatedAt());
+        ResolvedIncidentDto similar1 = similar(UUID.randomUUID().toString(), 0.90,
+                Instant.now().minusSeconds(86400)); // 1 day ago
+        Instant twoDaysAgo = Instant.now().minusSeconds(172800);
+        ResolvedIncidentDto similar2 = similar(UUID.randomUUID().toString(), 0.88, twoDaysAgo);
+        ResolvedIncidentDto unrelated = similar(UUID.randomUUID().toString(), 0.40, Instant.now());
+
+        when(incidentIndexService.findSimilarIncidents(any(float[].class), anyInt()))
+                .thenReturn(List.of(self, similar1, similar2, unrelated));
+
+        // Act
+        enrichmentService.enrich(incident.getId());
+
+        // Assert: the incident's own index document is not counted
+        verify(incidentRepository).updateRecurrence(eq(incident.getId()), eq(true), eq(3), eq(twoDaysAgo));
+    }
+
+    @Test
+    void testEnrich_NoRecurring() {
+        // Arrange
+        Incident incident = newIncident("auth-service", "Unique error");
+        when(incidentRepository.findById(incident.getId())).thenReturn(Optional.of(incident));
+        when(incidentIndexService.findSimilarIncidents(any(float[].class), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        enrichmentService.enrich(incident.getId());
+
+        // Assert
+        assertFalse(incident.isRecurring());
+        verify(incidentRepository, never()).updateRecurrence(any(), any(), any(), any());
+        verify(incidentRepository, never()).updateDeploymentInsight(any(), any());
+    }
+
+    @Test
+    void testOnIncidentsCreated_QueuesJobsWhenExecutorRejects() {
+        Executor saturated = task -> {
+            throw new RejectedExecutionException("queue full");
+        };
+        IncidentEnrichmentService service = new IncidentEnrichmentService(incidentRepository, deploymentService,
+                incidentIndexService, incidentVectorService, Mockito.mock(ApplicationEventPublisher.class),
+                saturated, Mockito.mock(IncidentActivityLog.class), jobQueue);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        service.onIncidentsCreated(new IncidentsCreatedEvent(ids));
+
+        verify(jobQueue).enqueueAll(IncidentJobType.ENRICHMENT, ids);
+    }
+
+    private static Incident newIncident(String service, String description) {
+        Incident incident = new Incident();
+        incident.setId(UUID.randomUUID());
+        incident.setService(service);
+        incident.setDescription(description);
+        incident.setCreatedAt(Instant.now());
+        return incident;
+    }
+
+    private static ResolvedIncidentDto similar(String incidentId, double score, Instant createdAt) {
+        ResolvedIncidentDto dto = new ResolvedIncidentDto();
+        dto.setIncidentId(incidentId);
+        dto.setScore(score);
+        dto.setCreatedAt(createdAt.toString());
+        return dto;
+    }
+}
@@ -0,0 +1,92 @@
+package com.loom.incident.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.UpdateRequest;
+import com.loom.incident.ai.EmbeddingClient;
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentEmbedding;
+import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.domain.Severity;
+import com.loom.incident.repository.IncidentEmbeddingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IncidentIndexServiceTest {
+
+    private ElasticsearchClient elasticsearchClient;
+    private EmbeddingClient embeddingClient;
+    private IncidentEmbeddingRepository embeddingRepository;
+    private IncidentIndexService indexService;
+
+    @BeforeEach
+    void setUp() {
+        elasticsearchClient = Mockito.mock(ElasticsearchClient.class);
+        embeddingClient = Mockito.mock(EmbeddingClient.class);
+        embeddingRepository = Mockito.mock(IncidentEmbeddingRepository.class);
+        indexService = new IncidentIndexService(elasticsearchClient, embeddingClient,
+                new IncidentVectorService(embeddingRepository, embeddingClient));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIndexIncident_EditedTextResendsVectorEvenIfAlreadyEmbedded() throws Exception {
+        Incident incident = incident("Checkout latency");
+        String indexedHash = IncidentVectorService.contentHash(incident);
+
+        // The title is edited, and pattern detection embeds the new text before the relay runs
+        incident.setTitle("Checkout fails with connection pool exhausted");
+        String editedHash = IncidentVectorService.contentHash(incident);
+        float[] editedVector = { 0.1f, 0.2f, 0.3f };
+        IncidentEmbedding stored = new IncidentEmbedding(incident.getId(), editedHash, editedVector);
+        stored.setIndexedHash(indexedHash);
+        when(embeddingRepository.findById(incident.getId())).thenReturn(Optional.of(stored));
+
+        indexService.indexIncident(incident);
+
+        ArgumentCaptor<IndexRequest<Map<String, Object>>> request = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(elasticsearchClient).index(request.capture());
+        assertSame(editedVector, request.getValue().document().get("embedding"));
+        verify(elasticsearchClient, never()).update(any(UpdateRequest.class), any());
+        verify(embeddingClient, never()).getEmbedding(anyString(), any());
+        verify(embeddingRepository).markIndexed(incident.getId(), editedHash);
+    }
+
+    @Test
+    void testIndexIncident_UnchangedTextSendsPartialUpdate() throws Exception {
+        Incident incident = incident("Checkout latency");
+        String hash = IncidentVectorService.contentHash(incident);
+        IncidentEmbedding stored = new IncidentEmbedding(incident.getId(), hash, new float[] { 0.1f });
+        stored.setIndexedHash(hash);
+        when(embeddingRepository.findById(incident.getId())).thenReturn(Optional.of(stored));
+
+        incident.setStatus(IncidentStatus.RESOLVED);
+        indexService.indexIncident(incident);
+
+        verify(elasticsearchClient).update(any(UpdateRequest.class), eq(Void.class));
+        verify(elasticsearchClient, never()).index(any(IndexRequest.class));
+    }
+
+    private static Incident incident(String title) {
+        Incident incident = new Incident();
+        incident.setId(UUID.randomUUID());
+        incident.setTitle(title);
+        incident.setDescription("p99 above 2s on /checkout");
+        incident.setService("checkout-service");
+        incident.setSeverity(Severity.SEV2);
+        incident.setStatus(IncidentStatus.OPEN);
+        incident.setCreatedAt(Instant.parse("2024-05-17T10:00:00Z"));
+        return incident;
+    }
+}
@@ -0,0 +1,107 @@
+package com.loom.incident.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loom.incident.domain.IncidentJob;
+import com.loom.incident.domain.IncidentJobStatus;
+import com.loom.incident.domain.IncidentJobType;
+import com.loom.incident.repository.IncidentJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IncidentJobQueueTest {
+
+    private IncidentJobRepository jobRepository;
+    private IncidentJobQueue jobQueue;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = Mockito.mock(IncidentJobRepository.class);
+        jobQueue = new IncidentJobQueue(jobRepository, Mockito.mock(ApplicationEventPublisher.class),
+                new ObjectMapper());
+    }
+
+    @Test
+    void testEnqueue_ReturnsActiveJobForSameWork() {
+        UUID incidentId = UUID.randomUUID();
+        IncidentJob running = new IncidentJob(IncidentJobType.AI_ANALYSIS, incidentId);
+        running.setStatus(IncidentJobStatus.RUNNING);
+        when(jobRepository.findFirstByIncidentIdAndTypeAndStatusInOrderByCreatedAtDesc(eq(incidentId),
+                eq(IncidentJobType.AI_ANALYSIS), anyCollection())).thenReturn(Optional.of(running));
+
+        IncidentJob job = jobQueue.enqueue(IncidentJobType.AI_ANALYSIS, incidentId);
+
+        assertSame(running, job);
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void testEnqueue_ReturnsJobQueuedConcurrently() {
+        UUID incidentId = UUID.randomUUID();
+        IncidentJob other = new IncidentJob(IncidentJobType.AI_ANALYSIS, incidentId);
+        when(jobRepository.findFirstByIncidentIdAndTypeAndStatusInOrderByCreatedAtDesc(eq(incidentId),
+                eq(IncidentJobType.AI_ANALYSIS), anyCollection())).thenReturn(Optional.empty(), Optional.of(other));
+        when(jobRepository.insertIfNoneActive(any(), anyString(), eq(incidentId), anyInt(), anyInt(), any()))
+                .thenReturn(0);
+
+        IncidentJob job = jobQueue.enqueue(IncidentJobType.AI_ANALYSIS, incidentId);
+
+        assertSame(other, job);
+        verify(jobRepository, times(1)).insertIfNoneActive(any(), anyString(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void testFail_RetriesWithBackoffThenGivesUp() {
+        IncidentJob job = new IncidentJob(IncidentJobType.AI_ANALYSIS, UUID.randomUUID());
+        when(jobRepository.findByIdForUpdate(job.getId())).thenReturn(Optional.of(job));
+
+        job.setStatus(IncidentJobStatus.RUNNING);
+        job.setAttempts(1);
+        jobQueue.fail(job.getId(), 1, new RuntimeException("LLM timeout"));
+        assertEquals(IncidentJobStatus.QUEUED, job.getStatus());
+        assertTrue(job.getRunAfter().isAfter(Instant.now()));
+        assertEquals("LLM timeout", job.getError());
+
+        job.setStatus(IncidentJobStatus.RUNNING);
+        job.setAttempts(job.getMaxAttempts());
+        jobQueue.fail(job.getId(), job.getMaxAttempts(), new RuntimeException("LLM timeout"));
+        assertEquals(IncidentJobStatus.FAILED, job.getStatus());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void testComplete_StoresResultAsJson() {
+        IncidentJob job = new IncidentJob(IncidentJobType.CODE_CORRELATION, UUID.randomUUID());
+        job.setStatus(IncidentJobStatus.RUNNING);
+        job.setAttempts(1);
+        when(jobRepository.findByIdForUpdate(job.getId())).thenReturn(Optional.of(job));
+
+        jobQueue.complete(job.getId(), 1, java.util.List.of("abc123"));
+
+        assertEquals(IncidentJobStatus.SUCCEEDED, job.getStatus());
+        assertEquals("[\"abc123\"]", job.getResult());
+        assertEquals(100, job.getProgress());
+    }
+
+    @Test
+    void testComplete_DropsResultOfReclaimedAttempt() {
+        IncidentJob job = new IncidentJob(IncidentJobType.AI_ANALYSIS, UUID.randomUUID());
+        job.setStatus(IncidentJobStatus.RUNNING);
+        job.setAttempts(2); // Lease expired and another worker claimed it
+        when(jobRepository.findByIdForUpdate(job.getId())).thenReturn(Optional.of(job));
+
+        jobQueue.complete(job.getId(), 1, "stale analysis");
+
+        assertEquals(IncidentJobStatus.RUNNING, job.getStatus());
+        assertNull(job.getResult());
+    }
+}
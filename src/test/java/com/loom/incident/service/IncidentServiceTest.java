@@ -1,16 +1,14 @@
 package com.loom.incident.service;
 
 import com.loom.incident.domain.Incident;
+import com.loom.incident.event.IncidentsCreatedEvent;
 import com.loom.incident.repository.IncidentRepository;
-import com.loom.incident.service.IncidentIndexService.ResolvedIncidentDto;
-import com.loom.integration.cicd.DeploymentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.time.Instant;
-import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,77 +18,94 @@ import static org.mockito.Mockito.*;
 class IncidentServiceTest {
 
     private IncidentRepository incidentRepository;
-    private IncidentIndexService incidentIndexService;
-    private DeploymentService deploymentService;
+    private IncidentIndexOutbox incidentIndexOutbox;
+    private ApplicationEventPublisher eventPublisher;
+    private PublicIdAllocator publicIdAllocator;
     private IncidentService incidentService;
 
     @BeforeEach
     void setUp() {
         incidentRepository = Mockito.mock(IncidentRepository.class);
-        incidentIndexService = Mockito.mock(IncidentIndexService.class);
-        deploymentService = Mockito.mock(DeploymentService.class);
-        incidentService = new IncidentService(incidentRepository, incidentIndexService, deploymentService);
+        incidentIndexOutbox = Mockito.mock(IncidentIndexOutbox.class);
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        publicIdAllocator = Mockito.mock(PublicIdAllocator.class);
+        incidentService = new IncidentService(incidentRepository, incidentIndexOutbox, eventPublisher,
+                publicIdAllocator, Mockito.mock(IncidentResolver.class), Mockito.mock(IncidentActivityLog.class));
     }
 
     @Test
-    void testCreateIncident_DetectsRecurring() {
+    void testCreateIncident_PersistsAndDefersEnrichment() {
         // Arrange
         Incident incident = new Incident();
         incident.setService("payment-service");
         incident.setDescription("Payment timeout error");
 
         // Mock Sequence
-        when(incidentRepository.getNextSequenceValue()).thenReturn(1001L);
+        when(publicIdAllocator.next()).thenReturn(1001L);
         when(incidentRepository.save(any(Incident.class))).thenAnswer(i -> {
             Incident saved = (Incident) i.getArgument(0);
             saved.setId(java.util.UUID.randomUUID());
             return saved;
         });
 
-        // Mock Similar Incidents
-        ResolvedIncidentDto similar1 = new ResolvedIncidentDto();
-        similar1.setScore(0.90);
-        similar1.setCreatedAt(Instant.now().minusSeconds(86400).toString()); // 1 day ago
-
-        ResolvedIncidentDto similar2 = new ResolvedIncidentDto();
-        similar2.setScore(0.88);
-        similar2.setCreatedAt(Instant.now().minusSeconds(172800).toString()); // 2 days ago
-
-        when(incidentIndexService.findSimilarIncidents(anyString(), anyInt()))
-                .thenReturn(List.of(similar1, similar2));
-
         // Act
         Incident result = incidentService.createIncident(incident);
 
         // Assert
         assertNotNull(result);
-        assertTrue(result.isRecurring());
-        assertEquals(3, result.getRecurringCount()); // 2 similar + 1 current
-        assertNotNull(result.getFirstSeen());
+        assertEquals("INCSEN-1001", result.getPublicId());
+        assertFalse(result.isRecurring()); // filled in asynchronously
+        verify(incidentIndexOutbox).enqueue(result);
 
-        // Verify index called
-        verify(incidentIndexService).findSimilarIncidents(eq("Payment timeout error"), eq(10));
-        verify(incidentIndexService).indexIncidentAsync(result);
+        ArgumentCaptor<IncidentsCreatedEvent> event = ArgumentCaptor.forClass(IncidentsCreatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(result.getId()), event.getValue().incidentIds());
     }
 
     @Test
-    void testCreateIncident_NoRecurring() {
+    void testCreateIncident_KeepsExistingPublicId() {
         // Arrange
         Incident incident = new Incident();
         incident.setService("auth-service");
-        incident.setDescription("Unique error");
+        incident.setPublicId("INCSEN-42");
 
-        when(incidentRepository.getNextSequenceValue()).thenReturn(1002L);
-        when(incidentRepository.save(any(Incident.class))).thenReturn(incident);
-        when(incidentIndexService.findSimilarIncidents(anyString(), anyInt()))
-                .thenReturn(Collections.emptyList());
+        when(incidentRepository.save(any(Incident.class))).thenAnswer(i -> {
+            Incident saved = (Incident) i.getArgument(0);
+            saved.setId(java.util.UUID.randomUUID());
+            return saved;
+        });
 
         // Act
         Incident result = incidentService.createIncident(incident);
 
         // Assert
-        assertFalse(result.isRecurring());
-        assertEquals(0, result.getRecurringCount());
-        verify(incidentIndexService).findSimilarIncidents(anyString(), anyInt());
+        assertEquals("INCSEN-42", result.getPublicId());
+        verify(publicIdAllocator, never()).next();
+    }
+
+    @Test
+    void testCreateIncidents_AllocatesIdsOnceForBatch() {
+        // Arrange
+        Incident first = new Incident();
+        Incident second = new Incident();
+        Incident preassigned = new Incident();
+        preassigned.setPublicId("INCSEN-7");
+
+        when(publicIdAllocator.allocate(2)).thenReturn(List.of(2000L, 2001L));
+        when(incidentRepository.saveAll(anyList())).thenAnswer(i -> {
+            List<Incident> batch = i.getArgument(0);
+            batch.forEach(incident -> incident.setId(java.util.UUID.randomUUID()));
+            return batch;
+        });
+
+        // Act
+        List<Incident> result = incidentService.createIncidents(List.of(first, second, preassigned));
+
+        // Assert
+        assertEquals(List.of("INCSEN-2000", "INCSEN-2001", "INCSEN-7"),
+                result.stream().map(Incident::getPublicId).toList());
+        verify(publicIdAllocator, times(1)).allocate(2);
+        verify(incidentIndexOutbox, times(1)).enqueueAll(anyList());
+        verify(eventPublisher, times(1)).publishEvent(any(IncidentsCreatedEvent.class));
     }
 }
@@ -0,0 +1,166 @@
+package com.loom.incident.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.loom.incident.ai.EmbeddingPriority;
+import com.loom.incident.domain.Incident;
+import com.loom.incident.domain.IncidentEmbedding;
+import com.loom.incident.domain.IncidentStatus;
+import com.loom.incident.domain.Severity;
+import com.loom.incident.repository.IncidentEmbeddingRepository;
+import com.loom.incident.repository.IncidentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IncidentTransferServiceTest {
+
+    private EntityManager entityManager;
+    private IncidentRepository incidentRepository;
+    private IncidentEmbeddingRepository embeddingRepository;
+    private IncidentVectorService incidentVectorService;
+    private PublicIdAllocator publicIdAllocator;
+    private ObjectMapper objectMapper;
+    private IncidentTransferService transferService;
+
+    // Public IDs committed by earlier imports
+    private final Set<String> stored = new HashSet<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        entityManager = Mockito.mock(EntityManager.class);
+        incidentRepository = Mockito.mock(IncidentRepository.class);
+        embeddingRepository = Mockito.mock(IncidentEmbeddingRepository.class);
+        incidentVectorService = Mockito.mock(IncidentVectorService.class);
+        publicIdAllocator = Mockito.mock(PublicIdAllocator.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        transferService = new IncidentTransferService(entityManager, incidentRepository, embeddingRepository,
+                incidentVectorService, Mockito.mock(IncidentIndexService.class),
+                Mockito.mock(IncidentIndexOutbox.class), publicIdAllocator,
+                Mockito.mock(IncidentDeduplicationService.class), objectMapper, Runnable::run,
+                Mockito.mock(PlatformTransactionManager.class));
+
+        when(incidentRepository.findExistingPublicIds(anyCollection())).thenAnswer(inv -> ((Collection<String>) inv
+                .getArgument(0)).stream().filter(stored::contains).toList());
+        when(incidentRepository.saveAll(any())).thenAnswer(inv -> store(inv.getArgument(0)));
+        when(incidentVectorService.vectorFor(any(Incident.class), eq(EmbeddingPriority.BULK)))
+                .thenReturn(new float[] { 0.5f, 0.5f });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportThenImport_RoundTripsRowsAndVectors() throws Exception {
+        Incident withVector = newIncident("INCSEN-7", "Checkout latency");
+        Incident withoutVector = newIncident("INCSEN-12", "Login failures");
+        float[] vector = { 0.1f, 0.2f, 0.3f };
+        TypedQuery<Incident> query = Mockito.mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Incident.class))).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(withVector, withoutVector));
+        when(embeddingRepository.findAllById(any())).thenReturn(List.of(new IncidentEmbedding(withVector.getId(),
+                IncidentVectorService.contentHash(withVector), vector)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transferService.exportIncidents(out, true);
+        IncidentTransferService.ImportResult result = transferService
+                .importIncidents(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.embedded());
+        ArgumentCaptor<List<Incident>> saved = ArgumentCaptor.forClass(List.class);
+        verify(incidentRepository).saveAll(saved.capture());
+        List<Incident> imported = saved.getValue();
+        assertEquals(List.of("INCSEN-7", "INCSEN-12"), imported.stream().map(Incident::getPublicId).toList());
+        assertEquals(withVector.getTitle(), imported.get(0).getTitle());
+        assertEquals(withVector.getCreatedAt(), imported.get(0).getCreatedAt());
+        assertEquals(12L, imported.get(1).getSequenceId());
+
+        ArgumentCaptor<List<IncidentEmbedding>> embeddings = ArgumentCaptor.forClass(List.class);
+        verify(embeddingRepository).saveAll(embeddings.capture());
+        assertEquals(1, embeddings.getValue().size());
+        assertArrayEquals(vector, embeddings.getValue().get(0).getVector());
+
+        // The sequence moves past the imported IDs before the rows are written
+        InOrder order = inOrder(incidentRepository, publicIdAllocator);
+        order.verify(incidentRepository).advanceSequenceTo(12L);
+        order.verify(publicIdAllocator).discardPool();
+        order.verify(incidentRepository).saveAll(any());
+    }
+
+    @Test
+    void testImport_ResumesAfterFailedBatch() throws Exception {
+        int rows = IncidentTransferService.BATCH_SIZE + 1;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            for (int i = 1; i <= rows; i++) {
+                writer.write(IncidentTransferService.IncidentRecord.of(newIncident("INCSEN-" + i, "Row " + i), null));
+            }
+        }
+        byte[] file = out.toByteArray();
+
+        AtomicBoolean failSecondBatch = new AtomicBoolean(true);
+        doAnswer(inv -> {
+            List<Incident> batch = inv.getArgument(0);
+            if (failSecondBatch.get() && batch.size() < IncidentTransferService.BATCH_SIZE) {
+                throw new IllegalStateException("connection lost");
+            }
+            return store(batch);
+        }).when(incidentRepository).saveAll(any());
+
+        assertThrows(IllegalStateException.class, () -> transferService.importIncidents(new ByteArrayInputStream(file)));
+        // The failed batch still reserved its public IDs
+        verify(incidentRepository).advanceSequenceTo((long) rows);
+        assertEquals(IncidentTransferService.BATCH_SIZE, stored.size());
+
+        failSecondBatch.set(false);
+        IncidentTransferService.ImportResult result = transferService.importIncidents(new ByteArrayInputStream(file));
+
+        assertEquals(1, result.imported());
+        assertEquals(IncidentTransferService.BATCH_SIZE, result.skipped());
+        assertTrue(stored.contains("INCSEN-" + rows));
+    }
+
+    private List<Incident> store(List<Incident> batch) {
+        for (Incident incident : batch) {
+            incident.setId(UUID.randomUUID());
+            stored.add(incident.getPublicId());
+        }
+        return new ArrayList<>(batch);
+    }
+
+    private static Incident newIncident(String publicId, String title) {
+        Incident incident = new Incident();
+        incident.setId(UUID.randomUUID());
+        incident.setPublicId(publicId);
+        incident.setSequenceId(PublicIdAllocator.sequenceOf(publicId));
+        incident.setTitle(title);
+        incident.setDescription(title + " in production");
+        incident.setSeverity(Severity.SEV2);
+        incident.setStatus(IncidentStatus.OPEN);
+        incident.setService("checkout-service");
+        incident.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        return incident;
+    }
+}
@@ -0,0 +1,31 @@
+package com.loom.incident_intelligence.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+class EmbeddingLanesTest {
+
+    @Test
+    void testLongPromptDoesNotShrinkBulkLimit() {
+        EmbeddingLanes lanes = new EmbeddingLanes(8, Duration.ofMillis(500));
+
+        // 2 s for a 4096-token prompt is ~62 ms at the reference size
+        lanes.recordInteractiveLatency(2000, 4096);
+
+        Map<String, Object> snapshot = lanes.snapshot();
+        Assertions.assertEquals(8, snapshot.get("bulkLimit"));
+        Assertions.assertEquals(62.5, (double) snapshot.get("interactiveLatencyEwmaMs"), 0.01);
+    }
+
+    @Test
+    void testSlowShortPromptShrinksBulkLimit() {
+        EmbeddingLanes lanes = new EmbeddingLanes(8, Duration.ofMillis(500));
+
+        lanes.recordInteractiveLatency(2000, 20);
+
+        Assertions.assertEquals(4, lanes.snapshot().get("bulkLimit"));
+    }
+}
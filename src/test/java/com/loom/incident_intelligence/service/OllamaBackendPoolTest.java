@@ -0,0 +1,61 @@
+package com.loom.incident_intelligence.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+class OllamaBackendPoolTest {
+
+    @Test
+    void testRoutesToLeastOutstandingBackend() throws Exception {
+        OllamaBackendPool pool = new OllamaBackendPool("chat", List.of(
+                new OllamaBackendPool.Backend("http://a", 2, Set.of()),
+                new OllamaBackendPool.Backend("http://b", 2, Set.of())), 3, Duration.ofSeconds(30));
+
+        OllamaBackendPool.Lease first = pool.acquire("llama3");
+        OllamaBackendPool.Lease second = pool.acquire("llama3");
+
+        Assertions.assertNotEquals(first.getBaseUrl(), second.getBaseUrl());
+
+        first.close();
+        OllamaBackendPool.Lease third = pool.acquire("llama3");
+        Assertions.assertEquals(first.getBaseUrl(), third.getBaseUrl());
+    }
+
+    @Test
+    void testOnlyRoutesToBackendsServingModel() throws Exception {
+        OllamaBackendPool pool = new OllamaBackendPool("embedding", List.of(
+                new OllamaBackendPool.Backend("http://gpu", 4, Set.of("llama3")),
+                new OllamaBackendPool.Backend("http://cpu", 4, Set.of("nomic-embed-text"))), 3,
+                Duration.ofSeconds(30));
+
+        try (OllamaBackendPool.Lease lease = pool.acquire("nomic-embed-text")) {
+            Assertions.assertEquals("http://cpu", lease.getBaseUrl());
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> pool.acquire("mistral"));
+    }
+
+    @Test
+    void testEjectsBackendAfterConsecutiveFailures() throws Exception {
+        OllamaBackendPool pool = new OllamaBackendPool("chat", List.of(
+                new OllamaBackendPool.Backend("http://a", 1, Set.of()),
+                new OllamaBackendPool.Backend("http://b", 1, Set.of())), 2, Duration.ofMinutes(5));
+
+        for (int i = 0; i < 2; i++) {
+            try (OllamaBackendPool.Lease a = pool.acquire("llama3")) {
+                Assertions.assertEquals("http://a", a.getBaseUrl());
+                a.markFailure();
+            }
+        }
+
+        // "a" is ejected, so every request goes to "b" even when both are idle
+        for (int i = 0; i < 3; i++) {
+            try (OllamaBackendPool.Lease lease = pool.acquire("llama3")) {
+                Assertions.assertEquals("http://b", lease.getBaseUrl());
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.loom.sentinel.ask.service;
+
+import com.loom.incident.ai.EmbeddingClient;
+import com.loom.incident.ai.OpenAiChatClient;
+import com.loom.incident.domain.Incident;
+import com.loom.incident.service.IncidentSearchService;
+import com.loom.sentinel.log.model.LogSearchHit;
+import com.loom.sentinel.log.service.LogTemplateVectorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AskSentinelServiceTest {
+
+    private static final String QUESTION = "Why is checkout failing?";
+
+    private final EmbeddingClient embeddingClient = mock(EmbeddingClient.class);
+    private final IncidentSearchService incidentSearchService = mock(IncidentSearchService.class);
+    private final OpenAiChatClient chatClient = mock(OpenAiChatClient.class);
+    private final LogTemplateVectorService logTemplateVectorService = mock(LogTemplateVectorService.class);
+    private final AskSentinelService service = new AskSentinelService(embeddingClient, incidentSearchService,
+            chatClient, logTemplateVectorService);
+
+    @BeforeEach
+    void setUp() {
+        when(chatClient.complete(anyString(), anyString())).thenReturn("ROOT_CAUSE");
+        when(embeddingClient.getEmbedding(anyString())).thenReturn(List.of(0.1, 0.2));
+
+        Incident weak = new Incident();
+        weak.setPublicId("INCSEN-7");
+        weak.setTitle("Unrelated cache eviction");
+        when(incidentSearchService.findByVector(anyList(), anyInt()))
+                .thenReturn(List.of(new IncidentSearchService.ScoredIncident(weak, 0.5)));
+    }
+
+    @Test
+    void testProcessQuery_LogMatchGroundsAnswerWithoutWeakIncidents() {
+        when(logTemplateVectorService.search(anyList(), isNull(), any(), anyInt())).thenReturn(List.of(
+                new LogSearchHit("3f2a9c1d", "Payment gateway timeout after <*> ms", 0.9, 42,
+                        Instant.parse("2024-05-01T12:00:00Z"), List.of())));
+
+        String prompt = systemPrompt();
+
+        assertTrue(prompt.contains("STRICT INSTRUCTIONS"));
+        assertTrue(prompt.contains("[LOG:3f2a9c1d]"));
+        assertFalse(prompt.contains("INCSEN-7"));
+    }
+
+    @Test
+    void testProcessQuery_FallsBackWhenNothingMatches() {
+        when(logTemplateVectorService.search(anyList(), isNull(), any(), anyInt())).thenReturn(List.of(
+                new LogSearchHit("3f2a9c1d", "Payment gateway timeout after <*> ms", 0.6, 42,
+                        Instant.parse("2024-05-01T12:00:00Z"), List.of())));
+
+        String prompt = systemPrompt();
+
+        assertTrue(prompt.contains("Based on inferred patterns"));
+        assertFalse(prompt.contains("INCSEN-7"));
+    }
+
+    private String systemPrompt() {
+        service.processQuery(QUESTION, mock(SseEmitter.class));
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(chatClient, timeout(5000)).streamChat(prompt.capture(), eq(QUESTION), any());
+        return prompt.getValue();
+    }
+}
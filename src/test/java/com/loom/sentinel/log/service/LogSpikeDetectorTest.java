@@ -0,0 +1,114 @@
+package com.loom.sentinel.log.service;
+
+import com.loom.sentinel.log.model.LogSpike;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSpikeDetectorTest {
+
+    private static final long WINDOW_MS = 30_000;
+
+    private final LogSpikeDetector.Settings settings = new LogSpikeDetector.Settings(256, 4, 8, 0.2, 3, 4.0, 10,
+            WINDOW_MS);
+    private Instant clock = Instant.parse("2024-05-01T12:00:00Z");
+
+    @Test
+    void testClose_QuietDuringWarmupAndSteadyTraffic() {
+        LogSpikeDetector.ServiceState state = new LogSpikeDetector.ServiceState("payment-service", settings, clock);
+
+        for (int window = 0; window < 10; window++) {
+            record(state, "ERROR", "t-db", 20);
+            assertTrue(state.close(advance(WINDOW_MS)).isEmpty());
+        }
+    }
+
+    @Test
+    void testClose_FlagsTemplateSpikeAgainstBaseline() {
+        LogSpikeDetector.ServiceState state = new LogSpikeDetector.ServiceState("payment-service", settings, clock);
+        for (int window = 0; window < 5; window++) {
+            record(state, "WARN", "t-retry", 5);
+            state.close(advance(WINDOW_MS));
+        }
+
+        record(state, "WARN", "t-retry", 80);
+        List<LogSpike> spikes = state.close(advance(WINDOW_MS));
+
+        assertEquals(1, spikes.size());
+        assertEquals(LogSpike.Kind.TEMPLATE_SPIKE, spikes.get(0).kind());
+        assertEquals("t-retry", spikes.get(0).templateId());
+        assertEquals(80, spikes.get(0).count());
+    }
+
+    @Test
+    void testClose_FlagsNewErrorTemplateAndErrorRate() {
+        LogSpikeDetector.ServiceState state = new LogSpikeDetector.ServiceState("payment-service", settings, clock);
+        for (int window = 0; window < 5; window++) {
+            record(state, "INFO", "t-ok", 100);
+            state.close(advance(WINDOW_MS));
+        }
+
+        record(state, "ERROR", "t-oom", 40);
+        List<LogSpike> spikes = state.close(advance(WINDOW_MS));
+
+        assertTrue(spikes.stream().anyMatch(s -> s.kind() == LogSpike.Kind.NEW_TEMPLATE
+                && "t-oom".equals(s.templateId())));
+        assertTrue(spikes.stream().anyMatch(s -> s.kind() == LogSpike.Kind.ERROR_RATE));
+    }
+
+    @Test
+    void testClose_ScalesElongatedWindowToNominalLength() {
+        LogSpikeDetector.ServiceState state = new LogSpikeDetector.ServiceState("payment-service", settings, clock);
+        for (int window = 0; window < 5; window++) {
+            record(state, "ERROR", "t-db", 20);
+            state.close(advance(WINDOW_MS));
+        }
+
+        // Same rate, but the close ran four windows late
+        record(state, "ERROR", "t-db", 100);
+        assertTrue(state.close(advance(5 * WINDOW_MS)).isEmpty());
+
+        // A real spike is still caught in a stretched window
+        record(state, "ERROR", "t-db", 400);
+        List<LogSpike> spikes = state.close(advance(2 * WINDOW_MS));
+        assertTrue(spikes.stream().anyMatch(s -> s.kind() == LogSpike.Kind.TEMPLATE_SPIKE && s.count() == 200));
+    }
+
+    @Test
+    void testSpaceSaving_KeepsFrequentKeys() {
+        SpaceSaving heavy = new SpaceSaving(3);
+        for (int i = 0; i < 100; i++) {
+            heavy.add("hot", 1);
+            heavy.add("cold-" + i, 1);
+        }
+
+        assertEquals("hot", heavy.top().get(0).key());
+        assertEquals(100, heavy.top().get(0).count());
+    }
+
+    @Test
+    void testCountMinSketch_NeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        for (int i = 0; i < 500; i++) {
+            sketch.add("key-" + (i % 50), 1);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(sketch.estimate("key-" + i) >= 10);
+        }
+    }
+
+    private Instant advance(long millis) {
+        clock = clock.plusMillis(millis);
+        return clock;
+    }
+
+    private static void record(LogSpikeDetector.ServiceState state, String level, String templateId, int times) {
+        for (int i = 0; i < times; i++) {
+            state.record(level, templateId);
+        }
+    }
+}
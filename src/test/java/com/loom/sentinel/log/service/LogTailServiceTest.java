@@ -0,0 +1,85 @@
+package com.loom.sentinel.log.service;
+
+import com.loom.sentinel.log.model.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTailServiceTest {
+
+    // Sends never run, so entries stay in the subscriber's buffer
+    private final LogTailService tail = new LogTailService(task -> {
+    }, 2, 100, 10, 60_000);
+
+    @Test
+    void testPublish_BuffersMatchingEntriesAndCountsDrops() {
+        tail.subscribe(new LogTailService.Filter("payment-service", Set.of("ERROR"), null, null));
+
+        tail.publish(List.of(
+                entry("payment-service", "ERROR"),
+                entry("payment-service", "INFO"),
+                entry("order-service", "ERROR"),
+                entry("payment-service", "ERROR"),
+                entry("payment-service", "ERROR")));
+
+        Map<String, Object> stats = onlyTail();
+        assertEquals(2, stats.get("buffered"));
+        assertEquals(1L, stats.get("dropped"));
+    }
+
+    @Test
+    void testPublish_UnfilteredTailSeesEveryService() {
+        tail.subscribe(new LogTailService.Filter(null, null, null, "trace-1"));
+
+        LogEntry first = entry("payment-service", "INFO");
+        first.setTraceId("trace-1");
+        LogEntry second = entry("order-service", "WARN");
+        second.setTraceId("trace-1");
+        tail.publish(List.of(first, second, entry("order-service", "WARN")));
+
+        assertEquals(2, onlyTail().get("buffered"));
+    }
+
+    @Test
+    void testSubscribe_RejectsBeyondLimit() {
+        LogTailService small = new LogTailService(task -> {
+        }, 2, 100, 1, 60_000);
+        small.subscribe(new LogTailService.Filter(null, null, null, null));
+
+        assertThrows(ResponseStatusException.class,
+                () -> small.subscribe(new LogTailService.Filter(null, null, null, null)));
+    }
+
+    @Test
+    void testHeartbeat_SendsOnExecutorAndSkipsTailsMidSend() {
+        List<Runnable> sends = new ArrayList<>();
+        LogTailService queued = new LogTailService(sends::add, 2, 100, 10, 60_000);
+        queued.subscribe(new LogTailService.Filter(null, null, null, null));
+
+        queued.heartbeat();
+        queued.heartbeat();
+        assertEquals(1, sends.size());
+
+        sends.get(0).run();
+        queued.heartbeat();
+        assertEquals(2, sends.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> onlyTail() {
+        List<Map<String, Object>> tails = (List<Map<String, Object>>) tail.snapshot().get("tails");
+        assertEquals(1, tails.size());
+        return tails.get(0);
+    }
+
+    private static LogEntry entry(String service, String level) {
+        return new LogEntry(null, Instant.now(), service, level, "message", "v1", null, null);
+    }
+}
@@ -0,0 +1,103 @@
+package com.loom.sentinel.log.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTemplateMinerTest {
+
+    private final LogTemplateMiner miner = new LogTemplateMiner(4, 0.4, 100);
+
+    @Test
+    void testAdd_MasksNumericTokensAndKeepsId() {
+        LogTemplateMiner.Template first = miner.add("Processing payment - 1a2b3c4d", Instant.now());
+        LogTemplateMiner.Template second = miner.add("Processing payment - 9f8e7d6c", Instant.now());
+
+        assertEquals(first.id(), second.id());
+        assertEquals("Processing payment - <*>", second.template());
+        assertEquals(2, second.count());
+    }
+
+    @Test
+    void testAdd_GeneralizesDifferingTokens() {
+        LogTemplateMiner.Template first = miner.add("User alice logged in from web", null);
+        LogTemplateMiner.Template second = miner.add("User alice logged in from mobile", null);
+
+        assertEquals(first.id(), second.id());
+        assertEquals("User alice logged in from <*>", second.template());
+    }
+
+    @Test
+    void testAdd_SeparatesMessagesSharingAPrefix() {
+        LogTemplateMiner.Template oom = miner.add("java.lang.OutOfMemoryError: Java heap space", null);
+        LogTemplateMiner.Template meta = miner.add("java.lang.OutOfMemoryError: Metaspace", null);
+        LogTemplateMiner.Template db = miner.add("ConnectionTimeoutException: Database pool exhausted", null);
+
+        assertNotEquals(oom.id(), meta.id());
+        assertNotEquals(oom.id(), db.id());
+        assertEquals(3, miner.size());
+    }
+
+    @Test
+    void testMatch_DoesNotCreateTemplates() {
+        assertNull(miner.match("Health check OK"));
+        assertEquals(0, miner.size());
+
+        LogTemplateMiner.Template added = miner.add("Health check OK", null);
+        assertEquals(added.id(), miner.match("Health check OK").id());
+        assertEquals(1, miner.get(added.id()).count());
+    }
+
+    @Test
+    void testRestore_KeepsIdsAcrossInstances() {
+        LogTemplateMiner.Template original = miner.add("Checking inventory - 42", Instant.now());
+
+        LogTemplateMiner restored = new LogTemplateMiner(4, 0.4, 100);
+        restored.restore(original);
+        LogTemplateMiner.Template next = restored.add("Checking inventory - 43", Instant.now());
+
+        assertEquals(original.id(), next.id());
+        assertEquals(2, next.count());
+    }
+
+    @Test
+    void testRestore_AddsToTemplateMinedBeforeLoad() {
+        Instant firstSeen = Instant.parse("2024-01-01T00:00:00Z");
+        LogTemplateMiner.Template stored = new LogTemplateMiner.Template(
+                miner.add("Checking inventory - 42", Instant.now()).id(), "Checking inventory - <*>", 4, 10,
+                firstSeen, firstSeen.plusSeconds(60));
+        miner.drainDirty();
+
+        miner.restore(stored);
+
+        LogTemplateMiner.Template merged = miner.get(stored.id());
+        assertEquals(11, merged.count());
+        assertEquals(firstSeen, merged.firstSeen());
+        assertEquals(List.of(merged), miner.drainDirty());
+    }
+
+    @Test
+    void testDrainDirty_ReturnsChangedTemplatesOnce() {
+        miner.add("Validating user - 1", null);
+        miner.add("Validating user - 2", null);
+
+        List<LogTemplateMiner.Template> changed = miner.drainDirty();
+        assertEquals(1, changed.size());
+        assertTrue(miner.drainDirty().isEmpty());
+    }
+
+    @Test
+    void testAssign_CountsOnlyWhenRecorded() {
+        LogTemplateMiner.Template assigned = miner.assign("Writing batch - 7");
+
+        assertEquals(0, miner.get(assigned.id()).count());
+        assertTrue(miner.drainDirty().isEmpty());
+
+        miner.record(assigned.id(), Instant.now());
+        assertEquals(1, miner.get(assigned.id()).count());
+        assertEquals(1, miner.drainDirty().size());
+    }
+}
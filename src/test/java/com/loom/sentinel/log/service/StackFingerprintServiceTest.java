@@ -0,0 +1,78 @@
+package com.loom.sentinel.log.service;
+
+import com.loom.sentinel.log.model.LogEntry;
+import com.loom.sentinel.log.model.StackFingerprint;
+import com.loom.sentinel.log.repository.StackFingerprintRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StackFingerprintServiceTest {
+
+    private static final String STACK_TRACE = """
+            java.lang.IllegalStateException: Order 4711 has no items
+            \tat com.loom.order.OrderService.submit(OrderService.java:88)
+            \tat com.loom.order.OrderController.create(OrderController.java:31)""";
+
+    private final StackFingerprintRepository repository = mock(StackFingerprintRepository.class);
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+    private final StackFingerprintService service = new StackFingerprintService(repository, operations,
+            List.of("com.loom"), 5, 100);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WaitsForLoadAndKeepsStoredFirstOccurrence() {
+        Instant firstSeen = Instant.parse("2024-01-01T00:00:00Z");
+        LogEntry entry = new LogEntry();
+        entry.setId("log-2");
+        entry.setService("order-service");
+        entry.setDeploymentVersion("v2");
+        entry.setTimestamp(Instant.parse("2024-05-01T12:00:00Z"));
+        entry.setStackTrace(STACK_TRACE);
+        service.fingerprintAll(List.of(entry));
+
+        StackFingerprint stored = new StackFingerprint(entry.getFingerprint(), "java.lang.IllegalStateException",
+                List.of("com.loom.order.OrderService.submit"));
+        stored.setCount(40);
+        stored.setServices(List.of("payment-service"));
+        stored.setFirstSeen(firstSeen);
+        stored.setFirstSeenService("payment-service");
+        stored.setFirstSeenVersion("v1");
+        stored.setLastSeen(firstSeen.plusSeconds(60));
+        SearchHit<StackFingerprint> hit = mock(SearchHit.class);
+        when(hit.getContent()).thenReturn(stored);
+        SearchHitsIterator<StackFingerprint> hits = mock(SearchHitsIterator.class);
+        when(hits.hasNext()).thenReturn(true, false);
+        when(hits.next()).thenReturn(hit);
+        when(operations.searchForStream(any(Query.class), eq(StackFingerprint.class)))
+                .thenThrow(new RuntimeException("unavailable"))
+                .thenThrow(new RuntimeException("unavailable"))
+                .thenReturn(hits);
+
+        service.load();
+        service.recordAll(List.of(entry));
+        service.flush();
+        verify(repository, never()).saveAll(any());
+
+        service.flush();
+
+        ArgumentCaptor<List<StackFingerprint>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        StackFingerprint merged = saved.getValue().get(0);
+        assertEquals(41, merged.getCount());
+        assertEquals(firstSeen, merged.getFirstSeen());
+        assertEquals("v1", merged.getFirstSeenVersion());
+        assertEquals("v2", merged.getLastSeenVersion());
+        assertEquals(List.of("payment-service", "order-service"), merged.getServices());
+    }
+}
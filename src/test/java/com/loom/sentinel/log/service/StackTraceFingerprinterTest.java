@@ -0,0 +1,71 @@
+package com.loom.sentinel.log.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StackTraceFingerprinterTest {
+
+    private final StackTraceFingerprinter fingerprinter = new StackTraceFingerprinter(List.of("com.loom"), 3);
+
+    @Test
+    void testFingerprint_IgnoresLineNumbersMessagesAndLambdas() {
+        String first = """
+                java.lang.IllegalStateException: Order 4711 has no items
+                \tat com.loom.order.OrderService.lambda$submit$0(OrderService.java:88)
+                \tat com.loom.order.OrderService$$Lambda$812/0x0000000800c4b840.accept(Unknown Source)
+                \tat java.base/java.util.ArrayList.forEach(ArrayList.java:1511)
+                \tat com.loom.order.OrderService$$SpringCGLIB$$0.submit(<generated>)
+                \tat com.loom.order.OrderController.create(OrderController.java:31)""";
+        String second = """
+                java.lang.IllegalStateException: Order 1234 has no items
+                \tat com.loom.order.OrderService.lambda$submit$3(OrderService.java:91)
+                \tat com.loom.order.OrderService$$Lambda$17/0x0000000801001a00.accept(Unknown Source)
+                \tat java.base/java.util.ArrayList.forEach(ArrayList.java:1511)
+                \tat com.loom.order.OrderService$$SpringCGLIB$$0.submit(<generated>)
+                \tat com.loom.order.OrderController.create(OrderController.java:35)""";
+
+        StackTraceFingerprinter.Fingerprint fingerprint = fingerprinter.fingerprint(first);
+
+        assertEquals(fingerprint, fingerprinter.fingerprint(second));
+        assertEquals("java.lang.IllegalStateException", fingerprint.exceptionType());
+        assertEquals(List.of("com.loom.order.OrderService.lambda$submit", "com.loom.order.OrderService.submit",
+                "com.loom.order.OrderController.create"), fingerprint.frames());
+    }
+
+    @Test
+    void testFingerprint_SeparatesSameExceptionFromDifferentCode() {
+        String cache = "java.lang.OutOfMemoryError: Java heap space\n"
+                + "\tat com.loom.payment.cache.TransactionCache.put(TransactionCache.java:124)";
+        String parser = "java.lang.OutOfMemoryError: Java heap space\n"
+                + "\tat com.loom.payment.parser.StatementParser.read(StatementParser.java:40)";
+
+        assertNotEquals(fingerprinter.fingerprint(cache).id(), fingerprinter.fingerprint(parser).id());
+    }
+
+    @Test
+    void testFingerprint_UsesRootCauseAndSkipsGeneratedFrames() {
+        String trace = """
+                org.springframework.dao.DataAccessResourceFailureException: could not execute statement
+                \tat org.springframework.orm.jpa.EntityManagerFactoryUtils.convert(EntityManagerFactoryUtils.java:277)
+                \tat com.loom.payment.service.PaymentProcessor.process(PaymentProcessor.java:56)
+                Caused by: com.loom.db.ConnectionTimeoutException: Database pool exhausted
+                \tat com.zaxxer.hikari.pool.HikariPool.getConnection(HikariPool.java:180)
+                \tat jdk.internal.reflect.GeneratedMethodAccessor42.invoke(Unknown Source)
+                \tat com.loom.payment.repository.PaymentRepository.save(PaymentRepository.java:45)
+                \t... 12 more""";
+
+        StackTraceFingerprinter.Fingerprint fingerprint = fingerprinter.fingerprint(trace);
+
+        assertEquals("com.loom.db.ConnectionTimeoutException", fingerprint.exceptionType());
+        assertEquals(List.of("com.loom.payment.repository.PaymentRepository.save"), fingerprint.frames());
+    }
+
+    @Test
+    void testFingerprint_ReturnsNullWithoutFrames() {
+        assertNull(fingerprinter.fingerprint(null));
+        assertNull(fingerprinter.fingerprint("Database pool exhausted"));
+    }
+}
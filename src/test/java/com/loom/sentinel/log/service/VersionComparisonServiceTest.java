@@ -0,0 +1,85 @@
+package com.loom.sentinel.log.service;
+
+import com.loom.sentinel.log.model.VersionComparison;
+import com.loom.sentinel.log.repository.LogRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class VersionComparisonServiceTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-17T10:00:00Z");
+    private static final Instant T1 = Instant.parse("2024-05-17T12:00:00Z");
+    private static final Instant T2 = Instant.parse("2024-05-17T14:00:00Z");
+
+    private LogRollupRepository rollupRepository;
+    private VersionComparisonService service;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = Mockito.mock(LogRollupRepository.class);
+        LogTemplateService templateService = Mockito.mock(LogTemplateService.class);
+        StackFingerprintService fingerprintService = Mockito.mock(StackFingerprintService.class);
+        when(fingerprintService.firstSeenIn(anyString(), anyString())).thenReturn(List.of());
+        service = new VersionComparisonService(rollupRepository, templateService, fingerprintService, 100, 0.99,
+                60000);
+    }
+
+    @Test
+    void testCompareLatest_FlagsErrorRateRegression() {
+        when(rollupRepository.summarizeVersions("payment-service")).thenReturn(List.of(
+                new Object[] { "v2.3.0", "INFO", 10_000L, T0, T1 },
+                new Object[] { "v2.3.0", "ERROR", 10L, T0, T1 },
+                new Object[] { "v2.3.1", "INFO", 2_000L, T1, T2 },
+                new Object[] { "v2.3.1", "ERROR", 300L, T1, T2 }));
+        when(rollupRepository.countTemplatesByVersion(eq("payment-service"), any())).thenReturn(List.of(
+                new Object[] { "t-ok", "v2.3.0", "INFO", 10_000L },
+                new Object[] { "t-db", "v2.3.0", "ERROR", 10L },
+                new Object[] { "t-ok", "v2.3.1", "INFO", 2_000L },
+                new Object[] { "t-db", "v2.3.1", "ERROR", 150L },
+                new Object[] { "t-oom", "v2.3.1", "ERROR", 150L }));
+
+        VersionComparison comparison = service.compareLatest("payment-service");
+
+        assertEquals("v2.3.0", comparison.baseline().version());
+        assertEquals("v2.3.1", comparison.candidate().version());
+        assertTrue(comparison.errorRateDelta() > 0.1);
+        assertTrue(comparison.significance() > 0.99);
+        assertTrue(comparison.regression());
+        assertEquals(1, comparison.newTemplates().size());
+        assertEquals("t-oom", comparison.newTemplates().get(0).templateId());
+        assertEquals(150, comparison.newTemplates().get(0).errors());
+    }
+
+    @Test
+    void testCompare_SameErrorRateIsNotARegression() {
+        when(rollupRepository.summarizeVersions("payment-service")).thenReturn(List.of(
+                new Object[] { "v2.3.0", "INFO", 9_900L, T0, T1 },
+                new Object[] { "v2.3.0", "ERROR", 100L, T0, T1 },
+                new Object[] { "v2.3.1", "INFO", 990L, T1, T2 },
+                new Object[] { "v2.3.1", "ERROR", 10L, T1, T2 }));
+        when(rollupRepository.countTemplatesByVersion(eq("payment-service"), any())).thenReturn(List.of());
+
+        VersionComparison comparison = service.compare("payment-service", "v2.3.0", "v2.3.1");
+
+        assertEquals(0.0, comparison.errorRateDelta(), 1e-9);
+        assertFalse(comparison.regression());
+        assertNull(service.compare("payment-service", "v2.3.0", "v9.9.9"));
+    }
+
+    @Test
+    void testNormalCdf() {
+        assertEquals(0.5, VersionComparisonService.normalCdf(0), 1e-6);
+        assertEquals(0.975, VersionComparisonService.normalCdf(1.96), 1e-3);
+        assertEquals(0.025, VersionComparisonService.normalCdf(-1.96), 1e-3);
+    }
+}